@@ -2,7 +2,10 @@ package io.openems.backend.b2bwebsocket;
 
 import static java.util.stream.Collectors.toUnmodifiableMap;
 
+import java.time.Clock;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.Executors;
 import java.util.concurrent.ScheduledExecutorService;
 
@@ -25,6 +28,10 @@ import com.google.gson.JsonPrimitive;
 
 import io.openems.backend.common.component.AbstractOpenemsBackendComponent;
 import io.openems.backend.common.debugcycle.DebugLoggable;
+import io.openems.backend.b2bwebsocket.SubscribedEdgesChannelsWorker.ResumeKey;
+import io.openems.backend.b2bwebsocket.SubscribedEdgesChannelsWorker.ResumeState;
+import io.openems.backend.common.edgewebsocket.EdgeCache;
+import io.openems.backend.common.edgewebsocket.EdgeCacheListener;
 import io.openems.backend.common.edgewebsocket.EdgeWebsocket;
 import io.openems.backend.common.jsonrpc.JsonRpcRequestHandler;
 import io.openems.backend.common.metadata.Metadata;
@@ -40,10 +47,14 @@ import io.openems.common.utils.ThreadPoolUtils;
 @EventTopics({ //
 		Metadata.Events.AFTER_IS_INITIALIZED //
 })
-public class Backend2BackendWebsocket extends AbstractOpenemsBackendComponent implements EventHandler, DebugLoggable {
+public class Backend2BackendWebsocket extends AbstractOpenemsBackendComponent
+		implements EventHandler, DebugLoggable, EdgeCacheListener {
 
 	private static final String COMPONENT_ID = "b2bwebsocket0";
 
+	/** Subscriptions can be resumed within this time after a disconnect. */
+	private static final long RESUME_TIMEOUT_MILLIS = 5 * 60 * 1000;
+
 	public static final int DEFAULT_PORT = 8076;
 
 	protected final ScheduledExecutorService executor = Executors.newScheduledThreadPool(10,
@@ -61,11 +72,29 @@ public class Backend2BackendWebsocket extends AbstractOpenemsBackendComponent im
 	@Reference(cardinality = ReferenceCardinality.MANDATORY, policy = ReferencePolicy.DYNAMIC)
 	protected volatile EdgeWebsocket edgeWebsocket;
 
+	/**
+	 * Holds the {@link SubscribedEdgesChannelsWorker}s per subscribed Edge-ID.
+	 */
+	private final ConcurrentHashMap<String, Set<SubscribedEdgesChannelsWorker>> subscribers = new ConcurrentHashMap<>();
+
+	/**
+	 * Holds the {@link ResumeState} of closed subscriptions per User-ID and
+	 * client-provided Subscription-ID.
+	 */
+	private final ConcurrentHashMap<ResumeKey, ResumeState> resumeStates = new ConcurrentHashMap<>();
+
+	protected final Clock clock;
+
 	private WebsocketServer server = null;
 	private Config config;
 
 	public Backend2BackendWebsocket() {
+		this(Clock.systemDefaultZone());
+	}
+
+	protected Backend2BackendWebsocket(Clock clock) {
 		super("Backend2Backend.Websocket");
+		this.clock = clock;
 	}
 
 	@Activate
@@ -130,6 +159,77 @@ public class Backend2BackendWebsocket extends AbstractOpenemsBackendComponent im
 		return COMPONENT_ID;
 	}
 
+	protected int getCoalescingWindow() {
+		return this.config.coalescingWindow();
+	}
+
+	@Override
+	public void onEdgeCacheUpdate(String edgeId, EdgeCache edgeCache) {
+		var workers = this.subscribers.get(edgeId);
+		if (workers == null) {
+			return;
+		}
+		for (var worker : workers) {
+			worker.onEdgeCacheUpdate(edgeId, edgeCache);
+		}
+	}
+
+	/**
+	 * Registers a {@link SubscribedEdgesChannelsWorker} for updates of an Edge.
+	 *
+	 * @param edgeId the Edge-ID
+	 * @param worker the {@link SubscribedEdgesChannelsWorker}
+	 */
+	protected void addSubscriber(String edgeId, SubscribedEdgesChannelsWorker worker) {
+		this.subscribers.compute(edgeId, (key, workers) -> {
+			if (workers == null) {
+				workers = ConcurrentHashMap.newKeySet();
+			}
+			workers.add(worker);
+			return workers;
+		});
+	}
+
+	/**
+	 * Unregisters a {@link SubscribedEdgesChannelsWorker} for updates of an Edge.
+	 *
+	 * @param edgeId the Edge-ID
+	 * @param worker the {@link SubscribedEdgesChannelsWorker}
+	 */
+	protected void removeSubscriber(String edgeId, SubscribedEdgesChannelsWorker worker) {
+		this.subscribers.computeIfPresent(edgeId, (key, workers) -> {
+			workers.remove(worker);
+			return workers.isEmpty() ? null : workers;
+		});
+	}
+
+	/**
+	 * Keeps the {@link ResumeState} of a closed subscription.
+	 *
+	 * @param key   the {@link ResumeKey}
+	 * @param state the {@link ResumeState}
+	 */
+	protected void putResumeState(ResumeKey key, ResumeState state) {
+		this.resumeStates.values()
+				.removeIf(s -> state.timestamp() - s.timestamp() > Backend2BackendWebsocket.RESUME_TIMEOUT_MILLIS);
+		this.resumeStates.put(key, state);
+	}
+
+	/**
+	 * Takes the {@link ResumeState} of a closed subscription.
+	 *
+	 * @param key the {@link ResumeKey}
+	 * @return the {@link ResumeState}; null if there is none or it is expired
+	 */
+	protected ResumeState takeResumeState(ResumeKey key) {
+		var state = this.resumeStates.remove(key);
+		if (state == null
+				|| this.clock.millis() - state.timestamp() > Backend2BackendWebsocket.RESUME_TIMEOUT_MILLIS) {
+			return null;
+		}
+		return state;
+	}
+
 	@Override
 	public String debugLog() {
 		return new StringBuilder() //
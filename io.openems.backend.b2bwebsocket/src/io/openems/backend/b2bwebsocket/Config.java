@@ -14,5 +14,8 @@ import org.osgi.service.metatype.annotations.ObjectClassDefinition;
 	@AttributeDefinition(name = "Number of Threads", description = "Pool-Size: the number of threads dedicated to handle the tasks")
 	int poolSize() default 10;
 
+	@AttributeDefinition(name = "Coalescing Window [ms]", description = "Changes of subscribed Channels are collected for this time before they are sent.")
+	int coalescingWindow() default 1000;
+
 	String webconsole_configurationFactory_nameHint() default "Backend2Backend Websocket";
 }
\ No newline at end of file
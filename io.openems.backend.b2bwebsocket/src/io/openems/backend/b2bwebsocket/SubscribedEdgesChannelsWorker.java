@@ -1,45 +1,102 @@
 package io.openems.backend.b2bwebsocket;
 
-import java.util.Optional;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
 import java.util.Set;
+import java.util.TreeMap;
 import java.util.TreeSet;
-import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import com.google.gson.JsonElement;
+import com.google.gson.JsonNull;
+
 import io.openems.backend.b2bwebsocket.jsonrpc.notification.EdgesCurrentDataNotification;
 import io.openems.backend.b2bwebsocket.jsonrpc.request.SubscribeEdgesChannelsRequest;
-import io.openems.common.exceptions.OpenemsError.OpenemsNamedException;
-import io.openems.common.jsonrpc.base.JsonrpcNotification;
+import io.openems.backend.common.edgewebsocket.EdgeCache;
 import io.openems.common.session.Role;
 import io.openems.common.types.ChannelAddress;
 
+/**
+ * Streams the values of subscribed Channels of multiple Edges to a
+ * Backend-to-Backend connection.
+ *
+ * <p>
+ * On subscription all values are sent once. Afterwards the worker is notified
+ * via {@link #onEdgeCacheUpdate(String, EdgeCache)} whenever new data of a
+ * subscribed Edge arrives; updates are coalesced for the configured window and
+ * only values that changed since they were last sent are pushed.
+ */
 public class SubscribedEdgesChannelsWorker {
 
-	protected static final int UPDATE_INTERVAL_IN_SECONDS = 2;
+	/** Read permissions of the User are re-checked after this time. */
+	private static final long PERMISSION_REFRESH_MILLIS = 60 * 1000;
+
+	/**
+	 * State of a subscription that allows a client to resume it on a new
+	 * connection.
+	 *
+	 * @param sequence  the last sent sequence
+	 * @param lastSent  the last sent values per Edge-ID
+	 * @param timestamp the time when the subscription was closed
+	 */
+	protected static record ResumeState(long sequence, Map<String, Map<ChannelAddress, JsonElement>> lastSent,
+			long timestamp) {
+	}
+
+	/**
+	 * Identifies a {@link ResumeState}.
+	 *
+	 * @param userId         the User-ID
+	 * @param subscriptionId the client-provided Subscription-ID
+	 */
+	protected static record ResumeKey(String userId, String subscriptionId) {
+	}
 
 	private final Logger log = LoggerFactory.getLogger(SubscribedEdgesChannelsWorker.class);
 
+	/**
+	 * Holds the latest {@link EdgeCache} of Edges with new data that was not yet
+	 * handled.
+	 */
+	private final ConcurrentHashMap<String, EdgeCache> pendingEdges = new ConcurrentHashMap<>();
+
+	private final AtomicBoolean isFlushScheduled = new AtomicBoolean(false);
+
 	/**
 	 * Holds subscribed edges.
 	 */
 	private final TreeSet<String> edgeIds = new TreeSet<>();
 
 	/**
-	 * Holds subscribed channels.
+	 * Holds subscribed channels by their Channel-Address String.
 	 */
-	private final TreeSet<ChannelAddress> channels = new TreeSet<>();
+	private final TreeMap<String, ChannelAddress> channels = new TreeMap<>();
 
 	/**
-	 * Holds the scheduled task for currentData.
+	 * Holds subscribed edges that the User is currently not allowed to read.
 	 */
-	private Optional<ScheduledFuture<?>> futureOpt = Optional.empty();
+	private final Set<String> deniedEdgeIds = new HashSet<>();
+
+	/**
+	 * Holds the last sent values per Edge-ID.
+	 */
+	private final Map<String, Map<ChannelAddress, JsonElement>> lastSent = new HashMap<>();
 
 	protected final WsData wsData;
 
 	private int lastRequestCount = Integer.MIN_VALUE;
+	private long lastPermissionCheck = 0L;
+	private boolean isSequenceEnabled = false;
+	private long sequence = 0L;
+	private String subscriptionId = null;
+	private boolean isDisposed = false;
 
 	private final Backend2BackendWebsocket parent;
 
@@ -49,95 +106,241 @@ public class SubscribedEdgesChannelsWorker {
 	}
 
 	/**
-	 * Applies a SubscribeChannelsRequest.
+	 * Applies a SubscribeChannelsRequest. Read permissions for all Edges must have
+	 * been validated before.
 	 *
 	 * @param request the SubscribeEdgesChannelsRequest
 	 */
 	public synchronized void handleSubscribeEdgesChannelsRequest(SubscribeEdgesChannelsRequest request) {
+		if (this.isDisposed) {
+			return;
+		}
 		if (this.lastRequestCount < request.getCount()) {
-			this.updateSubscription(request.getEdgeIds(), request.getChannels());
+			this.updateSubscription(request);
 			this.lastRequestCount = request.getCount();
 		}
 	}
 
 	/**
-	 * Updates the Subscription data.
+	 * Updates the Subscription data and sends the initial values.
 	 *
-	 * @param edgeIds  Set of Edge-IDs
-	 * @param channels Set of ChannelAddresses
+	 * @param request the SubscribeEdgesChannelsRequest
 	 */
-	private synchronized void updateSubscription(Set<String> edgeIds, Set<ChannelAddress> channels) {
-		// stop current thread
-		if (this.futureOpt.isPresent()) {
-			this.futureOpt.get().cancel(true);
-			this.futureOpt = Optional.empty();
+	private void updateSubscription(SubscribeEdgesChannelsRequest request) {
+		final var edgeIds = request.getEdgeIds();
+
+		// update registrations at parent
+		for (var edgeId : this.edgeIds) {
+			if (!edgeIds.contains(edgeId)) {
+				this.parent.removeSubscriber(edgeId, this);
+			}
+		}
+		for (var edgeId : edgeIds) {
+			if (!this.edgeIds.contains(edgeId)) {
+				this.parent.addSubscriber(edgeId, this);
+			}
 		}
 
-		// clear existing data
+		// set new edges and channels
 		this.edgeIds.clear();
+		this.edgeIds.addAll(edgeIds);
 		this.channels.clear();
+		for (var channel : request.getChannels()) {
+			this.channels.put(channel.toString(), channel);
+		}
+		this.deniedEdgeIds.clear();
+		this.lastPermissionCheck = this.parent.clock.millis();
 
-		// set new channels
-		this.edgeIds.addAll(edgeIds);
-		this.channels.addAll(channels);
-
-		if (!channels.isEmpty() && !edgeIds.isEmpty()) {
-			// registered channels -> create new thread
-			this.futureOpt = Optional.of(this.parent.executor.scheduleWithFixedDelay(() -> {
-				/*
-				 * This task is executed regularly. Sends data to Websocket.
-				 */
-				var ws = this.wsData.getWebsocket();
-				if (ws == null || !ws.isOpen()) {
-					// disconnected; stop worker
-					this.dispose();
-					return;
-				}
-
-				JsonrpcNotification message;
-				try {
-					message = this.getCurrentDataNotification();
-				} catch (OpenemsNamedException e) {
-					this.log.warn("Unable to send SubscribedChannels: " + e.getMessage());
-					return;
-				}
-
-				this.wsData.send(message);
-
-			}, 0, SubscribedEdgesChannelsWorker.UPDATE_INTERVAL_IN_SECONDS, TimeUnit.SECONDS));
+		// resume a previous subscription, if possible
+		this.subscriptionId = request.getSubscriptionId().orElse(null);
+		final var resumeSequence = request.getSequence();
+		this.isSequenceEnabled = resumeSequence.isPresent();
+		final var isResumed = resumeSequence.isPresent() && this.resume(resumeSequence.get());
+		if (!isResumed) {
+			this.lastSent.clear();
+		}
+		this.lastSent.keySet().retainAll(this.edgeIds);
+		for (var values : this.lastSent.values()) {
+			values.keySet().retainAll(this.channels.values());
+		}
+
+		// send all values that the client does not know yet
+		var notification = this.createNotification(!isResumed);
+		for (var edgeId : this.edgeIds) {
+			var values = new HashMap<String, JsonElement>();
+			for (var entry : this.parent.edgeWebsocket.getChannelValues(edgeId, request.getChannels()).entrySet()) {
+				values.put(entry.getKey().toString(), entry.getValue());
+			}
+			this.addChanges(notification, edgeId, values);
 		}
+		this.send(notification, this.isSequenceEnabled);
 	}
 
 	/**
-	 * Dispose and deactivate this worker.
+	 * Tries to resume the sequence of a previous subscription.
+	 *
+	 * @param sequence the last sequence received by the client
+	 * @return true if the subscription was resumed
 	 */
-	public void dispose() {
-		// unsubscribe regular task
-		if (this.futureOpt.isPresent()) {
-			this.futureOpt.get().cancel(true);
+	private boolean resume(long sequence) {
+		if (sequence == 0) {
+			return false;
+		}
+		if (sequence == this.sequence) {
+			// Subscription on the same connection
+			return true;
+		}
+		var key = this.getResumeKey();
+		if (key == null) {
+			return false;
+		}
+		var state = this.parent.takeResumeState(key);
+		if (state == null || state.sequence() != sequence) {
+			return false;
 		}
+		this.sequence = state.sequence();
+		this.lastSent.clear();
+		this.lastSent.putAll(state.lastSent());
+		return true;
 	}
 
 	/**
-	 * Gets a JSON-RPC Notification with all subscribed channels data.
+	 * Called by the parent when new data of a subscribed Edge arrived. Schedules a
+	 * flush after the coalescing window.
 	 *
-	 * @return the EdgesCurrentDataNotification
-	 * @throws OpenemsNamedException on error
+	 * @param edgeId    the Edge-ID
+	 * @param edgeCache the {@link EdgeCache} of the Edge
 	 */
-	private EdgesCurrentDataNotification getCurrentDataNotification() throws OpenemsNamedException {
-		var result = new EdgesCurrentDataNotification();
-		var user = this.wsData.getUserWithTimeout(5, TimeUnit.SECONDS);
+	protected void onEdgeCacheUpdate(String edgeId, EdgeCache edgeCache) {
+		this.pendingEdges.put(edgeId, edgeCache);
+		if (this.isFlushScheduled.compareAndSet(false, true)) {
+			try {
+				this.parent.executor.schedule(this::flush, this.parent.getCoalescingWindow(), TimeUnit.MILLISECONDS);
+			} catch (RejectedExecutionException e) {
+				this.isFlushScheduled.set(false);
+			}
+		}
+	}
 
-		for (String edgeId : this.edgeIds) {
-			// assure read permissions of this User for this Edge.
-			user.assertEdgeRoleIsAtLeast("EdgesCurrentDataNotification", edgeId, Role.GUEST);
+	/**
+	 * Sends the changed values of all pending Edges.
+	 */
+	protected synchronized void flush() {
+		this.isFlushScheduled.set(false);
+		if (this.isDisposed) {
+			return;
+		}
+		var ws = this.wsData.getWebsocket();
+		if (ws == null || !ws.isOpen()) {
+			// disconnected; stop worker
+			this.dispose();
+			return;
+		}
+
+		this.refreshPermissions();
+
+		var notification = this.createNotification(false);
+		for (var edgeId : this.pendingEdges.keySet()) {
+			var edgeCache = this.pendingEdges.remove(edgeId);
+			if (edgeCache == null || !this.edgeIds.contains(edgeId) || this.deniedEdgeIds.contains(edgeId)) {
+				continue;
+			}
+			this.addChanges(notification, edgeId, edgeCache.project(this.channels.keySet()));
+		}
+		this.send(notification, false);
+	}
+
+	/**
+	 * Re-checks the read permissions of the User for all subscribed Edges, if the
+	 * last check is too old.
+	 */
+	private void refreshPermissions() {
+		var now = this.parent.clock.millis();
+		if (now - this.lastPermissionCheck < PERMISSION_REFRESH_MILLIS) {
+			return;
+		}
+		this.lastPermissionCheck = now;
+		var user = this.wsData.getUserOpt();
+		for (var edgeId : this.edgeIds) {
+			var role = user.flatMap(u -> u.getRole(edgeId));
+			if (role.isPresent() && role.get().isAtLeast(Role.GUEST)) {
+				this.deniedEdgeIds.remove(edgeId);
+			} else if (this.deniedEdgeIds.add(edgeId)) {
+				this.log.warn("Unable to send SubscribedChannels for Edge [" + edgeId + "]: access denied");
+			}
+		}
+	}
 
-			var data = this.parent.edgeWebsocket.getChannelValues(edgeId, this.channels);
-			for (var entry : data.entrySet()) {
-				result.addValue(edgeId, entry.getKey(), entry.getValue());
+	/**
+	 * Adds all values to the notification that changed since they were last sent.
+	 *
+	 * @param notification the {@link EdgesCurrentDataNotification}
+	 * @param edgeId       the Edge-ID
+	 * @param values       the current values by Channel-Address String
+	 */
+	private void addChanges(EdgesCurrentDataNotification notification, String edgeId,
+			Map<String, JsonElement> values) {
+		var lastValues = this.lastSent.computeIfAbsent(edgeId, e -> new HashMap<>());
+		for (var channel : this.channels.entrySet()) {
+			var value = values.get(channel.getKey());
+			if (value == null) {
+				value = JsonNull.INSTANCE;
+			}
+			if (!value.equals(lastValues.put(channel.getValue(), value))) {
+				notification.addValue(edgeId, channel.getValue(), value);
 			}
 		}
-		return result;
+	}
+
+	private EdgesCurrentDataNotification createNotification(boolean reset) {
+		if (!this.isSequenceEnabled) {
+			return new EdgesCurrentDataNotification();
+		}
+		return new EdgesCurrentDataNotification(this.sequence + 1, reset);
+	}
+
+	private void send(EdgesCurrentDataNotification notification, boolean force) {
+		if (notification.isEmpty() && !force) {
+			return;
+		}
+		if (this.isSequenceEnabled) {
+			this.sequence++;
+		}
+		this.wsData.send(notification);
+	}
+
+	/**
+	 * Dispose and deactivate this worker. Keeps the state of a subscription with
+	 * sequence numbers, so that it can be resumed on a new connection.
+	 */
+	public synchronized void dispose() {
+		if (this.isDisposed) {
+			return;
+		}
+		this.isDisposed = true;
+		for (var edgeId : this.edgeIds) {
+			this.parent.removeSubscriber(edgeId, this);
+		}
+		this.pendingEdges.clear();
+
+		var key = this.getResumeKey();
+		if (this.isSequenceEnabled && this.sequence > 0 && key != null) {
+			this.parent.putResumeState(key, new ResumeState(this.sequence, this.lastSent, this.parent.clock.millis()));
+		}
+	}
+
+	/**
+	 * Gets the {@link ResumeKey} of this subscription.
+	 *
+	 * @return the {@link ResumeKey}; null if the User is not known or the client
+	 *         did not provide a Subscription-ID
+	 */
+	private ResumeKey getResumeKey() {
+		var user = this.wsData.getUserOpt();
+		if (user.isEmpty() || this.subscriptionId == null) {
+			return null;
+		}
+		return new ResumeKey(user.get().getId(), this.subscriptionId);
 	}
 
 }
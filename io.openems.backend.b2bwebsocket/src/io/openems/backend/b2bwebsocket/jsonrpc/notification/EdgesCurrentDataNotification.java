@@ -10,6 +10,7 @@ import com.google.gson.JsonObject;
 
 import io.openems.common.jsonrpc.base.JsonrpcNotification;
 import io.openems.common.types.ChannelAddress;
+import io.openems.common.utils.JsonUtils;
 
 /**
  * Represents a JSON-RPC Notification for sending the current data of all
@@ -26,15 +27,42 @@ import io.openems.common.types.ChannelAddress;
  *   }
  * }
  * </pre>
+ *
+ * <p>
+ * If the subscription enabled sequence numbers, the values are wrapped:
+ *
+ * <pre>
+ * {
+ *   "jsonrpc": "2.0",
+ *   "method": "edgesCurrentData",
+ *   "params": {
+ *     "sequence": number, // increases by one with every notification
+ *     "reset": boolean, // true if previously received values are invalid
+ *     "edges": {
+ *       [Edge-ID: string]: [{
+ *         [Channel-Address: string]: number
+ *       }]
+ *     }
+ *   }
+ * }
+ * </pre>
  */
 public class EdgesCurrentDataNotification extends JsonrpcNotification {
 
 	public static final String METHOD = "edgesCurrentData";
 
 	private final Table<String, ChannelAddress, JsonElement> values = HashBasedTable.create();
+	private final Long sequence;
+	private final boolean reset;
 
 	public EdgesCurrentDataNotification() {
+		this(null, false);
+	}
+
+	public EdgesCurrentDataNotification(Long sequence, boolean reset) {
 		super(EdgesCurrentDataNotification.METHOD);
+		this.sequence = sequence;
+		this.reset = reset;
 	}
 
 	/**
@@ -48,6 +76,15 @@ public class EdgesCurrentDataNotification extends JsonrpcNotification {
 		this.values.put(edgeId, channel, value);
 	}
 
+	/**
+	 * Does this notification contain no values?
+	 *
+	 * @return true if there are no values
+	 */
+	public boolean isEmpty() {
+		return this.values.isEmpty();
+	}
+
 	@Override
 	public JsonObject getParams() {
 		var j = new JsonObject();
@@ -62,7 +99,14 @@ public class EdgesCurrentDataNotification extends JsonrpcNotification {
 			}
 			j.add(edgeId, jEdge);
 		}
-		return j;
+		if (this.sequence == null) {
+			return j;
+		}
+		return JsonUtils.buildJsonObject() //
+				.addProperty("sequence", this.sequence) //
+				.addProperty("reset", this.reset) //
+				.add("edges", j) //
+				.build();
 	}
 
 }
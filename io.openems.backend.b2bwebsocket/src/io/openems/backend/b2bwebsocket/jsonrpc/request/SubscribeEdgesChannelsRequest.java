@@ -1,5 +1,6 @@
 package io.openems.backend.b2bwebsocket.jsonrpc.request;
 
+import java.util.Optional;
 import java.util.TreeSet;
 
 import com.google.gson.JsonArray;
@@ -24,6 +25,10 @@ import io.openems.common.utils.JsonUtils;
  *     "count": number // Request-Counter: the higher count wins
  *     "edgeIds": string[] // Edge-IDs
  *     "channels": string[] // Channel-IDs
+ *     "sequence"?: number // enables sequence numbers; the last sequence the
+ *                         // client received to resume a subscription, or 0
+ *     "subscriptionId"?: string // client-provided ID that allows to resume the
+ *                               // subscription on a new connection
  *   }
  * }
  * </pre>
@@ -52,6 +57,8 @@ public class SubscribeEdgesChannelsRequest extends JsonrpcRequest {
 			var address = ChannelAddress.fromString(JsonUtils.getAsString(channel));
 			result.addChannel(address);
 		}
+		result.sequence = JsonUtils.getAsOptionalLong(p, "sequence");
+		result.subscriptionId = JsonUtils.getAsOptionalString(p, "subscriptionId");
 		return result;
 	}
 
@@ -69,6 +76,8 @@ public class SubscribeEdgesChannelsRequest extends JsonrpcRequest {
 	private final int count;
 	private final TreeSet<String> edgeIds = new TreeSet<>();
 	private final TreeSet<ChannelAddress> channels = new TreeSet<>();
+	private Optional<Long> sequence = Optional.empty();
+	private Optional<String> subscriptionId = Optional.empty();
 
 	private SubscribeEdgesChannelsRequest(JsonrpcRequest request, int count) {
 		super(request, SubscribeEdgesChannelsRequest.METHOD);
@@ -119,6 +128,33 @@ public class SubscribeEdgesChannelsRequest extends JsonrpcRequest {
 		return this.channels;
 	}
 
+	/**
+	 * Enables sequence numbers and sets the last sequence the client received.
+	 *
+	 * @param sequence the last received sequence; 0 for a new subscription
+	 */
+	public void setSequence(long sequence) {
+		this.sequence = Optional.of(sequence);
+	}
+
+	public Optional<Long> getSequence() {
+		return this.sequence;
+	}
+
+	/**
+	 * Sets the client-provided ID of the subscription. Required to resume a
+	 * subscription on a new connection.
+	 *
+	 * @param subscriptionId the Subscription-ID
+	 */
+	public void setSubscriptionId(String subscriptionId) {
+		this.subscriptionId = Optional.ofNullable(subscriptionId);
+	}
+
+	public Optional<String> getSubscriptionId() {
+		return this.subscriptionId;
+	}
+
 	@Override
 	public JsonObject getParams() {
 		var edgeIds = new JsonArray();
@@ -133,6 +169,9 @@ public class SubscribeEdgesChannelsRequest extends JsonrpcRequest {
 				.addProperty("count", this.count) //
 				.add("ids", edgeIds) //
 				.add("channels", channels) //
+				.onlyIf(this.sequence.isPresent(), b -> b.addProperty("sequence", this.sequence.get())) //
+				.onlyIf(this.subscriptionId.isPresent(),
+						b -> b.addProperty("subscriptionId", this.subscriptionId.get())) //
 				.build();
 	}
 }
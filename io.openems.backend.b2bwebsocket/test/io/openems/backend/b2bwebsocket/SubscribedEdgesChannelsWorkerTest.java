@@ -0,0 +1,219 @@
+package io.openems.backend.b2bwebsocket;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.lang.reflect.Proxy;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.TreeMap;
+
+import org.java_websocket.WebSocket;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonPrimitive;
+
+import io.openems.backend.b2bwebsocket.jsonrpc.request.SubscribeEdgesChannelsRequest;
+import io.openems.backend.common.edgewebsocket.EdgeCache;
+import io.openems.backend.common.edgewebsocket.EdgeWebsocket;
+import io.openems.backend.common.metadata.User;
+import io.openems.common.jsonrpc.notification.TimestampedDataNotification;
+import io.openems.common.session.Language;
+import io.openems.common.session.Role;
+import io.openems.common.test.TimeLeapClock;
+import io.openems.common.types.ChannelAddress;
+import io.openems.common.utils.JsonUtils;
+
+public class SubscribedEdgesChannelsWorkerTest {
+
+	private static final String EDGE_ID = "edge0";
+	private static final ChannelAddress SOC = new ChannelAddress("_sum", "EssSoc");
+
+	private static class DummyWebsocket {
+		private final List<JsonObject> sent = new ArrayList<>();
+
+		private WebSocket create() {
+			return (WebSocket) Proxy.newProxyInstance(WebSocket.class.getClassLoader(),
+					new Class<?>[] { WebSocket.class }, (proxy, method, args) -> {
+						return switch (method.getName()) {
+						case "isOpen" -> true;
+						case "send" -> {
+							this.sent.add(JsonUtils.parseToJsonObject(String.valueOf(args[0])));
+							yield null;
+						}
+						default -> null;
+						};
+					});
+		}
+
+		private JsonObject lastParams() {
+			return this.sent.get(this.sent.size() - 1).getAsJsonObject("params");
+		}
+	}
+
+	private final TimeLeapClock clock = new TimeLeapClock(Instant.ofEpochSecond(1_000_000));
+
+	/** Roles of the User by Edge-ID; modified by the tests. */
+	private final TreeMap<String, Role> roles = new TreeMap<>();
+	private final User user = new User("user0", "User", "token", Language.EN, Role.GUEST, true, new JsonObject()) {
+		@Override
+		public Optional<Role> getRole(String edgeId) {
+			return Optional.ofNullable(SubscribedEdgesChannelsWorkerTest.this.roles.get(edgeId));
+		}
+	};
+
+	/** Current value of the Channel as returned by the EdgeWebsocket. */
+	private JsonElement currentSoc = new JsonPrimitive(10);
+
+	private Backend2BackendWebsocket parent;
+
+	@Before
+	public void before() {
+		this.roles.put(EDGE_ID, Role.GUEST);
+		this.parent = new Backend2BackendWebsocket(this.clock) {
+			@Override
+			protected int getCoalescingWindow() {
+				// Flushes are triggered by the tests
+				return 3_600_000;
+			}
+		};
+		this.parent.edgeWebsocket = (EdgeWebsocket) Proxy.newProxyInstance(EdgeWebsocket.class.getClassLoader(),
+				new Class<?>[] { EdgeWebsocket.class }, (proxy, method, args) -> {
+					var result = new TreeMap<ChannelAddress, JsonElement>();
+					result.put(SOC, this.currentSoc);
+					return result;
+				});
+	}
+
+	@After
+	public void after() {
+		this.parent.executor.shutdownNow();
+	}
+
+	private WsData connect(DummyWebsocket ws) {
+		var result = new WsData(ws.create(), this.parent);
+		result.setUser(this.user);
+		return result;
+	}
+
+	private static SubscribeEdgesChannelsRequest request(Long sequence, String subscriptionId) {
+		var result = new SubscribeEdgesChannelsRequest(1);
+		result.addEdgeId(EDGE_ID);
+		result.addChannel(SOC);
+		if (sequence != null) {
+			result.setSequence(sequence);
+		}
+		result.setSubscriptionId(subscriptionId);
+		return result;
+	}
+
+	private void update(int soc) {
+		this.currentSoc = new JsonPrimitive(soc);
+		var notification = new TimestampedDataNotification();
+		notification.add(this.clock.millis(), SOC.toString(), this.currentSoc);
+		var edgeCache = new EdgeCache();
+		edgeCache.updateCurrentData(notification);
+		this.parent.onEdgeCacheUpdate(EDGE_ID, edgeCache);
+	}
+
+	@Test
+	public void testCoalescedFlush() {
+		var ws = new DummyWebsocket();
+		var wsData = this.connect(ws);
+		var sut = wsData.getSubscribedChannelsWorker();
+
+		sut.handleSubscribeEdgesChannelsRequest(request(null, null));
+		assertEquals(1, ws.sent.size());
+		assertEquals(10, ws.lastParams().getAsJsonObject(EDGE_ID).get(SOC.toString()).getAsInt());
+
+		// Multiple updates within the window are sent once with the latest value
+		this.update(20);
+		this.update(30);
+		this.update(40);
+		sut.flush();
+		assertEquals(2, ws.sent.size());
+		assertEquals(40, ws.lastParams().getAsJsonObject(EDGE_ID).get(SOC.toString()).getAsInt());
+
+		// Unchanged values are not sent
+		this.update(40);
+		sut.flush();
+		assertEquals(2, ws.sent.size());
+	}
+
+	@Test
+	public void testSequenceAndResume() {
+		var ws1 = new DummyWebsocket();
+		var wsData1 = this.connect(ws1);
+		wsData1.getSubscribedChannelsWorker().handleSubscribeEdgesChannelsRequest(request(0L, "sub0"));
+		assertEquals(1, ws1.lastParams().get("sequence").getAsLong());
+		assertTrue(ws1.lastParams().get("reset").getAsBoolean());
+
+		this.update(20);
+		wsData1.getSubscribedChannelsWorker().flush();
+		assertEquals(2, ws1.lastParams().get("sequence").getAsLong());
+		assertFalse(ws1.lastParams().get("reset").getAsBoolean());
+		wsData1.dispose();
+
+		// Another subscription of the same User can not take over the state
+		var ws2 = new DummyWebsocket();
+		var wsData2 = this.connect(ws2);
+		wsData2.getSubscribedChannelsWorker().handleSubscribeEdgesChannelsRequest(request(2L, "sub1"));
+		assertTrue(ws2.lastParams().get("reset").getAsBoolean());
+		wsData2.dispose();
+
+		// Resume on a new connection: unchanged values are not sent again
+		var ws3 = new DummyWebsocket();
+		var wsData3 = this.connect(ws3);
+		wsData3.getSubscribedChannelsWorker().handleSubscribeEdgesChannelsRequest(request(2L, "sub0"));
+		assertEquals(3, ws3.lastParams().get("sequence").getAsLong());
+		assertFalse(ws3.lastParams().get("reset").getAsBoolean());
+		assertEquals(0, ws3.lastParams().getAsJsonObject("edges").size());
+		wsData3.dispose();
+
+		// Expired
+		this.clock.leap(6, ChronoUnit.MINUTES);
+		var ws4 = new DummyWebsocket();
+		var wsData4 = this.connect(ws4);
+		wsData4.getSubscribedChannelsWorker().handleSubscribeEdgesChannelsRequest(request(3L, "sub0"));
+		assertEquals(1, ws4.lastParams().get("sequence").getAsLong());
+		assertTrue(ws4.lastParams().get("reset").getAsBoolean());
+	}
+
+	@Test
+	public void testPermissionCacheExpiry() {
+		var ws = new DummyWebsocket();
+		var wsData = this.connect(ws);
+		var sut = wsData.getSubscribedChannelsWorker();
+		sut.handleSubscribeEdgesChannelsRequest(request(null, null));
+		assertEquals(1, ws.sent.size());
+
+		// Permission is cached
+		this.roles.remove(EDGE_ID);
+		this.update(20);
+		sut.flush();
+		assertEquals(2, ws.sent.size());
+
+		// Permission is re-checked after the cache expired
+		this.clock.leap(60, ChronoUnit.SECONDS);
+		this.update(30);
+		sut.flush();
+		assertEquals(2, ws.sent.size());
+
+		// ...and granted again
+		this.roles.put(EDGE_ID, Role.GUEST);
+		this.clock.leap(60, ChronoUnit.SECONDS);
+		this.update(40);
+		sut.flush();
+		assertEquals(3, ws.sent.size());
+		assertEquals(40, ws.lastParams().getAsJsonObject(EDGE_ID).get(SOC.toString()).getAsInt());
+	}
+
+}
@@ -1,11 +1,16 @@
 package io.openems.backend.common.edgewebsocket;
 
-import java.util.HashMap;
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.Iterator;
 import java.util.Map;
 import java.util.Set;
 import java.util.SortedMap;
 import java.util.TreeMap;
 import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import com.google.gson.JsonElement;
 import com.google.gson.JsonNull;
@@ -13,62 +18,194 @@ import com.google.gson.JsonNull;
 import io.openems.common.jsonrpc.notification.AggregatedDataNotification;
 import io.openems.common.jsonrpc.notification.TimestampedDataNotification;
 
+/**
+ * Caches the latest Channel values of one Edge.
+ *
+ * <p>
+ * Every Channel-Address is interned once to a fixed slot index. Values are held
+ * in immutable {@link Snapshot}s, i.e. an array indexed by slot, that are
+ * replaced copy-on-write by the writer and published via a volatile field.
+ * Readers never lock and always see a consistent state of one update.
+ */
 public class EdgeCache {
 
-	private final ChannelDataCache current = new ChannelDataCache();
-	private final ChannelDataCache aggregated = new ChannelDataCache();
+	/** Cache is not anymore valid if data is more than 15 minutes newer. */
+	private static final long MAX_AGE = 15 * 60 * 1000;
+
+	private final Slots slots = new Slots();
+	private final ChannelDataCache current = new ChannelDataCache(this.slots);
+	private final ChannelDataCache aggregated = new ChannelDataCache(this.slots);
 
 	public static record Pair<A, B>(A a, B b) {
 
 	}
 
-	private static class ChannelDataCache {
-		private long timestamp = 0L;
-		private final HashMap<String, JsonElement> data = new HashMap<>();
+	/**
+	 * Interns Channel-Addresses to slot indexes. Slots are never released; the
+	 * number of Channels of an Edge is bounded.
+	 */
+	private static class Slots {
+		private final ConcurrentHashMap<String, Integer> indexes = new ConcurrentHashMap<>();
+		private final AtomicInteger next = new AtomicInteger();
 
-		/**
-		 * Gets the channel value from cache.
-		 *
-		 * @param address the Channel-Address of the channel
-		 * @return the value; {@link JsonNull} if it is not in cache
-		 */
-		public final JsonElement getChannelValue(String address) {
-			synchronized (this) {
-				return this.data.get(address);
+		private int intern(String address) {
+			return this.indexes.computeIfAbsent(address, a -> this.next.getAndIncrement());
+		}
+
+		private int get(String address) {
+			var index = this.indexes.get(address);
+			return index == null ? -1 : index;
+		}
+	}
+
+	private static record Snapshot(long timestamp, long version, JsonElement[] values) {
+
+		private static final Snapshot EMPTY = new Snapshot(0L, 0L, new JsonElement[0]);
+
+		private JsonElement get(int slot) {
+			if (slot < 0 || slot >= this.values.length) {
+				return null;
 			}
+			return this.values[slot];
+		}
+	}
+
+	private static class ChannelDataCache {
+		private final Slots slots;
+		private volatile Snapshot snapshot = Snapshot.EMPTY;
+
+		private ChannelDataCache(Slots slots) {
+			this.slots = slots;
 		}
 
 		/**
-		 * Updates the Cache.
+		 * Updates the Cache and publishes a new {@link Snapshot}.
 		 *
 		 * @param incomingDatas the incoming data
 		 */
-		public void update(SortedMap<Long, Map<String, JsonElement>> incomingDatas) {
+		public synchronized void update(SortedMap<Long, Map<String, JsonElement>> incomingDatas) {
+			final var previous = this.snapshot;
+			var timestamp = previous.timestamp();
+			var values = previous.values();
+			var isCopy = false;
+
 			for (var entry : incomingDatas.entrySet()) {
 				var incomingTimestamp = entry.getKey();
-				var incomingData = entry.getValue();
 
 				// Check if cache should be applied
-				if (incomingTimestamp < this.timestamp) {
+				if (incomingTimestamp < timestamp) {
 					// Incoming data is older than cache -> do not apply cache
+					continue;
+				}
 
-				} else {
-					// Incoming data is more recent than cache
-
-					if (incomingTimestamp > this.timestamp + 15 * 60 * 1000) {
-						// Cache is not anymore valid (elder than 15 minutes) -> clear Cache
-						synchronized (this) {
-							this.data.clear();
-						}
-					}
+				// Incoming data is more recent than cache
+				if (incomingTimestamp > timestamp + MAX_AGE) {
+					// Cache is not anymore valid (elder than 15 minutes) -> clear Cache
+					values = new JsonElement[values.length];
+					isCopy = true;
+				}
 
-					// update cache
-					this.timestamp = incomingTimestamp;
-					synchronized (this) {
-						this.data.putAll(incomingData);
+				// update cache
+				timestamp = incomingTimestamp;
+				for (var data : entry.getValue().entrySet()) {
+					var slot = this.slots.intern(data.getKey());
+					if (!isCopy || slot >= values.length) {
+						values = Arrays.copyOf(values, slot < values.length ? values.length //
+								: Math.max(slot + 1, values.length + (values.length >> 1)));
+						isCopy = true;
 					}
+					values[slot] = data.getValue();
 				}
 			}
+
+			if (isCopy || timestamp != previous.timestamp()) {
+				this.snapshot = new Snapshot(timestamp, previous.version() + 1, values);
+			}
+		}
+	}
+
+	/**
+	 * Read-only view on the values of a set of Channel-Addresses.
+	 *
+	 * <p>
+	 * Values are resolved on access from the {@link Snapshot}s that were current
+	 * when the view was created; nothing is copied. Iteration follows the order of
+	 * the given addresses. Values that are not in cache are {@link JsonNull}.
+	 */
+	public static final class Projection extends AbstractMap<String, JsonElement> {
+
+		private final Set<String> addresses;
+		private final Slots slots;
+		private final Snapshot current;
+		private final Snapshot aggregated;
+
+		private Projection(Set<String> addresses, Slots slots, Snapshot current, Snapshot aggregated) {
+			this.addresses = addresses;
+			this.slots = slots;
+			this.current = current;
+			this.aggregated = aggregated;
+		}
+
+		private JsonElement resolve(String address) {
+			return EdgeCache.resolve(this.slots.get(address), this.current, this.aggregated);
+		}
+
+		/**
+		 * Is the value of the given Channel-Address only available as aggregated data?
+		 *
+		 * @param address the Channel-Address
+		 * @return true if the value is only available as aggregated data
+		 */
+		public boolean isAggregated(String address) {
+			final var slot = this.slots.get(address);
+			return this.current.get(slot) == null && this.aggregated.get(slot) != null;
+		}
+
+		@Override
+		public JsonElement get(Object key) {
+			if (!this.addresses.contains(key)) {
+				return null;
+			}
+			return this.resolve((String) key);
+		}
+
+		@Override
+		public boolean containsKey(Object key) {
+			return this.addresses.contains(key);
+		}
+
+		@Override
+		public int size() {
+			return this.addresses.size();
+		}
+
+		@Override
+		public Set<Entry<String, JsonElement>> entrySet() {
+			return new AbstractSet<>() {
+
+				@Override
+				public Iterator<Entry<String, JsonElement>> iterator() {
+					final var iterator = Projection.this.addresses.iterator();
+					return new Iterator<>() {
+
+						@Override
+						public boolean hasNext() {
+							return iterator.hasNext();
+						}
+
+						@Override
+						public Entry<String, JsonElement> next() {
+							final var address = iterator.next();
+							return new SimpleImmutableEntry<>(address, Projection.this.resolve(address));
+						}
+					};
+				}
+
+				@Override
+				public int size() {
+					return Projection.this.addresses.size();
+				}
+			};
 		}
 	}
 
@@ -79,45 +216,67 @@ public class EdgeCache {
 	 * @return the value; {@link JsonNull} if it is not in cache
 	 */
 	public final JsonElement getChannelValue(String address) {
-		final var result = this.current.getChannelValue(address);
-		if (result != null) {
-			return result;
+		return resolve(this.slots.get(address), this.current.snapshot, this.aggregated.snapshot);
+	}
+
+	private static JsonElement resolve(int slot, Snapshot current, Snapshot aggregated) {
+		final var value = current.get(slot);
+		if (value != null) {
+			return value;
 		}
-		final var aggregatedResult = this.aggregated.getChannelValue(address);
-		if (aggregatedResult != null) {
-			return aggregatedResult;
+		final var aggregatedValue = aggregated.get(slot);
+		if (aggregatedValue != null) {
+			return aggregatedValue;
 		}
 		return JsonNull.INSTANCE;
 	}
 
+	/**
+	 * Gets a read-only {@link Projection} of the current values for the given
+	 * Channel-Addresses without copying.
+	 *
+	 * @param addresses the Channel-Addresses of the channels; must not be modified
+	 *                  while the {@link Projection} is in use
+	 * @return the {@link Projection}
+	 */
+	public final Projection project(Set<String> addresses) {
+		return new Projection(addresses, this.slots, this.current.snapshot, this.aggregated.snapshot);
+	}
+
 	/**
 	 * Gets the channel values from cache.
 	 *
+	 * <p>
+	 * Copies the values into new collections; prefer {@link #project(Set)}.
+	 *
 	 * @param addresses the Channel-Addresses of the channels
 	 * @return a) Map of Channel-Address to values ({@link JsonNull} if not in
 	 *         cache); b) Set of Channel-Addresses that are only available as
 	 *         aggregated data
 	 */
 	public final Pair<Map<String, JsonElement>, Set<String>> getChannelValues(Set<String> addresses) {
+		final var projection = this.project(addresses);
 		final var result = new TreeMap<String, JsonElement>();
 		final var aggregatedChannelValues = new TreeSet<String>();
 		for (var address : addresses) {
-			final var value = this.current.getChannelValue(address);
-			if (value != null) {
-				result.put(address, value);
-				continue;
-			}
-			final var aggregatedValue = this.aggregated.getChannelValue(address);
-			if (aggregatedValue != null) {
-				result.put(address, aggregatedValue);
+			result.put(address, projection.resolve(address));
+			if (projection.isAggregated(address)) {
 				aggregatedChannelValues.add(address);
-				continue;
 			}
-			result.put(address, JsonNull.INSTANCE);
 		}
 		return new Pair<>(result, aggregatedChannelValues);
 	}
 
+	/**
+	 * Gets the version of the cache. The version increases with every update that
+	 * changed the cache.
+	 *
+	 * @return the version
+	 */
+	public long getVersion() {
+		return this.current.snapshot.version() + this.aggregated.snapshot.version();
+	}
+
 	/**
 	 * Updates the Cache.
 	 *
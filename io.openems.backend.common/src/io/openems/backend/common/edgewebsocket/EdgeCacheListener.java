@@ -0,0 +1,21 @@
+package io.openems.backend.common.edgewebsocket;
+
+/**
+ * Services implementing this interface are notified by the {@link EdgeWebsocket}
+ * whenever new data of an Edge was applied to its {@link EdgeCache}.
+ */
+public interface EdgeCacheListener {
+
+	/**
+	 * Called after the {@link EdgeCache} of an Edge was updated.
+	 *
+	 * <p>
+	 * This method is called on the thread that handles the incoming data; it must
+	 * return quickly and must not block.
+	 *
+	 * @param edgeId    the Edge-ID
+	 * @param edgeCache the {@link EdgeCache} for the Edge-ID
+	 */
+	public void onEdgeCacheUpdate(String edgeId, EdgeCache edgeCache);
+
+}
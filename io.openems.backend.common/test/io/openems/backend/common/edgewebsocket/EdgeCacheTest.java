@@ -1,10 +1,15 @@
 package io.openems.backend.common.edgewebsocket;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
 
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.TreeMap;
+import java.util.TreeSet;
 
 import org.junit.Test;
 
@@ -14,6 +19,7 @@ import com.google.gson.JsonNull;
 import com.google.gson.JsonPrimitive;
 
 import io.openems.common.exceptions.OpenemsError.OpenemsNamedException;
+import io.openems.common.jsonrpc.notification.AggregatedDataNotification;
 import io.openems.common.jsonrpc.notification.TimestampedDataNotification;
 import io.openems.common.types.ChannelAddress;
 
@@ -51,6 +57,31 @@ public class EdgeCacheTest {
 		assertEquals("value3", cache.getChannelValue(CHANNEL3).getAsString());
 	}
 
+	@Test
+	public void testProject() throws OpenemsNamedException {
+		var cache = new EdgeCache();
+		cache.updateCurrentData(buildData(1000L, CHANNEL1, "value1"));
+		var aggregated = new AggregatedDataNotification();
+		aggregated.add(1000L, CHANNEL2, new JsonPrimitive("value2"));
+		cache.updateAggregatedData(aggregated);
+
+		var projection = cache.project(new TreeSet<>(Set.of(CHANNEL1, CHANNEL2, CHANNEL3)));
+		assertEquals(3, projection.size());
+		assertEquals("value1", projection.get(CHANNEL1).getAsString());
+		assertEquals("value2", projection.get(CHANNEL2).getAsString());
+		assertEquals(JsonNull.INSTANCE, projection.get(CHANNEL3));
+		assertFalse(projection.isAggregated(CHANNEL1));
+		assertTrue(projection.isAggregated(CHANNEL2));
+		assertEquals(List.of(CHANNEL1, CHANNEL2, CHANNEL3), List.copyOf(projection.keySet()));
+
+		// Projection is not affected by later updates
+		var version = cache.getVersion();
+		cache.updateCurrentData(buildData(2000L, CHANNEL1, "value1b"));
+		assertTrue(cache.getVersion() > version);
+		assertEquals("value1", projection.get(CHANNEL1).getAsString());
+		assertEquals("value1b", cache.getChannelValue(CHANNEL1).getAsString());
+	}
+
 	private static TimestampedDataNotification buildData(long timestamp, String channel, String value)
 			throws OpenemsNamedException {
 		var data = new TreeMap<Long, Map<String, JsonElement>>();
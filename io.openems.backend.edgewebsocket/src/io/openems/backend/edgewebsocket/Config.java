@@ -14,5 +14,11 @@ import org.osgi.service.metatype.annotations.ObjectClassDefinition;
 	@AttributeDefinition(name = "Number of Threads", description = "Pool-Size: the number of threads dedicated to handle the tasks")
 	int poolSize() default 10;
 
+	@AttributeDefinition(name = "Number of Ingest Shards", description = "Messages of Edges are handled by that many shards, each with its own threads for handling messages and for writing to Timedata")
+	int ingestShards() default 8;
+
+	@AttributeDefinition(name = "Ingest Queue Size", description = "Maximum number of pending tasks per shard and stage; further messages wait until there is room")
+	int ingestQueueSize() default 1000;
+
 	String webconsole_configurationFactory_nameHint() default "Edge Websocket";
 }
@@ -0,0 +1,295 @@
+package io.openems.backend.edgewebsocket;
+
+import static io.openems.common.utils.ThreadPoolUtils.shutdownAndAwaitTermination;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Stream;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+
+import io.openems.common.jsonrpc.base.JsonrpcMessage;
+import io.openems.common.jsonrpc.base.JsonrpcNotification;
+import io.openems.common.jsonrpc.notification.AggregatedDataNotification;
+import io.openems.common.jsonrpc.notification.ResendDataNotification;
+import io.openems.common.jsonrpc.notification.TimestampedDataNotification;
+
+/**
+ * Sharded pipeline for incoming messages of Edges.
+ *
+ * <p>
+ * Every shard consists of two stages, each with its own single thread and
+ * bounded queue:
+ *
+ * <ul>
+ * <li>{@link #executeMessage(int, Runnable)}: handles data notifications of a
+ * connection, i.e. updates the EdgeCache and forwards data to UI. Connections
+ * are assigned to a shard via {@link #nextMessageShard()}; data notifications
+ * of one connection are handled in order.
+ * <li>{@link #executeTimedata(String, Runnable)}: writes data to Timedata.
+ * Sharded by Edge-ID; writes of one Edge are executed in order.
+ * </ul>
+ *
+ * <p>
+ * A slow Timedata service therefore only delays Timedata writes; a slow Edge
+ * only delays the Edges of the same shard. If the queue of a stage is full,
+ * the caller is blocked until there is room, i.e. the websocket stops reading
+ * from the connection. Data is never dropped; blocked calls are counted in
+ * {@link #debugMetrics()}.
+ *
+ * <p>
+ * Only data notifications - see {@link #isDataNotification(JsonrpcMessage)} -
+ * are handled by this pipeline. JSON-RPC Requests, Responses and other
+ * Notifications must not wait behind data notifications.
+ */
+public class IngestPipeline {
+
+	private static class Stage {
+
+		private final ThreadPoolExecutor executor;
+		private final LongAdder blocked = new LongAdder();
+		private final LongAdder blockedNanos = new LongAdder();
+		private final LongAdder completed = new LongAdder();
+		private final LongAdder latencySum = new LongAdder();
+		private final AtomicLong latencyMax = new AtomicLong();
+
+		private Stage(String name, int capacity) {
+			this.executor = new ThreadPoolExecutor(1, 1, 0L, TimeUnit.MILLISECONDS, //
+					new ArrayBlockingQueue<>(capacity), //
+					new ThreadFactoryBuilder().setNameFormat(name).build(), //
+					this::waitForCapacity);
+		}
+
+		/**
+		 * Blocks the caller until the queue has room for the task.
+		 *
+		 * @param task     the task
+		 * @param executor the {@link ThreadPoolExecutor}
+		 * @throws RejectedExecutionException if the stage was shut down
+		 */
+		private void waitForCapacity(Runnable task, ThreadPoolExecutor executor) {
+			if (executor.isShutdown()) {
+				throw new RejectedExecutionException("Ingest stage is shut down");
+			}
+			this.blocked.increment();
+			final var start = System.nanoTime();
+			try {
+				while (!executor.isShutdown()) {
+					if (executor.getQueue().offer(task, 100, TimeUnit.MILLISECONDS)) {
+						return;
+					}
+				}
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+			} finally {
+				this.blockedNanos.add(System.nanoTime() - start);
+			}
+			throw new RejectedExecutionException("Ingest stage is shut down");
+		}
+
+		private boolean execute(Runnable command) {
+			final var start = System.nanoTime();
+			try {
+				this.executor.execute(() -> {
+					try {
+						command.run();
+					} finally {
+						final var latency = System.nanoTime() - start;
+						this.completed.increment();
+						this.latencySum.add(latency);
+						this.latencyMax.accumulateAndGet(latency, Math::max);
+					}
+				});
+				return true;
+
+			} catch (RejectedExecutionException e) {
+				return false;
+			}
+		}
+	}
+
+	private static final String[] DATA_NOTIFICATION_PREFIXES = Stream.of(//
+			TimestampedDataNotification.METHOD, //
+			AggregatedDataNotification.METHOD, //
+			ResendDataNotification.METHOD) //
+			.map(method -> "{\"jsonrpc\":\"2.0\",\"method\":\"" + method + "\"") //
+			.toArray(String[]::new);
+
+	private final Stage[] messageStages;
+	private final Stage[] timedataStages;
+	private final AtomicInteger nextMessageShard = new AtomicInteger();
+
+	/**
+	 * Creates an {@link IngestPipeline}.
+	 *
+	 * @param name     the name prefix of the threads
+	 * @param shards   the number of shards
+	 * @param capacity the queue capacity of each stage of each shard
+	 */
+	public IngestPipeline(String name, int shards, int capacity) {
+		shards = Math.max(1, shards);
+		capacity = Math.max(1, capacity);
+		this.messageStages = new Stage[shards];
+		this.timedataStages = new Stage[shards];
+		for (var i = 0; i < shards; i++) {
+			this.messageStages[i] = new Stage(name + "-Message-" + i, capacity);
+			this.timedataStages[i] = new Stage(name + "-Timedata-" + i, capacity);
+		}
+	}
+
+	/**
+	 * Is the given {@link JsonrpcMessage} a data notification that may be handled
+	 * by {@link #executeMessage(int, Runnable)}?.
+	 *
+	 * @param message the {@link JsonrpcMessage}
+	 * @return true for data notifications
+	 */
+	public static boolean isDataNotification(JsonrpcMessage message) {
+		if (!(message instanceof JsonrpcNotification notification)) {
+			return false;
+		}
+		return switch (notification.getMethod()) {
+		case TimestampedDataNotification.METHOD, AggregatedDataNotification.METHOD, ResendDataNotification.METHOD ->
+			true;
+		default -> false;
+		};
+	}
+
+	/**
+	 * Cheap check if the given text frame may be a data notification, without
+	 * parsing it.
+	 *
+	 * <p>
+	 * Matches the compact format of {@link JsonrpcMessage#toString()} as sent by
+	 * Edges. The result has to be verified with
+	 * {@link #isDataNotification(JsonrpcMessage)} after parsing.
+	 *
+	 * @param frame the text frame
+	 * @return true if the frame starts like a data notification
+	 */
+	public static boolean isDataNotification(String frame) {
+		for (var prefix : DATA_NOTIFICATION_PREFIXES) {
+			if (frame.startsWith(prefix)) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * Gets the message shard for a new connection.
+	 *
+	 * @return the shard index
+	 */
+	public int nextMessageShard() {
+		return Math.floorMod(this.nextMessageShard.getAndIncrement(), this.messageStages.length);
+	}
+
+	/**
+	 * Executes a message handler in the given message shard. Blocks while the
+	 * queue of the shard is full.
+	 *
+	 * @param shard   the shard index; see {@link #nextMessageShard()}
+	 * @param command the {@link Runnable}
+	 * @return false if the pipeline was shut down
+	 */
+	public boolean executeMessage(int shard, Runnable command) {
+		return this.messageStages[shard].execute(command);
+	}
+
+	/**
+	 * Executes a Timedata write in the shard of the given Edge. Blocks while the
+	 * queue of the shard is full.
+	 *
+	 * @param edgeId  the Edge-ID
+	 * @param command the {@link Runnable}
+	 * @return false if the pipeline was shut down
+	 */
+	public boolean executeTimedata(String edgeId, Runnable command) {
+		return this.timedataStages[Math.floorMod(edgeId.hashCode(), this.timedataStages.length)].execute(command);
+	}
+
+	/**
+	 * Shuts down all stages.
+	 */
+	public void shutdown() {
+		for (var stage : this.messageStages) {
+			shutdownAndAwaitTermination(stage.executor, 5);
+		}
+		for (var stage : this.timedataStages) {
+			shutdownAndAwaitTermination(stage.executor, 5);
+		}
+	}
+
+	/**
+	 * Returns a debug log of the current pipeline state.
+	 *
+	 * @return the debug log string
+	 */
+	public String debugLog() {
+		return new StringBuilder() //
+				.append("Ingest Message Pending: ").append(pending(this.messageStages)) //
+				.append(", Blocked: ").append(blocked(this.messageStages)) //
+				.append("; Timedata Pending: ").append(pending(this.timedataStages)) //
+				.append(", Blocked: ").append(blocked(this.timedataStages)) //
+				.toString();
+	}
+
+	/**
+	 * Returns debug metrics of the current pipeline state. Latencies, completed
+	 * counts and blocked times are reset on every call.
+	 *
+	 * @return the debug metrics
+	 */
+	public Map<String, Number> debugMetrics() {
+		final var metrics = new HashMap<String, Number>();
+		addDebugMetrics(metrics, "Ingest/Message/", this.messageStages);
+		addDebugMetrics(metrics, "Ingest/Timedata/", this.timedataStages);
+		return metrics;
+	}
+
+	private static void addDebugMetrics(Map<String, Number> metrics, String prefix, Stage[] stages) {
+		var maxPending = 0;
+		var completed = 0L;
+		var latencySum = 0L;
+		var latencyMax = 0L;
+		var blockedNanos = 0L;
+		for (var stage : stages) {
+			maxPending = Math.max(maxPending, stage.executor.getQueue().size());
+			completed += stage.completed.sumThenReset();
+			latencySum += stage.latencySum.sumThenReset();
+			latencyMax = Math.max(latencyMax, stage.latencyMax.getAndSet(0));
+			blockedNanos += stage.blockedNanos.sumThenReset();
+		}
+		metrics.put(prefix + "Pending", pending(stages));
+		metrics.put(prefix + "MaxPending", maxPending);
+		metrics.put(prefix + "Blocked", blocked(stages));
+		metrics.put(prefix + "BlockedMs", TimeUnit.NANOSECONDS.toMillis(blockedNanos));
+		metrics.put(prefix + "Completed", completed);
+		metrics.put(prefix + "AvgLatencyMs", completed > 0 ? TimeUnit.NANOSECONDS.toMillis(latencySum / completed) : 0);
+		metrics.put(prefix + "MaxLatencyMs", TimeUnit.NANOSECONDS.toMillis(latencyMax));
+	}
+
+	private static int pending(Stage[] stages) {
+		var result = 0;
+		for (var stage : stages) {
+			result += stage.executor.getQueue().size();
+		}
+		return result;
+	}
+
+	private static long blocked(Stage[] stages) {
+		var result = 0L;
+		for (var stage : stages) {
+			result += stage.blocked.sum();
+		}
+		return result;
+	}
+}
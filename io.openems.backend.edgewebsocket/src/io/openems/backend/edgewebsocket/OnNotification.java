@@ -1,12 +1,13 @@
 package io.openems.backend.edgewebsocket;
 
-import java.util.Map.Entry;
 import java.util.concurrent.TimeUnit;
 
 import org.java_websocket.WebSocket;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import com.google.common.collect.Iterables;
+import com.google.common.collect.TreeBasedTable;
 import com.google.gson.JsonElement;
 
 import io.openems.backend.common.metadata.Edge.Events;
@@ -24,15 +25,16 @@ import io.openems.common.jsonrpc.notification.ResendDataNotification;
 import io.openems.common.jsonrpc.notification.SystemLogNotification;
 import io.openems.common.jsonrpc.notification.TimestampedDataNotification;
 import io.openems.common.types.SemanticVersion;
-import io.openems.common.utils.JsonUtils;
 
 public class OnNotification implements io.openems.common.websocket.OnNotification {
 
 	private final Logger log = LoggerFactory.getLogger(OnNotification.class);
 	private final EdgeWebsocketImpl parent;
+	private final IngestPipeline ingestPipeline;
 
-	public OnNotification(EdgeWebsocketImpl parent) {
+	public OnNotification(EdgeWebsocketImpl parent, IngestPipeline ingestPipeline) {
 		this.parent = parent;
+		this.ingestPipeline = ingestPipeline;
 	}
 
 	@Override
@@ -104,7 +106,20 @@ public class OnNotification implements io.openems.common.websocket.OnNotificatio
 			final WsData wsData //
 	) throws OpenemsNamedException {
 		final var edgeId = wsData.assertEdgeId(message);
-		this.parent.timedataManager.write(edgeId, message);
+		this.writeTimedata(edgeId, () -> this.parent.timedataManager.write(edgeId, message));
+	}
+
+	/**
+	 * Writes data to Timedata asynchronously in the shard of the Edge. Blocks while
+	 * the shard is full.
+	 *
+	 * @param edgeId the Edge-ID
+	 * @param write  the {@link Runnable} that writes to Timedata
+	 */
+	private void writeTimedata(String edgeId, Runnable write) {
+		if (!this.ingestPipeline.executeTimedata(edgeId, write)) {
+			this.parent.logWarn(this.log, edgeId, "Unable to write Timedata: ingest pipeline is shut down");
+		}
 	}
 
 	/**
@@ -121,10 +136,10 @@ public class OnNotification implements io.openems.common.websocket.OnNotificatio
 			// TODO java 21 switch case with type
 			if (message instanceof TimestampedDataNotification timestampNotification) {
 				wsData.edgeCache.updateCurrentData(timestampNotification);
-				this.parent.timedataManager.write(edgeId, timestampNotification);
+				this.writeTimedata(edgeId, () -> this.parent.timedataManager.write(edgeId, timestampNotification));
 			} else if (message instanceof AggregatedDataNotification aggregatedNotification) {
 				wsData.edgeCache.updateAggregatedData(aggregatedNotification);
-				this.parent.timedataManager.write(edgeId, aggregatedNotification);
+				this.writeTimedata(edgeId, () -> this.parent.timedataManager.write(edgeId, aggregatedNotification));
 			}
 		} catch (IllegalArgumentException e) {
 			e.printStackTrace();
@@ -135,25 +150,35 @@ public class OnNotification implements io.openems.common.websocket.OnNotificatio
 			this.parent.uiWebsocket.sendSubscribedChannels(edgeId, wsData.edgeCache);
 		}
 
+		// Notify other listeners, e.g. Backend-to-Backend subscriptions
+		var edgeCacheListeners = this.parent.edgeCacheListeners;
+		if (edgeCacheListeners != null) {
+			for (var listener : edgeCacheListeners) {
+				listener.onEdgeCacheUpdate(edgeId, wsData.edgeCache);
+			}
+		}
+
 		// Read some specific channels
 		var edge = this.parent.metadata.getEdgeOrError(edgeId);
-		for (Entry<String, JsonElement> entry : message.getParams().entrySet()) {
-			var d = JsonUtils.getAsJsonObject(entry.getValue());
-
-			// set specific Edge values
-			if (d.has("_sum/State") && d.get("_sum/State").isJsonPrimitive()) {
-				var sumState = Level.fromJson(d, "_sum/State").orElse(Level.FAULT);
-				edge.setSumState(sumState);
-			}
+		var data = message.getData();
 
-			if (d.has("_meta/Version") && d.get("_meta/Version").isJsonPrimitive()) {
-				var version = JsonUtils.getAsPrimitive(d, "_meta/Version").getAsString();
-				edge.setVersion(SemanticVersion.fromString(version));
-			}
+		// set specific Edge values
+		var sumState = latestValue(data, "_sum/State");
+		if (sumState != null && sumState.isJsonPrimitive()) {
+			edge.setSumState(Level.fromJson(sumState).orElse(Level.FAULT));
+		}
 
+		var version = latestValue(data, "_meta/Version");
+		if (version != null && version.isJsonPrimitive()) {
+			edge.setVersion(SemanticVersion.fromString(version.getAsString()));
 		}
 	}
 
+	private static JsonElement latestValue(TreeBasedTable<Long, String, JsonElement> data, String channelAddress) {
+		// TreeBasedTable rows are sorted by timestamp
+		return Iterables.getLast(data.column(channelAddress).values(), null);
+	}
+
 	/**
 	 * Handles SystemLogNotification.
 	 *
@@ -1,5 +1,7 @@
 package io.openems.backend.edgewebsocket;
 
+import java.nio.ByteBuffer;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
@@ -8,37 +10,120 @@ import java.util.TreeMap;
 import java.util.stream.Collectors;
 
 import org.java_websocket.WebSocket;
+import org.java_websocket.handshake.ClientHandshake;
+import org.java_websocket.handshake.ServerHandshakeBuilder;
 import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 import com.google.gson.JsonElement;
 
+import io.openems.common.exceptions.OpenemsError.OpenemsNamedException;
+import io.openems.common.exceptions.OpenemsException;
+import io.openems.common.jsonrpc.base.JsonrpcMessage;
+import io.openems.common.jsonrpc.notification.BinaryDataNotificationCodec;
 import io.openems.common.types.ChannelAddress;
 import io.openems.common.websocket.AbstractWebsocketServer;
+import io.openems.common.websocket.OnMessageHandler;
 
 public class WebsocketServer extends AbstractWebsocketServer<WsData> {
 
+	private final Logger log = LoggerFactory.getLogger(WebsocketServer.class);
+
 	private final EdgeWebsocketImpl parent;
+	private final IngestPipeline ingestPipeline;
 	private final OnOpen onOpen;
 	private final OnRequest onRequest;
 	private final OnNotification onNotification;
 	private final OnError onError;
 	private final OnClose onClose;
 
-	public WebsocketServer(EdgeWebsocketImpl parent, String name, int port, int poolSize) {
+	public WebsocketServer(EdgeWebsocketImpl parent, String name, int port, int poolSize, int ingestShards,
+			int ingestQueueSize) {
 		super(name, port, poolSize);
 		this.parent = parent;
+		this.ingestPipeline = new IngestPipeline(name, ingestShards, ingestQueueSize);
 		this.onOpen = new OnOpen(parent);
 		this.onRequest = new OnRequest(//
 				() -> parent.appCenterMetadata, //
 				this::logWarn);
-		this.onNotification = new OnNotification(parent);
+		this.onNotification = new OnNotification(parent, this.ingestPipeline);
 		this.onError = new OnError(parent);
 		this.onClose = new OnClose(parent);
 	}
 
 	@Override
 	protected WsData createWsData(WebSocket ws) {
-		return new WsData(ws);
+		return new WsData(ws, this.ingestPipeline.nextMessageShard());
+	}
+
+	@Override
+	protected void executeMessage(WebSocket ws, Runnable command) {
+		WsData wsData = ws.getAttachment();
+		if (wsData == null || !(command instanceof OnMessageHandler handler) || !isDataNotification(handler)) {
+			// Requests, Responses and other Notifications do not wait for data
+			super.executeMessage(ws, command);
+			return;
+		}
+		if (!this.ingestPipeline.executeMessage(wsData.ingestShard, () -> this.handleDataNotification(ws, handler))) {
+			this.logWarn(this.log, "[" + wsData.getEdgeId().orElse("UNKNOWN") + "] "
+					+ "Unable to handle data notification: ingest pipeline is shut down");
+		}
+	}
+
+	/**
+	 * Cheap check on the websocket thread; text messages are not parsed here.
+	 *
+	 * @param handler the {@link OnMessageHandler}
+	 * @return true if the message may be a data notification
+	 */
+	private static boolean isDataNotification(OnMessageHandler handler) {
+		var text = handler.getTextMessage();
+		if (text != null) {
+			return IngestPipeline.isDataNotification(text);
+		}
+		try {
+			// Binary messages are already decoded
+			return IngestPipeline.isDataNotification(handler.getJsonrpcMessage());
+		} catch (OpenemsNamedException e) {
+			return false;
+		}
+	}
+
+	/**
+	 * Parses and handles a message in the ingest shard of the connection.
+	 *
+	 * @param ws      the {@link WebSocket}
+	 * @param handler the {@link OnMessageHandler}
+	 */
+	private void handleDataNotification(WebSocket ws, OnMessageHandler handler) {
+		try {
+			if (!IngestPipeline.isDataNotification(handler.getJsonrpcMessage())) {
+				// Not a data notification after all
+				super.executeMessage(ws, handler);
+				return;
+			}
+		} catch (OpenemsNamedException e) {
+			// Invalid message is reported by the OnMessageHandler
+		}
+		handler.run();
+	}
+
+	@Override
+	public void stop() {
+		super.stop();
+		this.ingestPipeline.shutdown();
+	}
+
+	@Override
+	public String debugLog() {
+		return super.debugLog() + ", " + this.ingestPipeline.debugLog();
+	}
+
+	@Override
+	public Map<String, Number> debugMetrics() {
+		var metrics = super.debugMetrics();
+		metrics.putAll(this.ingestPipeline.debugMetrics());
+		return metrics;
 	}
 
 	/**
@@ -53,6 +138,24 @@ public class WebsocketServer extends AbstractWebsocketServer<WsData> {
 				ws -> ws.getAttachment() != null && ((WsData) ws.getAttachment()).getEdgeId().equals(edgeIdOpt));
 	}
 
+	@Override
+	protected void onHandshake(ClientHandshake request, ServerHandshakeBuilder response) {
+		// Confirm binary data format if requested by the Edge
+		if (request.hasFieldValue(BinaryDataNotificationCodec.HANDSHAKE_FIELD)) {
+			response.put(BinaryDataNotificationCodec.HANDSHAKE_FIELD,
+					String.valueOf(BinaryDataNotificationCodec.VERSION));
+		}
+	}
+
+	@Override
+	protected JsonrpcMessage decodeBinaryMessage(WebSocket ws, ByteBuffer message) throws OpenemsNamedException {
+		WsData wsData = ws.getAttachment();
+		if (wsData == null) {
+			throw new OpenemsException("Binary message on uninitialized connection");
+		}
+		return wsData.binaryDataDecoder.decode(message);
+	}
+
 	@Override
 	protected OnOpen getOnOpen() {
 		return this.onOpen;
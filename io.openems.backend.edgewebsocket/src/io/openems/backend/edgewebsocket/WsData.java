@@ -12,6 +12,7 @@ import io.openems.backend.common.edgewebsocket.EdgeCache;
 import io.openems.common.exceptions.OpenemsError.OpenemsNamedException;
 import io.openems.common.exceptions.OpenemsException;
 import io.openems.common.jsonrpc.base.JsonrpcMessage;
+import io.openems.common.jsonrpc.notification.BinaryDataNotificationCodec;
 import io.openems.common.utils.StringUtils;
 
 public class WsData extends io.openems.common.websocket.WsData {
@@ -24,9 +25,17 @@ public class WsData extends io.openems.common.websocket.WsData {
 
 	private final CompletableFuture<Void> isAuthenticated = new CompletableFuture<>();
 	public final EdgeCache edgeCache = new EdgeCache();
+	public final BinaryDataNotificationCodec.Decoder binaryDataDecoder = new BinaryDataNotificationCodec.Decoder();
 
-	public WsData(WebSocket ws) {
+	/**
+	 * The shard of the {@link IngestPipeline} that handles messages of this
+	 * connection.
+	 */
+	public final int ingestShard;
+
+	public WsData(WebSocket ws, int ingestShard) {
 		super(ws);
+		this.ingestShard = ingestShard;
 	}
 
 	/**
@@ -0,0 +1,131 @@
+package io.openems.backend.edgewebsocket;
+
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+
+import org.junit.Test;
+
+import com.google.gson.JsonObject;
+
+import io.openems.common.jsonrpc.base.GenericJsonrpcNotification;
+import io.openems.common.jsonrpc.base.GenericJsonrpcRequest;
+import io.openems.common.jsonrpc.notification.AggregatedDataNotification;
+import io.openems.common.jsonrpc.notification.TimestampedDataNotification;
+
+public class IngestPipelineTest {
+
+	@Test
+	public void testOrder() throws InterruptedException {
+		final var sut = new IngestPipeline("Test", 1, 100);
+		final var result = Collections.synchronizedList(new ArrayList<Integer>());
+		final var expected = new ArrayList<Integer>();
+		for (var i = 0; i < 100; i++) {
+			final var value = i;
+			expected.add(value);
+			assertTrue(sut.executeMessage(0, () -> result.add(value)));
+		}
+		sut.shutdown();
+		assertEquals(expected, result);
+	}
+
+	@Test
+	public void testBackpressure() throws InterruptedException {
+		final var sut = new IngestPipeline("Test", 1, 1);
+		final var started = new CountDownLatch(1);
+		final var release = new CountDownLatch(1);
+		final List<String> result = Collections.synchronizedList(new ArrayList<>());
+
+		// Blocks the single thread
+		assertTrue(sut.executeMessage(0, () -> {
+			started.countDown();
+			await(release);
+			result.add("first");
+		}));
+		assertTrue(started.await(5, SECONDS));
+		// Fills the queue
+		assertTrue(sut.executeMessage(0, () -> result.add("second")));
+
+		// Queue is full: producer waits instead of dropping
+		final var producer = new Thread(() -> sut.executeMessage(0, () -> result.add("third")));
+		producer.start();
+		producer.join(200);
+		assertTrue(producer.isAlive());
+
+		release.countDown();
+		producer.join(5_000);
+		assertFalse(producer.isAlive());
+		sut.shutdown();
+		assertEquals(List.of("first", "second", "third"), result);
+		assertEquals(1L, sut.debugMetrics().get("Ingest/Message/Blocked"));
+		assertEquals(0L, sut.debugMetrics().get("Ingest/Timedata/Blocked"));
+
+		// Shut down
+		assertFalse(sut.executeTimedata("edge0", () -> result.add("fourth")));
+	}
+
+	@Test
+	public void testShardIsolation() throws InterruptedException {
+		final var sut = new IngestPipeline("Test", 2, 10);
+		assertEquals(0, sut.nextMessageShard());
+		assertEquals(1, sut.nextMessageShard());
+		assertEquals(0, sut.nextMessageShard());
+
+		final var release = new CountDownLatch(1);
+		final var done = new CountDownLatch(2);
+
+		// Shard 0 and the Timedata stage of 'edge0' are blocked...
+		assertTrue(sut.executeMessage(0, () -> await(release)));
+		assertTrue(sut.executeTimedata("edge0", () -> await(release)));
+
+		// ...other shards and stages are not
+		assertTrue(sut.executeMessage(1, done::countDown));
+		assertTrue(sut.executeTimedata(otherShardEdgeId("edge0", 2), done::countDown));
+		assertTrue(done.await(5, SECONDS));
+
+		release.countDown();
+		sut.shutdown();
+	}
+
+	@Test
+	public void testIsDataNotification() {
+		assertTrue(IngestPipeline.isDataNotification(new TimestampedDataNotification()));
+		assertTrue(IngestPipeline.isDataNotification(new AggregatedDataNotification()));
+		assertTrue(IngestPipeline.isDataNotification(
+				new GenericJsonrpcNotification(TimestampedDataNotification.METHOD, new JsonObject())));
+		assertFalse(IngestPipeline.isDataNotification(new GenericJsonrpcNotification("foo", new JsonObject())));
+		assertFalse(IngestPipeline.isDataNotification(
+				new GenericJsonrpcRequest(TimestampedDataNotification.METHOD, new JsonObject())));
+
+		// Cheap check on text frames
+		assertTrue(IngestPipeline.isDataNotification(new TimestampedDataNotification().toString()));
+		assertTrue(IngestPipeline.isDataNotification(new AggregatedDataNotification().toString()));
+		assertFalse(IngestPipeline.isDataNotification(
+				new GenericJsonrpcNotification("foo", new JsonObject()).toString()));
+		assertFalse(IngestPipeline.isDataNotification("{\"jsonrpc\":\"2.0\",\"id\":\"x\",\"method\":\"foo\"}"));
+	}
+
+	private static String otherShardEdgeId(String edgeId, int shards) {
+		final var shard = Math.floorMod(edgeId.hashCode(), shards);
+		for (var i = 0;; i++) {
+			final var result = "edge" + i;
+			if (Math.floorMod(result.hashCode(), shards) != shard) {
+				return result;
+			}
+		}
+	}
+
+	private static void await(CountDownLatch latch) {
+		try {
+			latch.await(5, SECONDS);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+	}
+}
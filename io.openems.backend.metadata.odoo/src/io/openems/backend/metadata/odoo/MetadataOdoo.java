@@ -14,6 +14,7 @@ import java.sql.SQLException;
 import java.time.ZonedDateTime;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
@@ -700,7 +701,12 @@ public class MetadataOdoo extends AbstractMetadata implements AppCenterMetadata,
 
 	@Override
 	public Map<String, JsonElement> debugMetrics() {
-		return ThreadPoolUtils.debugMetrics(this.executor).entrySet().stream() //
+		final var metrics = new HashMap<String, Number>(ThreadPoolUtils.debugMetrics(this.executor));
+		final var postgresHandler = this.postgresHandler;
+		if (postgresHandler != null) {
+			metrics.putAll(postgresHandler.getPeriodicWriteWorker().debugMetrics());
+		}
+		return metrics.entrySet().stream() //
 				.collect(toUnmodifiableMap(//
 						// TODO implement getId()
 						e -> "metadata0/" + e.getKey(), //
@@ -0,0 +1,90 @@
+package io.openems.backend.metadata.odoo.postgres;
+
+import java.util.TreeSet;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * A concurrent bitset of non-negative IDs, e.g. Odoo-IDs of Edges that need an
+ * update.
+ *
+ * <p>
+ * The bits are stored in an {@link AtomicLongArray} that grows with the
+ * highest ID. Adding an ID below that only reads one word and never allocates;
+ * this makes {@link #add(int)} cheap enough to be called for every incoming
+ * message.
+ */
+public class DirtyIdSet {
+
+	private static final int WORD_BITS = 64;
+	private static final int INITIAL_WORDS = 16;
+
+	private volatile AtomicLongArray words = new AtomicLongArray(INITIAL_WORDS);
+
+	/**
+	 * Marks an ID.
+	 *
+	 * @param id the ID; must not be negative
+	 */
+	public void add(int id) {
+		if (id < 0) {
+			throw new IllegalArgumentException("ID must not be negative: " + id);
+		}
+		final var index = id / WORD_BITS;
+		final var bit = 1L << (id % WORD_BITS);
+		while (true) {
+			final var words = this.words;
+			if (index >= words.length()) {
+				this.grow(index);
+				continue;
+			}
+			if ((words.get(index) & bit) == 0) {
+				words.getAndAccumulate(index, bit, (a, b) -> a | b);
+			}
+			if (words == this.words) {
+				return;
+			}
+			// Array got replaced meanwhile; the bit might not have been copied
+		}
+	}
+
+	private synchronized void grow(int index) {
+		final var words = this.words;
+		if (index < words.length()) {
+			return;
+		}
+		final var grown = new AtomicLongArray(Math.max(index + 1, words.length() * 2));
+		// Publish first, then move the bits: adders that still see the old array
+		// either set their bit before it is moved or repeat it on the new array
+		this.words = grown;
+		for (var i = 0; i < words.length(); i++) {
+			final var bits = words.getAndSet(i, 0);
+			if (bits != 0) {
+				grown.getAndAccumulate(i, bits, (a, b) -> a | b);
+			}
+		}
+	}
+
+	/**
+	 * Removes all marked IDs and returns them. This is thread-safe; IDs that are
+	 * added concurrently are either returned or stay marked.
+	 *
+	 * @return the sorted IDs
+	 */
+	public TreeSet<Integer> drain() {
+		final var result = new TreeSet<Integer>();
+		final var words = this.words;
+		for (var i = 0; i < words.length(); i++) {
+			if (words.get(i) == 0) {
+				continue;
+			}
+			var bits = words.getAndSet(i, 0);
+			final var offset = i * WORD_BITS;
+			while (bits != 0) {
+				result.add(offset + Long.numberOfTrailingZeros(bits));
+				bits &= bits - 1;
+			}
+		}
+		return result;
+	}
+
+}
@@ -1,24 +1,24 @@
 package io.openems.backend.metadata.odoo.postgres;
 
-import static java.util.Collections.emptySet;
+import static java.util.function.Function.identity;
+import static java.util.stream.Collectors.counting;
 import static java.util.stream.Collectors.groupingBy;
 import static java.util.stream.Collectors.joining;
-import static java.util.stream.Collectors.mapping;
-import static java.util.stream.Collectors.toSet;
+import static java.util.stream.Collectors.partitioningBy;
 
 import java.sql.SQLException;
 import java.time.LocalDateTime;
 import java.time.temporal.ChronoUnit;
-import java.util.HashSet;
+import java.util.ArrayList;
 import java.util.Map;
-import java.util.Map.Entry;
-import java.util.Set;
+import java.util.TreeSet;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.Executors;
-import java.util.concurrent.LinkedBlockingQueue;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
 import java.util.concurrent.locks.ReadWriteLock;
 import java.util.concurrent.locks.ReentrantReadWriteLock;
 import java.util.function.Consumer;
@@ -31,12 +31,14 @@ import com.google.common.util.concurrent.ThreadFactoryBuilder;
 
 import io.openems.backend.common.metadata.Edge;
 import io.openems.backend.metadata.odoo.MyEdge;
+import io.openems.backend.metadata.odoo.postgres.PgEdgeHandler.EdgeStateUpdate;
 import io.openems.common.channel.Level;
 import io.openems.common.utils.ThreadPoolUtils;
 
 /**
  * This worker combines writes to lastMessage and lastUpdate fields, to avoid
- * DDOSing Odoo/Postgres by writing too often.
+ * DDOSing Odoo/Postgres by writing too often. All pending changes are merged
+ * per Edge and written with batched multi-row statements.
  */
 public class PeriodicWriteWorker {
 
@@ -87,55 +89,80 @@ public class PeriodicWriteWorker {
 		ThreadPoolUtils.shutdownAndAwaitTermination(this.executor, 5);
 	}
 
-	private final LinkedBlockingQueue<Integer> lastMessageOdooIds = new LinkedBlockingQueue<>();
+	private final DirtyIdSet lastMessageOdooIds = new DirtyIdSet();
 	private ExchangableObject<Map<Integer, Boolean>> connectionStatesToUpdate = new ExchangableObject<>(
 			new ConcurrentHashMap<>());
 	private ExchangableObject<Map<Integer, Level>> sumStatesToUpdate = new ExchangableObject<>(
 			new ConcurrentHashMap<>());
 
+	private final AtomicLong lastRows = new AtomicLong();
+	private final AtomicLong lastStatements = new AtomicLong();
+	private final AtomicLong lastLatency = new AtomicLong();
+	private final LongAdder failures = new LongAdder();
+
 	private final void applyChanges() {
 		final var edge = this.parent.edge;
 		if (PeriodicWriteWorker.DEBUG_MODE) {
 			this.debugLog();
 		}
 
-		try {
-			// Last Message
-			edge.updateLastMessage(drainToSet(this.lastMessageOdooIds));
-
-			// Online/Offline
-			final var connectionToUpdate = this.connectionStatesToUpdate.exchange(new ConcurrentHashMap<>());
-			final var edgesByConnection = connectionToUpdate.entrySet().stream() //
-					.collect(groupingBy(Entry::getValue, mapping(Entry::getKey, toSet())));
-			edge.updateOpenemsIsConnected(edgesByConnection.getOrDefault(false, emptySet()), false);
-			edge.updateOpenemsIsConnected(edgesByConnection.getOrDefault(true, emptySet()), true);
-			if (PeriodicWriteWorker.DEBUG_MODE) {
-				this.parent.logInfo(this.log,
-						"Update Edge connection states online["
-								+ edgesByConnection.getOrDefault(true, emptySet()).size() + "] offline["
-								+ edgesByConnection.getOrDefault(false, emptySet()).size() + "]");
-			}
+		// Merge all pending changes to one update per Edge
+		final var lastMessages = this.lastMessageOdooIds.drain();
+		final var connectionStates = this.connectionStatesToUpdate.exchange(new ConcurrentHashMap<>());
+		final var sumStates = this.sumStatesToUpdate.exchange(new ConcurrentHashMap<>());
+		final var odooIds = new TreeSet<Integer>(lastMessages);
+		odooIds.addAll(connectionStates.keySet());
+		odooIds.addAll(sumStates.keySet());
+		final var updates = new ArrayList<EdgeStateUpdate>(odooIds.size());
+		for (var odooId : odooIds) {
+			updates.add(new EdgeStateUpdate(odooId, lastMessages.contains(odooId), connectionStates.get(odooId),
+					sumStates.get(odooId)));
+		}
 
-			// Sum-State
-			final var statesToUpdate = this.sumStatesToUpdate.exchange(new ConcurrentHashMap<>());
-			final var edgesByState = statesToUpdate.entrySet().stream()
-					.collect(groupingBy(Entry::getValue, mapping(Entry::getKey, toSet())));
-			for (var stateEntry : edgesByState.entrySet()) {
-				edge.updateSumState(stateEntry.getValue(), stateEntry.getKey());
-			}
-			if (PeriodicWriteWorker.DEBUG_MODE) {
-				this.parent.logInfo(this.log, "Update Edge sum states " + Stream.of(Level.values()) //
-						.map(level -> {
-							final var itemsToUpdate = edgesByState.getOrDefault(level, emptySet());
-							return level.getName() + "[" + itemsToUpdate.size() + "]";
-						}).collect(joining(" ")));
-			}
+		if (PeriodicWriteWorker.DEBUG_MODE) {
+			final var connectionCounts = connectionStates.values().stream() //
+					.collect(partitioningBy(Boolean::booleanValue, counting()));
+			final var sumStateCounts = sumStates.values().stream() //
+					.collect(groupingBy(identity(), counting()));
+			this.parent.logInfo(this.log, "Update Edges[" + updates.size() + "]" //
+					+ " lastMessage[" + lastMessages.size() + "]" //
+					+ " online[" + connectionCounts.get(true) + "] offline[" + connectionCounts.get(false) + "]" //
+					+ " sum states " + Stream.of(Level.values()) //
+							.map(level -> level.getName() + "[" + sumStateCounts.getOrDefault(level, 0L) + "]") //
+							.collect(joining(" ")));
+		}
+
+		final var start = System.nanoTime();
+		try {
+			final var statements = edge.updateEdgeStates(updates);
+			this.lastStatements.set(statements);
+			this.lastRows.set(updates.size());
+			this.lastLatency.set(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
 
 		} catch (SQLException e) {
 			this.log.error("Unable to execute WriteWorker task: " + e.getMessage());
+			this.failures.increment();
+
+			// Retry with next run; newer changes take precedence
+			lastMessages.forEach(this.lastMessageOdooIds::add);
+			this.connectionStatesToUpdate.lockReading(t -> connectionStates.forEach(t::putIfAbsent));
+			this.sumStatesToUpdate.lockReading(t -> sumStates.forEach(t::putIfAbsent));
 		}
 	}
 
+	/**
+	 * Returns debug metrics of the last write.
+	 *
+	 * @return the debug metrics
+	 */
+	public Map<String, Number> debugMetrics() {
+		return Map.of(//
+				"PeriodicWrite/Rows", this.lastRows.get(), //
+				"PeriodicWrite/Statements", this.lastStatements.get(), //
+				"PeriodicWrite/LatencyMs", this.lastLatency.get(), //
+				"PeriodicWrite/Failures", this.failures.sum());
+	}
+
 	/**
 	 * Called on {@link Edge.Events#ON_SET_LAST_MESSAGE_TIMESTAMP} event.
 	 *
@@ -171,19 +198,6 @@ public class PeriodicWriteWorker {
 		});
 	}
 
-	/**
-	 * Moves all entries of a {@link LinkedBlockingQueue} to a Set and clears the
-	 * queue. This is thread-safe.
-	 * 
-	 * @param queue the {@link LinkedBlockingQueue}
-	 * @return the {@link Set}
-	 */
-	protected static Set<Integer> drainToSet(LinkedBlockingQueue<Integer> queue) {
-		Set<Integer> result = new HashSet<>(queue.size());
-		queue.drainTo(result);
-		return result;
-	}
-
 	/*
 	 * From here required for DEBUG_MODE
 	 */
@@ -3,15 +3,15 @@ package io.openems.backend.metadata.odoo.postgres;
 import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.sql.Timestamp;
+import java.sql.Types;
 import java.time.LocalDateTime;
 import java.time.ZoneOffset;
-import java.util.Set;
-import java.util.stream.Collectors;
+import java.util.Collections;
+import java.util.List;
 
 import com.zaxxer.hikari.HikariDataSource;
 
 import io.openems.backend.common.metadata.Metadata.GenericSystemLog;
-import io.openems.backend.metadata.odoo.Field;
 import io.openems.backend.metadata.odoo.Field.EdgeConfigUpdate;
 import io.openems.backend.metadata.odoo.Field.EdgeDevice;
 import io.openems.common.channel.Level;
@@ -24,6 +24,11 @@ import io.openems.common.utils.JsonUtils;
 
 public final class PgEdgeHandler {
 
+	/**
+	 * Maximum number of rows in one multi-row statement.
+	 */
+	private static final int MAX_ROWS_PER_STATEMENT = 1000;
+
 	private final HikariDataSource dataSource;
 
 	protected PgEdgeHandler(HikariDataSource dataSource) {
@@ -191,83 +196,66 @@ public final class PgEdgeHandler {
 	}
 
 	/**
-	 * Updates the OpenemsIsConnected field for multiple Edge-IDs.
-	 * 
-	 * @param odooIds     the Odoo-IDs
-	 * @param isConnected true if online; false if offline
-	 * @throws SQLException on error
+	 * Pending updates of the state fields of one Edge.
+	 *
+	 * @param odooId      the Odoo-ID
+	 * @param lastMessage true if LastMessage should be set to now
+	 * @param isConnected the OpenemsIsConnected value; null for no update
+	 * @param sumState    the Sum-State {@link Level}; null for no update
 	 */
-	public void updateOpenemsIsConnected(Set<Integer> odooIds, boolean isConnected) throws SQLException {
-		if (odooIds.isEmpty()) {
-			return;
-		}
-
-		try (var con = this.dataSource.getConnection(); //
-				var st = con.createStatement()) {
-			st.executeUpdate(new StringBuilder() //
-					.append("UPDATE ").append(EdgeDevice.ODOO_TABLE) //
-					.append(" SET ").append(Field.EdgeDevice.OPENEMS_IS_CONNECTED.id()).append(" = ")
-					.append(isConnected ? "TRUE" : "FALSE") //
-					.append(" WHERE id IN (") //
-					.append(odooIds.stream() //
-							.map(String::valueOf) //
-							.collect(Collectors.joining(","))) //
-					.append(")") //
-					.toString());
-		}
+	public static record EdgeStateUpdate(int odooId, boolean lastMessage, Boolean isConnected, Level sumState) {
 	}
 
 	/**
-	 * Updates the LastMessage field for multiple Edge-IDs.
-	 * 
-	 * @param odooIds the Odoo-IDs
-	 * @throws OpenemsNamedException on error
-	 * @throws SQLException          on error
+	 * Updates the LastMessage, OpenemsIsConnected and Sum-State fields for
+	 * multiple Edges. Uses one multi-row statement per
+	 * {@link #MAX_ROWS_PER_STATEMENT} updates.
+	 *
+	 * @param updates the {@link EdgeStateUpdate}s; at most one per Odoo-ID
+	 * @return the number of executed statements
+	 * @throws SQLException on error
 	 */
-	public void updateLastMessage(Set<Integer> odooIds) throws SQLException {
-		if (odooIds.isEmpty()) {
-			return;
+	public int updateEdgeStates(List<EdgeStateUpdate> updates) throws SQLException {
+		if (updates.isEmpty()) {
+			return 0;
 		}
 
-		try (var con = this.dataSource.getConnection(); //
-				var st = con.createStatement()) {
-			st.executeUpdate(new StringBuilder() //
-					.append("UPDATE ").append(EdgeDevice.ODOO_TABLE) //
-					.append(" SET ").append(Field.EdgeDevice.LASTMESSAGE.id()).append(" = (now() at time zone 'UTC')") //
-					.append(" WHERE id IN (") //
-					.append(odooIds.stream() //
-							.map(String::valueOf) //
-							.collect(Collectors.joining(","))) //
-					.append(")") //
-					.toString());
+		var statements = 0;
+		try (var con = this.dataSource.getConnection()) {
+			for (var from = 0; from < updates.size(); from += MAX_ROWS_PER_STATEMENT) {
+				final var batch = updates.subList(from, Math.min(from + MAX_ROWS_PER_STATEMENT, updates.size()));
+				try (var pst = con.prepareStatement(buildUpdateEdgeStatesQuery(batch.size()))) {
+					var i = 1;
+					for (var update : batch) {
+						pst.setInt(i++, update.odooId());
+						pst.setBoolean(i++, update.lastMessage());
+						pst.setObject(i++, update.isConnected(), Types.BOOLEAN);
+						pst.setString(i++, update.sumState() == null //
+								? null //
+								: update.sumState().getName().toLowerCase());
+					}
+					pst.executeUpdate();
+					statements++;
+				}
+			}
 		}
+		return statements;
 	}
 
-	/**
-	 * Updates the Sum-State field for multiple Edge-IDs.
-	 * 
-	 * @param odooIds the Odoo-IDs
-	 * @param level   the Sum-State {@link Level}
-	 * @throws OpenemsNamedException on error
-	 * @throws SQLException          on error
-	 */
-	public void updateSumState(Set<Integer> odooIds, Level level) throws SQLException {
-		if (odooIds.isEmpty()) {
-			return;
-		}
-
-		try (var con = this.dataSource.getConnection(); //
-				var st = con.createStatement()) {
-			st.executeUpdate(new StringBuilder() //
-					.append("UPDATE ").append(EdgeDevice.ODOO_TABLE) //
-					.append(" SET ").append(Field.EdgeDevice.OPENEMS_SUM_STATE.id()).append(" = '")
-					.append(level.getName().toLowerCase()) //
-					.append("' WHERE id IN (") //
-					.append(odooIds.stream() //
-							.map(String::valueOf) //
-							.collect(Collectors.joining(","))) //
-					.append(")") //
-					.toString());
-		}
+	private static String buildUpdateEdgeStatesQuery(int rows) {
+		return new StringBuilder() //
+				.append("UPDATE ").append(EdgeDevice.ODOO_TABLE).append(" AS d SET ") //
+				.append(EdgeDevice.LASTMESSAGE.id()).append(" = CASE WHEN v.last_message") //
+				.append(" THEN (now() at time zone 'UTC') ELSE d.").append(EdgeDevice.LASTMESSAGE.id()).append(" END, ") //
+				.append(EdgeDevice.OPENEMS_IS_CONNECTED.id()).append(" = COALESCE(v.is_connected, d.") //
+				.append(EdgeDevice.OPENEMS_IS_CONNECTED.id()).append("), ") //
+				.append(EdgeDevice.OPENEMS_SUM_STATE.id()).append(" = COALESCE(v.sum_state, d.") //
+				.append(EdgeDevice.OPENEMS_SUM_STATE.id()).append(")") //
+				.append(" FROM (VALUES ") //
+				.append(String.join(", ",
+						Collections.nCopies(rows, "(?::integer, ?::boolean, ?::boolean, ?::varchar)"))) //
+				.append(") AS v(id, last_message, is_connected, sum_state)") //
+				.append(" WHERE d.id = v.id") //
+				.toString();
 	}
-}
\ No newline at end of file
+}
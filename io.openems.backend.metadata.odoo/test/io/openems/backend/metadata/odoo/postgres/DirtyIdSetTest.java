@@ -0,0 +1,60 @@
+package io.openems.backend.metadata.odoo.postgres;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Test;
+
+public class DirtyIdSetTest {
+
+	@Test
+	public void testDrain() {
+		final var set = new DirtyIdSet();
+		set.add(1);
+		set.add(2);
+		set.add(3);
+		set.add(2);
+		set.add(64);
+		set.add(100_000);
+		assertEquals(Set.of(1, 2, 3, 64, 100_000), set.drain());
+		assertTrue(set.drain().isEmpty());
+
+		set.add(0);
+		set.add(63);
+		assertEquals(Set.of(0, 63), set.drain());
+	}
+
+	@Test
+	public void testConcurrentGrow() throws InterruptedException {
+		final var set = new DirtyIdSet();
+		final var executor = Executors.newFixedThreadPool(4);
+		for (var t = 0; t < 4; t++) {
+			final var thread = t;
+			executor.execute(() -> {
+				for (var id = thread; id < 20_000; id += 4) {
+					set.add(id);
+				}
+			});
+		}
+		final var drained = new HashSet<Integer>();
+		while (!executor.isTerminated()) {
+			executor.shutdown();
+			drained.addAll(set.drain());
+			executor.awaitTermination(1, TimeUnit.MILLISECONDS);
+		}
+		drained.addAll(set.drain());
+
+		assertEquals(20_000, drained.size());
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testNegative() {
+		new DirtyIdSet().add(-1);
+	}
+
+}
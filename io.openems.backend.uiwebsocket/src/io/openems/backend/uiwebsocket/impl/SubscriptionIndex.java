@@ -0,0 +1,90 @@
+package io.openems.backend.uiwebsocket.impl;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import io.openems.common.jsonrpc.request.SubscribeEdgesRequest;
+
+/**
+ * Reverse index from Edge-ID to the UI sessions that subscribed the Edge via
+ * {@link SubscribeEdgesRequest}.
+ *
+ * <p>
+ * Allows fan-out of Edge data to only the interested UI sessions instead of
+ * iterating over all open connections for every notification of every Edge.
+ */
+public class SubscriptionIndex {
+
+	private final ConcurrentHashMap<String, Set<WsData>> sessionsByEdgeId = new ConcurrentHashMap<>();
+
+	/**
+	 * Updates the subscribed Edges of a UI session.
+	 *
+	 * @param wsData     the {@link WsData} of the UI session
+	 * @param oldEdgeIds the previously subscribed Edge-IDs
+	 * @param newEdgeIds the newly subscribed Edge-IDs
+	 */
+	public void update(WsData wsData, Set<String> oldEdgeIds, Set<String> newEdgeIds) {
+		for (var edgeId : oldEdgeIds) {
+			if (!newEdgeIds.contains(edgeId)) {
+				this.remove(wsData, edgeId);
+			}
+		}
+		for (var edgeId : newEdgeIds) {
+			if (!oldEdgeIds.contains(edgeId)) {
+				// add within compute() to not race with removal of an empty Set
+				this.sessionsByEdgeId.compute(edgeId, (t, sessions) -> {
+					if (sessions == null) {
+						sessions = ConcurrentHashMap.newKeySet();
+					}
+					sessions.add(wsData);
+					return sessions;
+				});
+			}
+		}
+	}
+
+	/**
+	 * Removes a UI session from all given Edges, e.g. on close of the connection.
+	 *
+	 * @param wsData  the {@link WsData} of the UI session
+	 * @param edgeIds the subscribed Edge-IDs
+	 */
+	public void remove(WsData wsData, Set<String> edgeIds) {
+		for (var edgeId : edgeIds) {
+			this.remove(wsData, edgeId);
+		}
+	}
+
+	private void remove(WsData wsData, String edgeId) {
+		this.sessionsByEdgeId.computeIfPresent(edgeId, (t, sessions) -> {
+			sessions.remove(wsData);
+			return sessions.isEmpty() ? null : sessions;
+		});
+	}
+
+	/**
+	 * Gets the UI sessions that subscribed the given Edge.
+	 *
+	 * @param edgeId the Edge-ID
+	 * @return the {@link WsData}s; empty if there are none
+	 */
+	public Collection<WsData> get(String edgeId) {
+		var sessions = this.sessionsByEdgeId.get(edgeId);
+		if (sessions == null) {
+			return Collections.emptySet();
+		}
+		return sessions;
+	}
+
+	/**
+	 * Gets the number of Edges with at least one subscribed UI session.
+	 *
+	 * @return the number of Edges
+	 */
+	public int size() {
+		return this.sessionsByEdgeId.size();
+	}
+}
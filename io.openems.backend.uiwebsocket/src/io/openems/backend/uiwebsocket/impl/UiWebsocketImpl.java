@@ -2,8 +2,6 @@ package io.openems.backend.uiwebsocket.impl;
 
 import static java.util.stream.Collectors.toUnmodifiableMap;
 
-import java.util.ArrayList;
-import java.util.List;
 import java.util.Map;
 import java.util.UUID;
 import java.util.concurrent.CompletableFuture;
@@ -56,6 +54,8 @@ public class UiWebsocketImpl extends AbstractOpenemsBackendComponent
 
 	private static final String COMPONENT_ID = "uiwebsocket0";
 
+	protected final SubscriptionIndex subscriptionIndex = new SubscriptionIndex();
+
 	protected WebsocketServer server = null;
 
 	@Reference
@@ -155,9 +155,8 @@ public class UiWebsocketImpl extends AbstractOpenemsBackendComponent
 		if (this.server == null) {
 			return;
 		}
-		var wsDatas = this.getWsDatasForEdgeId(edgeId);
-		for (WsData wsData : wsDatas) {
-			if (!wsData.isEdgeSubscribed(edgeId)) {
+		for (var wsData : this.subscriptionIndex.get(edgeId)) {
+			if (!this.hasAccessToEdge(wsData, edgeId)) {
 				continue;
 			}
 			wsData.send(notification);
@@ -186,37 +185,18 @@ public class UiWebsocketImpl extends AbstractOpenemsBackendComponent
 	}
 
 	/**
-	 * Gets the WebSocket connection attachments of all connections accessing an
-	 * Edge-ID.
+	 * Does the User of the WebSocket connection have access to the Edge-ID?.
 	 *
+	 * @param wsData the WebSocket attachment
 	 * @param edgeId the Edge-ID
-	 * @return the WsDatas; empty list if there are none
+	 * @return true if the User has a Role for the Edge
 	 */
-	private List<WsData> getWsDatasForEdgeId(String edgeId) {
-		var result = new ArrayList<WsData>();
-		var connections = this.server.getConnections();
-		for (var websocket : connections) {
-			WsData wsData = websocket.getAttachment();
-			if (wsData == null) {
-				continue;
-			}
-			// get attachment User-ID
-			var userIdOpt = wsData.getUserId();
-			if (userIdOpt.isPresent()) {
-				var userId = userIdOpt.get();
-				// get User for User-ID
-				var userOpt = this.metadata.getUser(userId);
-				if (userOpt.isPresent()) {
-					var user = userOpt.get();
-					var edgeRoleOpt = user.getRole(edgeId);
-					if (edgeRoleOpt.isPresent()) {
-						// User has access to this Edge-ID
-						result.add(wsData);
-					}
-				}
-			}
+	private boolean hasAccessToEdge(WsData wsData, String edgeId) {
+		var userOpt = wsData.getUser(this.metadata);
+		if (userOpt.isEmpty()) {
+			return false;
 		}
-		return result;
+		return userOpt.get().getRole(edgeId).isPresent();
 	}
 
 	@Override
@@ -230,14 +210,14 @@ public class UiWebsocketImpl extends AbstractOpenemsBackendComponent
 
 	@Override
 	public void sendSubscribedChannels(String edgeId, EdgeCache edgeCache) {
-		if (this.server == null) {
+		final var server = this.server;
+		if (server == null) {
 			return;
 		}
-		var connections = this.server.getConnections();
-		for (var websocket : connections) {
-			WsData wsData = websocket.getAttachment();
-			if (wsData != null) {
-				wsData.sendSubscribedChannels(edgeId, edgeCache);
+		for (var wsData : this.subscriptionIndex.get(edgeId)) {
+			// Coalesce updates per UI session and send on the UI websocket executor
+			if (wsData.addPendingChannels(edgeId, edgeCache)) {
+				server.sendPendingChannels(wsData);
 			}
 		}
 	}
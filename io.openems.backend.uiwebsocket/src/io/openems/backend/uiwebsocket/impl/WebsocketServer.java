@@ -1,18 +1,33 @@
 package io.openems.backend.uiwebsocket.impl;
 
+import static io.openems.common.utils.ThreadPoolUtils.shutdownAndAwaitTermination;
+
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
 import org.java_websocket.WebSocket;
 import org.slf4j.Logger;
 
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+
 import io.openems.common.websocket.AbstractWebsocketServer;
 import io.openems.common.websocket.OnClose;
 import io.openems.common.websocket.OnOpen;
 
 public class WebsocketServer extends AbstractWebsocketServer<WsData> {
 
+	/**
+	 * Delay before sending pending Channels to a slow client is retried.
+	 */
+	private static final long SEND_PENDING_RETRY_MILLIS = 200;
+
 	protected final UiWebsocketImpl parent;
 	private final OnRequest onRequest;
 	private final OnNotification onNotification;
 	private final OnError onError;
+	private final ScheduledExecutorService retryExecutor;
 
 	public WebsocketServer(UiWebsocketImpl parent, String name, int port, int poolSize) {
 		super(name, port, poolSize);
@@ -20,11 +35,40 @@ public class WebsocketServer extends AbstractWebsocketServer<WsData> {
 		this.onRequest = new OnRequest(parent);
 		this.onNotification = new OnNotification(parent);
 		this.onError = new OnError(parent);
+		this.retryExecutor = Executors.newSingleThreadScheduledExecutor(
+				new ThreadFactoryBuilder().setNameFormat(name + ":Retry-%d").build());
 	}
 
 	@Override
 	protected WsData createWsData(WebSocket ws) {
-		return new WsData(ws);
+		return new WsData(ws, this.parent.subscriptionIndex);
+	}
+
+	/**
+	 * Sends the pending Channels of a UI session on the shared executor; see
+	 * {@link WsData#sendPendingChannels()}. If the client is slow, sending is
+	 * retried after {@link #SEND_PENDING_RETRY_MILLIS}.
+	 *
+	 * @param wsData the {@link WsData} of the UI session
+	 */
+	protected void sendPendingChannels(WsData wsData) {
+		this.execute(() -> {
+			if (wsData.sendPendingChannels()) {
+				return;
+			}
+			try {
+				this.retryExecutor.schedule(() -> this.sendPendingChannels(wsData), //
+						SEND_PENDING_RETRY_MILLIS, TimeUnit.MILLISECONDS);
+			} catch (RejectedExecutionException e) {
+				// Server is stopping
+			}
+		});
+	}
+
+	@Override
+	public void stop() {
+		shutdownAndAwaitTermination(this.retryExecutor, 5);
+		super.stop();
 	}
 
 	@Override
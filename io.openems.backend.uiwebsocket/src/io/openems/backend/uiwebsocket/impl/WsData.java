@@ -2,12 +2,12 @@ package io.openems.backend.uiwebsocket.impl;
 
 import java.util.Collections;
 import java.util.HashMap;
-import java.util.HashSet;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
 import java.util.SortedSet;
 import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
 
 import org.java_websocket.WebSocket;
 
@@ -27,7 +27,7 @@ public class WsData extends io.openems.common.websocket.WsData {
 	private static class SubscribedChannels {
 
 		private int lastRequestCount = Integer.MIN_VALUE;
-		private final Map<String, SortedSet<String>> subscribedChannels = new HashMap<>();
+		private final Map<String, SortedSet<String>> subscribedChannels = new ConcurrentHashMap<>();
 
 		/**
 		 * Applies a SubscribeChannelsRequest.
@@ -54,8 +54,7 @@ public class WsData extends io.openems.common.websocket.WsData {
 				return Collections.emptyMap();
 			}
 
-			var result = edgeCache.getChannelValues(subscribedChannels);
-			return result.a();
+			return edgeCache.project(subscribedChannels);
 		}
 
 		protected void dispose() {
@@ -69,10 +68,34 @@ public class WsData extends io.openems.common.websocket.WsData {
 	private Optional<String> userId = Optional.empty();
 	private Optional<String> token = Optional.empty();
 
-	private Set<String> subscribedEdges = new HashSet<>();
+	private final SubscriptionIndex subscriptionIndex;
+	private volatile Set<String> subscribedEdges = Collections.emptySet();
+	/** Set by {@link #dispose()}; guarded by 'this'. */
+	private boolean isDisposed = false;
 
-	public WsData(WebSocket ws) {
+	/**
+	 * Latest {@link EdgeCache} per Edge that was not yet sent to the UI. Holds at
+	 * most one entry per subscribed Edge, so older snapshots are coalesced.
+	 */
+	private final Map<String, EdgeCache> pendingEdgeCaches = new HashMap<>();
+	private boolean isSendPendingScheduled = false;
+
+	public WsData(WebSocket ws, SubscriptionIndex subscriptionIndex) {
 		super(ws);
+		this.subscriptionIndex = subscriptionIndex;
+	}
+
+	@Override
+	public void dispose() {
+		super.dispose();
+		synchronized (this) {
+			this.isDisposed = true;
+			this.subscriptionIndex.remove(this, this.subscribedEdges);
+			this.subscribedEdges = Collections.emptySet();
+		}
+		synchronized (this.pendingEdgeCaches) {
+			this.pendingEdgeCaches.clear();
+		}
 	}
 
 	/**
@@ -175,13 +198,75 @@ public class WsData extends io.openems.common.websocket.WsData {
 	}
 
 	/**
-	 * Applies a SubscribeEdgesRequest.
+	 * Applies a SubscribeEdgesRequest. Ignored after {@link #dispose()}, i.e. a
+	 * closed connection is never added to the {@link SubscriptionIndex} again.
 	 * 
 	 * @param edgeIds the edges to subscribe
 	 */
-	public void handleSubscribeEdgesRequest(Set<String> edgeIds) {
+	public synchronized void handleSubscribeEdgesRequest(Set<String> edgeIds) {
+		if (this.isDisposed) {
+			return;
+		}
 		// TODO maybe only add and remove on explicit request
-		this.subscribedEdges = edgeIds;
+		final var newEdgeIds = Set.copyOf(edgeIds);
+		this.subscriptionIndex.update(this, this.subscribedEdges, newEdgeIds);
+		this.subscribedEdges = newEdgeIds;
+	}
+
+	/**
+	 * Registers new data of a subscribed Edge for sending via
+	 * {@link #sendPendingChannels()}. If data of the Edge is still pending, it is
+	 * replaced, i.e. only the newest snapshot is sent.
+	 *
+	 * @param edgeId    the Edge-ID
+	 * @param edgeCache the {@link EdgeCache} for the Edge-ID
+	 * @return true if {@link #sendPendingChannels()} needs to be scheduled; false
+	 *         if it is already scheduled or the Edge is not subscribed
+	 */
+	public boolean addPendingChannels(String edgeId, EdgeCache edgeCache) {
+		if (!this.isEdgeSubscribed(edgeId)) {
+			return false;
+		}
+		synchronized (this.pendingEdgeCaches) {
+			this.pendingEdgeCaches.put(edgeId, edgeCache);
+			if (this.isSendPendingScheduled) {
+				return false;
+			}
+			this.isSendPendingScheduled = true;
+			return true;
+		}
+	}
+
+	/**
+	 * Sends the subscribed Channels of all Edges with pending data to the UI
+	 * session.
+	 *
+	 * <p>
+	 * If the WebSocket still has unsent data from previous messages, the client is
+	 * slow: nothing is sent and the pending data is kept, to be replaced by newer
+	 * data. The send stays scheduled, i.e. the caller has to retry later. Data for
+	 * a closed WebSocket is discarded.
+	 *
+	 * @return true if the pending data was handled; false if the caller has to
+	 *         retry
+	 */
+	public boolean sendPendingChannels() {
+		final Map<String, EdgeCache> pending;
+		synchronized (this.pendingEdgeCaches) {
+			var ws = this.getWebsocket();
+			if (ws != null && ws.isOpen() && ws.hasBufferedData()) {
+				return false;
+			}
+			this.isSendPendingScheduled = false;
+			if (ws == null || !ws.isOpen()) {
+				this.pendingEdgeCaches.clear();
+				return true;
+			}
+			pending = new HashMap<>(this.pendingEdgeCaches);
+			this.pendingEdgeCaches.clear();
+		}
+		pending.forEach(this::sendSubscribedChannels);
+		return true;
 	}
 
 	/**
@@ -0,0 +1,56 @@
+package io.openems.backend.uiwebsocket.impl;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Set;
+
+import org.junit.Test;
+
+public class SubscriptionIndexTest {
+
+	@Test
+	public void testSubscribeAndUnsubscribe() {
+		final var sut = new SubscriptionIndex();
+		final var ws0 = new WsData(null, sut);
+		final var ws1 = new WsData(null, sut);
+
+		ws0.handleSubscribeEdgesRequest(Set.of("edge0", "edge1"));
+		ws1.handleSubscribeEdgesRequest(Set.of("edge1"));
+		assertEquals(2, sut.size());
+		assertEquals(Set.of(ws0), Set.copyOf(sut.get("edge0")));
+		assertEquals(Set.of(ws0, ws1), Set.copyOf(sut.get("edge1")));
+		assertTrue(sut.get("edge2").isEmpty());
+
+		// Replaces the previous subscription
+		ws0.handleSubscribeEdgesRequest(Set.of("edge1", "edge2"));
+		assertTrue(sut.get("edge0").isEmpty());
+		assertEquals(Set.of(ws0, ws1), Set.copyOf(sut.get("edge1")));
+		assertEquals(Set.of(ws0), Set.copyOf(sut.get("edge2")));
+		assertEquals(2, sut.size());
+
+		// Unsubscribe all
+		ws1.handleSubscribeEdgesRequest(Set.of());
+		assertEquals(Set.of(ws0), Set.copyOf(sut.get("edge1")));
+
+		// Dispose on close
+		sut.remove(ws0, Set.of("edge1", "edge2"));
+		assertEquals(0, sut.size());
+	}
+
+	@Test
+	public void testSubscribeAfterDispose() {
+		final var sut = new SubscriptionIndex();
+		final var ws0 = new WsData(null, sut);
+
+		ws0.handleSubscribeEdgesRequest(Set.of("edge0"));
+		ws0.dispose();
+		assertEquals(0, sut.size());
+
+		// A late request of a closed connection is not indexed again
+		ws0.handleSubscribeEdgesRequest(Set.of("edge0"));
+		assertTrue(sut.get("edge0").isEmpty());
+		assertEquals(0, sut.size());
+	}
+
+}
@@ -0,0 +1,110 @@
+package io.openems.backend.uiwebsocket.impl;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import org.java_websocket.WebSocket;
+import org.junit.Test;
+
+import com.google.gson.JsonPrimitive;
+
+import io.openems.backend.common.edgewebsocket.EdgeCache;
+import io.openems.common.jsonrpc.notification.TimestampedDataNotification;
+import io.openems.common.jsonrpc.request.SubscribeChannelsRequest;
+
+public class WsDataTest {
+
+	private static class DummyWebsocket {
+		private final List<String> sent = new ArrayList<>();
+		private boolean isOpen = true;
+		private boolean hasBufferedData = false;
+
+		private WebSocket create() {
+			return (WebSocket) Proxy.newProxyInstance(WebSocket.class.getClassLoader(),
+					new Class<?>[] { WebSocket.class }, (proxy, method, args) -> {
+						return switch (method.getName()) {
+						case "isOpen" -> this.isOpen;
+						case "hasBufferedData" -> this.hasBufferedData;
+						case "send" -> {
+							this.sent.add(String.valueOf(args[0]));
+							yield null;
+						}
+						default -> null;
+						};
+					});
+		}
+	}
+
+	private static EdgeCache edgeCache(int soc) {
+		final var notification = new TimestampedDataNotification();
+		notification.add(1000L, "_sum/EssSoc", new JsonPrimitive(soc));
+		final var result = new EdgeCache();
+		result.updateCurrentData(notification);
+		return result;
+	}
+
+	private static WsData subscribedWsData(DummyWebsocket ws) {
+		final var result = new WsData(ws.create(), new SubscriptionIndex());
+		result.handleSubscribeEdgesRequest(Set.of("edge0"));
+		final var request = new SubscribeChannelsRequest(1);
+		request.getChannels().add("_sum/EssSoc");
+		result.handleSubscribeChannelsRequest("edge0", request);
+		return result;
+	}
+
+	@Test
+	public void testCoalescing() {
+		final var ws = new DummyWebsocket();
+		final var sut = subscribedWsData(ws);
+
+		// Not subscribed
+		assertFalse(sut.addPendingChannels("edge1", edgeCache(1)));
+
+		// Only the first update schedules sending; newer data replaces older data
+		assertTrue(sut.addPendingChannels("edge0", edgeCache(10)));
+		assertFalse(sut.addPendingChannels("edge0", edgeCache(20)));
+		assertTrue(sut.sendPendingChannels());
+		assertEquals(1, ws.sent.size());
+		assertTrue(ws.sent.get(0).contains("\"_sum/EssSoc\":20"));
+
+		// Nothing pending
+		assertTrue(sut.sendPendingChannels());
+		assertEquals(1, ws.sent.size());
+
+		// Schedules again
+		assertTrue(sut.addPendingChannels("edge0", edgeCache(30)));
+	}
+
+	@Test
+	public void testSlowClient() {
+		final var ws = new DummyWebsocket();
+		final var sut = subscribedWsData(ws);
+
+		ws.hasBufferedData = true;
+		assertTrue(sut.addPendingChannels("edge0", edgeCache(10)));
+		// Caller has to retry; sending stays scheduled
+		assertFalse(sut.sendPendingChannels());
+		assertFalse(sut.addPendingChannels("edge0", edgeCache(20)));
+		assertTrue(ws.sent.isEmpty());
+
+		// Retry after the buffer was drained
+		ws.hasBufferedData = false;
+		assertTrue(sut.sendPendingChannels());
+		assertEquals(1, ws.sent.size());
+		assertTrue(ws.sent.get(0).contains("\"_sum/EssSoc\":20"));
+
+		// Closed WebSocket: pending data is discarded
+		assertTrue(sut.addPendingChannels("edge0", edgeCache(30)));
+		ws.hasBufferedData = true;
+		ws.isOpen = false;
+		assertTrue(sut.sendPendingChannels());
+		assertEquals(1, ws.sent.size());
+	}
+
+}
@@ -0,0 +1,416 @@
+package io.openems.common.jsonrpc.notification;
+
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.google.common.collect.TreeBasedTable;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonNull;
+import com.google.gson.JsonPrimitive;
+
+import io.openems.common.exceptions.OpenemsError.OpenemsNamedException;
+import io.openems.common.exceptions.OpenemsException;
+import io.openems.common.utils.JsonUtils;
+
+/**
+ * Compact binary encoding of {@link AbstractDataNotification}s, i.e.
+ * {@link TimestampedDataNotification}, {@link AggregatedDataNotification} and
+ * {@link ResendDataNotification}, as websocket binary frames.
+ *
+ * <p>
+ * The format is negotiated per connection via the
+ * {@link #HANDSHAKE_FIELD} http header: the client sends it with the opening
+ * handshake; the server confirms it in its handshake response. Without
+ * confirmation the client keeps sending JSON text frames.
+ *
+ * <p>
+ * Channel-Addresses are sent only once per connection and are then referenced
+ * by an integer id. Both sides keep the dictionary in an {@link Encoder}
+ * respectively {@link Decoder} per connection. Frames have to be decoded in the
+ * order they were received.
+ *
+ * <pre>
+ * frame     := version:byte method:byte flags:byte
+ *              dictionaryCount:varint { address:string }
+ *              rowCount:varint { timestampDelta:zigzag cellCount:varint { id:varint value } }
+ * value     := NULL | TRUE | FALSE | LONG zigzag | FLOAT 4 bytes | DOUBLE 8 bytes
+ *              | STRING string | JSON string
+ * string    := length:varint UTF-8 bytes
+ * </pre>
+ *
+ * <p>
+ * New dictionary entries get the next sequential id. Flag {@link #FLAG_RESET}
+ * clears the dictionary before reading the frame. Timestamps are encoded as
+ * difference to the previous row, the first one relative to zero.
+ *
+ * <p>
+ * After a decode error the dictionaries of both sides are out of sync; the
+ * connection has to be closed, so that both sides start over with a new
+ * {@link Encoder} and {@link Decoder}.
+ */
+public class BinaryDataNotificationCodec {
+
+	/**
+	 * Name of the http header field for negotiation during websocket handshake.
+	 */
+	public static final String HANDSHAKE_FIELD = "binarydata";
+
+	/**
+	 * Current version of the binary format.
+	 */
+	public static final byte VERSION = 1;
+
+	private static final byte METHOD_TIMESTAMPED_DATA = 0;
+	private static final byte METHOD_AGGREGATED_DATA = 1;
+	private static final byte METHOD_RESEND_DATA = 2;
+
+	private static final byte FLAG_RESET = 0x01;
+
+	private static final byte TYPE_NULL = 0;
+	private static final byte TYPE_TRUE = 1;
+	private static final byte TYPE_FALSE = 2;
+	private static final byte TYPE_LONG = 3;
+	private static final byte TYPE_FLOAT = 4;
+	private static final byte TYPE_DOUBLE = 5;
+	private static final byte TYPE_STRING = 6;
+	private static final byte TYPE_JSON = 7;
+
+	/**
+	 * Upper limit for the size of the dictionary of one connection.
+	 */
+	private static final int MAX_DICTIONARY_SIZE = 1 << 20;
+
+	private BinaryDataNotificationCodec() {
+	}
+
+	/**
+	 * Encodes {@link AbstractDataNotification}s for one connection.
+	 *
+	 * <p>
+	 * Encoding and sending of a frame must happen atomically, i.e. synchronized on
+	 * this {@link Encoder}. If a frame could not be sent, {@link #reset()} has to
+	 * be called.
+	 */
+	public static class Encoder {
+
+		private final Map<String, Integer> dictionary = new HashMap<>();
+		private boolean isReset = true;
+
+		/**
+		 * Resets the dictionary. The next frame instructs the {@link Decoder} to reset
+		 * as well.
+		 */
+		public synchronized void reset() {
+			this.dictionary.clear();
+			this.isReset = true;
+		}
+
+		/**
+		 * Encodes a {@link AbstractDataNotification}.
+		 *
+		 * @param notification the {@link AbstractDataNotification}
+		 * @return the binary frame
+		 * @throws IllegalArgumentException if the notification type is not supported
+		 */
+		public synchronized ByteBuffer encode(AbstractDataNotification notification) throws IllegalArgumentException {
+			final byte method;
+			if (notification instanceof TimestampedDataNotification) {
+				method = METHOD_TIMESTAMPED_DATA;
+			} else if (notification instanceof AggregatedDataNotification) {
+				method = METHOD_AGGREGATED_DATA;
+			} else if (notification instanceof ResendDataNotification) {
+				method = METHOD_RESEND_DATA;
+			} else {
+				throw new IllegalArgumentException(
+						"Unsupported notification [" + notification.getClass().getSimpleName() + "]");
+			}
+			final var data = notification.getData();
+
+			if (this.dictionary.size() + data.columnKeySet().size() > MAX_DICTIONARY_SIZE) {
+				this.reset();
+			}
+
+			// Collect new dictionary entries
+			final var newAddresses = new ArrayList<String>();
+			for (var address : data.columnKeySet()) {
+				if (!this.dictionary.containsKey(address)) {
+					this.dictionary.put(address, this.dictionary.size());
+					newAddresses.add(address);
+				}
+			}
+
+			final var out = new Output(64 + data.size() * 8);
+			out.writeByte(VERSION);
+			out.writeByte(method);
+			out.writeByte(this.isReset ? FLAG_RESET : 0);
+			this.isReset = false;
+
+			out.writeVarint(newAddresses.size());
+			for (var address : newAddresses) {
+				out.writeString(address);
+			}
+
+			final var rows = data.rowMap();
+			out.writeVarint(rows.size());
+			var lastTimestamp = 0L;
+			for (var row : rows.entrySet()) {
+				out.writeZigzag(row.getKey() - lastTimestamp);
+				lastTimestamp = row.getKey();
+				out.writeVarint(row.getValue().size());
+				for (var cell : row.getValue().entrySet()) {
+					out.writeVarint(this.dictionary.get(cell.getKey()));
+					out.writeValue(cell.getValue());
+				}
+			}
+			return out.toByteBuffer();
+		}
+	}
+
+	/**
+	 * Decodes binary frames of one connection.
+	 */
+	public static class Decoder {
+
+		private final List<String> dictionary = new ArrayList<>();
+
+		/**
+		 * Decodes a binary frame.
+		 *
+		 * <p>
+		 * The dictionary is only updated if the whole frame is valid.
+		 *
+		 * @param frame the binary frame
+		 * @return the {@link AbstractDataNotification}
+		 * @throws OpenemsException if the frame is invalid
+		 */
+		public synchronized AbstractDataNotification decode(ByteBuffer frame) throws OpenemsException {
+			try {
+				return this._decode(frame);
+			} catch (BufferUnderflowException | IllegalArgumentException e) {
+				throw new OpenemsException("Invalid binary data frame: " + e.getClass().getSimpleName() //
+						+ (e.getMessage() == null ? "" : " " + e.getMessage()));
+			}
+		}
+
+		private AbstractDataNotification _decode(ByteBuffer frame) throws OpenemsException {
+			final var in = frame.slice();
+			final var version = in.get();
+			if (version != VERSION) {
+				throw new OpenemsException("Unsupported binary data version [" + version + "]");
+			}
+			final var method = in.get();
+			if (method != METHOD_TIMESTAMPED_DATA && method != METHOD_AGGREGATED_DATA
+					&& method != METHOD_RESEND_DATA) {
+				throw new OpenemsException("Unsupported binary data method [" + method + "]");
+			}
+			final var flags = in.get();
+			final var isReset = (flags & FLAG_RESET) != 0;
+			final var known = isReset ? List.<String>of() : this.dictionary;
+
+			final var dictionaryCount = readVarint(in);
+			if (known.size() + dictionaryCount > MAX_DICTIONARY_SIZE) {
+				throw new IllegalArgumentException("Dictionary too large");
+			}
+			final var added = new ArrayList<String>(Math.min(dictionaryCount, in.remaining()));
+			for (var i = 0; i < dictionaryCount; i++) {
+				added.add(readString(in));
+			}
+
+			final var data = TreeBasedTable.<Long, String, JsonElement>create();
+			final var rowCount = readVarint(in);
+			var timestamp = 0L;
+			for (var i = 0; i < rowCount; i++) {
+				timestamp += readZigzag(in);
+				final var cellCount = readVarint(in);
+				for (var j = 0; j < cellCount; j++) {
+					final var id = readVarint(in);
+					final String address;
+					if (id < known.size()) {
+						address = known.get(id);
+					} else if (id - known.size() < added.size()) {
+						address = added.get(id - known.size());
+					} else {
+						throw new IllegalArgumentException("Unknown id [" + id + "]");
+					}
+					data.put(timestamp, address, readValue(in));
+				}
+			}
+			if (in.hasRemaining()) {
+				throw new IllegalArgumentException("Trailing bytes");
+			}
+
+			// Frame is valid: apply dictionary changes
+			if (isReset) {
+				this.dictionary.clear();
+			}
+			this.dictionary.addAll(added);
+
+			return switch (method) {
+			case METHOD_AGGREGATED_DATA -> new AggregatedDataNotification(data);
+			case METHOD_RESEND_DATA -> new ResendDataNotification(data);
+			default -> new TimestampedDataNotification(data);
+			};
+		}
+	}
+
+	private static class Output {
+
+		private byte[] buffer;
+		private int position = 0;
+
+		private Output(int capacity) {
+			this.buffer = new byte[capacity];
+		}
+
+		private void ensureCapacity(int length) {
+			if (this.position + length > this.buffer.length) {
+				this.buffer = Arrays.copyOf(this.buffer, Math.max(this.buffer.length * 2, this.position + length));
+			}
+		}
+
+		private void writeByte(int value) {
+			this.ensureCapacity(1);
+			this.buffer[this.position++] = (byte) value;
+		}
+
+		private void writeVarint(long value) {
+			this.ensureCapacity(10);
+			while ((value & ~0x7FL) != 0) {
+				this.buffer[this.position++] = (byte) ((value & 0x7F) | 0x80);
+				value >>>= 7;
+			}
+			this.buffer[this.position++] = (byte) value;
+		}
+
+		private void writeZigzag(long value) {
+			this.writeVarint((value << 1) ^ (value >> 63));
+		}
+
+		private void writeString(String value) {
+			final var bytes = value.getBytes(StandardCharsets.UTF_8);
+			this.writeVarint(bytes.length);
+			this.ensureCapacity(bytes.length);
+			System.arraycopy(bytes, 0, this.buffer, this.position, bytes.length);
+			this.position += bytes.length;
+		}
+
+		private void writeValue(JsonElement value) {
+			if (value == null || value.isJsonNull()) {
+				this.writeByte(TYPE_NULL);
+				return;
+			}
+			if (value.isJsonPrimitive()) {
+				final var primitive = value.getAsJsonPrimitive();
+				if (primitive.isBoolean()) {
+					this.writeByte(primitive.getAsBoolean() ? TYPE_TRUE : TYPE_FALSE);
+					return;
+				}
+				if (primitive.isString()) {
+					this.writeByte(TYPE_STRING);
+					this.writeString(primitive.getAsString());
+					return;
+				}
+				final var number = primitive.getAsNumber();
+				if (number instanceof Integer || number instanceof Long || number instanceof Short
+						|| number instanceof Byte) {
+					this.writeByte(TYPE_LONG);
+					this.writeZigzag(number.longValue());
+					return;
+				}
+				if (number instanceof Float f) {
+					this.writeByte(TYPE_FLOAT);
+					this.writeInt(Float.floatToRawIntBits(f));
+					return;
+				}
+				if (number instanceof Double d) {
+					this.writeByte(TYPE_DOUBLE);
+					this.writeLong(Double.doubleToRawLongBits(d));
+					return;
+				}
+			}
+			// Fallback for any other JsonElement
+			this.writeByte(TYPE_JSON);
+			this.writeString(value.toString());
+		}
+
+		private void writeInt(int value) {
+			this.ensureCapacity(4);
+			for (var i = 3; i >= 0; i--) {
+				this.buffer[this.position++] = (byte) (value >>> (i * 8));
+			}
+		}
+
+		private void writeLong(long value) {
+			this.ensureCapacity(8);
+			for (var i = 7; i >= 0; i--) {
+				this.buffer[this.position++] = (byte) (value >>> (i * 8));
+			}
+		}
+
+		private ByteBuffer toByteBuffer() {
+			return ByteBuffer.wrap(this.buffer, 0, this.position);
+		}
+	}
+
+	private static long readVarintLong(ByteBuffer in) {
+		var result = 0L;
+		for (var shift = 0; shift < 64; shift += 7) {
+			final var b = in.get();
+			result |= (long) (b & 0x7F) << shift;
+			if ((b & 0x80) == 0) {
+				return result;
+			}
+		}
+		throw new IllegalArgumentException("Malformed varint");
+	}
+
+	private static int readVarint(ByteBuffer in) {
+		final var value = readVarintLong(in);
+		if (value < 0 || value > Integer.MAX_VALUE) {
+			throw new IllegalArgumentException("Varint out of range");
+		}
+		return (int) value;
+	}
+
+	private static long readZigzag(ByteBuffer in) {
+		final var value = readVarintLong(in);
+		return (value >>> 1) ^ -(value & 1);
+	}
+
+	private static String readString(ByteBuffer in) {
+		final var length = readVarint(in);
+		if (length > in.remaining()) {
+			throw new BufferUnderflowException();
+		}
+		final var bytes = new byte[length];
+		in.get(bytes);
+		return new String(bytes, StandardCharsets.UTF_8);
+	}
+
+	private static JsonElement readValue(ByteBuffer in) {
+		final var type = in.get();
+		return switch (type) {
+		case TYPE_NULL -> JsonNull.INSTANCE;
+		case TYPE_TRUE -> new JsonPrimitive(true);
+		case TYPE_FALSE -> new JsonPrimitive(false);
+		case TYPE_LONG -> new JsonPrimitive(readZigzag(in));
+		case TYPE_FLOAT -> new JsonPrimitive(Float.intBitsToFloat(in.getInt()));
+		case TYPE_DOUBLE -> new JsonPrimitive(Double.longBitsToDouble(in.getLong()));
+		case TYPE_STRING -> new JsonPrimitive(readString(in));
+		case TYPE_JSON -> {
+			try {
+				yield JsonUtils.parse(readString(in));
+			} catch (OpenemsNamedException e) {
+				throw new IllegalArgumentException("Invalid JSON value");
+			}
+		}
+		default -> throw new IllegalArgumentException("Unknown value type [" + type + "]");
+		};
+	}
+}
@@ -1,9 +1,11 @@
 package io.openems.common.websocket;
 
 import static io.openems.common.utils.ThreadPoolUtils.shutdownAndAwaitTermination;
+import static io.openems.common.websocket.WebsocketUtils.generateWsDataString;
 
 import java.net.BindException;
 import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
 import java.util.Collection;
 import java.util.HashMap;
 import java.util.List;
@@ -14,13 +16,18 @@ import java.util.concurrent.Executors;
 import java.util.concurrent.ThreadPoolExecutor;
 
 import org.java_websocket.WebSocket;
+import org.java_websocket.drafts.Draft;
+import org.java_websocket.exceptions.InvalidDataException;
+import org.java_websocket.framing.CloseFrame;
 import org.java_websocket.handshake.ClientHandshake;
+import org.java_websocket.handshake.ServerHandshakeBuilder;
 import org.java_websocket.server.WebSocketServer;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import com.google.common.util.concurrent.ThreadFactoryBuilder;
 
+import io.openems.common.exceptions.OpenemsError.OpenemsNamedException;
 import io.openems.common.jsonrpc.base.JsonrpcMessage;
 import io.openems.common.utils.ThreadPoolUtils;
 
@@ -71,7 +78,7 @@ public abstract class AbstractWebsocketServer<T extends WsData> extends Abstract
 
 			@Override
 			public void onMessage(WebSocket ws, String message) {
-				AbstractWebsocketServer.this.execute(new OnMessageHandler(//
+				AbstractWebsocketServer.this.executeMessage(ws, new OnMessageHandler(//
 						ws, message, //
 						AbstractWebsocketServer.this.getOnRequest(), //
 						AbstractWebsocketServer.this.getOnNotification(), //
@@ -80,6 +87,38 @@ public abstract class AbstractWebsocketServer<T extends WsData> extends Abstract
 						AbstractWebsocketServer.this::logWarn));
 			}
 
+			@Override
+			public void onMessage(WebSocket ws, ByteBuffer message) {
+				// Decode synchronously to keep the order of frames of this connection
+				final JsonrpcMessage jsonrpcMessage;
+				try {
+					jsonrpcMessage = AbstractWebsocketServer.this.decodeBinaryMessage(ws, message);
+				} catch (OpenemsNamedException e) {
+					// Following frames cannot be decoded reliably; the peer has to reconnect
+					AbstractWebsocketServer.this.handleInternalError(e, generateWsDataString(ws));
+					ws.close(CloseFrame.PROTOCOL_ERROR, "Unable to decode binary message");
+					return;
+				}
+				if (jsonrpcMessage == null) {
+					return;
+				}
+				AbstractWebsocketServer.this.executeMessage(ws, new OnMessageHandler(//
+						ws, jsonrpcMessage, //
+						AbstractWebsocketServer.this.getOnRequest(), //
+						AbstractWebsocketServer.this.getOnNotification(), //
+						AbstractWebsocketServer.this::sendMessage, //
+						AbstractWebsocketServer.this::handleInternalError, //
+						AbstractWebsocketServer.this::logWarn));
+			}
+
+			@Override
+			public ServerHandshakeBuilder onWebsocketHandshakeReceivedAsServer(WebSocket ws, Draft draft,
+					ClientHandshake request) throws InvalidDataException {
+				var response = super.onWebsocketHandshakeReceivedAsServer(ws, draft, request);
+				AbstractWebsocketServer.this.onHandshake(request, response);
+				return response;
+			}
+
 			@Override
 			public void onError(WebSocket ws, Exception ex) {
 				AbstractWebsocketServer.this.execute(new OnErrorHandler(//
@@ -159,6 +198,31 @@ public abstract class AbstractWebsocketServer<T extends WsData> extends Abstract
 		return metrics;
 	}
 
+	/**
+	 * Callback for the opening handshake of a new connection. Allows adding fields
+	 * to the handshake response, e.g. to confirm a negotiated feature.
+	 *
+	 * @param request  the {@link ClientHandshake}
+	 * @param response the {@link ServerHandshakeBuilder}
+	 */
+	protected void onHandshake(ClientHandshake request, ServerHandshakeBuilder response) {
+	}
+
+	/**
+	 * Decodes a binary websocket message. Called synchronously in the order the
+	 * messages of one connection were received. Binary messages are not supported
+	 * by default.
+	 *
+	 * @param ws      the {@link WebSocket}
+	 * @param message the binary message
+	 * @return the decoded {@link JsonrpcMessage}; null to ignore the message
+	 * @throws OpenemsNamedException on error
+	 */
+	protected JsonrpcMessage decodeBinaryMessage(WebSocket ws, ByteBuffer message) throws OpenemsNamedException {
+		this.logWarn(this.log, "[" + generateWsDataString(ws) + "] Binary messages are not supported");
+		return null;
+	}
+
 	@Override
 	protected OnInternalError getOnInternalError() {
 		return (t, wsDataString) -> {
@@ -218,6 +282,17 @@ public abstract class AbstractWebsocketServer<T extends WsData> extends Abstract
 		this.executor.execute(command);
 	}
 
+	/**
+	 * Executes the handler of a message received from the given {@link WebSocket}.
+	 * Uses the shared {@link ExecutorService} by default.
+	 *
+	 * @param ws      the {@link WebSocket}
+	 * @param command the {@link Runnable}
+	 */
+	protected void executeMessage(WebSocket ws, Runnable command) {
+		this.execute(command);
+	}
+
 	/**
 	 * Stops the {@link WebSocketServer}.
 	 */
@@ -31,6 +31,7 @@ public final class OnMessageHandler implements Runnable {
 	private final Logger log = LoggerFactory.getLogger(OnMessageHandler.class);
 	private final WebSocket ws;
 	private final String message;
+	private JsonrpcMessage jsonrpcMessage;
 	private final OnRequest onRequest;
 	private final OnNotification onNotification;
 	private final BiPredicate<WebSocket, JsonrpcMessage> sendMessage;
@@ -44,8 +45,29 @@ public final class OnMessageHandler implements Runnable {
 			BiPredicate<WebSocket, JsonrpcMessage> sendMessage, //
 			BiConsumer<Throwable, String> handleInternalError, //
 			BiConsumer<Logger, String> logWarn) {
+		this(ws, message, null, onRequest, onNotification, sendMessage, handleInternalError, logWarn);
+	}
+
+	public OnMessageHandler(//
+			WebSocket ws, JsonrpcMessage message, //
+			OnRequest onRequest, //
+			OnNotification onNotification, //
+			BiPredicate<WebSocket, JsonrpcMessage> sendMessage, //
+			BiConsumer<Throwable, String> handleInternalError, //
+			BiConsumer<Logger, String> logWarn) {
+		this(ws, null, message, onRequest, onNotification, sendMessage, handleInternalError, logWarn);
+	}
+
+	private OnMessageHandler(//
+			WebSocket ws, String message, JsonrpcMessage jsonrpcMessage, //
+			OnRequest onRequest, //
+			OnNotification onNotification, //
+			BiPredicate<WebSocket, JsonrpcMessage> sendMessage, //
+			BiConsumer<Throwable, String> handleInternalError, //
+			BiConsumer<Logger, String> logWarn) {
 		this.ws = ws;
 		this.message = message;
+		this.jsonrpcMessage = jsonrpcMessage;
 		this.onRequest = onRequest;
 		this.onNotification = onNotification;
 		this.sendMessage = sendMessage;
@@ -53,10 +75,37 @@ public final class OnMessageHandler implements Runnable {
 		this.logWarn = logWarn;
 	}
 
+	/**
+	 * Gets the text message as received.
+	 *
+	 * @return the text message; null for messages that were already decoded
+	 */
+	public String getTextMessage() {
+		return this.message;
+	}
+
+	/**
+	 * Gets the {@link JsonrpcMessage}. Text messages are parsed on first call.
+	 *
+	 * <p>
+	 * Allows to route a message before it is executed. Must not be called
+	 * concurrently with {@link #run()}.
+	 *
+	 * @return the {@link JsonrpcMessage}
+	 * @throws OpenemsNamedException if the message is invalid
+	 */
+	public JsonrpcMessage getJsonrpcMessage() throws OpenemsNamedException {
+		// Binary messages are already decoded
+		if (this.jsonrpcMessage == null) {
+			this.jsonrpcMessage = JsonrpcMessage.from(this.message);
+		}
+		return this.jsonrpcMessage;
+	}
+
 	@Override
 	public final void run() {
 		try {
-			var message = JsonrpcMessage.from(this.message);
+			var message = this.getJsonrpcMessage();
 
 			if (message instanceof JsonrpcRequest request) {
 				this.handleJsonrpcRequest(this.ws, request);
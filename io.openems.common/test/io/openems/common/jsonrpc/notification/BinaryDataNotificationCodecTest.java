@@ -0,0 +1,125 @@
+package io.openems.common.jsonrpc.notification;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.nio.ByteBuffer;
+
+import org.junit.Test;
+
+import com.google.common.collect.TreeBasedTable;
+import com.google.gson.JsonArray;
+import com.google.gson.JsonNull;
+import com.google.gson.JsonPrimitive;
+
+import io.openems.common.exceptions.OpenemsException;
+
+public class BinaryDataNotificationCodecTest {
+
+	@Test
+	public void testEncodeDecode() throws OpenemsException {
+		var encoder = new BinaryDataNotificationCodec.Encoder();
+		var decoder = new BinaryDataNotificationCodec.Decoder();
+
+		var array = new JsonArray();
+		array.add(1);
+		var n1 = new TimestampedDataNotification();
+		n1.add(1700000000000L, "_sum/State", new JsonPrimitive(0));
+		n1.add(1700000000000L, "_sum/EssSoc", new JsonPrimitive(-55L));
+		n1.add(1700000000000L, "meter0/ActivePower", JsonNull.INSTANCE);
+		n1.add(1700000001000L, "meter0/ActivePower", new JsonPrimitive(1.5));
+		n1.add(1700000001000L, "meter0/Voltage", new JsonPrimitive(230.1F));
+		n1.add(1700000001000L, "_meta/Version", new JsonPrimitive("2024.1.0"));
+		n1.add(1700000001000L, "io0/Relay1", new JsonPrimitive(true));
+		n1.add(1700000001000L, "io0/Relay2", array);
+		var frame1 = encoder.encode(n1);
+
+		var d1 = decoder.decode(frame1);
+		assertTrue(d1 instanceof TimestampedDataNotification);
+		assertEquals(n1.getParams(), d1.getParams());
+
+		// Second frame only references the dictionary
+		var n2 = new AggregatedDataNotification();
+		n2.add(1700000300000L, "_sum/EssSoc", new JsonPrimitive(56));
+		var frame2 = encoder.encode(n2);
+		assertTrue(frame2.remaining() * 4 < n2.toString().length());
+		var d2 = decoder.decode(frame2);
+		assertTrue(d2 instanceof AggregatedDataNotification);
+		assertEquals(n2.getParams(), d2.getParams());
+	}
+
+	@Test
+	public void testReset() throws OpenemsException {
+		var encoder = new BinaryDataNotificationCodec.Encoder();
+		var decoder = new BinaryDataNotificationCodec.Decoder();
+
+		var n1 = new ResendDataNotification(TreeBasedTable.create());
+		n1.add(1000L, "_sum/EssSoc", new JsonPrimitive(1));
+		decoder.decode(encoder.encode(n1));
+
+		// e.g. a frame could not be sent
+		encoder.reset();
+		var n2 = new TimestampedDataNotification();
+		n2.add(2000L, "_sum/GridActivePower", new JsonPrimitive(2));
+		n2.add(2000L, "_sum/EssSoc", new JsonPrimitive(3));
+
+		// Decoder with a different state still decodes correctly
+		var d2 = new BinaryDataNotificationCodec.Decoder().decode(encoder.encode(n2));
+		assertEquals(n2.getParams(), d2.getParams());
+	}
+
+	@Test
+	public void testCorruptedFrame() throws OpenemsException {
+		var encoder = new BinaryDataNotificationCodec.Encoder();
+		var decoder = new BinaryDataNotificationCodec.Decoder();
+
+		var n1 = new TimestampedDataNotification();
+		n1.add(1000L, "_sum/EssSoc", new JsonPrimitive(1));
+		decoder.decode(encoder.encode(n1));
+
+		// Frame with a new dictionary entry is truncated
+		var n2 = new TimestampedDataNotification();
+		n2.add(2000L, "_sum/GridActivePower", new JsonPrimitive(2));
+		n2.add(2000L, "_sum/EssSoc", new JsonPrimitive(3));
+		var frame2 = encoder.encode(n2);
+		var truncated = frame2.duplicate();
+		truncated.limit(truncated.limit() - 1);
+		assertInvalid(decoder, truncated);
+
+		// Frame with trailing garbage
+		var extended = ByteBuffer.allocate(frame2.remaining() + 1);
+		extended.put(frame2.duplicate()).put((byte) 0).flip();
+		assertInvalid(decoder, extended);
+
+		// Frame that references an unknown id
+		assertInvalid(decoder, ByteBuffer.wrap(new byte[] { BinaryDataNotificationCodec.VERSION, 0, 0, //
+				0 /* no new addresses */, 1 /* row */, 0 /* timestamp */, 1 /* cell */, 5 /* id */, 0 /* null */ }));
+
+		// Dictionary was not modified by the invalid frames
+		assertEquals(n2.getParams(), decoder.decode(frame2).getParams());
+		var n3 = new TimestampedDataNotification();
+		n3.add(3000L, "_sum/GridActivePower", new JsonPrimitive(4));
+		assertEquals(n3.getParams(), decoder.decode(encoder.encode(n3)).getParams());
+	}
+
+	private static void assertInvalid(BinaryDataNotificationCodec.Decoder decoder, ByteBuffer frame) {
+		try {
+			decoder.decode(frame);
+			fail();
+		} catch (OpenemsException e) {
+			// expected
+		}
+	}
+
+	@Test
+	public void testInvalid() {
+		var decoder = new BinaryDataNotificationCodec.Decoder();
+		try {
+			decoder.decode(ByteBuffer.wrap(new byte[] { BinaryDataNotificationCodec.VERSION, 0, 0, 5 }));
+			fail();
+		} catch (OpenemsException e) {
+			// expected
+		}
+	}
+}
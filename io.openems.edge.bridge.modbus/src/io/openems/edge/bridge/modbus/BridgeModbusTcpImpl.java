@@ -22,6 +22,7 @@ import io.openems.common.utils.InetAddressUtils;
 import io.openems.edge.bridge.modbus.api.AbstractModbusBridge;
 import io.openems.edge.bridge.modbus.api.BridgeModbus;
 import io.openems.edge.bridge.modbus.api.BridgeModbusTcp;
+import io.openems.edge.bridge.modbus.api.worker.internal.TaskLanes;
 import io.openems.edge.common.component.OpenemsComponent;
 import io.openems.edge.common.event.EdgeEventConstants;
 
@@ -45,6 +46,7 @@ public class BridgeModbusTcpImpl extends AbstractModbusBridge
 	/** The configured IP address. */
 	private InetAddress ipAddress = null;
 	private int port;
+	private int parallelConnections = 1;
 
 	public BridgeModbusTcpImpl() {
 		super(//
@@ -69,9 +71,12 @@ public class BridgeModbusTcpImpl extends AbstractModbusBridge
 		this.closeModbusConnection();
 	}
 
-	private void applyConfig(ConfigTcp config) {
+	private synchronized void applyConfig(ConfigTcp config) {
 		this.setIpAddress(InetAddressUtils.parseOrNull(config.ip()));
 		this.port = config.port();
+		this.parallelConnections = Math.max(1, config.parallelConnections());
+		this.worker.configureLanes(config.id(), this.parallelConnections);
+		this.worker.setMergeReads(config.mergeReads());
 	}
 
 	@Override
@@ -80,11 +85,22 @@ public class BridgeModbusTcpImpl extends AbstractModbusBridge
 		super.deactivate();
 	}
 
+	/**
+	 * Closes the Modbus connection of the current lane if called from a
+	 * {@link TaskLanes} thread; otherwise closes all Modbus connections.
+	 */
 	@Override
 	public void closeModbusConnection() {
-		if (this._connection != null) {
-			this._connection.close();
-			this._connection = null;
+		final ConnectionSlot[] slots;
+		synchronized (this) {
+			if (TaskLanes.isLaneThread()) {
+				slots = new ConnectionSlot[] { this.getConnectionSlot(TaskLanes.getCurrentLane()) };
+			} else {
+				slots = this.slots;
+			}
+		}
+		for (var slot : slots) {
+			slot.close();
 		}
 	}
 
@@ -96,27 +112,89 @@ public class BridgeModbusTcpImpl extends AbstractModbusBridge
 		return transaction;
 	}
 
-	private TCPMasterConnection _connection = null;
+	/**
+	 * Holds the Modbus connection of one lane. Connecting and closing lock only
+	 * the slot, so a connect timeout of one lane does not block the others.
+	 */
+	private static class ConnectionSlot {
+
+		private TCPMasterConnection connection = null;
+
+		private synchronized TCPMasterConnection connect(InetAddress ipAddress, int port) throws OpenemsException {
+			if (this.connection == null) {
+				/*
+				 * create new connection
+				 */
+				var connection = new TCPMasterConnection(ipAddress);
+				connection.setPort(port);
+				this.connection = connection;
+			}
+			if (!this.connection.isConnected()) {
+				try {
+					this.connection.connect();
+				} catch (Exception e) {
+					throw new OpenemsException(
+							"Connection to [" + ipAddress.getHostAddress() + "] failed: " + e.getMessage());
+				}
+				this.connection.getModbusTransport().setTimeout(AbstractModbusBridge.DEFAULT_TIMEOUT);
+			}
+			return this.connection;
+		}
 
-	private synchronized TCPMasterConnection getModbusConnection() throws OpenemsException {
-		if (this._connection == null) {
-			/*
-			 * create new connection
-			 */
-			var connection = new TCPMasterConnection(this.getIpAddress());
-			connection.setPort(this.port);
-			this._connection = connection;
+		private synchronized void close() {
+			if (this.connection != null) {
+				this.connection.close();
+				this.connection = null;
+			}
 		}
-		if (!this._connection.isConnected()) {
-			try {
-				this._connection.connect();
-			} catch (Exception e) {
-				throw new OpenemsException(
-						"Connection to [" + this.getIpAddress().getHostAddress() + "] failed: " + e.getMessage());
+	}
+
+	/**
+	 * One connection per lane plus one for Tasks that are not executed on a lane;
+	 * see {@link TaskLanes}. Without parallel lanes there is only one connection.
+	 */
+	private ConnectionSlot[] slots = new ConnectionSlot[0];
+
+	private TCPMasterConnection getModbusConnection() throws OpenemsException {
+		final ConnectionSlot slot;
+		final InetAddress ipAddress;
+		final int port;
+		ConnectionSlot[] oldSlots = new ConnectionSlot[0];
+		synchronized (this) {
+			final var size = this.parallelConnections > 1 ? this.parallelConnections + 1 : 1;
+			if (this.slots.length != size) {
+				// Number of connections changed
+				oldSlots = this.slots;
+				this.slots = new ConnectionSlot[size];
+				for (var i = 0; i < size; i++) {
+					this.slots[i] = new ConnectionSlot();
+				}
 			}
-			this._connection.getModbusTransport().setTimeout(AbstractModbusBridge.DEFAULT_TIMEOUT);
+			// The last slot is reserved for threads that are not lane threads
+			slot = TaskLanes.isLaneThread() //
+					? this.getConnectionSlot(TaskLanes.getCurrentLane()) //
+					: this.slots[this.slots.length - 1];
+			ipAddress = this.getIpAddress();
+			port = this.port;
+		}
+		for (var oldSlot : oldSlots) {
+			oldSlot.close();
+		}
+		return slot.connect(ipAddress, port);
+	}
+
+	/**
+	 * Gets the slot of the given lane. Lanes of a previous configuration that are
+	 * still running share the last lane slot.
+	 *
+	 * @param lane the lane index
+	 * @return the {@link ConnectionSlot}
+	 */
+	private synchronized ConnectionSlot getConnectionSlot(int lane) {
+		if (this.slots.length == 0) {
+			return new ConnectionSlot();
 		}
-		return this._connection;
+		return this.slots[Math.min(lane, Math.max(0, this.slots.length - 2))];
 	}
 
 	@Override
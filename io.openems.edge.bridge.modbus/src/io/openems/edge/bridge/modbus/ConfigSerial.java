@@ -51,5 +51,9 @@ import io.openems.edge.bridge.modbus.api.Stopbit;
 	@AttributeDefinition(name = "Invalidate elements after how many read Errors?", description = "Increase this value if modbus read errors happen frequently.")
 	int invalidateElementsAfterReadErrors() default 1;
 
+	@AttributeDefinition(name = "Merge reads?", description = "Read adjacent registers of one device with a single request. "
+			+ "Gaps are only bridged if they are declared by DummyRegisterElements.")
+	boolean mergeReads() default false;
+
 	String webconsole_configurationFactory_nameHint() default "Bridge Modbus/RTU Serial [{id}]";
 }
\ No newline at end of file
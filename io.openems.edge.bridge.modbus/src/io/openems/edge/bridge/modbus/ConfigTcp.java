@@ -27,11 +27,20 @@ import io.openems.edge.bridge.modbus.api.LogVerbosity;
 	@AttributeDefinition(name = "Port", description = "The port of the Modbus/TCP device.")
 	int port() default Modbus.DEFAULT_PORT;
 
+	@AttributeDefinition(name = "Parallel connections", description = "Number of concurrent TCP connections to the device. "
+			+ "Requests for different Unit-IDs are executed in parallel; requests for the same Unit-ID keep their order. "
+			+ "Use 1 for devices that accept only one connection.")
+	int parallelConnections() default 1;
+
 	@AttributeDefinition(name = "Log-Verbosity", description = "The log verbosity.")
 	LogVerbosity logVerbosity() default LogVerbosity.NONE;
 
 	@AttributeDefinition(name = "Invalidate elements after how many read Errors?", description = "Increase this value if modbus read errors happen frequently.")
 	int invalidateElementsAfterReadErrors() default 1;
 
+	@AttributeDefinition(name = "Merge reads?", description = "Read adjacent registers of one device with a single request. "
+			+ "Gaps are only bridged if they are declared by DummyRegisterElements.")
+	boolean mergeReads() default false;
+
 	String webconsole_configurationFactory_nameHint() default "Bridge Modbus/TCP [{id}]";
 }
\ No newline at end of file
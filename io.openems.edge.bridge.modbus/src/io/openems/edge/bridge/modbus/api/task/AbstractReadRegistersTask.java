@@ -1,6 +1,8 @@
 package io.openems.edge.bridge.modbus.api.task;
 
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.List;
 import java.util.function.Consumer;
 
 import com.ghgande.j2mod.modbus.msg.ModbusRequest;
@@ -8,6 +10,7 @@ import com.ghgande.j2mod.modbus.msg.ModbusResponse;
 import com.ghgande.j2mod.modbus.procimg.Register;
 
 import io.openems.common.exceptions.OpenemsException;
+import io.openems.edge.bridge.modbus.api.AbstractModbusBridge;
 import io.openems.edge.bridge.modbus.api.element.ModbusElement;
 import io.openems.edge.bridge.modbus.api.element.ModbusRegisterElement;
 import io.openems.edge.common.taskmanager.Priority;
@@ -34,4 +37,56 @@ public abstract class AbstractReadRegistersTask<//
 	protected final int calculateNextPosition(ModbusElement modbusElement, int position) {
 		return position + modbusElement.length;
 	}
+
+	@Override
+	protected final REQUEST createModbusRequest() {
+		return this.createModbusRequest(this.startAddress, this.length);
+	}
+
+	/**
+	 * Factory for a {@link ModbusRequest} for the given register range.
+	 * 
+	 * @param startAddress the start address
+	 * @param length       the number of registers
+	 * @return a new {@link ModbusRequest}
+	 */
+	protected abstract REQUEST createModbusRequest(int startAddress, int length);
+
+	/**
+	 * Reads the given register range with one request on behalf of multiple
+	 * tasks of the same type and distributes the response to them via
+	 * {@link #handleResult(Register[])}.
+	 * 
+	 * @param bridge       the Modbus-Bridge
+	 * @param startAddress the start address of the merged range
+	 * @param length       the length of the merged range
+	 * @param tasks        the tasks; all within the merged range
+	 * @return {@link ExecuteState#OK}, or an {@link ExecuteState.Error} if
+	 *         distributing the response to one of the tasks failed
+	 * @throws Exception if the request itself failed; no task was handled then
+	 */
+	protected ExecuteState executeMerged(AbstractModbusBridge bridge, int startAddress, int length,
+			List<? extends AbstractReadRegistersTask<?, ?>> tasks) throws Exception {
+		var response = this.executeRequest(bridge, this.createModbusRequest(startAddress, length));
+		var result = this.parseResponse(response);
+		if (result.length < length) {
+			throw new OpenemsException("Received message is too short. " //
+					+ "Expected [" + length + "] " //
+					+ "Got [" + result.length + "]");
+		}
+
+		var errors = new ArrayList<String>();
+		for (var task : tasks) {
+			var offset = task.startAddress - startAddress;
+			try {
+				task.handleResult(Arrays.copyOfRange(result, offset, offset + task.length));
+			} catch (OpenemsException e) {
+				errors.add(e.getMessage());
+			}
+		}
+		if (!errors.isEmpty()) {
+			return new ExecuteState.Error(new OpenemsException(String.join(", ", errors)));
+		}
+		return ExecuteState.OK;
+	}
 }
\ No newline at end of file
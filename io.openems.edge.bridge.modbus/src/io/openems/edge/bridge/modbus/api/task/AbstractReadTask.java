@@ -48,15 +48,7 @@ public abstract class AbstractReadTask<//
 			// On error a log message has already been logged
 
 			try {
-				var result = this.parseResponse(response);
-				validateResponse(result, this.length);
-
-				// NOTE: onExecute has to be called before filling elements; but OK could be
-				// wrong if fillElements throws an exception.
-				this.onExecute.accept(ExecuteState.OK);
-				this.fillElements(result);
-
-				return ExecuteState.OK;
+				return this.handleResult(this.parseResponse(response));
 
 			} catch (OpenemsException e1) {
 				logError(this.log, e1, "Parsing Response failed.");
@@ -64,15 +56,50 @@ public abstract class AbstractReadTask<//
 			}
 
 		} catch (Exception e) {
-			var executeState = new ExecuteState.Error(e);
-			this.onExecute.accept(executeState);
-
-			// Invalidate Elements
-			Stream.of(this.elements).forEach(el -> el.invalidate(bridge));
-			return executeState;
+			return this.handleError(bridge, e);
 		}
 	}
 
+	/**
+	 * Handles the parsed values of a successful request: calls 'onExecute' and
+	 * fills the {@link ModbusElement}s.
+	 *
+	 * <p>
+	 * This is also called by {@link MergedReadRegistersTask} with the slice of a
+	 * merged response that belongs to this task.
+	 *
+	 * @param result the parsed response values
+	 * @return {@link ExecuteState#OK}
+	 * @throws OpenemsException on error
+	 */
+	protected ExecuteState handleResult(T[] result) throws OpenemsException {
+		validateResponse(result, this.length);
+
+		// NOTE: onExecute has to be called before filling elements; but OK could be
+		// wrong if fillElements throws an exception.
+		this.onExecute.accept(ExecuteState.OK);
+		this.fillElements(result);
+
+		return ExecuteState.OK;
+	}
+
+	/**
+	 * Handles a failed request: calls 'onExecute' and invalidates the
+	 * {@link ModbusElement}s.
+	 *
+	 * @param bridge the Modbus-Bridge
+	 * @param e      the {@link Exception}
+	 * @return an {@link ExecuteState.Error}
+	 */
+	protected ExecuteState handleError(AbstractModbusBridge bridge, Exception e) {
+		var executeState = new ExecuteState.Error(e);
+		this.onExecute.accept(executeState);
+
+		// Invalidate Elements
+		Stream.of(this.elements).forEach(el -> el.invalidate(bridge));
+		return executeState;
+	}
+
 	/**
 	 * Verify length of response array.
 	 * 
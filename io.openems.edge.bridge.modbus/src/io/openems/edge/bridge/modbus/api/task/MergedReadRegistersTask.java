@@ -0,0 +1,151 @@
+package io.openems.edge.bridge.modbus.api.task;
+
+import java.util.List;
+import java.util.function.Consumer;
+
+import com.ghgande.j2mod.modbus.ModbusSlaveException;
+
+import io.openems.edge.bridge.modbus.api.AbstractModbusBridge;
+import io.openems.edge.bridge.modbus.api.AbstractOpenemsModbusComponent;
+import io.openems.edge.bridge.modbus.api.element.ModbusElement;
+import io.openems.edge.common.taskmanager.Priority;
+
+/**
+ * Executes multiple {@link AbstractReadRegistersTask}s of the same type and
+ * the same parent Component with one single Modbus request that spans all of
+ * their registers, including small gaps in-between.
+ *
+ * <p>
+ * Instances are created per Cycle by the Modbus task planner; they are never
+ * part of a {@link io.openems.edge.bridge.modbus.api.ModbusProtocol}.
+ *
+ * <p>
+ * If the device rejects the merged request with a Modbus exception response
+ * (e.g. 'Illegal Data Address'), the tasks are executed one by one in the same
+ * Cycle and 'onRejected' is called, so that the planner does not merge these
+ * tasks again. On any other failure - e.g. a timeout - all tasks fail without
+ * further requests.
+ */
+public final class MergedReadRegistersTask implements ReadTask {
+
+	private final List<? extends AbstractReadRegistersTask<?, ?>> tasks;
+	private final Consumer<MergedReadRegistersTask> onRejected;
+	private final int startAddress;
+	private final int length;
+	private final Priority priority;
+	private final ModbusElement[] elements;
+
+	/**
+	 * Constructor for {@link MergedReadRegistersTask}.
+	 *
+	 * @param tasks      the tasks, sorted by start address; at least two
+	 * @param onRejected callback if the device rejected the merged request with a
+	 *                   Modbus exception response
+	 */
+	public MergedReadRegistersTask(List<? extends AbstractReadRegistersTask<?, ?>> tasks,
+			Consumer<MergedReadRegistersTask> onRejected) {
+		this.tasks = List.copyOf(tasks);
+		this.onRejected = onRejected;
+
+		var startAddress = Integer.MAX_VALUE;
+		var endAddress = Integer.MIN_VALUE;
+		var priority = Priority.LOW;
+		for (var task : this.tasks) {
+			startAddress = Math.min(startAddress, task.getStartAddress());
+			endAddress = Math.max(endAddress, task.getStartAddress() + task.getLength());
+			if (task.getPriority().compareTo(priority) < 0) {
+				priority = task.getPriority();
+			}
+		}
+		this.startAddress = startAddress;
+		this.length = endAddress - startAddress;
+		this.priority = priority;
+		this.elements = this.tasks.stream() //
+				.flatMap(t -> List.of(t.getElements()).stream()) //
+				.toArray(ModbusElement[]::new);
+	}
+
+	/**
+	 * Gets the merged tasks.
+	 *
+	 * @return the tasks, sorted by start address
+	 */
+	public List<? extends AbstractReadRegistersTask<?, ?>> getTasks() {
+		return this.tasks;
+	}
+
+	@Override
+	public ExecuteState execute(AbstractModbusBridge bridge) {
+		try {
+			return this.tasks.get(0).executeMerged(bridge, this.startAddress, this.length, this.tasks);
+
+		} catch (ModbusSlaveException e) {
+			// Device does not accept the merged range; do not merge again
+			this.onRejected.accept(this);
+			return this.executeIndividually(bridge);
+
+		} catch (Exception e) {
+			// Individual requests would fail the same way
+			ExecuteState result = ExecuteState.NO_OP;
+			for (var task : this.tasks) {
+				result = task.handleError(bridge, e);
+			}
+			return result;
+		}
+	}
+
+	private ExecuteState executeIndividually(AbstractModbusBridge bridge) {
+		ExecuteState result = ExecuteState.NO_OP;
+		for (var task : this.tasks) {
+			var state = task.execute(bridge);
+			if (state instanceof ExecuteState.Error || result == ExecuteState.NO_OP) {
+				result = state;
+			}
+		}
+		return result;
+	}
+
+	@Override
+	public ModbusElement[] getElements() {
+		return this.elements;
+	}
+
+	@Override
+	public int getStartAddress() {
+		return this.startAddress;
+	}
+
+	@Override
+	public int getLength() {
+		return this.length;
+	}
+
+	@Override
+	public void setParent(AbstractOpenemsModbusComponent parent) {
+		for (var task : this.tasks) {
+			task.setParent(parent);
+		}
+	}
+
+	@Override
+	public AbstractOpenemsModbusComponent getParent() {
+		return this.tasks.get(0).getParent();
+	}
+
+	@Override
+	public Priority getPriority() {
+		return this.priority;
+	}
+
+	@Override
+	public void deactivate() {
+		// Tasks are deactivated by their ModbusProtocol
+	}
+
+	@Override
+	public String toString() {
+		return "MergedReadRegistersTask [startAddress=" + this.startAddress + ", length=" + this.length + ", tasks="
+				+ this.tasks.size() + "]";
+	}
+
+}
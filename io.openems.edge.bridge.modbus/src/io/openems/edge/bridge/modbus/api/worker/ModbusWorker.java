@@ -5,6 +5,7 @@ import java.util.function.Consumer;
 import java.util.function.Function;
 
 import io.openems.common.worker.AbstractImmediateWorker;
+import io.openems.edge.bridge.modbus.api.AbstractOpenemsModbusComponent;
 import io.openems.edge.bridge.modbus.api.BridgeModbus;
 import io.openems.edge.bridge.modbus.api.LogVerbosity;
 import io.openems.edge.bridge.modbus.api.ModbusComponent;
@@ -15,6 +16,7 @@ import io.openems.edge.bridge.modbus.api.task.Task.ExecuteState;
 import io.openems.edge.bridge.modbus.api.worker.internal.CycleTasks;
 import io.openems.edge.bridge.modbus.api.worker.internal.CycleTasksManager;
 import io.openems.edge.bridge.modbus.api.worker.internal.DefectiveComponents;
+import io.openems.edge.bridge.modbus.api.worker.internal.TaskLanes;
 import io.openems.edge.bridge.modbus.api.worker.internal.TasksSupplierImpl;
 
 /**
@@ -28,6 +30,13 @@ import io.openems.edge.bridge.modbus.api.worker.internal.TasksSupplierImpl;
  * TOPIC_CYCLE_BEFORE_PROCESS_IMAGE event). For this it uses a
  * {@link CycleTasksManager} that internally uses a {@link TasksSupplierImpl}
  * that supplies the tasks for one Cycle ({@link CycleTasks}).
+ *
+ * <p>
+ * If more than one lane is configured via {@link #configureLanes(String, int)},
+ * Read- and Write-Tasks are executed in parallel by {@link TaskLanes}, keeping
+ * the order per Unit-ID. Before every state change of the
+ * {@link CycleTasksManager} all in-flight Tasks are awaited, so the Read/Write
+ * phases of a Cycle never overlap.
  */
 public class ModbusWorker extends AbstractImmediateWorker {
 
@@ -35,6 +44,7 @@ public class ModbusWorker extends AbstractImmediateWorker {
 	private final Function<Task, ExecuteState> execute;
 	private final Consumer<ModbusElement[]> invalidate;
 
+	private final TaskLanes lanes = new TaskLanes();
 	private final DefectiveComponents defectiveComponents;
 	private final TasksSupplierImpl tasksSupplier;
 	private final CycleTasksManager cycleTasksManager;
@@ -63,13 +73,51 @@ public class ModbusWorker extends AbstractImmediateWorker {
 		this.defectiveComponents = new DefectiveComponents(logVerbosity);
 		this.tasksSupplier = new TasksSupplierImpl();
 		this.cycleTasksManager = new CycleTasksManager(this.tasksSupplier, this.defectiveComponents,
-				cycleTimeIsTooShortChannel, cycleDelayChannel, logVerbosity);
+				cycleTimeIsTooShortChannel, cycleDelayChannel, logVerbosity, this.lanes::awaitIdle);
+	}
+
+	@Override
+	public void deactivate() {
+		super.deactivate();
+		this.lanes.deactivate();
+	}
+
+	/**
+	 * Configures the number of parallel lanes, i.e. the number of Tasks that may
+	 * be executed at the same time.
+	 *
+	 * @param name          the name prefix for the lane threads
+	 * @param numberOfLanes the number of lanes; 1 for sequential execution
+	 */
+	public void configureLanes(String name, int numberOfLanes) {
+		this.lanes.configure(name, numberOfLanes);
+	}
+
+	/**
+	 * Enables or disables merging of adjacent register reads of one Component to
+	 * a single request.
+	 *
+	 * @param mergeReads true to merge reads
+	 */
+	public void setMergeReads(boolean mergeReads) {
+		this.cycleTasksManager.setMergeReads(mergeReads);
 	}
 
 	@Override
 	protected void forever() throws InterruptedException {
 		var task = this.cycleTasksManager.getNextTask();
 
+		if (this.lanes.isParallel() && task.getParent() instanceof AbstractOpenemsModbusComponent component) {
+			// execute the task asynchronously on the lane of its Unit-ID
+			var unitId = component.getUnitId();
+			this.lanes.submit(unitId == null ? 0 : unitId, () -> this.executeTask(task));
+			return;
+		}
+
+		this.executeTask(task);
+	}
+
+	private void executeTask(Task task) {
 		// execute the task
 		var result = this.execute.apply(task);
 
@@ -125,6 +173,7 @@ public class ModbusWorker extends AbstractImmediateWorker {
 	public void addProtocol(String sourceId, ModbusProtocol protocol) {
 		this.tasksSupplier.addProtocol(sourceId, protocol);
 		this.defectiveComponents.remove(sourceId); // Cleanup
+		this.cycleTasksManager.invalidateMergedReads(sourceId); // Cleanup
 	}
 
 	/**
@@ -135,6 +184,7 @@ public class ModbusWorker extends AbstractImmediateWorker {
 	public void removeProtocol(String sourceId) {
 		this.tasksSupplier.removeProtocol(sourceId);
 		this.defectiveComponents.remove(sourceId); // Cleanup
+		this.cycleTasksManager.invalidateMergedReads(sourceId); // Cleanup
 	}
 
 	/**
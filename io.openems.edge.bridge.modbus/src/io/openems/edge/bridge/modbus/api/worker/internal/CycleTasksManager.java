@@ -1,6 +1,7 @@
 package io.openems.edge.bridge.modbus.api.worker.internal;
 
 import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.BooleanSupplier;
 import java.util.function.Consumer;
 
 import org.slf4j.Logger;
@@ -27,19 +28,36 @@ public class CycleTasksManager {
 	private final DefectiveComponents defectiveComponents;
 	private final Consumer<Boolean> cycleTimeIsTooShortChannel;
 	private final AtomicReference<LogVerbosity> logVerbosity;
+	private final BooleanSupplier awaitInFlightTasks;
 
+	private final ReadTasksMerger readTasksMerger;
 	private final WaitDelayHandler waitDelayHandler;
+	private volatile boolean mergeReads = false;
 	private final WaitTask.Mutex waitMutexTask = new WaitTask.Mutex();
 
 	private CycleTasks cycleTasks;
 
+	/**
+	 * Constructor for {@link CycleTasksManager}.
+	 *
+	 * @param tasksSupplier              the {@link TasksSupplier}
+	 * @param defectiveComponents        the {@link DefectiveComponents}
+	 * @param cycleTimeIsTooShortChannel sets the CYCLE_TIME_IS_TOO_SHORT channel
+	 * @param cycleDelayChannel          sets the CYCLE_DELAY channel
+	 * @param logVerbosity               the configured {@link LogVerbosity}
+	 * @param awaitInFlightTasks         blocks until all Tasks that are executed
+	 *                                   asynchronously (see {@link TaskLanes})
+	 *                                   finished; returns true if it had to wait
+	 */
 	public CycleTasksManager(TasksSupplier tasksSupplier, DefectiveComponents defectiveComponents,
 			Consumer<Boolean> cycleTimeIsTooShortChannel, Consumer<Long> cycleDelayChannel,
-			AtomicReference<LogVerbosity> logVerbosity) {
+			AtomicReference<LogVerbosity> logVerbosity, BooleanSupplier awaitInFlightTasks) {
 		this.tasksSupplier = tasksSupplier;
 		this.defectiveComponents = defectiveComponents;
 		this.cycleTimeIsTooShortChannel = cycleTimeIsTooShortChannel;
 		this.logVerbosity = logVerbosity;
+		this.awaitInFlightTasks = awaitInFlightTasks;
+		this.readTasksMerger = new ReadTasksMerger(tasksSupplier::getTasks);
 
 		this.waitDelayHandler = new WaitDelayHandler(() -> this.onWaitDelayTaskFinished(), cycleDelayChannel);
 	}
@@ -47,7 +65,26 @@ public class CycleTasksManager {
 	protected CycleTasksManager(TasksSupplier tasksSupplier, DefectiveComponents defectiveComponents,
 			Consumer<Boolean> cycleTimeIsTooShortChannel, Consumer<Long> cycleDelayChannel) {
 		this(tasksSupplier, defectiveComponents, cycleTimeIsTooShortChannel, cycleDelayChannel,
-				new AtomicReference<>(LogVerbosity.NONE));
+				new AtomicReference<>(LogVerbosity.NONE), () -> false);
+	}
+
+	/**
+	 * Enables or disables merging of adjacent register reads.
+	 *
+	 * @param mergeReads true to merge reads of adjacent registers
+	 */
+	public void setMergeReads(boolean mergeReads) {
+		this.mergeReads = mergeReads;
+	}
+
+	/**
+	 * Forgets the rejected read merges of a Component; see
+	 * {@link ReadTasksMerger#invalidate(String)}.
+	 *
+	 * @param sourceId Component-ID of the source
+	 */
+	public void invalidateMergedReads(String sourceId) {
+		this.readTasksMerger.invalidate(sourceId);
 	}
 
 	private static enum StateMachine {
@@ -86,8 +123,12 @@ public class CycleTasksManager {
 		// Update WaitDelayHandler Queue size
 		this.waitDelayHandler.updateTotalNumberOfTasks(this.tasksSupplier.getTotalNumberOfTasks());
 
-		// Fill queues for this Cycle
-		this.cycleTasks = this.tasksSupplier.getCycleTasks(this.defectiveComponents);
+		// Fill queues for this Cycle; optionally merge adjacent register reads
+		var cycleTasks = this.tasksSupplier.getCycleTasks(this.defectiveComponents);
+		if (this.mergeReads) {
+			cycleTasks = new CycleTasks(this.readTasksMerger.merge(cycleTasks.reads()), cycleTasks.writes());
+		}
+		this.cycleTasks = cycleTasks;
 
 		// On defectiveComponents invalidate time measurement
 		if (this.cycleTasks.containsDefectiveComponent(this.defectiveComponents)) {
@@ -145,6 +186,10 @@ public class CycleTasksManager {
 			if (task != null) {
 				yield task;
 			}
+			// Wait for asynchronously executed Tasks; the State might change meanwhile
+			if (this.awaitInFlightTasks.getAsBoolean()) {
+				yield this.getNextTask();
+			}
 			// Otherwise -> next state + recursive call
 			this.state = StateMachine.WAIT_FOR_WRITE;
 			yield this.getNextTask();
@@ -160,6 +205,10 @@ public class CycleTasksManager {
 			if (task != null) {
 				yield task;
 			}
+			// Wait for asynchronously executed Tasks; the State might change meanwhile
+			if (this.awaitInFlightTasks.getAsBoolean()) {
+				yield this.getNextTask();
+			}
 			// Otherwise -> next state + recursive call
 			this.state = StateMachine.WAIT_BEFORE_READ;
 			yield this.getNextTask();
@@ -175,6 +224,10 @@ public class CycleTasksManager {
 			if (task != null) {
 				yield task;
 			}
+			// Wait for asynchronously executed Tasks; the State might change meanwhile
+			if (this.awaitInFlightTasks.getAsBoolean()) {
+				yield this.getNextTask();
+			}
 			// Otherwise -> next state + recursive call
 			this.state = StateMachine.FINISHED;
 			yield this.getNextTask();
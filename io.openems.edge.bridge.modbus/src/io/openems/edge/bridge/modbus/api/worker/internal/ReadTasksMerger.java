@@ -0,0 +1,205 @@
+package io.openems.edge.bridge.modbus.api.worker.internal;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+
+import io.openems.edge.bridge.modbus.api.element.DummyRegisterElement;
+import io.openems.edge.bridge.modbus.api.task.AbstractReadRegistersTask;
+import io.openems.edge.bridge.modbus.api.task.MergedReadRegistersTask;
+import io.openems.edge.bridge.modbus.api.task.ReadTask;
+import io.openems.edge.bridge.modbus.api.task.Task;
+import io.openems.edge.common.type.Tuple;
+
+/**
+ * Plans the {@link ReadTask}s of one Cycle by merging register reads.
+ *
+ * <p>
+ * {@link AbstractReadRegistersTask}s of the same type (e.g. FC3) and the same
+ * parent Component - and therefore the same Unit-ID - whose register ranges are
+ * adjacent or overlapping are combined to one {@link MergedReadRegistersTask},
+ * as long as the combined range does not exceed {@value #MAX_LENGTH} registers.
+ * A gap between two tasks is only bridged if all of its registers are declared
+ * by {@link DummyRegisterElement}s of another task of the same type of that
+ * Component, i.e. the device is known to accept reading them.
+ *
+ * <p>
+ * If the device rejects a merged request with a Modbus exception response, all
+ * neighbouring task pairs of that merge are remembered per Component and never
+ * merged again, until the protocol of the Component changes - see
+ * {@link #invalidate(String)}.
+ */
+public class ReadTasksMerger {
+
+	/** Max number of registers per request according to the Modbus spec. */
+	public static final int MAX_LENGTH = 125;
+
+	/** Component-ID -> Task -> tasks that must not be merged as its successor. */
+	private final Map<String, Map<ReadTask, Set<ReadTask>>> blocked = new HashMap<>();
+
+	/** Component-ID -> all declared {@link Task}s of the Component. */
+	private final Function<String, List<Task>> declaredTasks;
+
+	/**
+	 * Constructor for {@link ReadTasksMerger}.
+	 *
+	 * @param declaredTasks supplies all declared {@link Task}s of a Component by
+	 *                      its Component-ID
+	 */
+	public ReadTasksMerger(Function<String, List<Task>> declaredTasks) {
+		this.declaredTasks = declaredTasks;
+	}
+
+	/**
+	 * Merges the given {@link ReadTask}s where possible.
+	 *
+	 * <p>
+	 * The order of the given list is preserved; a {@link MergedReadRegistersTask}
+	 * takes the position of its first member.
+	 *
+	 * @param reads the {@link ReadTask}s of one Cycle
+	 * @return a new list of {@link ReadTask}s
+	 */
+	public synchronized LinkedList<ReadTask> merge(LinkedList<ReadTask> reads) {
+		// Group candidates by Parent and Task-Type
+		var groups = new HashMap<Tuple<Object, Class<?>>, List<AbstractReadRegistersTask<?, ?>>>();
+		for (var task : reads) {
+			if (task instanceof AbstractReadRegistersTask<?, ?> t && t.getParent() != null) {
+				groups.computeIfAbsent(new Tuple<>(t.getParent(), t.getClass()), k -> new ArrayList<>()) //
+						.add(t);
+			}
+		}
+
+		// Build merges per group
+		var mergeOfTask = new IdentityHashMap<ReadTask, MergedReadRegistersTask>();
+		for (var group : groups.values()) {
+			if (group.size() < 2) {
+				continue;
+			}
+			group.sort(Comparator.comparingInt(ReadTask::getStartAddress));
+			BitSet dummyRegisters = null; // evaluated lazily
+			var run = new ArrayList<AbstractReadRegistersTask<?, ?>>();
+			var runStart = 0;
+			var runEnd = 0;
+			for (var task : group) {
+				var start = task.getStartAddress();
+				var end = start + task.getLength();
+				if (!run.isEmpty() //
+						&& Math.max(runEnd, end) - runStart <= MAX_LENGTH //
+						&& !this.isBlocked(run.get(run.size() - 1), task)) {
+					var isAdjacent = start <= runEnd;
+					if (!isAdjacent) {
+						if (dummyRegisters == null) {
+							dummyRegisters = this.getDummyRegisters(task);
+						}
+						isAdjacent = dummyRegisters.nextClearBit(runEnd) >= start;
+					}
+					if (isAdjacent) {
+						run.add(task);
+						runEnd = Math.max(runEnd, end);
+						continue;
+					}
+				}
+				this.finishRun(run, mergeOfTask);
+				run = new ArrayList<>();
+				run.add(task);
+				runStart = start;
+				runEnd = end;
+			}
+			this.finishRun(run, mergeOfTask);
+		}
+		if (mergeOfTask.isEmpty()) {
+			return reads;
+		}
+
+		// Replace members by their merged task
+		var result = new LinkedList<ReadTask>();
+		var added = new HashSet<MergedReadRegistersTask>();
+		for (var task : reads) {
+			var merged = mergeOfTask.get(task);
+			if (merged == null) {
+				result.add(task);
+			} else if (added.add(merged)) {
+				result.add(merged);
+			}
+		}
+		return result;
+	}
+
+	private void finishRun(List<AbstractReadRegistersTask<?, ?>> run,
+			Map<ReadTask, MergedReadRegistersTask> mergeOfTask) {
+		if (run.size() < 2) {
+			return;
+		}
+		var merged = new MergedReadRegistersTask(run, this::onRejected);
+		for (var task : run) {
+			mergeOfTask.put(task, merged);
+		}
+	}
+
+	/**
+	 * Gets the registers that are declared by {@link DummyRegisterElement}s of
+	 * all tasks of the same type and Component as the given task.
+	 *
+	 * @param task the {@link AbstractReadRegistersTask}
+	 * @return the register addresses
+	 */
+	private BitSet getDummyRegisters(AbstractReadRegistersTask<?, ?> task) {
+		var result = new BitSet();
+		for (var declared : this.declaredTasks.apply(task.getParent().id())) {
+			if (declared.getClass() != task.getClass()) {
+				continue;
+			}
+			for (var element : declared.getElements()) {
+				if (element instanceof DummyRegisterElement) {
+					result.set(element.startAddress, element.startAddress + element.length);
+				}
+			}
+		}
+		return result;
+	}
+
+	private boolean isBlocked(AbstractReadRegistersTask<?, ?> task, ReadTask successor) {
+		var blocked = this.blocked.get(task.getParent().id());
+		if (blocked == null) {
+			return false;
+		}
+		var successors = blocked.get(task);
+		return successors != null && successors.contains(successor);
+	}
+
+	/**
+	 * Forgets the rejected merges of a Component, e.g. because its protocol was
+	 * added or removed.
+	 *
+	 * @param componentId the Component-ID
+	 */
+	public synchronized void invalidate(String componentId) {
+		this.blocked.remove(componentId);
+	}
+
+	/**
+	 * Called when the device rejected a {@link MergedReadRegistersTask} with a
+	 * Modbus exception response.
+	 *
+	 * @param merged the {@link MergedReadRegistersTask}
+	 */
+	protected synchronized void onRejected(MergedReadRegistersTask merged) {
+		var tasks = merged.getTasks();
+		var blocked = this.blocked.computeIfAbsent(merged.getParent().id(), id -> new IdentityHashMap<>());
+		for (var i = 1; i < tasks.size(); i++) {
+			blocked.computeIfAbsent(tasks.get(i - 1), t -> Collections.newSetFromMap(new IdentityHashMap<>())) //
+					.add(tasks.get(i));
+		}
+	}
+
+}
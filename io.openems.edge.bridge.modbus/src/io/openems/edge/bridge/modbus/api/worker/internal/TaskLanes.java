@@ -0,0 +1,183 @@
+package io.openems.edge.bridge.modbus.api.worker.internal;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import io.openems.common.utils.ThreadPoolUtils;
+import io.openems.edge.bridge.modbus.api.task.Task;
+import io.openems.edge.bridge.modbus.api.worker.ModbusWorker;
+
+/**
+ * Executes Modbus {@link Task}s on a fixed number of parallel lanes, one
+ * thread - and typically one Modbus connection - per lane.
+ *
+ * <p>
+ * Every Unit-ID is assigned to exactly one lane, so Tasks for the same Unit-ID
+ * are executed strictly in the order of submission, while Tasks for different
+ * Unit-IDs may run concurrently. Unit-IDs are distributed round-robin over the
+ * lanes in the order they are first seen.
+ *
+ * <p>
+ * With one lane (the default) {@link #isParallel()} is false and the
+ * {@link ModbusWorker} executes all Tasks on its own thread.
+ */
+public class TaskLanes {
+
+	/**
+	 * A lane thread that knows its own index.
+	 */
+	private static class LaneThread extends Thread {
+
+		private final int index;
+
+		private LaneThread(Runnable target, String name, int index) {
+			super(target, name);
+			this.index = index;
+			this.setDaemon(true);
+		}
+	}
+
+	private static final int STOP_TIMEOUT_SECONDS = 5;
+
+	private final Map<Integer, Integer> laneOfUnitId = new HashMap<>();
+
+	private ExecutorService[] lanes = new ExecutorService[0];
+	private int inFlight = 0;
+
+	/**
+	 * Gets the index of the lane that executes the current thread.
+	 *
+	 * @return the lane index; 0 if the current thread is not a lane thread
+	 */
+	public static int getCurrentLane() {
+		return Thread.currentThread() instanceof LaneThread t ? t.index : 0;
+	}
+
+	/**
+	 * Is the current thread a lane thread?.
+	 *
+	 * @return true if called from inside a lane
+	 */
+	public static boolean isLaneThread() {
+		return Thread.currentThread() instanceof LaneThread;
+	}
+
+	/**
+	 * (Re-)Configures the number of lanes. Existing lanes are shut down after
+	 * their queued Tasks finished.
+	 *
+	 * @param name           the name prefix for the lane threads
+	 * @param numberOfLanes  the number of lanes; values below 2 disable parallel
+	 *                       execution
+	 */
+	public synchronized void configure(String name, int numberOfLanes) {
+		final var oldLanes = this.lanes;
+		if (numberOfLanes < 2) {
+			this.lanes = new ExecutorService[0];
+		} else {
+			final var lanes = new ExecutorService[numberOfLanes];
+			for (var i = 0; i < numberOfLanes; i++) {
+				final var index = i;
+				lanes[i] = Executors.newSingleThreadExecutor(
+						r -> new LaneThread(r, name + ":lane" + index, index));
+			}
+			this.lanes = lanes;
+		}
+		this.laneOfUnitId.clear();
+		for (var lane : oldLanes) {
+			lane.shutdown();
+		}
+	}
+
+	/**
+	 * Shuts down all lanes and waits for the running Tasks to finish, so that the
+	 * Modbus connections can be closed afterwards. Queued Tasks are dropped.
+	 */
+	public void deactivate() {
+		final ExecutorService[] lanes;
+		synchronized (this) {
+			lanes = this.lanes;
+			this.lanes = new ExecutorService[0];
+			this.laneOfUnitId.clear();
+		}
+		// Wait outside of the lock; finishing Tasks call onTaskFinished()
+		for (var lane : lanes) {
+			lane.shutdownNow();
+		}
+		for (var lane : lanes) {
+			ThreadPoolUtils.shutdownAndAwaitTermination(lane, STOP_TIMEOUT_SECONDS);
+		}
+		synchronized (this) {
+			this.inFlight = 0;
+			this.notifyAll();
+		}
+	}
+
+	/**
+	 * Are Tasks executed in parallel, i.e. is more than one lane configured?.
+	 *
+	 * @return true for parallel execution
+	 */
+	public synchronized boolean isParallel() {
+		return this.lanes.length > 1;
+	}
+
+	/**
+	 * Submits a Task for execution on the lane of the given Unit-ID.
+	 *
+	 * @param unitId   the Modbus Unit-ID
+	 * @param runnable the execution of the Task
+	 */
+	public synchronized void submit(int unitId, Runnable runnable) {
+		if (this.lanes.length == 0) {
+			runnable.run();
+			return;
+		}
+		final var lanes = this.lanes;
+		final int index = this.laneOfUnitId.computeIfAbsent(unitId, u -> this.laneOfUnitId.size() % lanes.length);
+		this.inFlight++;
+		lanes[index].execute(() -> {
+			try {
+				runnable.run();
+			} finally {
+				this.onTaskFinished();
+			}
+		});
+	}
+
+	private synchronized void onTaskFinished() {
+		if (this.inFlight > 0) {
+			this.inFlight--;
+		}
+		if (this.inFlight == 0) {
+			this.notifyAll();
+		}
+	}
+
+	/**
+	 * Blocks until all submitted Tasks finished.
+	 *
+	 * <p>
+	 * If the current thread is interrupted while waiting, the interrupt flag is
+	 * restored and the method returns early.
+	 *
+	 * @return true if there were Tasks in flight, i.e. if this method had to
+	 *         wait; false otherwise
+	 */
+	public synchronized boolean awaitIdle() {
+		var waited = false;
+		while (this.inFlight > 0) {
+			waited = true;
+			try {
+				this.wait();
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				break;
+			}
+		}
+		return waited;
+	}
+
+}
@@ -1,5 +1,9 @@
 package io.openems.edge.bridge.modbus.api.worker.internal;
 
+import java.util.List;
+
+import io.openems.edge.bridge.modbus.api.task.Task;
+
 public interface TasksSupplier {
 
 	/**
@@ -17,4 +21,14 @@ public interface TasksSupplier {
 	 */
 	public int getTotalNumberOfTasks();
 
+	/**
+	 * Gets all declared Tasks of a source.
+	 * 
+	 * @param sourceId Component-ID of the source
+	 * @return a list of {@link Task}s; empty if the source is unknown
+	 */
+	public default List<Task> getTasks(String sourceId) {
+		return List.of();
+	}
+
 }
@@ -3,6 +3,7 @@ package io.openems.edge.bridge.modbus.api.worker.internal;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.LinkedList;
+import java.util.List;
 import java.util.Map;
 import java.util.Queue;
 import java.util.stream.Collectors;
@@ -122,6 +123,15 @@ public class TasksSupplierImpl implements TasksSupplier {
 		}
 	}
 
+	@Override
+	public synchronized List<Task> getTasks(String sourceId) {
+		var taskManager = this.taskManagers.get(sourceId);
+		if (taskManager == null) {
+			return List.of();
+		}
+		return taskManager.getTasks();
+	}
+
 	@Override
 	public synchronized int getTotalNumberOfTasks() {
 		return this.taskManagers.values().stream() //
@@ -20,6 +20,7 @@ public class MyConfigSerial extends AbstractComponentConfig implements ConfigSer
 		private int delayAfterTx;
 		private LogVerbosity logVerbosity;
 		private int invalidateElementsAfterReadErrors;
+		private boolean mergeReads = false;
 
 		private Builder() {
 		}
@@ -79,6 +80,11 @@ public class MyConfigSerial extends AbstractComponentConfig implements ConfigSer
 			return this;
 		}
 
+		public Builder setMergeReads(boolean mergeReads) {
+			this.mergeReads = mergeReads;
+			return this;
+		}
+
 		public MyConfigSerial build() {
 			return new MyConfigSerial(this);
 		}
@@ -150,4 +156,9 @@ public class MyConfigSerial extends AbstractComponentConfig implements ConfigSer
 		return this.builder.invalidateElementsAfterReadErrors;
 	}
 
+	@Override
+	public boolean mergeReads() {
+		return this.builder.mergeReads;
+	}
+
 }
\ No newline at end of file
@@ -10,8 +10,10 @@ public class MyConfigTcp extends AbstractComponentConfig implements ConfigTcp {
 		private String id;
 		private String ip;
 		private int port;
+		private int parallelConnections = 1;
 		private LogVerbosity logVerbosity;
 		private int invalidateElementsAfterReadErrors;
+		private boolean mergeReads = false;
 
 		private Builder() {
 		}
@@ -31,6 +33,11 @@ public class MyConfigTcp extends AbstractComponentConfig implements ConfigTcp {
 			return this;
 		}
 
+		public Builder setParallelConnections(int parallelConnections) {
+			this.parallelConnections = parallelConnections;
+			return this;
+		}
+
 		public Builder setLogVerbosity(LogVerbosity logVerbosity) {
 			this.logVerbosity = logVerbosity;
 			return this;
@@ -41,6 +48,11 @@ public class MyConfigTcp extends AbstractComponentConfig implements ConfigTcp {
 			return this;
 		}
 
+		public Builder setMergeReads(boolean mergeReads) {
+			this.mergeReads = mergeReads;
+			return this;
+		}
+
 		public MyConfigTcp build() {
 			return new MyConfigTcp(this);
 		}
@@ -72,6 +84,11 @@ public class MyConfigTcp extends AbstractComponentConfig implements ConfigTcp {
 		return this.builder.port;
 	}
 
+	@Override
+	public int parallelConnections() {
+		return this.builder.parallelConnections;
+	}
+
 	@Override
 	public LogVerbosity logVerbosity() {
 		return this.builder.logVerbosity;
@@ -82,4 +99,9 @@ public class MyConfigTcp extends AbstractComponentConfig implements ConfigTcp {
 		return this.builder.invalidateElementsAfterReadErrors;
 	}
 
+	@Override
+	public boolean mergeReads() {
+		return this.builder.mergeReads;
+	}
+
 }
\ No newline at end of file
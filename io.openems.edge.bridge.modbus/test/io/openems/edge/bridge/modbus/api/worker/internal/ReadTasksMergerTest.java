@@ -0,0 +1,90 @@
+package io.openems.edge.bridge.modbus.api.worker.internal;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.util.LinkedList;
+import java.util.List;
+
+import org.junit.Test;
+
+import io.openems.edge.bridge.modbus.DummyModbusComponent;
+import io.openems.edge.bridge.modbus.api.element.DummyRegisterElement;
+import io.openems.edge.bridge.modbus.api.element.UnsignedDoublewordElement;
+import io.openems.edge.bridge.modbus.api.element.UnsignedWordElement;
+import io.openems.edge.bridge.modbus.api.task.FC3ReadRegistersTask;
+import io.openems.edge.bridge.modbus.api.task.FC4ReadInputRegistersTask;
+import io.openems.edge.bridge.modbus.api.task.MergedReadRegistersTask;
+import io.openems.edge.bridge.modbus.api.task.ReadTask;
+import io.openems.edge.common.taskmanager.Priority;
+
+public class ReadTasksMergerTest {
+
+	@Test
+	public void testAdjacent() throws Exception {
+		var component = new DummyModbusComponent();
+		var fc3a = new FC3ReadRegistersTask(0, Priority.HIGH, //
+				new UnsignedWordElement(0), new UnsignedWordElement(1));
+		var fc3b = new FC3ReadRegistersTask(2, Priority.LOW, //
+				new UnsignedDoublewordElement(2));
+		var fc3c = new FC3ReadRegistersTask(200, Priority.HIGH, //
+				new UnsignedWordElement(200));
+		var fc4 = new FC4ReadInputRegistersTask(4, Priority.HIGH, //
+				new UnsignedWordElement(4));
+		component.getModbusProtocol().addTasks(fc3a, fc3b, fc3c, fc4);
+
+		var sut = new ReadTasksMerger(id -> component.getModbusProtocol().getTaskManager().getTasks());
+		var result = sut.merge(new LinkedList<ReadTask>(List.of(fc3b, fc3a, fc4, fc3c)));
+
+		// FC3 0..1 and 2..3 are merged at the position of the first member
+		assertEquals(3, result.size());
+		var merged = (MergedReadRegistersTask) result.get(0);
+		assertEquals(0, merged.getStartAddress());
+		assertEquals(4, merged.getLength());
+		assertEquals(Priority.HIGH, merged.getPriority());
+		assertEquals(3, merged.getElements().length);
+		assertSame(component, merged.getParent());
+		assertSame(fc4, result.get(1));
+		assertSame(fc3c, result.get(2));
+
+		// Rejected by device -> never merge these tasks again
+		sut.onRejected(merged);
+		result = sut.merge(new LinkedList<ReadTask>(List.of(fc3b, fc3a, fc4, fc3c)));
+		assertEquals(4, result.size());
+		assertTrue(result.stream().noneMatch(MergedReadRegistersTask.class::isInstance));
+
+		// Protocol changed -> merge again
+		sut.invalidate(component.id());
+		result = sut.merge(new LinkedList<ReadTask>(List.of(fc3b, fc3a, fc4, fc3c)));
+		assertEquals(3, result.size());
+	}
+
+	@Test
+	public void testGap() throws Exception {
+		var component = new DummyModbusComponent();
+		var fc3a = new FC3ReadRegistersTask(0, Priority.HIGH, //
+				new UnsignedWordElement(0), new UnsignedWordElement(1));
+		var fc3b = new FC3ReadRegistersTask(5, Priority.HIGH, //
+				new UnsignedDoublewordElement(5));
+		component.getModbusProtocol().addTasks(fc3a, fc3b);
+
+		var sut = new ReadTasksMerger(id -> component.getModbusProtocol().getTaskManager().getTasks());
+
+		// Undeclared gap 2..4 is never bridged
+		var result = sut.merge(new LinkedList<ReadTask>(List.of(fc3a, fc3b)));
+		assertEquals(2, result.size());
+		assertTrue(result.stream().noneMatch(MergedReadRegistersTask.class::isInstance));
+
+		// Gap 2..4 is declared by DummyRegisterElements
+		var fc3gap = new FC3ReadRegistersTask(2, Priority.LOW, //
+				new DummyRegisterElement(2, 4));
+		component.getModbusProtocol().addTask(fc3gap);
+		result = sut.merge(new LinkedList<ReadTask>(List.of(fc3a, fc3b)));
+		assertEquals(1, result.size());
+		var merged = (MergedReadRegistersTask) result.get(0);
+		assertEquals(0, merged.getStartAddress());
+		assertEquals(7, merged.getLength());
+	}
+
+}
@@ -0,0 +1,111 @@
+package io.openems.edge.bridge.modbus.api.worker.internal;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.junit.Test;
+
+public class TaskLanesTest {
+
+	@Test
+	public void testSequential() {
+		var sut = new TaskLanes();
+		assertFalse(sut.isParallel());
+
+		var executed = new ArrayList<Integer>();
+		sut.submit(1, () -> executed.add(TaskLanes.getCurrentLane()));
+		assertEquals(List.of(0), executed); // executed synchronously
+		assertFalse(sut.awaitIdle());
+	}
+
+	@Test
+	public void testOrderPerUnitId() {
+		var sut = new TaskLanes();
+		sut.configure("test", 3);
+		assertTrue(sut.isParallel());
+
+		var orders = new ConcurrentHashMap<Integer, List<Integer>>();
+		var lanes = new ConcurrentHashMap<Integer, Integer>();
+		for (var i = 0; i < 100; i++) {
+			final var unitId = i % 4;
+			final var value = i;
+			sut.submit(unitId, () -> {
+				orders.computeIfAbsent(unitId, u -> Collections.synchronizedList(new ArrayList<>())).add(value);
+				lanes.put(unitId, TaskLanes.getCurrentLane());
+			});
+		}
+		sut.awaitIdle();
+
+		for (var unitId = 0; unitId < 4; unitId++) {
+			var order = orders.get(unitId);
+			assertEquals(25, order.size());
+			for (var j = 1; j < order.size(); j++) {
+				assertTrue(order.get(j - 1) < order.get(j));
+			}
+		}
+		// Unit-IDs are distributed round-robin
+		assertEquals(Integer.valueOf(0), lanes.get(0));
+		assertEquals(Integer.valueOf(1), lanes.get(1));
+		assertEquals(Integer.valueOf(2), lanes.get(2));
+		assertEquals(Integer.valueOf(0), lanes.get(3));
+		sut.deactivate();
+	}
+
+	@Test
+	public void testParallel() throws InterruptedException {
+		var sut = new TaskLanes();
+		sut.configure("test", 2);
+
+		// Both Tasks only finish if they run at the same time
+		var latch = new CountDownLatch(2);
+		var finished = new CountDownLatch(2);
+		for (var unitId = 1; unitId <= 2; unitId++) {
+			sut.submit(unitId, () -> {
+				latch.countDown();
+				try {
+					if (latch.await(5, TimeUnit.SECONDS)) {
+						finished.countDown();
+					}
+				} catch (InterruptedException e) {
+					Thread.currentThread().interrupt();
+				}
+			});
+		}
+		assertTrue(sut.awaitIdle());
+		assertEquals(0, finished.getCount());
+		sut.deactivate();
+	}
+
+	@Test
+	public void testDeactivateWaitsForRunningTask() throws InterruptedException {
+		var sut = new TaskLanes();
+		sut.configure("test", 2);
+
+		var started = new CountDownLatch(1);
+		var finished = new AtomicBoolean(false);
+		sut.submit(1, () -> {
+			started.countDown();
+			// Simulates a blocking Modbus request that ignores the interrupt
+			final var end = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(200);
+			while (System.nanoTime() < end) {
+				Thread.onSpinWait();
+			}
+			finished.set(true);
+		});
+		assertTrue(started.await(5, TimeUnit.SECONDS));
+
+		sut.deactivate();
+		assertTrue(finished.get());
+		assertFalse(sut.isParallel());
+	}
+
+}
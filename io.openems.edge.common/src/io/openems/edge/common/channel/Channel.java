@@ -9,6 +9,7 @@ import java.util.function.Consumer;
 
 import io.openems.common.types.ChannelAddress;
 import io.openems.common.types.OpenemsType;
+import io.openems.edge.common.channel.history.ChannelHistory;
 import io.openems.edge.common.channel.internal.AbstractReadChannel;
 import io.openems.edge.common.channel.value.Value;
 import io.openems.edge.common.component.OpenemsComponent;
@@ -51,7 +52,7 @@ public interface Channel<T> {
 
 	/**
 	 * Holds the maximum allowed age of past values based on the latest value for
-	 * this Channel that are kept in the 'pastValues' variable.
+	 * this Channel that are kept in the {@link ChannelHistory}.
 	 */
 	public static final TemporalAmount MAX_AGE_OF_PAST_VALUES = Duration.ofMinutes(5).plusSeconds(10);
 
@@ -166,13 +167,31 @@ public interface Channel<T> {
 	 */
 	public Value<T> value() throws IllegalArgumentException;
 
+	/**
+	 * Gets the {@link ChannelHistory} with the past values of this Channel.
+	 *
+	 * <p>
+	 * Prefer this method over {@link #getPastValues()}; it allows range queries
+	 * and aggregation on primitive values without boxing.
+	 *
+	 * @return the {@link ChannelHistory}
+	 */
+	public ChannelHistory<T> getHistory();
+
 	/**
 	 * Gets the past values for this Channel.
 	 *
+	 * <p>
+	 * The map is a snapshot copy of {@link #getHistory()} that allocates one
+	 * {@link Value} per entry. Modifications of the map are not reflected in the
+	 * Channel.
+	 *
 	 * @return a map of recording time and historic value at that time
 	 */
 	// TODO this should be a ZonedDateTime
-	public TreeMap<LocalDateTime, Value<T>> getPastValues();
+	public default TreeMap<LocalDateTime, Value<T>> getPastValues() {
+		return this.getHistory().toValueMap(this);
+	}
 
 	/**
 	 * Add an onUpdate callback. It is called, after the active value was updated by
@@ -0,0 +1,707 @@
+package io.openems.edge.common.channel.history;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Arrays;
+import java.util.OptionalDouble;
+import java.util.OptionalInt;
+import java.util.TreeMap;
+import java.util.function.IntPredicate;
+
+import io.openems.common.channel.Unit;
+import io.openems.common.types.OpenemsType;
+import io.openems.edge.common.channel.Channel;
+import io.openems.edge.common.channel.value.Value;
+
+/**
+ * Holds the past values of a {@link Channel} in a type-specialized ring buffer.
+ *
+ * <p>
+ * Timestamps are stored as epoch milliseconds in a primitive array; values are
+ * stored in a primitive array that matches the {@link OpenemsType} of the
+ * Channel (int for SHORT/INTEGER, long for LONG, double for FLOAT/DOUBLE,
+ * boolean for BOOLEAN). Appending a value does not allocate any objects once
+ * the buffer has reached its working size.
+ *
+ * <p>
+ * Entries that are older than the configured maximum age (defaults to
+ * {@link Channel#MAX_AGE_OF_PAST_VALUES}) are dropped on every
+ * {@link #add(long, Object)}. The buffer starts small and doubles its capacity
+ * while all entries are still within the maximum age, up to
+ * {@link #MAX_CAPACITY}; beyond that the oldest entry is overwritten.
+ *
+ * <p>
+ * All methods are thread-safe.
+ *
+ * @param <T> the type of the Channel
+ */
+public final class ChannelHistory<T> {
+
+	/**
+	 * Initial capacity of the ring buffer.
+	 */
+	public static final int INITIAL_CAPACITY = 16;
+
+	/**
+	 * Hard limit for the capacity of the ring buffer. At a Cycle-Time of 100 ms
+	 * this still holds more than 6 minutes of values.
+	 */
+	public static final int MAX_CAPACITY = 4096;
+
+	private static final long DEFAULT_MAX_AGE_MILLIS = Duration.from(Channel.MAX_AGE_OF_PAST_VALUES).toMillis();
+
+	/**
+	 * The result of {@link ChannelHistory#aggregate(long, long)}.
+	 *
+	 * @param count number of defined values
+	 * @param sum   the sum of all defined values
+	 * @param min   the minimum of all defined values; NaN if count is zero
+	 * @param max   the maximum of all defined values; NaN if count is zero
+	 */
+	public static record Aggregate(int count, double sum, double min, double max) {
+
+		private static final Aggregate EMPTY = new Aggregate(0, 0d, Double.NaN, Double.NaN);
+
+		/**
+		 * Gets the average of all defined values.
+		 *
+		 * @return the average; empty if there were no defined values
+		 */
+		public OptionalDouble average() {
+			if (this.count == 0) {
+				return OptionalDouble.empty();
+			}
+			return OptionalDouble.of(this.sum / this.count);
+		}
+
+		/**
+		 * Gets the maximum of all defined values.
+		 *
+		 * @return the maximum; empty if there were no defined values
+		 */
+		public OptionalDouble maximum() {
+			if (this.count == 0) {
+				return OptionalDouble.empty();
+			}
+			return OptionalDouble.of(this.max);
+		}
+
+		/**
+		 * Gets the aggregated value that matches the given {@link Unit}, i.e. the
+		 * maximum for cumulated units and the average otherwise. This is the
+		 * primitive equivalent of {@link Unit#getChannelAggregateFunction()}.
+		 *
+		 * @param unit the {@link Unit} of the Channel
+		 * @return the aggregated value; empty if there were no defined values
+		 */
+		public OptionalDouble forUnit(Unit unit) {
+			if (unit.isCumulated()) {
+				return this.maximum();
+			}
+			return this.average();
+		}
+	}
+
+	/**
+	 * Consumer for entries of a {@link ChannelHistory} as double.
+	 */
+	@FunctionalInterface
+	public static interface DoubleEntryConsumer {
+
+		/**
+		 * Accepts one defined entry.
+		 *
+		 * @param timestamp the timestamp in epoch milliseconds
+		 * @param value     the value
+		 */
+		public void accept(long timestamp, double value);
+	}
+
+	/**
+	 * Consumer for entries of a {@link ChannelHistory} as int.
+	 */
+	@FunctionalInterface
+	public static interface IntEntryConsumer {
+
+		/**
+		 * Accepts one defined entry.
+		 *
+		 * @param timestamp the timestamp in epoch milliseconds
+		 * @param value     the value
+		 */
+		public void accept(long timestamp, int value);
+	}
+
+	private static enum Slot {
+		BOOLEAN, INT, LONG, DOUBLE, OBJECT;
+
+		private static Slot from(OpenemsType type) {
+			return switch (type) {
+			case BOOLEAN -> BOOLEAN;
+			case SHORT, INTEGER -> INT;
+			case LONG -> LONG;
+			case FLOAT, DOUBLE -> DOUBLE;
+			case STRING -> OBJECT;
+			};
+		}
+	}
+
+	/**
+	 * Creates a {@link ChannelHistory} for the given {@link OpenemsType} with the
+	 * default maximum age of {@link Channel#MAX_AGE_OF_PAST_VALUES}.
+	 *
+	 * @param <T>  the type of the Channel
+	 * @param type the {@link OpenemsType}
+	 * @return a new {@link ChannelHistory}
+	 */
+	public static <T> ChannelHistory<T> of(OpenemsType type) {
+		return new ChannelHistory<>(type, DEFAULT_MAX_AGE_MILLIS);
+	}
+
+	/**
+	 * Converts a {@link LocalDateTime} in the system default time-zone - as used
+	 * by {@link Value#getTimestamp()} - to epoch milliseconds.
+	 *
+	 * @param timestamp the {@link LocalDateTime}
+	 * @return the epoch milliseconds
+	 */
+	public static long toEpochMilli(LocalDateTime timestamp) {
+		return timestamp.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+	}
+
+	/**
+	 * Converts epoch milliseconds to a {@link LocalDateTime} in the system default
+	 * time-zone - as used by {@link Value#getTimestamp()}.
+	 *
+	 * @param timestamp the epoch milliseconds
+	 * @return the {@link LocalDateTime}
+	 */
+	public static LocalDateTime toLocalDateTime(long timestamp) {
+		return LocalDateTime.ofInstant(Instant.ofEpochMilli(timestamp), ZoneId.systemDefault());
+	}
+
+	private final OpenemsType type;
+	private final Slot slot;
+	private final long maxAgeMillis;
+
+	private long[] timestamps = new long[INITIAL_CAPACITY];
+	private boolean[] defined = new boolean[INITIAL_CAPACITY];
+	private boolean[] booleanValues;
+	private int[] intValues;
+	private long[] longValues;
+	private double[] doubleValues;
+	private Object[] objectValues;
+
+	/** Physical index of the oldest entry. */
+	private int head = 0;
+	private int size = 0;
+
+	public ChannelHistory(OpenemsType type, long maxAgeMillis) {
+		this.type = type;
+		this.slot = Slot.from(type);
+		this.maxAgeMillis = maxAgeMillis;
+		this.allocateValues(INITIAL_CAPACITY);
+	}
+
+	/**
+	 * Appends a value and drops all entries that are older than the maximum age
+	 * relative to the given timestamp.
+	 *
+	 * <p>
+	 * If the timestamp equals the timestamp of the latest entry, that entry is
+	 * overwritten. If the timestamp is before the latest entry (i.e. the system
+	 * clock was set back), the history is reset.
+	 *
+	 * @param timestamp the timestamp in epoch milliseconds
+	 * @param value     the value, possibly null
+	 */
+	public synchronized void add(long timestamp, T value) {
+		if (this.size > 0) {
+			final var latest = this.physical(this.size - 1);
+			final var latestTimestamp = this.timestamps[latest];
+			if (timestamp == latestTimestamp) {
+				this.setValue(latest, value);
+				return;
+			}
+			if (timestamp < latestTimestamp) {
+				this.clear();
+			}
+		}
+
+		// Drop outdated entries
+		final var minTimestamp = timestamp - this.maxAgeMillis;
+		while (this.size > 0 && this.timestamps[this.head] < minTimestamp) {
+			this.removeOldest();
+		}
+
+		if (this.size == this.timestamps.length) {
+			if (this.timestamps.length < MAX_CAPACITY) {
+				this.grow();
+			} else {
+				this.removeOldest();
+			}
+		}
+
+		final var index = this.physical(this.size);
+		this.timestamps[index] = timestamp;
+		this.setValue(index, value);
+		this.size++;
+	}
+
+	/**
+	 * Removes all entries.
+	 */
+	public synchronized void clear() {
+		if (this.objectValues != null) {
+			Arrays.fill(this.objectValues, null);
+		}
+		this.head = 0;
+		this.size = 0;
+	}
+
+	/**
+	 * Gets the number of entries.
+	 *
+	 * @return the size
+	 */
+	public synchronized int size() {
+		return this.size;
+	}
+
+	/**
+	 * Is this history empty?.
+	 *
+	 * @return true if there are no entries
+	 */
+	public synchronized boolean isEmpty() {
+		return this.size == 0;
+	}
+
+	/**
+	 * Gets the timestamp of the latest entry.
+	 *
+	 * @return the timestamp in epoch milliseconds; {@link Long#MIN_VALUE} if empty
+	 */
+	public synchronized long getLatestTimestamp() {
+		if (this.size == 0) {
+			return Long.MIN_VALUE;
+		}
+		return this.timestamps[this.physical(this.size - 1)];
+	}
+
+	/**
+	 * Gets the greatest timestamp that is less than or equal to the given
+	 * timestamp.
+	 *
+	 * <p>
+	 * Use this to include the value that was valid at the start of a period, even
+	 * if it has been set before.
+	 *
+	 * @param timestamp the timestamp in epoch milliseconds
+	 * @return the floor timestamp; or the given timestamp if there is none
+	 */
+	public synchronized long floorTimestamp(long timestamp) {
+		final var index = this.floorIndex(timestamp);
+		if (index < 0) {
+			return timestamp;
+		}
+		return this.timestamps[this.physical(index)];
+	}
+
+	/**
+	 * Gets the latest value that was set at or before the given timestamp.
+	 *
+	 * @param timestamp the timestamp in epoch milliseconds
+	 * @return the value; null if there is none or if it was undefined
+	 */
+	public synchronized T floorValue(long timestamp) {
+		final var index = this.floorIndex(timestamp);
+		if (index < 0) {
+			return null;
+		}
+		return this.getValue(this.physical(index));
+	}
+
+	/**
+	 * Gets the value of the latest entry.
+	 *
+	 * @return the value; null if there is none or if it was undefined
+	 */
+	public synchronized T getLatestValue() {
+		if (this.size == 0) {
+			return null;
+		}
+		return this.getValue(this.physical(this.size - 1));
+	}
+
+	/**
+	 * Gets the value of the oldest entry that holds a defined value.
+	 *
+	 * @return the value; null if there is no defined value
+	 */
+	public synchronized T getOldestDefinedValue() {
+		for (var i = 0; i < this.size; i++) {
+			final var index = this.physical(i);
+			if (this.defined[index]) {
+				return this.getValue(index);
+			}
+		}
+		return null;
+	}
+
+	/**
+	 * Evaluates if any defined value with a timestamp in the given range matches
+	 * the predicate. Values are converted to int, i.e. this is primarily meant for
+	 * INTEGER and Enum Channels.
+	 *
+	 * @param fromInclusive the start timestamp in epoch milliseconds, inclusive
+	 * @param toExclusive   the end timestamp in epoch milliseconds, exclusive
+	 * @param predicate     the {@link IntPredicate}
+	 * @return true if at least one value matches
+	 */
+	public synchronized boolean anyMatchInt(long fromInclusive, long toExclusive, IntPredicate predicate) {
+		for (var i = this.ceilingIndex(fromInclusive); i < this.size; i++) {
+			final var index = this.physical(i);
+			if (this.timestamps[index] >= toExclusive) {
+				break;
+			}
+			if (this.defined[index] && predicate.test((int) this.getAsLong(index))) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * Aggregates all defined values with a timestamp in the given range as
+	 * double. BOOLEAN values are mapped to 1 and 0; STRING values are not
+	 * supported and mapped to 0.
+	 *
+	 * @param fromInclusive the start timestamp in epoch milliseconds, inclusive
+	 * @param toExclusive   the end timestamp in epoch milliseconds, exclusive
+	 * @return the {@link Aggregate}
+	 */
+	public synchronized Aggregate aggregate(long fromInclusive, long toExclusive) {
+		var count = 0;
+		var sum = 0d;
+		var min = Double.NaN;
+		var max = Double.NaN;
+		for (var i = this.ceilingIndex(fromInclusive); i < this.size; i++) {
+			final var index = this.physical(i);
+			if (this.timestamps[index] >= toExclusive) {
+				break;
+			}
+			if (!this.defined[index]) {
+				continue;
+			}
+			final var value = this.getAsDouble(index);
+			if (count == 0) {
+				min = value;
+				max = value;
+			} else {
+				min = Math.min(min, value);
+				max = Math.max(max, value);
+			}
+			sum += value;
+			count++;
+		}
+		if (count == 0) {
+			return Aggregate.EMPTY;
+		}
+		return new Aggregate(count, sum, min, max);
+	}
+
+	/**
+	 * Calls the consumer for every defined value with a timestamp in the given
+	 * range, in chronological order. BOOLEAN values are mapped to 1 and 0; STRING
+	 * values are mapped to 0.
+	 *
+	 * <p>
+	 * The consumer is called while holding the lock of this history; it must not
+	 * block.
+	 *
+	 * @param fromInclusive the start timestamp in epoch milliseconds, inclusive
+	 * @param toExclusive   the end timestamp in epoch milliseconds, exclusive
+	 * @param consumer      the {@link DoubleEntryConsumer}
+	 */
+	public synchronized void forEachDouble(long fromInclusive, long toExclusive, DoubleEntryConsumer consumer) {
+		for (var i = this.ceilingIndex(fromInclusive); i < this.size; i++) {
+			final var index = this.physical(i);
+			if (this.timestamps[index] >= toExclusive) {
+				break;
+			}
+			if (this.defined[index]) {
+				consumer.accept(this.timestamps[index], this.getAsDouble(index));
+			}
+		}
+	}
+
+	/**
+	 * Calls the consumer for every defined value with a timestamp in the given
+	 * range, in chronological order. Values are converted to int, i.e. this is
+	 * primarily meant for INTEGER and Enum Channels.
+	 *
+	 * <p>
+	 * The consumer is called while holding the lock of this history; it must not
+	 * block.
+	 *
+	 * @param fromInclusive the start timestamp in epoch milliseconds, inclusive
+	 * @param toExclusive   the end timestamp in epoch milliseconds, exclusive
+	 * @param consumer      the {@link IntEntryConsumer}
+	 */
+	public synchronized void forEachInt(long fromInclusive, long toExclusive, IntEntryConsumer consumer) {
+		for (var i = this.ceilingIndex(fromInclusive); i < this.size; i++) {
+			final var index = this.physical(i);
+			if (this.timestamps[index] >= toExclusive) {
+				break;
+			}
+			if (this.defined[index]) {
+				consumer.accept(this.timestamps[index], (int) this.getAsLong(index));
+			}
+		}
+	}
+
+	/**
+	 * Gets the value that appears most often in the given range, converted to int.
+	 * If multiple values appear equally often, the one that was set last wins. This
+	 * is primarily meant for Enum Channels.
+	 *
+	 * @param fromInclusive the start timestamp in epoch milliseconds, inclusive
+	 * @param toExclusive   the end timestamp in epoch milliseconds, exclusive
+	 * @return the most frequent value; empty if there were no defined values
+	 */
+	public synchronized OptionalInt mostFrequentInt(long fromInclusive, long toExclusive) {
+		final var start = this.ceilingIndex(fromInclusive);
+		final var end = this.ceilingIndex(toExclusive);
+		final var values = new int[end - start];
+		var count = 0;
+		for (var i = start; i < end; i++) {
+			final var index = this.physical(i);
+			if (this.defined[index]) {
+				values[count++] = (int) this.getAsLong(index);
+			}
+		}
+		if (count == 0) {
+			return OptionalInt.empty();
+		}
+
+		// Count occurrences on a sorted copy; then pick the latest value that has the
+		// maximum count
+		final var sorted = Arrays.copyOf(values, count);
+		Arrays.sort(sorted);
+		var maxCount = 0;
+		for (var i = 0; i < count;) {
+			final var runEnd = upperBound(sorted, sorted[i]);
+			maxCount = Math.max(maxCount, runEnd - i);
+			i = runEnd;
+		}
+		for (var i = count - 1; i >= 0; i--) {
+			final var value = values[i];
+			if (upperBound(sorted, value) - lowerBound(sorted, value) == maxCount) {
+				return OptionalInt.of(value);
+			}
+		}
+		return OptionalInt.empty(); // unreachable
+	}
+
+	private static int lowerBound(int[] sorted, int value) {
+		var low = 0;
+		var high = sorted.length;
+		while (low < high) {
+			final var mid = (low + high) >>> 1;
+			if (sorted[mid] < value) {
+				low = mid + 1;
+			} else {
+				high = mid;
+			}
+		}
+		return low;
+	}
+
+	private static int upperBound(int[] sorted, int value) {
+		var low = 0;
+		var high = sorted.length;
+		while (low < high) {
+			final var mid = (low + high) >>> 1;
+			if (sorted[mid] <= value) {
+				low = mid + 1;
+			} else {
+				high = mid;
+			}
+		}
+		return low;
+	}
+
+	/**
+	 * Creates a {@link TreeMap} copy of this history with boxed {@link Value}s.
+	 *
+	 * <p>
+	 * This allocates one {@link Value} per entry; prefer the primitive methods of
+	 * this class on hot paths.
+	 *
+	 * @param channel the {@link Channel} that is set as parent of the Values
+	 * @return a new map of recording time and historic value at that time
+	 */
+	public synchronized TreeMap<LocalDateTime, Value<T>> toValueMap(Channel<T> channel) {
+		final var result = new TreeMap<LocalDateTime, Value<T>>();
+		for (var i = 0; i < this.size; i++) {
+			final var index = this.physical(i);
+			final var value = new Value<>(channel, this.getValue(index), this.timestamps[index]);
+			result.put(value.getTimestamp(), value);
+		}
+		return result;
+	}
+
+	@Override
+	public synchronized String toString() {
+		return "ChannelHistory [type=" + this.type + ", size=" + this.size + ", capacity=" + this.timestamps.length
+				+ "]";
+	}
+
+	/**
+	 * Gets the logical index of the latest entry with a timestamp less than or
+	 * equal to the given timestamp.
+	 *
+	 * @param timestamp the timestamp
+	 * @return the logical index; -1 if there is none
+	 */
+	private int floorIndex(long timestamp) {
+		return this.ceilingIndex(timestamp + 1) - 1;
+	}
+
+	/**
+	 * Gets the logical index of the oldest entry with a timestamp greater than or
+	 * equal to the given timestamp.
+	 *
+	 * @param timestamp the timestamp
+	 * @return the logical index; {@link #size} if there is none
+	 */
+	private int ceilingIndex(long timestamp) {
+		var low = 0;
+		var high = this.size;
+		while (low < high) {
+			final var mid = (low + high) >>> 1;
+			if (this.timestamps[this.physical(mid)] < timestamp) {
+				low = mid + 1;
+			} else {
+				high = mid;
+			}
+		}
+		return low;
+	}
+
+	private int physical(int logicalIndex) {
+		final var index = this.head + logicalIndex;
+		final var capacity = this.timestamps.length;
+		return index < capacity ? index : index - capacity;
+	}
+
+	private void removeOldest() {
+		if (this.objectValues != null) {
+			this.objectValues[this.head] = null;
+		}
+		this.head = this.physical(1);
+		this.size--;
+	}
+
+	private void grow() {
+		final var oldCapacity = this.timestamps.length;
+		final var newCapacity = Math.min(oldCapacity * 2, MAX_CAPACITY);
+		final var oldTimestamps = this.timestamps;
+		final var oldDefined = this.defined;
+		final var oldBooleanValues = this.booleanValues;
+		final var oldIntValues = this.intValues;
+		final var oldLongValues = this.longValues;
+		final var oldDoubleValues = this.doubleValues;
+		final var oldObjectValues = this.objectValues;
+
+		this.timestamps = new long[newCapacity];
+		this.defined = new boolean[newCapacity];
+		this.allocateValues(newCapacity);
+
+		// Unwrap the ring into the start of the new arrays
+		final var firstPart = Math.min(this.size, oldCapacity - this.head);
+		final var secondPart = this.size - firstPart;
+		this.copy(oldTimestamps, this.timestamps, firstPart, secondPart);
+		this.copy(oldDefined, this.defined, firstPart, secondPart);
+		switch (this.slot) {
+		case BOOLEAN -> this.copy(oldBooleanValues, this.booleanValues, firstPart, secondPart);
+		case INT -> this.copy(oldIntValues, this.intValues, firstPart, secondPart);
+		case LONG -> this.copy(oldLongValues, this.longValues, firstPart, secondPart);
+		case DOUBLE -> this.copy(oldDoubleValues, this.doubleValues, firstPart, secondPart);
+		case OBJECT -> this.copy(oldObjectValues, this.objectValues, firstPart, secondPart);
+		}
+		this.head = 0;
+	}
+
+	private void copy(Object source, Object target, int firstPart, int secondPart) {
+		System.arraycopy(source, this.head, target, 0, firstPart);
+		System.arraycopy(source, 0, target, firstPart, secondPart);
+	}
+
+	private void allocateValues(int capacity) {
+		switch (this.slot) {
+		case BOOLEAN -> this.booleanValues = new boolean[capacity];
+		case INT -> this.intValues = new int[capacity];
+		case LONG -> this.longValues = new long[capacity];
+		case DOUBLE -> this.doubleValues = new double[capacity];
+		case OBJECT -> this.objectValues = new Object[capacity];
+		}
+	}
+
+	private void setValue(int index, T value) {
+		if (value == null) {
+			this.defined[index] = false;
+			if (this.objectValues != null) {
+				this.objectValues[index] = null;
+			}
+			return;
+		}
+		this.defined[index] = true;
+		switch (this.slot) {
+		case BOOLEAN -> this.booleanValues[index] = (Boolean) value;
+		case INT -> this.intValues[index] = ((Number) value).intValue();
+		case LONG -> this.longValues[index] = ((Number) value).longValue();
+		case DOUBLE -> this.doubleValues[index] = ((Number) value).doubleValue();
+		case OBJECT -> this.objectValues[index] = value;
+		}
+	}
+
+	@SuppressWarnings("unchecked")
+	private T getValue(int index) {
+		if (!this.defined[index]) {
+			return null;
+		}
+		return (T) switch (this.type) {
+		case BOOLEAN -> Boolean.valueOf(this.booleanValues[index]);
+		case SHORT -> Short.valueOf((short) this.intValues[index]);
+		case INTEGER -> Integer.valueOf(this.intValues[index]);
+		case LONG -> Long.valueOf(this.longValues[index]);
+		case FLOAT -> Float.valueOf((float) this.doubleValues[index]);
+		case DOUBLE -> Double.valueOf(this.doubleValues[index]);
+		case STRING -> this.objectValues[index];
+		};
+	}
+
+	private double getAsDouble(int index) {
+		return switch (this.slot) {
+		case BOOLEAN -> this.booleanValues[index] ? 1d : 0d;
+		case INT -> this.intValues[index];
+		case LONG -> this.longValues[index];
+		case DOUBLE -> this.doubleValues[index];
+		case OBJECT -> 0d;
+		};
+	}
+
+	private long getAsLong(int index) {
+		return switch (this.slot) {
+		case BOOLEAN -> this.booleanValues[index] ? 1L : 0L;
+		case INT -> this.intValues[index];
+		case LONG -> this.longValues[index];
+		case DOUBLE -> (long) this.doubleValues[index];
+		case OBJECT -> 0L;
+		};
+	}
+}
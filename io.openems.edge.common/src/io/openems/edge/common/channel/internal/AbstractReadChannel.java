@@ -1,9 +1,7 @@
 package io.openems.edge.common.channel.internal;
 
-import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Objects;
-import java.util.TreeMap;
 import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.function.BiConsumer;
 import java.util.function.Consumer;
@@ -19,6 +17,7 @@ import io.openems.common.types.OpenemsType;
 import io.openems.edge.common.channel.Channel;
 import io.openems.edge.common.channel.ChannelId;
 import io.openems.edge.common.channel.WriteChannel;
+import io.openems.edge.common.channel.history.ChannelHistory;
 import io.openems.edge.common.channel.value.Value;
 import io.openems.edge.common.component.OpenemsComponent;
 
@@ -34,7 +33,7 @@ public abstract class AbstractReadChannel<D extends AbstractDoc<T>, T> implement
 	private final List<Consumer<Value<T>>> onUpdateCallbacks = new CopyOnWriteArrayList<>();
 	private final List<Consumer<Value<T>>> onSetNextValueCallbacks = new CopyOnWriteArrayList<>();
 	private final List<BiConsumer<Value<T>, Value<T>>> onChangeCallbacks = new CopyOnWriteArrayList<>();
-	private final TreeMap<LocalDateTime, Value<T>> pastValues = new TreeMap<>();
+	private final ChannelHistory<T> history;
 
 	/**
 	 * The 'next' value of the Channel. Copied to 'active' in
@@ -46,11 +45,20 @@ public abstract class AbstractReadChannel<D extends AbstractDoc<T>, T> implement
 	 */
 	private volatile Value<T> activeValue = new Value<>(this, null);
 
+	/**
+	 * The {@link DirtyChannelTracker} of the registry that holds this Channel and
+	 * the index of this Channel within it. See
+	 * {@link #attachDirtyChannelTracker(DirtyChannelTracker, int)}.
+	 */
+	private volatile DirtyChannelTracker dirtyChannelTracker = null;
+	private volatile int dirtyChannelIndex = -1;
+
 	protected AbstractReadChannel(OpenemsType type, OpenemsComponent parent, ChannelId channelId, D channelDoc) {
 		this.type = type;
 		this.parent = parent;
 		this.channelId = channelId;
 		this.channelDoc = channelDoc;
+		this.history = ChannelHistory.of(type);
 
 		// validate Type
 		if (!this.validateType(channelDoc.getType(), type)) {
@@ -124,8 +132,13 @@ public abstract class AbstractReadChannel<D extends AbstractDoc<T>, T> implement
 				this.onChangeCallbacks.forEach(callback -> callback.accept(oldValue, newValue));
 			}
 
-			// Additionally append to 'pastValues'
-			this.appendPastValue(newValue);
+			// Additionally append to 'history'
+			this.history.add(newValue.getTimestampMillis(), newValue.get());
+
+			// 'onUpdate' callbacks need to be called on every Process Image switch
+			if (!this.onUpdateCallbacks.isEmpty()) {
+				this.markDirty();
+			}
 
 		} catch (RuntimeException e) {
 			var component = this.parent != null ? this.parent.id() : "";
@@ -136,16 +149,31 @@ public abstract class AbstractReadChannel<D extends AbstractDoc<T>, T> implement
 	}
 
 	/**
-	 * Appends a value to `pastValues` and deletes entries that are elder than
-	 * {@link Channel#MAX_AGE_OF_PAST_VALUES}.
-	 * 
-	 * @param value a new {@link Value}
+	 * Attaches this Channel to the {@link DirtyChannelTracker} of a Channel
+	 * registry. From then on every call to {@link #_setNextValue(Object)} marks
+	 * the given index as dirty, so that the registry only needs to call
+	 * {@link #nextProcessImage()} for Channels that actually got a new value (or
+	 * that have 'onUpdate' callbacks).
+	 *
+	 * <p>
+	 * Internal method. Do not call directly.
+	 *
+	 * @param tracker the {@link DirtyChannelTracker}; null to detach
+	 * @param index   the index of this Channel in the registry
 	 */
-	private void appendPastValue(Value<T> value) {
-		final var compareTime = value.getTimestamp().minus(Channel.MAX_AGE_OF_PAST_VALUES);
-		this.pastValues.put(value.getTimestamp(), value);
-		// changes to sub map are also applied to the backed map
-		this.pastValues.headMap(compareTime).clear();
+	public void attachDirtyChannelTracker(DirtyChannelTracker tracker, int index) {
+		// Index is written first; a reader that sees the new tracker also sees the new
+		// index.
+		this.dirtyChannelIndex = index;
+		this.dirtyChannelTracker = tracker;
+		this.markDirty();
+	}
+
+	private void markDirty() {
+		var tracker = this.dirtyChannelTracker;
+		if (tracker != null) {
+			tracker.mark(this.dirtyChannelIndex);
+		}
 	}
 
 	@Override
@@ -182,6 +210,7 @@ public abstract class AbstractReadChannel<D extends AbstractDoc<T>, T> implement
 		}
 
 		this.nextValue = new Value<>(this, value);
+		this.markDirty();
 		if (this.channelDoc.isDebug()) {
 			this.log.info("Next value for [" + this.address() + "]: " + this.nextValue.asString());
 		}
@@ -218,6 +247,7 @@ public abstract class AbstractReadChannel<D extends AbstractDoc<T>, T> implement
 	@Override
 	public Consumer<Value<T>> onUpdate(Consumer<Value<T>> callback) {
 		this.onUpdateCallbacks.add(callback);
+		this.markDirty();
 		return callback;
 	}
 
@@ -298,14 +328,9 @@ public abstract class AbstractReadChannel<D extends AbstractDoc<T>, T> implement
 		return false;
 	}
 
-	/**
-	 * Gets the past values for this Channel.
-	 *
-	 * @return a map of recording time and historic value at that time
-	 */
 	@Override
-	public TreeMap<LocalDateTime, Value<T>> getPastValues() {
-		return this.pastValues;
+	public ChannelHistory<T> getHistory() {
+		return this.history;
 	}
 
 	/**
@@ -0,0 +1,74 @@
+package io.openems.edge.common.channel.internal;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+
+/**
+ * A fixed-size concurrent bitset that tracks which Channels of a registry need
+ * a Process Image switch.
+ *
+ * <p>
+ * Bits are set via {@link #mark(int)} by {@link AbstractReadChannel} - e.g.
+ * from {@link AbstractReadChannel#_setNextValue(Object)} - on any thread, and
+ * drained word-by-word by the Cycle thread via {@link #drainWord(int)}. Neither
+ * operation allocates.
+ */
+public final class DirtyChannelTracker {
+
+	private static final VarHandle WORDS = MethodHandles.arrayElementVarHandle(long[].class);
+
+	private final long[] words;
+
+	public DirtyChannelTracker(int size) {
+		this.words = new long[(size + 63) >>> 6];
+	}
+
+	/**
+	 * Gets the number of 64-bit words of this tracker.
+	 *
+	 * @return the number of words
+	 */
+	public int getNumberOfWords() {
+		return this.words.length;
+	}
+
+	/**
+	 * Marks the bit at the given index as dirty.
+	 *
+	 * @param index the index
+	 */
+	public void mark(int index) {
+		final var wordIndex = index >>> 6;
+		final var bit = 1L << index;
+		if (((long) WORDS.getVolatile(this.words, wordIndex) & bit) != 0) {
+			// already marked
+			return;
+		}
+		WORDS.getAndBitwiseOr(this.words, wordIndex, bit);
+	}
+
+	/**
+	 * Marks all bits up to the given size as dirty.
+	 *
+	 * @param size the number of bits to mark
+	 */
+	public void markAll(int size) {
+		for (var i = 0; i < size; i++) {
+			this.mark(i);
+		}
+	}
+
+	/**
+	 * Atomically gets and clears one 64-bit word of dirty bits. Bit {@code n} of
+	 * the result represents index {@code wordIndex * 64 + n}.
+	 *
+	 * @param wordIndex the index of the word
+	 * @return the dirty bits that were set
+	 */
+	public long drainWord(int wordIndex) {
+		if ((long) WORDS.getVolatile(this.words, wordIndex) == 0L) {
+			return 0L;
+		}
+		return (long) WORDS.getAndSet(this.words, wordIndex, 0L);
+	}
+}
@@ -11,6 +11,7 @@ import io.openems.common.types.OpenemsType;
 import io.openems.common.types.OptionsEnum;
 import io.openems.edge.common.channel.Channel;
 import io.openems.edge.common.channel.EnumDoc;
+import io.openems.edge.common.channel.history.ChannelHistory;
 import io.openems.edge.common.type.TypeUtils;
 
 /**
@@ -43,12 +44,22 @@ public class Value<T> {
 
 	private final Channel<T> parent;
 	private final T value;
-	private final LocalDateTime timestamp;
+	private final long timestampMillis;
+
+	/**
+	 * The {@link LocalDateTime} representation of {@link #timestampMillis}. Created
+	 * lazily, as most Values are never asked for their timestamp.
+	 */
+	private LocalDateTime timestamp = null;
 
 	public Value(Channel<T> parent, T value) {
+		this(parent, value, System.currentTimeMillis());
+	}
+
+	public Value(Channel<T> parent, T value, long timestampMillis) {
 		this.parent = parent;
 		this.value = value;
-		this.timestamp = LocalDateTime.now();
+		this.timestampMillis = timestampMillis;
 	}
 
 	/**
@@ -227,6 +238,20 @@ public class Value<T> {
 	 * @return the timestamp
 	 */
 	public LocalDateTime getTimestamp() {
-		return this.timestamp;
+		var timestamp = this.timestamp;
+		if (timestamp == null) {
+			timestamp = ChannelHistory.toLocalDateTime(this.timestampMillis);
+			this.timestamp = timestamp;
+		}
+		return timestamp;
+	}
+
+	/**
+	 * Gets the timestamp when the value was created in milliseconds since epoch.
+	 *
+	 * @return the timestamp in epoch milliseconds
+	 */
+	public long getTimestampMillis() {
+		return this.timestampMillis;
 	}
 }
@@ -56,6 +56,9 @@ public abstract class AbstractOpenemsComponent implements OpenemsComponent {
 	private ServiceTracker<MetaTypeService, MetaTypeService> metaTypeServiceTracker = null;
 	private final AtomicReference<MetaTypeService> metaTypeService = new AtomicReference<>();
 
+	/** Called after a Channel was added or removed; see {@link #onChannelsChanged(Runnable)}. */
+	private volatile Runnable onChannelsChanged = null;
+
 	/**
 	 * Default constructor for AbstractOpenemsComponent.
 	 *
@@ -379,6 +382,7 @@ public abstract class AbstractOpenemsComponent implements OpenemsComponent {
 		if (channel instanceof StateChannel) {
 			this.getStateChannel().addChannel((StateChannel) channel);
 		}
+		this.notifyChannelsChanged();
 	}
 
 	/**
@@ -467,6 +471,28 @@ public abstract class AbstractOpenemsComponent implements OpenemsComponent {
 		if (channel instanceof StateChannel) {
 			this.getStateChannel().removeChannel((StateChannel) channel);
 		}
+		this.notifyChannelsChanged();
+	}
+
+	/**
+	 * Sets a callback that is called after a Channel was added to or removed from
+	 * this Component, e.g. to rebuild a registry of all Channels.
+	 *
+	 * <p>
+	 * Only one callback is supported; it is called on the thread that changed the
+	 * Channels.
+	 *
+	 * @param callback the callback; null to remove it
+	 */
+	public void onChannelsChanged(Runnable callback) {
+		this.onChannelsChanged = callback;
+	}
+
+	private void notifyChannelsChanged() {
+		var callback = this.onChannelsChanged;
+		if (callback != null) {
+			callback.run();
+		}
 	}
 
 	@Override
@@ -202,6 +202,24 @@ public interface ComponentManager extends OpenemsComponent, ClockProvider {
 	 */
 	public <T extends OpenemsComponent> List<T> getEnabledComponentsOfType(Class<T> clazz);
 
+	/**
+	 * Gets all enabled OpenEMS-Components with the given Factory-PID.
+	 * 
+	 * <p>
+	 * Be aware that via this method usage of the Component service is not tracked
+	 * by the bundle's use count (See
+	 * {@link BundleContext#getService(org.osgi.framework.ServiceReference)}). Make
+	 * sure to use the references as shortly as possible.
+	 *
+	 * @param factoryPid the Factory-PID, e.g. "Controller.Debug.Log"
+	 * @return a List of OpenEMS-Components
+	 */
+	public default List<OpenemsComponent> getEnabledComponentsOfFactoryPid(String factoryPid) {
+		return this.getEnabledComponents().stream() //
+				.filter(c -> factoryPid.equals(c.serviceFactoryPid())) //
+				.toList();
+	}
+
 	/**
 	 * Gets all OpenEMS-Components.
 	 * 
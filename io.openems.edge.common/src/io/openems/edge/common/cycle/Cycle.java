@@ -1,13 +1,17 @@
 package io.openems.edge.common.cycle;
 
+import java.util.function.Consumer;
+
 import io.openems.common.channel.Level;
 import io.openems.common.channel.Unit;
 import io.openems.common.types.OpenemsType;
+import io.openems.edge.common.channel.Channel;
 import io.openems.edge.common.channel.Doc;
 import io.openems.edge.common.channel.LongReadChannel;
 import io.openems.edge.common.channel.StateChannel;
 import io.openems.edge.common.channel.value.Value;
 import io.openems.edge.common.component.OpenemsComponent;
+import io.openems.edge.common.event.EdgeEventConstants;
 
 public interface Cycle extends OpenemsComponent {
 
@@ -26,7 +30,150 @@ public interface Cycle extends OpenemsComponent {
 		 * </ul>
 		 */
 		MEASURED_CYCLE_TIME(Doc.of(OpenemsType.LONG) //
-				.unit(Unit.MILLISECONDS)),
+				.unit(Unit.MILLISECONDS)), //
+		/**
+		 * Median (50th percentile) of the duration of a whole Cycle in [ms]
+		 * within the current profiling window.
+		 *
+		 * <ul>
+		 * <li>Interface: Cycle
+		 * <li>Type: Double
+		 * </ul>
+		 */
+		CYCLE_TIME_P50(Doc.of(OpenemsType.DOUBLE) //
+				.unit(Unit.MILLISECONDS)), //
+		/**
+		 * 99th percentile of the duration of a whole Cycle in [ms] within the
+		 * current profiling window.
+		 *
+		 * <ul>
+		 * <li>Interface: Cycle
+		 * <li>Type: Double
+		 * </ul>
+		 */
+		CYCLE_TIME_P99(Doc.of(OpenemsType.DOUBLE) //
+				.unit(Unit.MILLISECONDS)), //
+		/**
+		 * Maximum of the duration of a whole Cycle in [ms] within the current
+		 * profiling window.
+		 *
+		 * <ul>
+		 * <li>Interface: Cycle
+		 * <li>Type: Double
+		 * </ul>
+		 */
+		CYCLE_TIME_MAX(Doc.of(OpenemsType.DOUBLE) //
+				.unit(Unit.MILLISECONDS)), //
+		/**
+		 * Median (50th percentile) of the duration of the Process Image switch
+		 * in [ms] within the current profiling window.
+		 *
+		 * <ul>
+		 * <li>Interface: Cycle
+		 * <li>Type: Double
+		 * </ul>
+		 */
+		PROCESS_IMAGE_TIME_P50(Doc.of(OpenemsType.DOUBLE) //
+				.unit(Unit.MILLISECONDS)), //
+		/**
+		 * 99th percentile of the duration of the Process Image switch in [ms]
+		 * within the current profiling window.
+		 *
+		 * <ul>
+		 * <li>Interface: Cycle
+		 * <li>Type: Double
+		 * </ul>
+		 */
+		PROCESS_IMAGE_TIME_P99(Doc.of(OpenemsType.DOUBLE) //
+				.unit(Unit.MILLISECONDS)), //
+		/**
+		 * Maximum of the duration of the Process Image switch in [ms] within
+		 * the current profiling window.
+		 *
+		 * <ul>
+		 * <li>Interface: Cycle
+		 * <li>Type: Double
+		 * </ul>
+		 */
+		PROCESS_IMAGE_TIME_MAX(Doc.of(OpenemsType.DOUBLE) //
+				.unit(Unit.MILLISECONDS)), //
+		/**
+		 * Median (50th percentile) of the summed duration of all Cycle Events
+		 * per Cycle in [ms] within the current profiling window.
+		 *
+		 * <ul>
+		 * <li>Interface: Cycle
+		 * <li>Type: Double
+		 * </ul>
+		 */
+		EVENTS_TIME_P50(Doc.of(OpenemsType.DOUBLE) //
+				.unit(Unit.MILLISECONDS)), //
+		/**
+		 * 99th percentile of the summed duration of all Cycle Events per Cycle
+		 * in [ms] within the current profiling window.
+		 *
+		 * <ul>
+		 * <li>Interface: Cycle
+		 * <li>Type: Double
+		 * </ul>
+		 */
+		EVENTS_TIME_P99(Doc.of(OpenemsType.DOUBLE) //
+				.unit(Unit.MILLISECONDS)), //
+		/**
+		 * Maximum of the summed duration of all Cycle Events per Cycle in [ms]
+		 * within the current profiling window.
+		 *
+		 * <ul>
+		 * <li>Interface: Cycle
+		 * <li>Type: Double
+		 * </ul>
+		 */
+		EVENTS_TIME_MAX(Doc.of(OpenemsType.DOUBLE) //
+				.unit(Unit.MILLISECONDS)), //
+		/**
+		 * Median (50th percentile) of the summed duration of all Controller
+		 * runs per Cycle in [ms] within the current profiling window.
+		 *
+		 * <ul>
+		 * <li>Interface: Cycle
+		 * <li>Type: Double
+		 * </ul>
+		 */
+		CONTROLLERS_TIME_P50(Doc.of(OpenemsType.DOUBLE) //
+				.unit(Unit.MILLISECONDS)), //
+		/**
+		 * 99th percentile of the summed duration of all Controller runs per
+		 * Cycle in [ms] within the current profiling window.
+		 *
+		 * <ul>
+		 * <li>Interface: Cycle
+		 * <li>Type: Double
+		 * </ul>
+		 */
+		CONTROLLERS_TIME_P99(Doc.of(OpenemsType.DOUBLE) //
+				.unit(Unit.MILLISECONDS)), //
+		/**
+		 * Maximum of the summed duration of all Controller runs per Cycle in
+		 * [ms] within the current profiling window.
+		 *
+		 * <ul>
+		 * <li>Interface: Cycle
+		 * <li>Type: Double
+		 * </ul>
+		 */
+		CONTROLLERS_TIME_MAX(Doc.of(OpenemsType.DOUBLE) //
+				.unit(Unit.MILLISECONDS)), //
+		/**
+		 * Name of the Process Image switch, Event topic or Controller-ID with
+		 * the
+		 * highest 99th percentile duration within the current profiling window.
+		 *
+		 * <ul>
+		 * <li>Interface: Cycle
+		 * <li>Type: String
+		 * </ul>
+		 */
+		SLOWEST_PHASE(Doc.of(OpenemsType.STRING)), //
 		/**
 		 * A configured Controller is not executed because it is disabled.
 		 *
@@ -124,4 +271,21 @@ public interface Cycle extends OpenemsComponent {
 	 */
 	public int getCycleTime();
 
+	/**
+	 * Passes every Channel that switched to a new Process Image in the current
+	 * Cycle to the given consumer. Channels that are not passed still have the
+	 * same active {@link Value} as in the previous Cycle.
+	 *
+	 * <p>
+	 * Must only be called synchronously while handling
+	 * {@link EdgeEventConstants#TOPIC_CYCLE_AFTER_PROCESS_IMAGE}.
+	 *
+	 * @param consumer the consumer
+	 * @return false if this Cycle does not track switched Channels; the caller then
+	 *         has to check all Channels itself
+	 */
+	public default boolean forEachSwitchedChannel(Consumer<Channel<?>> consumer) {
+		return false;
+	}
+
 }
@@ -0,0 +1,128 @@
+package io.openems.edge.common.channel.history;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+import io.openems.common.channel.Unit;
+import io.openems.common.types.OpenemsType;
+
+public class ChannelHistoryTest {
+
+	@Test
+	public void testAddAndEvict() {
+		var history = new ChannelHistory<Integer>(OpenemsType.INTEGER, 10_000);
+		for (var i = 0; i < 100; i++) {
+			history.add(i * 1000L, i);
+		}
+		// 10 seconds max age -> 90..99 plus the entry exactly at the limit
+		assertEquals(11, history.size());
+		assertEquals(99_000L, history.getLatestTimestamp());
+		assertEquals(Integer.valueOf(89), history.floorValue(89_500L));
+		assertNull(history.floorValue(88_999L));
+	}
+
+	@Test
+	public void testSameTimestampOverwrites() {
+		var history = new ChannelHistory<Integer>(OpenemsType.INTEGER, 10_000);
+		history.add(1000L, 1);
+		history.add(1000L, 2);
+		assertEquals(1, history.size());
+		assertEquals(Integer.valueOf(2), history.floorValue(1000L));
+	}
+
+	@Test
+	public void testGrowAndWrap() {
+		var history = new ChannelHistory<Long>(OpenemsType.LONG, Long.MAX_VALUE / 2);
+		for (var i = 0; i < ChannelHistory.MAX_CAPACITY + 10; i++) {
+			history.add(i, (long) i);
+		}
+		assertEquals(ChannelHistory.MAX_CAPACITY, history.size());
+		assertEquals(Long.valueOf(10), history.floorValue(10));
+		assertNull(history.floorValue(9));
+		assertEquals(ChannelHistory.MAX_CAPACITY + 9L, history.getLatestTimestamp());
+	}
+
+	@Test
+	public void testLatestAndOldestDefinedValue() {
+		var history = new ChannelHistory<Integer>(OpenemsType.INTEGER, 60_000);
+		assertNull(history.getLatestValue());
+		assertNull(history.getOldestDefinedValue());
+
+		history.add(1000L, null);
+		history.add(2000L, 2);
+		history.add(3000L, 3);
+		assertEquals(Integer.valueOf(3), history.getLatestValue());
+		assertEquals(Integer.valueOf(2), history.getOldestDefinedValue());
+
+		history.add(4000L, null);
+		assertNull(history.getLatestValue());
+		assertEquals(Integer.valueOf(2), history.getOldestDefinedValue());
+	}
+
+	@Test
+	public void testAnyMatchInt() {
+		var history = new ChannelHistory<Integer>(OpenemsType.INTEGER, 60_000);
+		history.add(1000L, 1);
+		history.add(2000L, null);
+		history.add(3000L, 2);
+		assertTrue(history.anyMatchInt(0, Long.MAX_VALUE, value -> value == 2));
+		assertFalse(history.anyMatchInt(0, 3000L, value -> value == 2));
+		assertFalse(history.anyMatchInt(2000L, Long.MAX_VALUE, value -> value == 1));
+	}
+
+	@Test
+	public void testAggregate() {
+		var history = new ChannelHistory<Double>(OpenemsType.DOUBLE, 60_000);
+		history.add(1000L, 1.);
+		history.add(2000L, null);
+		history.add(3000L, 5.);
+		history.add(4000L, 3.);
+
+		var aggregate = history.aggregate(1000L, 4000L);
+		assertEquals(2, aggregate.count());
+		assertEquals(3., aggregate.average().getAsDouble(), 0.001);
+		assertEquals(5., aggregate.forUnit(Unit.CUMULATED_WATT_HOURS).getAsDouble(), 0.001);
+
+		assertFalse(history.aggregate(5000L, 6000L).average().isPresent());
+		assertEquals(4000L, history.floorTimestamp(4500L));
+		assertEquals(500L, history.floorTimestamp(500L));
+	}
+
+	@Test
+	public void testMostFrequentInt() {
+		var history = new ChannelHistory<Integer>(OpenemsType.INTEGER, 60_000);
+		history.add(1000L, 1);
+		history.add(2000L, 2);
+		history.add(3000L, 2);
+		history.add(4000L, 1);
+		assertEquals(1, history.mostFrequentInt(0, 5000L).getAsInt());
+		assertEquals(2, history.mostFrequentInt(0, 4000L).getAsInt());
+		assertFalse(history.mostFrequentInt(5000L, 6000L).isPresent());
+	}
+
+	@Test
+	public void testBooleanAndToValueMap() {
+		var history = new ChannelHistory<Boolean>(OpenemsType.BOOLEAN, 60_000);
+		history.add(1000L, true);
+		history.add(2000L, false);
+		assertEquals(0.5, history.aggregate(0, 3000L).average().getAsDouble(), 0.001);
+
+		var map = history.toValueMap(null);
+		assertEquals(2, map.size());
+		assertTrue(map.firstEntry().getValue().get());
+		assertEquals(1000L, map.firstEntry().getValue().getTimestampMillis());
+	}
+
+	@Test
+	public void testClockSetBack() {
+		var history = new ChannelHistory<Integer>(OpenemsType.INTEGER, 60_000);
+		history.add(5000L, 1);
+		history.add(3000L, 2);
+		assertEquals(1, history.size());
+		assertEquals(3000L, history.getLatestTimestamp());
+	}
+}
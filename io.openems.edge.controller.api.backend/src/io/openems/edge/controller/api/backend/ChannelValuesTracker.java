@@ -0,0 +1,198 @@
+package io.openems.edge.controller.api.backend;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+
+import com.google.gson.JsonElement;
+
+import io.openems.common.channel.AccessMode;
+import io.openems.common.channel.PersistencePriority;
+import io.openems.edge.common.channel.Channel;
+import io.openems.edge.common.channel.value.Value;
+import io.openems.edge.common.component.OpenemsComponent;
+import io.openems.edge.common.cycle.Cycle;
+
+/**
+ * Tracks the values of all Channels that should be sent to the Backend and
+ * detects changes between two Cycles.
+ *
+ * <p>
+ * {@link #collect(List, Cycle)} is called synchronously with the Core.Cycle.
+ * It only visits the Channels that the {@link Cycle} switched to a new Process
+ * Image - see {@link Cycle#forEachSwitchedChannel(java.util.function.Consumer)}
+ * - and only creates JSON for Channels whose active {@link Value} actually
+ * changed since the last call. All Channels are checked only on the first call,
+ * when the enabled Components changed or if the Cycle does not track switched
+ * Channels. The Channel-Address Strings are built once per Channel.
+ *
+ * <p>
+ * Results are kept in two concurrent maps: {@link #getAllValues()} always holds
+ * the latest value of every tracked Channel and {@link #getChangedValues()}
+ * accumulates changed values until they are taken by the sender.
+ */
+public class ChannelValuesTracker {
+
+	private static class Entry {
+		private final String address;
+		private final boolean isEligible;
+		private Value<?> value = null;
+		private boolean isSeen = false;
+
+		private Entry(String address, boolean isEligible) {
+			this.address = address;
+			this.isEligible = isEligible;
+		}
+	}
+
+	private final PersistencePriority persistencePriority;
+	private final Map<Channel<?>, Entry> entries = new IdentityHashMap<>();
+	private final ConcurrentHashMap<String, JsonElement> allValues = new ConcurrentHashMap<>();
+	private final ConcurrentHashMap<String, JsonElement> changedValues = new ConcurrentHashMap<>();
+
+	/** The enabled Components of the last full scan; null while scanning. */
+	private List<OpenemsComponent> lastComponents = null;
+	/** Number of changed values within the current call. */
+	private int changed = 0;
+	private final Consumer<Channel<?>> collector = this::collectChannel;
+
+	public ChannelValuesTracker(PersistencePriority persistencePriority) {
+		this.persistencePriority = persistencePriority;
+	}
+
+	/**
+	 * Collects changed values of the Channels that were switched in the current
+	 * Cycle.
+	 *
+	 * @param enabledComponents the enabled components
+	 * @param cycle             the {@link Cycle}
+	 * @return the number of changed values
+	 */
+	public synchronized int collect(List<OpenemsComponent> enabledComponents, Cycle cycle) {
+		if (enabledComponents.equals(this.lastComponents)) {
+			this.changed = 0;
+			if (cycle.forEachSwitchedChannel(this.collector)) {
+				return this.changed;
+			}
+		}
+		// Reset first; a failed scan is repeated on the next call
+		this.lastComponents = null;
+		final var changed = this.collectAll(enabledComponents);
+		this.lastComponents = new ArrayList<>(enabledComponents);
+		return changed;
+	}
+
+	private int collectAll(List<OpenemsComponent> enabledComponents) {
+		this.changed = 0;
+		for (var component : enabledComponents) {
+			for (var channel : component.channels()) {
+				var entry = this.collectChannel(channel);
+				if (entry != null) {
+					entry.isSeen = true;
+				}
+			}
+		}
+
+		// Remove Channels of removed Components
+		var iterator = this.entries.values().iterator();
+		while (iterator.hasNext()) {
+			var entry = iterator.next();
+			if (entry.isSeen) {
+				entry.isSeen = false;
+			} else {
+				iterator.remove();
+				this.allValues.remove(entry.address);
+				this.changedValues.remove(entry.address);
+			}
+		}
+		return this.changed;
+	}
+
+	private Entry collectChannel(Channel<?> channel) {
+		var entry = this.entries.get(channel);
+		if (entry == null) {
+			if (this.lastComponents != null && !this.lastComponents.contains(channel.getComponent())) {
+				// Channel of a Component that is not (yet) known as enabled
+				return null;
+			}
+			var doc = channel.channelDoc();
+			entry = new Entry(channel.address().toString(), //
+					// Ignore WRITE_ONLY Channels
+					doc.getAccessMode() != AccessMode.WRITE_ONLY //
+							// Ignore Low-Priority Channels
+							&& doc.getPersistencePriority().isAtLeast(this.persistencePriority));
+			this.entries.put(channel, entry);
+		}
+		if (!entry.isEligible) {
+			return entry;
+		}
+
+		// Active Value only changes its identity on a new process image
+		var value = channel.value();
+		var lastValue = entry.value;
+		entry.value = value;
+		if (value == lastValue //
+				|| lastValue != null && Objects.equals(value.get(), lastValue.get())) {
+			return entry;
+		}
+
+		var json = value.asJson();
+		this.allValues.put(entry.address, json);
+		this.changedValues.put(entry.address, json);
+		this.changed++;
+		return entry;
+	}
+
+	/**
+	 * Takes all changed values that were collected since the last call.
+	 *
+	 * @return a map of Channel-Address to value
+	 */
+	public Map<String, JsonElement> takeChangedValues() {
+		var result = new HashMap<String, JsonElement>();
+		for (var entry : this.changedValues.entrySet()) {
+			// Only remove if the value was not changed in the meantime
+			if (this.changedValues.remove(entry.getKey(), entry.getValue())) {
+				result.put(entry.getKey(), entry.getValue());
+			}
+		}
+		return result;
+	}
+
+	/**
+	 * Gives back changed values that could not be sent. Newer values that were
+	 * collected in the meantime take precedence.
+	 *
+	 * @param values a map of Channel-Address to value
+	 */
+	public void restoreChangedValues(Map<String, JsonElement> values) {
+		values.forEach((address, value) -> {
+			if (this.allValues.containsKey(address)) {
+				this.changedValues.putIfAbsent(address, value);
+			}
+		});
+	}
+
+	/**
+	 * Gets the latest values of all tracked Channels.
+	 *
+	 * @return a map of Channel-Address to value
+	 */
+	public Map<String, JsonElement> getAllValues() {
+		return this.allValues;
+	}
+
+	/**
+	 * Gets the changed values that were not yet taken.
+	 *
+	 * @return a map of Channel-Address to value
+	 */
+	public Map<String, JsonElement> getChangedValues() {
+		return this.changedValues;
+	}
+}
@@ -6,6 +6,7 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import io.openems.common.exceptions.OpenemsError;
+import io.openems.common.jsonrpc.notification.BinaryDataNotificationCodec;
 import io.openems.common.jsonrpc.notification.EdgeConfigNotification;
 
 public class OnOpen implements io.openems.common.websocket.OnOpen {
@@ -21,6 +22,14 @@ public class OnOpen implements io.openems.common.websocket.OnOpen {
 	public OpenemsError apply(WebSocket ws, Handshakedata handshakedata) {
 		this.parent.logInfo(this.log, "Connected to OpenEMS Backend");
 
+		// Use binary data format if confirmed by Backend
+		WsData wsData = ws.getAttachment();
+		if (handshakedata.hasFieldValue(BinaryDataNotificationCodec.HANDSHAKE_FIELD)) {
+			wsData.setBinaryDataEncoder(new BinaryDataNotificationCodec.Encoder());
+		} else {
+			wsData.setBinaryDataEncoder(null);
+		}
+
 		// Immediately send Config
 		var config = this.parent.componentManager.getEdgeConfig();
 		var message = new EdgeConfigNotification(config);
@@ -1,8 +1,5 @@
 package io.openems.edge.controller.api.backend;
 
-import static java.util.stream.Collectors.counting;
-import static java.util.stream.Collectors.groupingBy;
-
 import java.time.Duration;
 import java.time.Instant;
 import java.time.LocalDateTime;
@@ -12,19 +9,15 @@ import java.util.Collection;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.Objects;
-import java.util.Optional;
 import java.util.concurrent.ArrayBlockingQueue;
 import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
-import java.util.function.Function;
 import java.util.stream.Collector;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import com.google.common.collect.ImmutableMap;
 import com.google.common.collect.TreeBasedTable;
 import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import com.google.gson.JsonElement;
@@ -39,6 +32,7 @@ import io.openems.common.types.OpenemsType;
 import io.openems.common.utils.ThreadPoolUtils;
 import io.openems.edge.common.channel.Channel;
 import io.openems.edge.common.channel.EnumDoc;
+import io.openems.edge.common.channel.history.ChannelHistory;
 import io.openems.edge.common.component.OpenemsComponent;
 import io.openems.edge.common.type.TypeUtils;
 
@@ -77,9 +71,9 @@ public class SendChannelValuesWorker {
 	private Instant lastSendValuesOfAllChannels = Instant.MIN;
 
 	/**
-	 * Keeps the values of last successful send.
+	 * Tracks the Channel values; created on first {@link #collectData()}.
 	 */
-	private Map<String, JsonElement> lastAllValues = ImmutableMap.of();
+	private ChannelValuesTracker tracker = null;
 
 	private Instant lastSendAggregatedDataTimestamp;
 
@@ -112,48 +106,25 @@ public class SendChannelValuesWorker {
 
 		// Update the values of all channels
 		final var enabledComponents = this.parent.componentManager.getEnabledComponents();
-		final var allValues = this.collectData(enabledComponents);
-		final var aggregatedValues = this.collectAggregatedData(enabledComponents);
-
-		// Add to send Queue
-		this.executor.execute(new SendTask(this, now, allValues));
-		if (aggregatedValues != null && !aggregatedValues.isEmpty()) {
-			aggregatedValues.rowMap().forEach((timestamp, data) -> {
-				this.executor.execute(new SendAggregatedDataTask(this, Instant.ofEpochMilli(timestamp), data));
-			});
+		if (this.tracker == null) {
+			this.tracker = new ChannelValuesTracker(this.parent.config.persistencePriority());
 		}
-	}
-
-	/**
-	 * Cycles through all Channels and collects the value.
-	 *
-	 * @param enabledComponents the enabled components
-	 * @return collected data
-	 */
-	private ImmutableMap<String, JsonElement> collectData(List<OpenemsComponent> enabledComponents) {
 		try {
-			return enabledComponents.parallelStream() //
-					.flatMap(component -> component.channels().parallelStream()) //
-					.filter(channel -> // Ignore WRITE_ONLY Channels
-					channel.channelDoc().getAccessMode() != AccessMode.WRITE_ONLY //
-							// Ignore Low-Priority Channels
-							&& channel.channelDoc().getPersistencePriority()
-									.isAtLeast(this.parent.config.persistencePriority()))
-					.collect(//
-							ImmutableMap.toImmutableMap(//
-									c -> c.address().toString(), //
-									c -> c.value().asJson(), //
-									// simple/stupid merge function to avoid
-									// 'java.lang.IllegalArgumentException Duplicate Key'
-									(t, u) -> {
-										this.parent.logWarn(this.log, "Duplicate Key [" + t.toString() + "]");
-										return t;
-									}));
+			this.tracker.collect(enabledComponents, this.parent.cycle);
 		} catch (Exception e) {
 			// ConcurrentModificationException can happen if Channels are dynamically added
 			// or removed
 			this.parent.logWarn(this.log, "Unable to collect date: " + e.getMessage());
-			return ImmutableMap.of();
+		}
+		final var aggregatedValues = this.collectAggregatedData(enabledComponents);
+
+		// Add to send Queue. Changed values are kept by the tracker until they were
+		// sent, so a discarded task does not lose any data.
+		this.executor.execute(new SendTask(this, now, this.tracker));
+		if (aggregatedValues != null && !aggregatedValues.isEmpty()) {
+			aggregatedValues.rowMap().forEach((timestamp, data) -> {
+				this.executor.execute(new SendAggregatedDataTask(this, Instant.ofEpochMilli(timestamp), data));
+			});
 		}
 	}
 
@@ -161,6 +132,8 @@ public class SendChannelValuesWorker {
 		final var now = LocalDateTime.now(this.parent.componentManager.getClock());
 		final var endTime = now.truncatedTo(DurationUnit.ofMinutes(AGGREGATION_MINUTES));
 		final var startTime = endTime.minusMinutes(AGGREGATION_MINUTES);
+		final var endTimeMillis = ChannelHistory.toEpochMilli(endTime);
+		final var startTimeMillis = ChannelHistory.toEpochMilli(startTime);
 
 		final var timestamp = Instant.now().truncatedTo(DurationUnit.ofMinutes(AGGREGATION_MINUTES)) //
 				.minus(AGGREGATION_MINUTES, ChronoUnit.MINUTES);
@@ -186,25 +159,30 @@ public class SendChannelValuesWorker {
 								.isAtLeast(this.parent.config.aggregationPriority()))
 				.forEach(channel -> {
 					try {
-						// This is the highest timestamp before `startTime`. If existing it is used for
-						// the tailMap to make sure we get a Value even for Channels where the value has
-						// not changed within the last 5 minutes.
-						var channelStartTime = Optional.ofNullable(channel.getPastValues().floorKey(startTime))
-								.orElse(startTime);
-
-						var value = channel.getPastValues() //
-								.tailMap(channelStartTime, true) //
-								.entrySet() //
-								.stream() //
-								.filter(e -> e.getKey().isBefore(endTime)) //
-								.filter(e -> e.getValue().isDefined()).map(e -> e.getValue().get()) //
-								.collect(aggregateCollector(channel.channelDoc().getUnit().isCumulated(), //
-										channel.getType()));
+						// This is the highest timestamp before `startTime`. If existing it is used as
+						// start of the range to make sure we get a Value even for Channels where the
+						// value has not changed within the last 5 minutes.
+						final var history = channel.getHistory();
+						final var channelStartTime = history.floorTimestamp(startTimeMillis);
 
+						final JsonElement value;
 						// TODO aggregation should be modifiable in Doc e. g. not every EnumDoc may want
 						// this behaviour
 						if (channel.channelDoc() instanceof EnumDoc) {
-							value = aggregateEnumChannel(channel, channelStartTime, endTime);
+							value = aggregateEnumChannel(channel, channelStartTime, endTimeMillis);
+						} else if (channel.getType() == OpenemsType.STRING) {
+							final var channelStartDateTime = ChannelHistory.toLocalDateTime(channelStartTime);
+							value = channel.getPastValues() //
+									.tailMap(channelStartDateTime, true) //
+									.entrySet() //
+									.stream() //
+									.filter(e -> e.getKey().isBefore(endTime)) //
+									.filter(e -> e.getValue().isDefined()).map(e -> e.getValue().get()) //
+									.collect(aggregateCollector(channel.channelDoc().getUnit().isCumulated(), //
+											channel.getType()));
+						} else {
+							value = aggregate(channel.channelDoc().getUnit().isCumulated(), channel.getType(),
+									history.aggregate(channelStartTime, endTimeMillis));
 						}
 
 						if (!sendAllChannels && value.isJsonNull()) {
@@ -224,50 +202,24 @@ public class SendChannelValuesWorker {
 			Channel<?> channel, //
 			LocalDateTime channelStartTime, //
 			LocalDateTime endTime //
+	) {
+		return aggregateEnumChannel(channel, ChannelHistory.toEpochMilli(channelStartTime),
+				ChannelHistory.toEpochMilli(endTime));
+	}
+
+	private static JsonElement aggregateEnumChannel(//
+			Channel<?> channel, //
+			long channelStartTime, //
+			long endTime //
 	) {
 		final var doc = channel.channelDoc();
 		if (!(doc instanceof EnumDoc)) {
 			return JsonNull.INSTANCE;
 		}
-		final var numberOfValuesPerOption = channel.getPastValues() //
-				.tailMap(channelStartTime, true) //
-				.entrySet() //
-				.stream() //
-				.filter(e -> e.getKey().isBefore(endTime)) //
-				.filter(e -> e.getValue().isDefined()) //
-				.map(e -> (Integer) e.getValue().get()) //
-				.collect(groupingBy(Function.identity(), counting()));
-
-		final var values = numberOfValuesPerOption.entrySet().stream() //
-				.sorted((o1, o2) -> Long.compare(o2.getValue(), o1.getValue())) //
-				.toList();
-
-		final var maxValues = new ArrayList<Integer>();
-		var maxCount = -1L;
-		for (var entry : values) {
-			if (entry.getValue() < maxCount) {
-				break;
-			}
-			if (entry.getValue() == maxCount) {
-				maxValues.add(entry.getKey());
-				continue;
-			}
-			maxCount = entry.getValue();
-			maxValues.clear();
-			maxValues.add(entry.getKey());
-		}
-
-		// pick first value with most appearances
-		for (var entry : channel.getPastValues().descendingMap().entrySet()) {
-			for (var optionValue : maxValues) {
-				if (!entry.getValue().isDefined()) {
-					continue;
-				}
-				final var entryValue = entry.getValue().get();
-				if (((Integer) entryValue).intValue() == optionValue) {
-					return new JsonPrimitive(optionValue);
-				}
-			}
+		// pick latest value with most appearances
+		final var value = channel.getHistory().mostFrequentInt(channelStartTime, endTime);
+		if (value.isPresent()) {
+			return new JsonPrimitive(value.getAsInt());
 		}
 		return JsonNull.INSTANCE;
 	}
@@ -286,6 +238,21 @@ public class SendChannelValuesWorker {
 		);
 	}
 
+	protected static JsonElement aggregate(boolean isCumulated, OpenemsType type, ChannelHistory.Aggregate aggregate)
+			throws IllegalArgumentException {
+		final var valueOpt = isCumulated ? aggregate.maximum() : aggregate.average();
+		if (!valueOpt.isPresent()) {
+			return JsonNull.INSTANCE;
+		}
+		final var value = valueOpt.getAsDouble();
+		return switch (type) {
+		case DOUBLE, FLOAT -> new JsonPrimitive(value);
+		// round averages to their type
+		case BOOLEAN, LONG, INTEGER, SHORT -> new JsonPrimitive(Math.round(value));
+		case STRING -> throw new IllegalArgumentException("Unable to aggregate STRING values as number");
+		};
+	}
+
 	protected static JsonElement aggregate(boolean isCumulated, OpenemsType type, Collection<Object> values)
 			throws IllegalArgumentException {
 		switch (type) {
@@ -337,34 +304,30 @@ public class SendChannelValuesWorker {
 
 		private final SendChannelValuesWorker parent;
 		private final Instant timestamp;
-		private final Map<String, JsonElement> allValues;
+		private final ChannelValuesTracker tracker;
 
-		public SendTask(SendChannelValuesWorker parent, Instant timestamp, Map<String, JsonElement> allValues) {
+		public SendTask(SendChannelValuesWorker parent, Instant timestamp, ChannelValuesTracker tracker) {
 			this.parent = parent;
 			this.timestamp = timestamp;
-			this.allValues = allValues;
+			this.tracker = tracker;
 		}
 
 		@Override
 		public void run() {
-			// Holds the data of the last successful send. If the table is empty, it is also
-			// used as a marker to send all data.
-			final Map<String, JsonElement> lastAllValues;
+			final boolean sendAll;
 
 			if (this.parent.sendValuesOfAllChannels.getAndSet(false)) {
-				// Send values of all Channels once in a while
-				lastAllValues = ImmutableMap.of();
+				// Send values of all Channels if explicitly asked for
+				sendAll = true;
 
 			} else if (Duration.between(this.parent.lastSendValuesOfAllChannels, this.timestamp)
 					.getSeconds() > SEND_VALUES_OF_ALL_CHANNELS_AFTER_SECONDS) {
-				// Send values of all Channels if explicitly asked for
-				lastAllValues = ImmutableMap.of();
+				// Send values of all Channels once in a while
+				sendAll = true;
 
 			} else {
-				// Actually use the kept 'lastSentValues'
-				// CHECKSTYLE:OFF
-				lastAllValues = this.parent.lastAllValues;
-				// CHECKSTYLE:ON
+				// Only send changed values
+				sendAll = false;
 			}
 
 			// Round timestamp to Global Cycle-Time
@@ -372,15 +335,12 @@ public class SendChannelValuesWorker {
 			final var timestampMillis = this.timestamp.toEpochMilli() / cycleTime * cycleTime;
 
 			// Prepare message values
-			var sendValuesMap = new HashMap<String, JsonElement>();
-
-			// Collect Changed values
-			for (var entry : this.allValues.entrySet()) {
-				var channelAddress = entry.getKey();
-				var value = entry.getValue();
-				if (!Objects.equals(value, lastAllValues.get(channelAddress))) {
-					sendValuesMap.put(channelAddress, value);
-				}
+			final var changedValues = this.tracker.takeChangedValues();
+			final Map<String, JsonElement> sendValuesMap;
+			if (sendAll) {
+				sendValuesMap = new HashMap<>(this.tracker.getAllValues());
+			} else {
+				sendValuesMap = changedValues;
 			}
 
 			// Create JSON-RPC notification
@@ -398,13 +358,13 @@ public class SendChannelValuesWorker {
 
 			if (wasSent) {
 				// Successfully sent: update information for next runs
-				this.parent.lastAllValues = this.allValues;
-				if (lastAllValues.isEmpty()) {
-					// 'lastSentValues' was empty, i.e. all values were sent
+				if (sendAll) {
 					this.parent.lastSendValuesOfAllChannels = this.timestamp;
 				}
+			} else {
+				// Keep changed values for next run
+				this.tracker.restoreChangedValues(changedValues);
 			}
-
 		}
 
 	}
@@ -8,9 +8,12 @@ import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.TimeUnit;
 
 import org.java_websocket.WebSocket;
+import org.java_websocket.exceptions.WebsocketNotConnectedException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import io.openems.common.jsonrpc.base.JsonrpcMessage;
+import io.openems.common.jsonrpc.notification.AbstractDataNotification;
 import io.openems.common.websocket.AbstractWebsocketClient;
 import io.openems.common.websocket.OnClose;
 
@@ -83,6 +86,37 @@ public class WebsocketClient extends AbstractWebsocketClient<WsData> {
 		this.parent.logError(log, message);
 	}
 
+	/**
+	 * Sends a {@link JsonrpcMessage}. {@link AbstractDataNotification}s are sent as
+	 * binary frame if the binary format was negotiated for the current connection.
+	 *
+	 * @param message the {@link JsonrpcMessage}
+	 * @return true if sending was successful
+	 */
+	@Override
+	public boolean sendMessage(JsonrpcMessage message) {
+		if (message instanceof AbstractDataNotification notification) {
+			WsData wsData = this.ws.getAttachment();
+			var encoder = wsData.getBinaryDataEncoder();
+			if (encoder != null && this.ws.isOpen()) {
+				// Frames have to arrive in the order they were encoded
+				synchronized (encoder) {
+					try {
+						this.ws.send(encoder.encode(notification));
+						return true;
+
+					} catch (WebsocketNotConnectedException e) {
+						// Dictionary of the Backend might now be out of sync
+						encoder.reset();
+						this.parent.logWarn(this.log, "Unable to send binary data: Connection is closed.");
+						return false;
+					}
+				}
+			}
+		}
+		return super.sendMessage(message);
+	}
+
 	public boolean isConnected() {
 		return this.ws.isOpen();
 	}
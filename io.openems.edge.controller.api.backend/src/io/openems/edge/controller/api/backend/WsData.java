@@ -2,12 +2,38 @@ package io.openems.edge.controller.api.backend;
 
 import org.java_websocket.WebSocket;
 
+import io.openems.common.jsonrpc.notification.BinaryDataNotificationCodec.Encoder;
+
 public class WsData extends io.openems.common.websocket.WsData {
 
+	/**
+	 * The {@link Encoder} for binary data frames; null if the binary format was
+	 * not negotiated for the current connection.
+	 */
+	private volatile Encoder binaryDataEncoder = null;
+
 	public WsData(WebSocket ws) {
 		super(ws);
 	}
 
+	/**
+	 * Sets the {@link Encoder} for binary data frames of the current connection.
+	 *
+	 * @param binaryDataEncoder the {@link Encoder}; null to send JSON
+	 */
+	public void setBinaryDataEncoder(Encoder binaryDataEncoder) {
+		this.binaryDataEncoder = binaryDataEncoder;
+	}
+
+	/**
+	 * Gets the {@link Encoder} for binary data frames of the current connection.
+	 *
+	 * @return the {@link Encoder}; null if binary format was not negotiated
+	 */
+	public Encoder getBinaryDataEncoder() {
+		return this.binaryDataEncoder;
+	}
+
 	@Override
 	public String toString() {
 		return "BackendApi.WsData []";
@@ -0,0 +1,113 @@
+package io.openems.edge.controller.api.backend;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+
+import org.junit.Test;
+
+import com.google.gson.JsonPrimitive;
+
+import io.openems.common.channel.PersistencePriority;
+import io.openems.edge.common.channel.Channel;
+import io.openems.edge.common.component.OpenemsComponent;
+import io.openems.edge.common.test.DummyCycle;
+import io.openems.edge.controller.api.backend.SendChannelValuesWorkerTest.DummyComponent;
+import io.openems.edge.controller.api.backend.SendChannelValuesWorkerTest.DummyComponent.DummyEnum;
+
+public class ChannelValuesTrackerTest {
+
+	private static final String ADDRESS = "component0/DummyEnumChannel";
+	private static final DummyCycle CYCLE = new DummyCycle(1000);
+
+	private static class SwitchedChannelsCycle extends DummyCycle {
+
+		private final List<Channel<?>> switched = new ArrayList<>();
+
+		public SwitchedChannelsCycle() {
+			super(1000);
+		}
+
+		@Override
+		public boolean forEachSwitchedChannel(Consumer<Channel<?>> consumer) {
+			this.switched.forEach(consumer);
+			return true;
+		}
+	}
+
+	@Test
+	public void test() {
+		final var component = new DummyComponent("component0");
+		final var channel = component.<Channel<DummyEnum>>channel(DummyComponent.ChannelId.DUMMY_ENUM_CHANNEL);
+		final List<OpenemsComponent> components = List.of(component);
+		final var sut = new ChannelValuesTracker(PersistencePriority.VERY_LOW);
+
+		// First collect: all values are changed
+		assertTrue(sut.collect(components, CYCLE) > 0);
+		assertEquals(channel.value().asJson(), sut.takeChangedValues().get(ADDRESS));
+		assertTrue(sut.getChangedValues().isEmpty());
+
+		// No change
+		assertEquals(0, sut.collect(components, CYCLE));
+
+		// Same value in a new process image is not a change
+		channel.setNextValue(DummyEnum.VALUE_1);
+		channel.nextProcessImage();
+		assertEquals(1, sut.collect(components, CYCLE));
+		channel.setNextValue(DummyEnum.VALUE_1);
+		channel.nextProcessImage();
+		assertEquals(0, sut.collect(components, CYCLE));
+		assertEquals(Map.of(ADDRESS, new JsonPrimitive(1)), sut.takeChangedValues());
+
+		// Values that could not be sent are restored; newer values take precedence
+		channel.setNextValue(DummyEnum.VALUE_2);
+		channel.nextProcessImage();
+		sut.collect(components, CYCLE);
+		var taken = sut.takeChangedValues();
+		channel.setNextValue(DummyEnum.VALUE_3);
+		channel.nextProcessImage();
+		sut.collect(components, CYCLE);
+		sut.restoreChangedValues(taken);
+		assertEquals(Map.of(ADDRESS, new JsonPrimitive(3)), sut.takeChangedValues());
+		assertEquals(new JsonPrimitive(3), sut.getAllValues().get(ADDRESS));
+
+		// Channels of removed Components are removed
+		sut.collect(List.of(), CYCLE);
+		assertTrue(sut.getAllValues().isEmpty());
+	}
+
+	@Test
+	public void testSwitchedChannels() {
+		final var component = new DummyComponent("component0");
+		final var channel = component.<Channel<DummyEnum>>channel(DummyComponent.ChannelId.DUMMY_ENUM_CHANNEL);
+		final List<OpenemsComponent> components = List.of(component);
+		final var cycle = new SwitchedChannelsCycle();
+		final var sut = new ChannelValuesTracker(PersistencePriority.VERY_LOW);
+
+		// First collect checks all Channels
+		assertTrue(sut.collect(components, cycle) > 0);
+		sut.takeChangedValues();
+
+		// Channels that were not switched are not checked
+		channel.setNextValue(DummyEnum.VALUE_1);
+		channel.nextProcessImage();
+		assertEquals(0, sut.collect(components, cycle));
+
+		cycle.switched.add(channel);
+		assertEquals(1, sut.collect(components, cycle));
+		assertEquals(Map.of(ADDRESS, new JsonPrimitive(1)), sut.takeChangedValues());
+
+		// Changed Components trigger a check of all Channels
+		cycle.switched.clear();
+		channel.setNextValue(DummyEnum.VALUE_2);
+		channel.nextProcessImage();
+		sut.collect(List.of(), cycle);
+		assertTrue(sut.getAllValues().isEmpty());
+		assertTrue(sut.collect(components, cycle) > 0);
+		assertEquals(new JsonPrimitive(2), sut.getAllValues().get(ADDRESS));
+	}
+}
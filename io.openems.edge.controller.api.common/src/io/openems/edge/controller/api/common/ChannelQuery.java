@@ -0,0 +1,245 @@
+package io.openems.edge.controller.api.common;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Pattern;
+import java.util.regex.PatternSyntaxException;
+
+import com.google.gson.JsonObject;
+
+import io.openems.common.channel.AccessMode;
+import io.openems.common.types.ChannelAddress;
+import io.openems.edge.common.channel.Channel;
+import io.openems.edge.common.component.OpenemsComponent;
+
+/**
+ * Resolves {@link ChannelAddress}es, whose Component-ID and Channel-ID may be
+ * regular expressions, to {@link Channel}s.
+ *
+ * <p>
+ * Compiled {@link Pattern}s are kept in an LRU cache. Component-IDs and
+ * Channel-IDs are held in sorted indexes: IDs without regular expression are
+ * resolved by lookup, regular expressions with a literal prefix are only
+ * evaluated for IDs with that prefix. The index is rebuilt whenever the list of
+ * Components or the number of Channels of a Component changes.
+ *
+ * <p>
+ * This class is thread-safe and meant to be shared by all requests of an API.
+ */
+public class ChannelQuery {
+
+	private static final int PATTERN_CACHE_SIZE = 256;
+	private static final String META_CHARACTERS = "\\[](){}.*+?^$|";
+	private static final String OPTIONAL_QUANTIFIERS = "?*{";
+
+	private static class SortedIds {
+		private final NavigableMap<String, Integer> ids = new TreeMap<>();
+
+		private SortedIds(List<String> ids) {
+			for (var i = 0; i < ids.size(); i++) {
+				this.ids.put(ids.get(i), i);
+			}
+		}
+	}
+
+	private static class ComponentIndex {
+		private final List<OpenemsComponent> components;
+		private final SortedIds componentIds;
+		private final Map<String, ChannelIndex> channelIndexes = new ConcurrentHashMap<>();
+
+		private ComponentIndex(List<OpenemsComponent> components) {
+			this.components = components;
+			this.componentIds = new SortedIds(components.stream().map(OpenemsComponent::id).toList());
+		}
+
+		private ChannelIndex getChannelIndex(OpenemsComponent component) {
+			var channelIndex = this.channelIndexes.get(component.id());
+			if (channelIndex == null || channelIndex.channels.size() != component.channels().size()) {
+				channelIndex = new ChannelIndex(component);
+				this.channelIndexes.put(component.id(), channelIndex);
+			}
+			return channelIndex;
+		}
+	}
+
+	private static class ChannelIndex {
+		private final List<Channel<?>> channels;
+		private final SortedIds channelIds;
+
+		private ChannelIndex(OpenemsComponent component) {
+			this.channels = List.copyOf(component.channels());
+			this.channelIds = new SortedIds(this.channels.stream().map(c -> c.channelId().id()).toList());
+		}
+	}
+
+	private final Map<String, Pattern> patterns = new LinkedHashMap<>(16, 0.75F, true) {
+
+		private static final long serialVersionUID = 1L;
+
+		@Override
+		protected boolean removeEldestEntry(Map.Entry<String, Pattern> eldest) {
+			return this.size() > PATTERN_CACHE_SIZE;
+		}
+	};
+
+	private volatile ComponentIndex index = new ComponentIndex(List.of());
+
+	/**
+	 * Gets a list of Channels that match the {@link ChannelAddress}; regular
+	 * expressions are allowed.
+	 *
+	 * @param components     a list of {@link OpenemsComponent}s
+	 * @param channelAddress the {@link ChannelAddress}
+	 * @return a list of matching {@link Channel}s in the order of the Components
+	 * @throws PatternSyntaxException on regular expression error
+	 */
+	public List<Channel<?>> getChannels(List<OpenemsComponent> components, ChannelAddress channelAddress)
+			throws PatternSyntaxException {
+		final var result = new ArrayList<Channel<?>>();
+		this.collectChannels(this.getIndex(components), channelAddress, result);
+		return result;
+	}
+
+	/**
+	 * Gets a list of Channels that match any of the {@link ChannelAddress}es;
+	 * regular expressions are allowed.
+	 *
+	 * @param components       a list of {@link OpenemsComponent}s
+	 * @param channelAddresses the {@link ChannelAddress}es
+	 * @return a list of distinct matching {@link Channel}s in the order of the
+	 *         addresses
+	 * @throws PatternSyntaxException on regular expression error
+	 */
+	public List<Channel<?>> getChannels(List<OpenemsComponent> components,
+			Collection<ChannelAddress> channelAddresses) throws PatternSyntaxException {
+		final var index = this.getIndex(components);
+		final var result = new LinkedHashSet<Channel<?>>();
+		for (var channelAddress : channelAddresses) {
+			this.collectChannels(index, channelAddress, result);
+		}
+		return List.copyOf(result);
+	}
+
+	/**
+	 * Converts a {@link Channel} to its JSON representation for API responses.
+	 *
+	 * @param channel the {@link Channel}
+	 * @return a {@link JsonObject} with address, type, accessMode, text, unit and
+	 *         value
+	 */
+	public static JsonObject toJson(Channel<?> channel) {
+		var j = new JsonObject();
+		// name
+		j.addProperty("address", channel.address().toString());
+		// type
+		j.addProperty("type", channel.getType().name());
+		// accessMode
+		var accessMode = channel.channelDoc().getAccessMode();
+		j.addProperty("accessMode", accessMode.getAbbreviation());
+		// text
+		j.addProperty("text", channel.channelDoc().getText());
+		// unit
+		j.addProperty("unit", channel.channelDoc().getUnit().symbol);
+		// value
+		if (accessMode != AccessMode.WRITE_ONLY) {
+			j.add("value", channel.value().asJson());
+		}
+		return j;
+	}
+
+	private ComponentIndex getIndex(List<OpenemsComponent> components) {
+		var index = this.index;
+		if (index.components != components && !index.components.equals(components)) {
+			index = new ComponentIndex(components);
+			this.index = index;
+		}
+		return index;
+	}
+
+	private void collectChannels(ComponentIndex index, ChannelAddress channelAddress,
+			Collection<Channel<?>> result) {
+		final var componentMatches = this.match(index.componentIds, channelAddress.getComponentId());
+		for (var i = componentMatches.nextSetBit(0); i >= 0; i = componentMatches.nextSetBit(i + 1)) {
+			final var channelIndex = index.getChannelIndex(index.components.get(i));
+			final var channelMatches = this.match(channelIndex.channelIds, channelAddress.getChannelId());
+			for (var j = channelMatches.nextSetBit(0); j >= 0; j = channelMatches.nextSetBit(j + 1)) {
+				result.add(channelIndex.channels.get(j));
+			}
+		}
+	}
+
+	/**
+	 * Finds the positions of all IDs that match the regular expression.
+	 *
+	 * @param sortedIds the {@link SortedIds}
+	 * @param regex     the regular expression
+	 * @return the positions
+	 * @throws PatternSyntaxException on regular expression error
+	 */
+	private BitSet match(SortedIds sortedIds, String regex) throws PatternSyntaxException {
+		final var result = new BitSet();
+		final var prefix = literalPrefix(regex);
+		if (prefix.length() == regex.length()) {
+			// No regular expression
+			var position = sortedIds.ids.get(regex);
+			if (position != null) {
+				result.set(position);
+			}
+			return result;
+		}
+
+		final var pattern = this.getPattern(regex);
+		final var candidates = prefix.isEmpty() //
+				? sortedIds.ids //
+				: sortedIds.ids.subMap(prefix, true, prefix + Character.MAX_VALUE, true);
+		for (var entry : candidates.entrySet()) {
+			if (pattern.matcher(entry.getKey()).matches()) {
+				result.set(entry.getValue());
+			}
+		}
+		return result;
+	}
+
+	private Pattern getPattern(String regex) throws PatternSyntaxException {
+		synchronized (this.patterns) {
+			var pattern = this.patterns.get(regex);
+			if (pattern == null) {
+				pattern = Pattern.compile(regex);
+				this.patterns.put(regex, pattern);
+			}
+			return pattern;
+		}
+	}
+
+	/**
+	 * Gets the literal prefix that every match of the regular expression starts
+	 * with.
+	 *
+	 * @param regex the regular expression
+	 * @return the prefix; the full string if it contains no regular expression
+	 */
+	protected static String literalPrefix(String regex) {
+		if (regex.indexOf('|') >= 0) {
+			// Alternations may match different prefixes
+			return "";
+		}
+		var end = 0;
+		while (end < regex.length() && META_CHARACTERS.indexOf(regex.charAt(end)) < 0) {
+			end++;
+		}
+		if (end > 0 && end < regex.length() && OPTIONAL_QUANTIFIERS.indexOf(regex.charAt(end)) >= 0) {
+			// Last character is optional
+			end--;
+		}
+		return regex.substring(0, end);
+	}
+
+}
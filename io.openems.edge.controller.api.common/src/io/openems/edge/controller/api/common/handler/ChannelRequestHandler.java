@@ -0,0 +1,92 @@
+package io.openems.edge.controller.api.common.handler;
+
+import java.util.ArrayList;
+
+import org.osgi.service.component.annotations.Activate;
+import org.osgi.service.component.annotations.Component;
+import org.osgi.service.component.annotations.Reference;
+import org.osgi.service.component.annotations.ServiceScope;
+
+import com.google.gson.JsonArray;
+
+import io.openems.common.jsonrpc.base.GenericJsonrpcResponseSuccess;
+import io.openems.common.session.Role;
+import io.openems.common.types.ChannelAddress;
+import io.openems.common.utils.JsonUtils;
+import io.openems.edge.common.component.ComponentManager;
+import io.openems.edge.common.jsonapi.EdgeGuards;
+import io.openems.edge.common.jsonapi.JsonApi;
+import io.openems.edge.common.jsonapi.JsonApiBuilder;
+import io.openems.edge.controller.api.common.ChannelQuery;
+
+/**
+ * Handles requests for the current values of multiple Channels.
+ *
+ * <pre>
+ * {
+ *   "jsonrpc": "2.0",
+ *   "id": "UUID",
+ *   "method": "getChannelsValues",
+ *   "params": {
+ *     "channels": string[] // Channel-Addresses; regular expressions are allowed
+ *   }
+ * }
+ * </pre>
+ *
+ * <p>
+ * Response:
+ *
+ * <pre>
+ * {
+ *   "jsonrpc": "2.0",
+ *   "id": "UUID",
+ *   "result": {
+ *     "channels": [{
+ *       "address": string,
+ *       "type": string,
+ *       "accessMode": string,
+ *       "text": string,
+ *       "unit": string,
+ *       "value"?: any
+ *     }]
+ *   }
+ * }
+ * </pre>
+ */
+@Component(service = { ChannelRequestHandler.class, JsonApi.class }, scope = ServiceScope.SINGLETON)
+public class ChannelRequestHandler implements JsonApi {
+
+	public static final String GET_CHANNELS_VALUES_METHOD = "getChannelsValues";
+
+	private final ComponentManager componentManager;
+	private final ChannelQuery channelQuery = new ChannelQuery();
+
+	@Activate
+	public ChannelRequestHandler(@Reference ComponentManager componentManager) {
+		this.componentManager = componentManager;
+	}
+
+	@Override
+	public void buildJsonApiRoutes(JsonApiBuilder builder) {
+		builder.handleRequest(GET_CHANNELS_VALUES_METHOD, endpoint -> {
+			endpoint.setDescription("Gets the current values of multiple Channels") //
+					.setGuards(EdgeGuards.roleIsAtleast(Role.GUEST));
+		}, call -> {
+			final var request = call.getRequest();
+			final var channelAddresses = new ArrayList<ChannelAddress>();
+			for (var address : JsonUtils.getAsJsonArray(request.getParams(), "channels")) {
+				channelAddresses.add(ChannelAddress.fromString(JsonUtils.getAsString(address)));
+			}
+
+			final var channels = new JsonArray();
+			for (var channel : this.channelQuery.getChannels(this.componentManager.getEnabledComponents(),
+					channelAddresses)) {
+				channels.add(ChannelQuery.toJson(channel));
+			}
+			return new GenericJsonrpcResponseSuccess(request.getId(), JsonUtils.buildJsonObject() //
+					.add("channels", channels) //
+					.build());
+		});
+	}
+
+}
@@ -2,7 +2,9 @@ package io.openems.edge.controller.api.mqtt;
 
 import org.osgi.service.event.EventHandler;
 
+import io.openems.common.types.OpenemsType;
 import io.openems.edge.common.channel.Doc;
+import io.openems.edge.common.channel.LongReadChannel;
 import io.openems.edge.common.component.OpenemsComponent;
 import io.openems.edge.controller.api.Controller;
 
@@ -13,6 +15,12 @@ public interface ControllerApiMqtt extends Controller, OpenemsComponent, EventHa
 	public static final String TOPIC_EDGE_CONFIG = "edgeConfig/";
 
 	public enum ChannelId implements io.openems.edge.common.channel.ChannelId {
+		PUBLISHED_MESSAGES(Doc.of(OpenemsType.LONG) //
+				.text("Number of successfully published Channel values")), //
+		COALESCED_MESSAGES(Doc.of(OpenemsType.LONG) //
+				.text("Number of Channel values that were replaced by a newer value before publishing")), //
+		DROPPED_MESSAGES(Doc.of(OpenemsType.LONG) //
+				.text("Number of Channel values that could not be published")), //
 		;
 
 		private final Doc doc;
@@ -26,4 +34,61 @@ public interface ControllerApiMqtt extends Controller, OpenemsComponent, EventHa
 			return this.doc;
 		}
 	}
+
+	/**
+	 * Gets the Channel for {@link ChannelId#PUBLISHED_MESSAGES}.
+	 *
+	 * @return the Channel
+	 */
+	public default LongReadChannel getPublishedMessagesChannel() {
+		return this.channel(ChannelId.PUBLISHED_MESSAGES);
+	}
+
+	/**
+	 * Internal method to set the 'nextValue' on
+	 * {@link ChannelId#PUBLISHED_MESSAGES} Channel.
+	 *
+	 * @param value the next value
+	 */
+	public default void _setPublishedMessages(long value) {
+		this.getPublishedMessagesChannel().setNextValue(value);
+	}
+
+	/**
+	 * Gets the Channel for {@link ChannelId#COALESCED_MESSAGES}.
+	 *
+	 * @return the Channel
+	 */
+	public default LongReadChannel getCoalescedMessagesChannel() {
+		return this.channel(ChannelId.COALESCED_MESSAGES);
+	}
+
+	/**
+	 * Internal method to set the 'nextValue' on
+	 * {@link ChannelId#COALESCED_MESSAGES} Channel.
+	 *
+	 * @param value the next value
+	 */
+	public default void _setCoalescedMessages(long value) {
+		this.getCoalescedMessagesChannel().setNextValue(value);
+	}
+
+	/**
+	 * Gets the Channel for {@link ChannelId#DROPPED_MESSAGES}.
+	 *
+	 * @return the Channel
+	 */
+	public default LongReadChannel getDroppedMessagesChannel() {
+		return this.channel(ChannelId.DROPPED_MESSAGES);
+	}
+
+	/**
+	 * Internal method to set the 'nextValue' on
+	 * {@link ChannelId#DROPPED_MESSAGES} Channel.
+	 *
+	 * @param value the next value
+	 */
+	public default void _setDroppedMessages(long value) {
+		this.getDroppedMessagesChannel().setNextValue(value);
+	}
 }
@@ -129,6 +129,7 @@ public class ControllerApiMqttImpl extends AbstractOpenemsComponent
 	protected void deactivate() {
 		super.deactivate();
 		shutdownAndAwaitTermination(this.scheduledExecutorService, 0);
+		this.sendChannelValuesWorker.deactivate();
 
 		if (this.mqttClient != null) {
 			try {
@@ -178,6 +179,15 @@ public class ControllerApiMqttImpl extends AbstractOpenemsComponent
 		}
 	}
 
+	/**
+	 * Gets the global MQTT Topic prefix, e.g. "edge/edge0/".
+	 *
+	 * @return the prefix
+	 */
+	protected String getTopicPrefix() {
+		return this.topicPrefix;
+	}
+
 	/**
 	 * Publish a message to a topic.
 	 *
@@ -187,12 +197,24 @@ public class ControllerApiMqttImpl extends AbstractOpenemsComponent
 	 * @return true if message was successfully published; false otherwise
 	 */
 	protected boolean publish(String subTopic, MqttMessage message) {
+		return this.publishToTopic(this.topicPrefix + subTopic, message);
+	}
+
+	/**
+	 * Publish a message to a full topic, i.e. including the global MQTT Topic
+	 * prefix.
+	 *
+	 * @param topic   the full MQTT topic
+	 * @param message the message
+	 * @return true if message was successfully published; false otherwise
+	 */
+	protected boolean publishToTopic(String topic, MqttMessage message) {
 		var mqttClient = this.mqttClient;
 		if (mqttClient == null) {
 			return false;
 		}
 		try {
-			mqttClient.publish(this.topicPrefix + subTopic, message);
+			mqttClient.publish(topic, message);
 			return true;
 		} catch (MqttException e) {
 			this.logWarn(this.log, e.getMessage());
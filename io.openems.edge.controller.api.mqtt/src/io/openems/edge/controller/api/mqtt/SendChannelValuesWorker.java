@@ -1,29 +1,30 @@
 package io.openems.edge.controller.api.mqtt;
 
+import java.nio.charset.StandardCharsets;
 import java.time.Duration;
 import java.time.Instant;
 import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.Map.Entry;
-import java.util.Objects;
-import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
 import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
 
+import org.eclipse.paho.mqttv5.common.MqttMessage;
 import org.eclipse.paho.mqttv5.common.packet.MqttProperties;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import com.google.common.collect.ImmutableTable;
-import com.google.common.collect.Table;
 import com.google.common.util.concurrent.ThreadFactoryBuilder;
-import com.google.gson.JsonElement;
 
 import io.openems.common.channel.AccessMode;
 import io.openems.common.utils.StringUtils;
 import io.openems.common.utils.ThreadPoolUtils;
+import io.openems.edge.common.channel.Channel;
 import io.openems.edge.common.component.OpenemsComponent;
 
 /**
@@ -32,8 +33,17 @@ import io.openems.edge.common.component.OpenemsComponent;
  * asynchronous task.
  *
  * <p>
- * The logic tries to send changed values once per Cycle and all values once
- * every {@link #SEND_VALUES_OF_ALL_CHANNELS_AFTER_SECONDS}.
+ * For every Channel the last queued value is kept in primitive form, so only
+ * values that changed since the last Cycle are queued; all values are sent once
+ * every {@link #SEND_VALUES_OF_ALL_CHANNELS_AFTER_SECONDS}. Topics are built
+ * once per Channel.
+ *
+ * <p>
+ * Queued values are published in batches by a single sender thread. If the
+ * sender is still busy when the next Cycle queues new values, a pending value
+ * of the same Channel is replaced (coalesced) instead of dropping the whole
+ * batch. Values that could not be published are queued again in the next
+ * Cycle.
  */
 public class SendChannelValuesWorker {
 
@@ -48,13 +58,86 @@ public class SendChannelValuesWorker {
 		MQTT_PROPERTIES.setMessageExpiryInterval(Long.valueOf(SEND_VALUES_OF_ALL_CHANNELS_AFTER_SECONDS * 2));
 	}
 
+	/**
+	 * Holds the publishing state of one Channel.
+	 */
+	protected static final class ChannelState {
+
+		private static final int NOTHING = 0;
+		private static final int NULL = 1;
+		private static final int PRIMITIVE = 2;
+		private static final int OBJECT = 3;
+
+		private final Channel<?> channel;
+
+		/** The full MQTT topic; null if the Channel is not published. */
+		private final String topic;
+
+		private int lastKind = NOTHING;
+		private long lastBits;
+		private Object lastObject;
+		private long lastSeenCycle;
+
+		/** Set by the sender thread if publishing failed. */
+		private final AtomicBoolean isInvalidated = new AtomicBoolean(false);
+
+		protected ChannelState(Channel<?> channel, String topic) {
+			this.channel = channel;
+			this.topic = topic;
+		}
+
+		/**
+		 * Forces the next {@link #update(Object)} to report a change, e.g. after
+		 * publishing failed. May be called from any thread.
+		 */
+		protected void invalidate() {
+			this.isInvalidated.set(true);
+		}
+
+		/**
+		 * Applies the current value and evaluates if it differs from the last value.
+		 *
+		 * @param value the current value
+		 * @return true if the value changed
+		 */
+		protected boolean update(Object value) {
+			final int kind;
+			long bits = 0;
+			Object object = null;
+			if (value == null) {
+				kind = NULL;
+			} else if (value instanceof Boolean b) {
+				kind = PRIMITIVE;
+				bits = b ? 1 : 0;
+			} else if (value instanceof Float || value instanceof Double) {
+				kind = PRIMITIVE;
+				bits = Double.doubleToLongBits(((Number) value).doubleValue());
+			} else if (value instanceof Number n) {
+				kind = PRIMITIVE;
+				bits = n.longValue();
+			} else {
+				kind = OBJECT;
+				object = value;
+			}
+
+			// Always reset the flag; a publish that fails concurrently sets it again
+			final var isInvalidated = this.isInvalidated.getAndSet(false);
+			final var isChanged = isInvalidated || kind != this.lastKind //
+					|| kind == PRIMITIVE && bits != this.lastBits //
+					|| kind == OBJECT && !object.equals(this.lastObject);
+			this.lastKind = kind;
+			this.lastBits = bits;
+			this.lastObject = object;
+			return isChanged;
+		}
+	}
+
 	private final Logger log = LoggerFactory.getLogger(SendChannelValuesWorker.class);
 	private final ControllerApiMqttImpl parent;
 
 	private final ThreadPoolExecutor executor = new ThreadPoolExecutor(1, 1, 0L, TimeUnit.SECONDS,
-			new ArrayBlockingQueue<>(1), //
-			new ThreadFactoryBuilder().setNameFormat(ControllerApiMqttImpl.COMPONENT_NAME + ":SendWorker-%d").build(), //
-			new ThreadPoolExecutor.DiscardOldestPolicy());
+			new LinkedBlockingQueue<>(), //
+			new ThreadFactoryBuilder().setNameFormat(ControllerApiMqttImpl.COMPONENT_NAME + ":SendWorker-%d").build());
 
 	/**
 	 * If true: next 'send' sends all channel values.
@@ -62,14 +145,32 @@ public class SendChannelValuesWorker {
 	private final AtomicBoolean sendValuesOfAllChannels = new AtomicBoolean(true);
 
 	/**
-	 * Keeps the last timestamp when all channel values were sent.
+	 * Holds the publishing state per Channel; only accessed by the Cycle thread.
+	 */
+	private final Map<Channel<?>, ChannelState> channelStates = new IdentityHashMap<>();
+
+	/**
+	 * Holds the queued payloads that were not yet published; guarded by itself.
+	 */
+	private final Map<ChannelState, String> pending = new LinkedHashMap<>();
+
+	private final AtomicBoolean isSendScheduled = new AtomicBoolean(false);
+
+	private final AtomicLong publishedMessages = new AtomicLong();
+	private final AtomicLong coalescedMessages = new AtomicLong();
+	private final AtomicLong droppedMessages = new AtomicLong();
+
+	/**
+	 * Keeps the last timestamp when all channel values were queued.
 	 */
 	private Instant lastSendValuesOfAllChannels = Instant.MIN;
 
 	/**
-	 * Keeps the values of last successful send.
+	 * The timestamp of the latest queued Cycle; guarded by {@link #pending}.
 	 */
-	private Table<String, String, JsonElement> lastAllValues = ImmutableTable.of();
+	private Instant pendingTimestamp = null;
+
+	private long cycle = 0;
 
 	protected SendChannelValuesWorker(ControllerApiMqttImpl parent) {
 		this.parent = parent;
@@ -91,145 +192,160 @@ public class SendChannelValuesWorker {
 	}
 
 	/**
-	 * Called synchronously on AFTER_PROCESS_IMAGE event. Collects all the data and
-	 * triggers asynchronous sending.
+	 * Called synchronously on AFTER_PROCESS_IMAGE event. Collects the changed
+	 * values and triggers asynchronous sending.
 	 */
 	public synchronized void collectData() {
 		var now = Instant.now(this.parent.componentManager.getClock());
+		this.cycle++;
 
-		// Update the values of all channels
+		var sendAll = this.sendValuesOfAllChannels.getAndSet(false);
+		if (Duration.between(this.lastSendValuesOfAllChannels, now)
+				.getSeconds() > SEND_VALUES_OF_ALL_CHANNELS_AFTER_SECONDS) {
+			sendAll = true;
+		}
+
+		// Collect the changed values of all channels
 		final var enabledComponents = this.parent.componentManager.getEnabledComponents();
-		final var allValues = this.collectData(enabledComponents);
+		final var changes = this.collectChanges(enabledComponents, sendAll);
+		if (changes == null) {
+			// Values of some Channels might have been applied without being queued
+			this.sendValuesOfAllChannels.set(true);
+			return;
+		}
+		if (sendAll) {
+			this.lastSendValuesOfAllChannels = now;
+			// Forget Channels that disappeared
+			this.channelStates.values().removeIf(state -> state.lastSeenCycle != this.cycle);
+		}
 
 		// Add to send Queue
-		this.executor.execute(new SendTask(this, now, allValues));
+		synchronized (this.pending) {
+			for (var change : changes.entrySet()) {
+				if (this.pending.put(change.getKey(), change.getValue()) != null) {
+					this.coalescedMessages.incrementAndGet();
+				}
+			}
+			this.pendingTimestamp = now;
+		}
+		if (this.isSendScheduled.compareAndSet(false, true)) {
+			this.executor.execute(this::send);
+		}
+
+		this.parent._setPublishedMessages(this.publishedMessages.get());
+		this.parent._setCoalescedMessages(this.coalescedMessages.get());
+		this.parent._setDroppedMessages(this.droppedMessages.get());
 	}
 
 	/**
-	 * Cycles through all Channels and collects the value.
+	 * Cycles through all Channels and collects the values that changed.
 	 *
 	 * @param enabledComponents the enabled components
-	 * @return collected data
+	 * @param sendAll           collect all values, even if they did not change
+	 * @return the payloads by {@link ChannelState}; null on error
 	 */
-	private ImmutableTable<String, String, JsonElement> collectData(List<OpenemsComponent> enabledComponents) {
+	private Map<ChannelState, String> collectChanges(List<OpenemsComponent> enabledComponents, boolean sendAll) {
 		try {
-			return enabledComponents.parallelStream() //
-					.flatMap(component -> component.channels().parallelStream()) //
-					.filter(channel -> // Ignore WRITE_ONLY Channels
-					channel.channelDoc().getAccessMode() != AccessMode.WRITE_ONLY //
-							// Ignore Low-Priority Channels
-							&& channel.channelDoc().getPersistencePriority()
-									.isAtLeast(this.parent.config.persistencePriority()))
-					.collect(ImmutableTable.toImmutableTable(c -> c.address().getComponentId(),
-							c -> c.address().getChannelId(), c -> c.value().asJson()));
-			// TODO remove values for disappeared components
-//			final Set<String> enabledComponentIds = enabledComponents.stream() //
-//					.map(c -> c.id()) //
-//					.collect(Collectors.toSet());
-//			this.lastValues.rowMap().entrySet().stream() //
-//					.filter(row -> !enabledComponentIds.contains(row.getKey())) //
-//					.forEach(row -> {
-//						row.getValue().entrySet().parallelStream() //
-//								.forEach(column -> {
-//									this.publish(row.getKey() + "/" + column.getKey(), JsonNull.INSTANCE.toString());
-//								});
-//					});
+			final var result = new LinkedHashMap<ChannelState, String>();
+			for (var component : enabledComponents) {
+				for (var channel : component.channels()) {
+					var state = this.channelStates.get(channel);
+					if (state == null) {
+						state = this.createChannelState(channel);
+						this.channelStates.put(channel, state);
+					}
+					state.lastSeenCycle = this.cycle;
+					if (state.topic == null) {
+						continue;
+					}
+					var value = channel.value();
+					if (state.update(value.get()) || sendAll) {
+						result.put(state, value.asJson().toString());
+					}
+				}
+			}
+			return result;
 		} catch (Exception e) {
 			// ConcurrentModificationException can happen if Channels are dynamically added
 			// or removed
-			return ImmutableTable.of();
+			return null;
 		}
 	}
 
+	private ChannelState createChannelState(Channel<?> channel) {
+		var doc = channel.channelDoc();
+		if (doc.getAccessMode() == AccessMode.WRITE_ONLY // Ignore WRITE_ONLY Channels
+				// Ignore Low-Priority Channels
+				|| !doc.getPersistencePriority().isAtLeast(this.parent.config.persistencePriority())) {
+			return new ChannelState(channel, null);
+		}
+		return new ChannelState(channel, this.parent.getTopicPrefix() + ControllerApiMqtt.TOPIC_CHANNEL_PREFIX
+				+ channel.address().toString());
+	}
+
 	/*
 	 * From here things run asynchronously.
 	 */
 
-	private static class SendTask implements Runnable {
-
-		private final SendChannelValuesWorker parent;
-		private final Instant timestamp;
-		private final ImmutableTable<String, String, JsonElement> allValues;
-
-		public SendTask(SendChannelValuesWorker parent, Instant timestamp,
-				ImmutableTable<String, String, JsonElement> allValues) {
-			this.parent = parent;
-			this.timestamp = timestamp;
-			this.allValues = allValues;
-		}
-
-		@Override
-		public void run() {
-			// Holds the data of the last successful send. If the table is empty, it is also
-			// used as a marker to send all data.
-			final Table<String, String, JsonElement> lastAllValues;
-
-			if (this.parent.sendValuesOfAllChannels.getAndSet(false)) {
-				// Send values of all Channels once in a while
-				lastAllValues = ImmutableTable.of();
-
-			} else if (Duration.between(this.parent.lastSendValuesOfAllChannels, this.timestamp)
-					.getSeconds() > SEND_VALUES_OF_ALL_CHANNELS_AFTER_SECONDS) {
-				// Send values of all Channels if explicitly asked for
-				lastAllValues = ImmutableTable.of();
-
-			} else {
-				// Actually use the kept 'lastSentValues'
-				// CHECKSTYLE:OFF
-				lastAllValues = this.parent.lastAllValues;
-				// CHECKSTYLE:ON
-			}
-
-			// Send changed values
-			var allSendSuccessful = true;
-			List<String> sendTopics = new ArrayList<>();
-			for (Entry<String, Map<String, JsonElement>> row : this.allValues.rowMap().entrySet()) {
-				for (Entry<String, JsonElement> column : row.getValue().entrySet()) {
-					if (!Objects.equals(column.getValue(), lastAllValues.get(row.getKey(), column.getKey()))) {
-						var subtopic = row.getKey() + "/" + column.getKey();
-						sendTopics.add(subtopic);
-						if (!this.publish(row.getKey() + "/" + column.getKey(), column.getValue().toString())) {
-							allSendSuccessful = false;
-						}
-					}
+	/**
+	 * Publishes all pending values until the queue is empty.
+	 */
+	private void send() {
+		while (true) {
+			final Map<ChannelState, String> batch;
+			final Instant timestamp;
+			synchronized (this.pending) {
+				if (this.pending.isEmpty()) {
+					this.isSendScheduled.set(false);
+					return;
 				}
+				batch = new LinkedHashMap<>(this.pending);
+				timestamp = this.pendingTimestamp;
+				this.pending.clear();
 			}
+			this.publishBatch(batch, timestamp);
+		}
+	}
 
-			// Update lastUpdate timestamp
-			this.publish(ControllerApiMqtt.TOPIC_CHANNEL_LAST_UPDATE, String.valueOf(this.timestamp));
-
-			// Successful?
-			if (allSendSuccessful) {
-				this.parent.parent.logInfo(this.parent.log, "Successfully sent MQTT topics: "
-						+ StringUtils.toShortString(String.join(", ", sendTopics), 100));
-
-				// update information for next runs
-				this.parent.lastAllValues = this.allValues;
-				if (lastAllValues.isEmpty()) {
-					// 'lastSentValues' was empty, i.e. all values were sent
-					this.parent.lastSendValuesOfAllChannels = this.timestamp;
-				}
+	private void publishBatch(Map<ChannelState, String> batch, Instant timestamp) {
+		var allSendSuccessful = true;
+		List<String> sendTopics = new ArrayList<>(batch.size());
+		for (var entry : batch.entrySet()) {
+			var state = entry.getKey();
+			sendTopics.add(state.channel.address().toString());
+			if (this.publish(state.topic, entry.getValue())) {
+				this.publishedMessages.incrementAndGet();
 			} else {
-				this.parent.parent.logWarn(this.parent.log, "Error while sending MQTT topics: "
-						+ StringUtils.toShortString(String.join(", ", sendTopics), 100));
+				// Queue again in the next Cycle
+				state.invalidate();
+				this.droppedMessages.incrementAndGet();
+				allSendSuccessful = false;
 			}
 		}
 
-		/**
-		 * Publish a Channel value message.
-		 *
-		 * @param subTopic the Channel Subtopic
-		 * @param value    the value Json.toString()
-		 * @return true if sent successfully; false otherwise
-		 */
-		private boolean publish(String subTopic, String value) {
-			return this.parent.parent.publish(//
-					/* topic */ ControllerApiMqtt.TOPIC_CHANNEL_PREFIX + subTopic, //
-					/* message */ value.toString(), //
-					MQTT_QOS, MQTT_RETAIN, MQTT_PROPERTIES //
-			);
+		// Update lastUpdate timestamp
+		this.publish(this.parent.getTopicPrefix() + ControllerApiMqtt.TOPIC_CHANNEL_PREFIX
+				+ ControllerApiMqtt.TOPIC_CHANNEL_LAST_UPDATE, String.valueOf(timestamp));
+
+		if (allSendSuccessful) {
+			this.parent.logInfo(this.log,
+					"Successfully sent MQTT topics: " + StringUtils.toShortString(String.join(", ", sendTopics), 100));
+		} else {
+			this.parent.logWarn(this.log,
+					"Error while sending MQTT topics: " + StringUtils.toShortString(String.join(", ", sendTopics), 100));
 		}
+	}
 
+	/**
+	 * Publish a Channel value message.
+	 *
+	 * @param topic the full MQTT topic
+	 * @param value the value Json.toString()
+	 * @return true if sent successfully; false otherwise
+	 */
+	private boolean publish(String topic, String value) {
+		var message = new MqttMessage(value.getBytes(StandardCharsets.UTF_8), MQTT_QOS, MQTT_RETAIN, MQTT_PROPERTIES);
+		return this.parent.publishToTopic(topic, message);
 	}
 
-}
\ No newline at end of file
+}
@@ -0,0 +1,47 @@
+package io.openems.edge.controller.api.mqtt;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+import io.openems.edge.controller.api.mqtt.SendChannelValuesWorker.ChannelState;
+
+public class SendChannelValuesWorkerTest {
+
+	@Test
+	public void testChannelStateUpdate() {
+		final var sut = new ChannelState(null, "edge/edge0/channel/_sum/EssSoc");
+
+		// Initial null is a change
+		assertTrue(sut.update(null));
+		assertFalse(sut.update(null));
+
+		// Integer
+		assertTrue(sut.update(50));
+		assertFalse(sut.update(50));
+		assertTrue(sut.update(51));
+		assertTrue(sut.update(null));
+
+		// Double
+		assertTrue(sut.update(1.5));
+		assertFalse(sut.update(1.5));
+		assertTrue(sut.update(-1.5));
+
+		// Boolean
+		assertTrue(sut.update(true));
+		assertFalse(sut.update(true));
+		assertTrue(sut.update(false));
+
+		// String
+		assertTrue(sut.update("foo"));
+		assertFalse(sut.update(new String("foo")));
+		assertTrue(sut.update("bar"));
+
+		// Invalidated, e.g. after publishing failed
+		sut.invalidate();
+		assertTrue(sut.update("bar"));
+		assertFalse(sut.update("bar"));
+	}
+
+}
@@ -1,5 +1,6 @@
 package io.openems.edge.controller.api.rest;
 
+import java.time.Clock;
 import java.util.concurrent.TimeUnit;
 
 import org.eclipse.jetty.server.AcceptRateLimit;
@@ -33,6 +34,7 @@ public abstract class AbstractRestApi extends AbstractOpenemsComponent
 
 	private Server server = null;
 	private boolean isDebugModeEnabled = DEFAULT_DEBUG_MODE;
+	private AuthenticationCache authenticationCache = new AuthenticationCache(Clock.systemUTC(), 0, 0);
 
 	public AbstractRestApi(String implementationName, io.openems.edge.common.channel.ChannelId[] firstInitialChannelIds,
 			io.openems.edge.common.channel.ChannelId[]... furtherInitialChannelIds) {
@@ -52,11 +54,18 @@ public abstract class AbstractRestApi extends AbstractOpenemsComponent
 	 * @param port               the port; if '0', the port is automatically
 	 *                           assigned
 	 * @param connectionlimit    the connection limit
+	 * @param authCacheTime      the time in seconds a successful authentication
+	 *                           is cached; '0' disables the cache
+	 * @param tokenLifetime      the lifetime of Bearer-Tokens in seconds; '0'
+	 *                           disables the token endpoint
 	 */
 	protected void activate(ComponentContext context, String id, String alias, boolean enabled,
-			boolean isDebugModeEnabled, int apiTimeout, int port, int connectionlimit) {
+			boolean isDebugModeEnabled, int apiTimeout, int port, int connectionlimit, int authCacheTime,
+			int tokenLifetime) {
 		super.activate(context, id, alias, enabled);
 		this.isDebugModeEnabled = isDebugModeEnabled;
+		this.authenticationCache.clear();
+		this.authenticationCache = new AuthenticationCache(Clock.systemUTC(), authCacheTime, tokenLifetime);
 
 		if (!this.isEnabled()) {
 			// abort if disabled
@@ -92,6 +101,7 @@ public abstract class AbstractRestApi extends AbstractOpenemsComponent
 	@Deactivate
 	protected void deactivate() {
 		super.deactivate();
+		this.authenticationCache.clear();
 		if (this.server != null) {
 			try {
 				this.server.stop();
@@ -125,6 +135,15 @@ public abstract class AbstractRestApi extends AbstractOpenemsComponent
 		return this.isDebugModeEnabled;
 	}
 
+	/**
+	 * Gets the {@link AuthenticationCache}.
+	 *
+	 * @return the cache
+	 */
+	protected AuthenticationCache getAuthenticationCache() {
+		return this.authenticationCache;
+	}
+
 	/**
 	 * Gets the UserService.
 	 *
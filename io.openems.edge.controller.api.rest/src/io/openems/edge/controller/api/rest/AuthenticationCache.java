@@ -0,0 +1,197 @@
+package io.openems.edge.controller.api.rest;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Clock;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+
+import io.openems.common.utils.SecureRandomSingleton;
+import io.openems.edge.common.user.User;
+
+/**
+ * Caches successful authentications of the REST-Api, so that clients that poll
+ * frequently do not run the salted password hash on every request.
+ *
+ * <p>
+ * Credentials are keyed by a salted SHA-256 digest of the 'Authorization'
+ * header; the header itself is never stored. Failed authentications are never
+ * cached. Additionally this cache holds Bearer-Tokens that were handed out via
+ * the 'token' endpoint.
+ *
+ * <p>
+ * Both maps are bounded and every entry expires after its configured lifetime.
+ * The cache is cleared whenever the REST-Api is (re-)activated, i.e. on
+ * configuration changes and when the UserService is replaced.
+ */
+public class AuthenticationCache {
+
+	protected static final int MAX_CREDENTIALS = 64;
+	protected static final int MAX_TOKENS = 256;
+
+	private static final int SALT_LENGTH = 16;
+	private static final int TOKEN_LENGTH = 32;
+
+	private static record Entry(User user, long expiresAt) {
+	}
+
+	private final Clock clock;
+	private final long credentialsLifetimeMillis;
+	private final long tokenLifetimeMillis;
+	private final byte[] salt = new byte[SALT_LENGTH];
+
+	private final Map<String, Entry> credentials = new BoundedMap(MAX_CREDENTIALS);
+	private final Map<String, Entry> tokens = new BoundedMap(MAX_TOKENS);
+
+	/**
+	 * Creates a {@link AuthenticationCache}.
+	 *
+	 * @param clock               the {@link Clock}
+	 * @param credentialsLifetime lifetime of cached credentials in seconds; '0'
+	 *                            disables the cache
+	 * @param tokenLifetime       lifetime of Bearer-Tokens in seconds; '0'
+	 *                            disables Bearer-Tokens
+	 */
+	public AuthenticationCache(Clock clock, int credentialsLifetime, int tokenLifetime) {
+		this.clock = clock;
+		this.credentialsLifetimeMillis = Math.max(0, credentialsLifetime) * 1000L;
+		this.tokenLifetimeMillis = Math.max(0, tokenLifetime) * 1000L;
+		SecureRandomSingleton.getInstance().nextBytes(this.salt);
+	}
+
+	/**
+	 * Gets the cached {@link User} for an 'Authorization' header.
+	 *
+	 * @param authHeader the value of the 'Authorization' header
+	 * @return the {@link User} or Empty if there is no valid entry
+	 */
+	public Optional<User> getUser(String authHeader) {
+		if (this.credentialsLifetimeMillis == 0) {
+			return Optional.empty();
+		}
+		return get(this.credentials, this.digest(authHeader), this.clock.millis());
+	}
+
+	/**
+	 * Caches a successful authentication.
+	 *
+	 * @param authHeader the value of the 'Authorization' header
+	 * @param user       the authenticated {@link User}
+	 */
+	public void putUser(String authHeader, User user) {
+		if (this.credentialsLifetimeMillis == 0) {
+			return;
+		}
+		var entry = new Entry(user, this.clock.millis() + this.credentialsLifetimeMillis);
+		synchronized (this.credentials) {
+			this.credentials.put(this.digest(authHeader), entry);
+		}
+	}
+
+	/**
+	 * Is issuing of Bearer-Tokens enabled?.
+	 *
+	 * @return true if enabled
+	 */
+	public boolean isTokenEnabled() {
+		return this.tokenLifetimeMillis > 0;
+	}
+
+	/**
+	 * Gets the lifetime of Bearer-Tokens.
+	 *
+	 * @return the lifetime in seconds
+	 */
+	public long getTokenLifetime() {
+		return this.tokenLifetimeMillis / 1000;
+	}
+
+	/**
+	 * Creates a new Bearer-Token for a {@link User}.
+	 *
+	 * @param user the authenticated {@link User}
+	 * @return the token
+	 */
+	public String createToken(User user) {
+		var bytes = new byte[TOKEN_LENGTH];
+		SecureRandomSingleton.getInstance().nextBytes(bytes);
+		var token = Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+		var entry = new Entry(user, this.clock.millis() + this.tokenLifetimeMillis);
+		synchronized (this.tokens) {
+			this.tokens.put(token, entry);
+		}
+		return token;
+	}
+
+	/**
+	 * Gets the {@link User} for a Bearer-Token.
+	 *
+	 * @param token the token
+	 * @return the {@link User} or Empty if the token is unknown or expired
+	 */
+	public Optional<User> getTokenUser(String token) {
+		if (!this.isTokenEnabled()) {
+			return Optional.empty();
+		}
+		return get(this.tokens, token, this.clock.millis());
+	}
+
+	/**
+	 * Removes all cached credentials and Bearer-Tokens.
+	 */
+	public void clear() {
+		synchronized (this.credentials) {
+			this.credentials.clear();
+		}
+		synchronized (this.tokens) {
+			this.tokens.clear();
+		}
+	}
+
+	private static Optional<User> get(Map<String, Entry> map, String key, long now) {
+		synchronized (map) {
+			var entry = map.get(key);
+			if (entry == null) {
+				return Optional.empty();
+			}
+			if (entry.expiresAt() <= now) {
+				map.remove(key);
+				return Optional.empty();
+			}
+			return Optional.of(entry.user());
+		}
+	}
+
+	private String digest(String authHeader) {
+		try {
+			var md = MessageDigest.getInstance("SHA-256");
+			md.update(this.salt);
+			return Base64.getEncoder().encodeToString(md.digest(authHeader.getBytes(UTF_8)));
+		} catch (NoSuchAlgorithmException e) {
+			// SHA-256 is available on every Java platform
+			throw new IllegalStateException(e);
+		}
+	}
+
+	private static class BoundedMap extends LinkedHashMap<String, Entry> {
+
+		private static final long serialVersionUID = 1L;
+
+		private final int maxEntries;
+
+		private BoundedMap(int maxEntries) {
+			super(16, 0.75F, true);
+			this.maxEntries = maxEntries;
+		}
+
+		@Override
+		protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+			return this.size() > this.maxEntries;
+		}
+	}
+
+}
@@ -5,13 +5,13 @@ import static java.util.stream.Collectors.joining;
 
 import java.io.IOException;
 import java.io.UnsupportedEncodingException;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Base64;
 import java.util.List;
 import java.util.StringTokenizer;
 import java.util.UUID;
 import java.util.concurrent.ExecutionException;
-import java.util.regex.Pattern;
 import java.util.regex.PatternSyntaxException;
 
 import org.eclipse.jetty.server.Request;
@@ -23,7 +23,6 @@ import com.google.gson.JsonArray;
 import com.google.gson.JsonElement;
 import com.google.gson.JsonObject;
 
-import io.openems.common.channel.AccessMode;
 import io.openems.common.exceptions.OpenemsError;
 import io.openems.common.exceptions.OpenemsError.OpenemsNamedException;
 import io.openems.common.exceptions.OpenemsException;
@@ -40,11 +39,14 @@ import io.openems.common.utils.UuidUtils;
 import io.openems.edge.common.channel.Channel;
 import io.openems.edge.common.component.OpenemsComponent;
 import io.openems.edge.common.user.User;
+import io.openems.edge.controller.api.common.ChannelQuery;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 
 public class RestHandler extends AbstractHandler {
 
+	private static final ChannelQuery CHANNEL_QUERY = new ChannelQuery();
+
 	private final Logger log = LoggerFactory.getLogger(RestHandler.class);
 
 	private final AbstractRestApi parent;
@@ -108,10 +110,23 @@ public class RestHandler extends AbstractHandler {
 	private User authenticate(HttpServletRequest request) throws OpenemsNamedException {
 		var authHeader = request.getHeader("Authorization");
 		if (authHeader != null) {
+			var cache = this.parent.getAuthenticationCache();
 			var st = new StringTokenizer(authHeader);
 			if (st.hasMoreTokens()) {
-				var basic = st.nextToken();
-				if (basic.equalsIgnoreCase("Basic")) {
+				var scheme = st.nextToken();
+				if (scheme.equalsIgnoreCase("Bearer") && st.hasMoreTokens()) {
+					// authenticate using a token issued by the 'token' endpoint
+					var userOpt = cache.getTokenUser(st.nextToken());
+					if (userOpt.isPresent()) {
+						return userOpt.get();
+					}
+
+				} else if (scheme.equalsIgnoreCase("Basic")) {
+					// use cached result of a previous authentication
+					var cachedUserOpt = cache.getUser(authHeader);
+					if (cachedUserOpt.isPresent()) {
+						return cachedUserOpt.get();
+					}
 					String credentials;
 					try {
 						credentials = new String(Base64.getDecoder().decode(st.nextToken()), "UTF-8");
@@ -125,11 +140,13 @@ public class RestHandler extends AbstractHandler {
 						// authenticate using username & password
 						var userOpt = this.parent.getUserService().authenticate(username, password);
 						if (userOpt.isPresent()) {
+							cache.putUser(authHeader, userOpt.get());
 							return userOpt.get();
 						}
 						// authenticate using password only
 						userOpt = this.parent.getUserService().authenticate(password);
 						if (userOpt.isPresent()) {
+							cache.putUser(authHeader, userOpt.get());
 							return userOpt.get();
 						}
 					}
@@ -152,6 +169,12 @@ public class RestHandler extends AbstractHandler {
 		case "channel":
 			return this.handleChannel(user, remainingTargets, baseRequest, request, response);
 
+		case "channels":
+			return this.handleChannels(user, remainingTargets, baseRequest, request, response);
+
+		case "token":
+			return this.handleToken(user, remainingTargets, baseRequest, request, response);
+
 		default:
 			throw new OpenemsException("Unhandled REST target [" + thisTarget + "]");
 		}
@@ -186,6 +209,106 @@ public class RestHandler extends AbstractHandler {
 		}
 	}
 
+	/**
+	 * Handles a HTTP GET request for multiple Channel-Addresses, e.g.
+	 * '/rest/channels?address=_sum/EssSoc&amp;address=meter0/ActivePower.*'.
+	 *
+	 * @param user        the {@link User}
+	 * @param targets     the remaining targets; must be empty
+	 * @param baseRequest the HTTP base-request
+	 * @param request     the HTTP request
+	 * @param response    the result to be returned
+	 * @return false if request cannot be handled or ok response was not sent
+	 * @throws OpenemsNamedException on error
+	 */
+	private boolean handleChannels(User user, List<String> targets, Request baseRequest, HttpServletRequest request,
+			HttpServletResponse response) throws OpenemsNamedException {
+		if (!targets.isEmpty()) {
+			throw new OpenemsException("Unexpected arguments to handle Channels");
+		}
+		if (!request.getMethod().equals("GET")) {
+			throw new OpenemsException("Unhandled REST Channels request method [" + request.getMethod() + "]");
+		}
+		user.assertRoleIsAtLeast("HTTP GET", Role.GUEST);
+
+		var addresses = request.getParameterValues("address");
+		if (addresses == null || addresses.length == 0) {
+			throw new OpenemsException("Missing parameter [address]");
+		}
+		var channelAddresses = new ArrayList<ChannelAddress>(addresses.length);
+		for (var address : addresses) {
+			channelAddresses.add(ChannelAddress.fromString(address));
+		}
+
+		var components = this.parent.getComponentManager().getEnabledComponents();
+		var channels = CHANNEL_QUERY.getChannels(components, channelAddresses);
+
+		// Return with error when no matching channel was found
+		if (channels.isEmpty()) {
+			if (this.parent.isDebugModeEnabled()) {
+				this.parent.logWarn(this.log, "REST call by User [" + user.getName() + "]: GET Channels "
+						+ channelAddresses + " Result [No Match]");
+			}
+			response.setStatus(HttpServletResponse.SC_NOT_FOUND);
+			return false;
+		}
+
+		var result = new JsonArray();
+		for (var channel : channels) {
+			result.add(ChannelQuery.toJson(channel));
+		}
+
+		if (this.parent.isDebugModeEnabled()) {
+			this.parent.logInfo(this.log, "REST call by User [" + user.getName() + "]: GET Channels "
+					+ channelAddresses + " Result [" + result.size() + " Channels]");
+		}
+
+		return this.sendOkResponse(baseRequest, response, result);
+	}
+
+	/**
+	 * Handles a HTTP POST request on '/rest/token' and issues a Bearer-Token. The
+	 * token can be used in an 'Authorization: Bearer ...' header instead of the
+	 * Basic credentials until it expires.
+	 *
+	 * @param user        the {@link User}
+	 * @param targets     the remaining targets; must be empty
+	 * @param baseRequest the HTTP base-request
+	 * @param request     the HTTP request
+	 * @param response    the result to be returned
+	 * @return false if request cannot be handled or ok response was not sent
+	 * @throws OpenemsNamedException on error
+	 */
+	private boolean handleToken(User user, List<String> targets, Request baseRequest, HttpServletRequest request,
+			HttpServletResponse response) throws OpenemsNamedException {
+		if (!targets.isEmpty()) {
+			throw new OpenemsException("Unexpected arguments to handle Token");
+		}
+		if (!request.getMethod().equals("POST")) {
+			throw new OpenemsException("Unhandled REST Token request method [" + request.getMethod() + "]");
+		}
+		var cache = this.parent.getAuthenticationCache();
+		if (!cache.isTokenEnabled()) {
+			throw new OpenemsException("Bearer-Tokens are disabled");
+		}
+		var authHeader = request.getHeader("Authorization");
+		if (authHeader == null || !authHeader.regionMatches(true, 0, "Basic ", 0, 6)) {
+			// Tokens must not be used to extend their own lifetime
+			throw new OpenemsException("Bearer-Tokens require Basic authentication");
+		}
+
+		var result = new JsonObject();
+		result.addProperty("token", cache.createToken(user));
+		result.addProperty("tokenType", "Bearer");
+		result.addProperty("expiresIn", cache.getTokenLifetime());
+
+		if (this.parent.isDebugModeEnabled()) {
+			this.parent.logInfo(this.log, "REST call by User [" + user.getName() + "]: POST Token");
+		}
+
+		return this.sendOkResponse(baseRequest, response, result);
+	}
+
 	/**
 	 * Handles HTTP GET request.
 	 *
@@ -217,23 +340,7 @@ public class RestHandler extends AbstractHandler {
 		// Creating JSON response for all matched channels
 		var channeljson = new JsonArray();
 		for (Channel<?> channel : channels) {
-			var j = new JsonObject();
-			// name
-			j.addProperty("address", channel.address().toString());
-			// type
-			j.addProperty("type", channel.getType().name());
-			// accessMode
-			var accessMode = channel.channelDoc().getAccessMode();
-			j.addProperty("accessMode", accessMode.getAbbreviation());
-			// text
-			j.addProperty("text", channel.channelDoc().getText());
-			// unit
-			j.addProperty("unit", channel.channelDoc().getUnit().symbol);
-			// value
-			if (accessMode != AccessMode.WRITE_ONLY) {
-				j.add("value", channel.value().asJson());
-			}
-			channeljson.add(j);
+			channeljson.add(ChannelQuery.toJson(channel));
 		}
 
 		// if this a request for a single channel only return a single JsonObject, not
@@ -259,11 +366,7 @@ public class RestHandler extends AbstractHandler {
 	 */
 	protected static List<Channel<?>> getChannels(List<OpenemsComponent> components, ChannelAddress channelAddress)
 			throws PatternSyntaxException {
-		return components.stream() //
-				.filter(component -> Pattern.matches(channelAddress.getComponentId(), component.id())) //
-				.flatMap(component -> component.channels().stream()) //
-				.filter(channel -> Pattern.matches(channelAddress.getChannelId(), channel.channelId().id())) //
-				.toList();
+		return CHANNEL_QUERY.getChannels(components, channelAddress);
 	}
 
 	private void sendErrorResponse(Request baseRequest, HttpServletResponse response, UUID jsonrpcId, Throwable ex) {
@@ -0,0 +1,26 @@
+package io.openems.edge.controller.api.rest.handler;
+
+import org.osgi.service.component.annotations.Activate;
+import org.osgi.service.component.annotations.Component;
+import org.osgi.service.component.annotations.Reference;
+
+import io.openems.edge.common.jsonapi.JsonApi;
+import io.openems.edge.common.jsonapi.JsonApiBuilder;
+import io.openems.edge.controller.api.common.handler.ChannelRequestHandler;
+
+@Component(property = "entry=" + RootRequestHandler.ENTRY_POINT)
+public class BindingChannelRequestHandler implements JsonApi {
+
+	private final ChannelRequestHandler channelRequestHandler;
+
+	@Activate
+	public BindingChannelRequestHandler(@Reference ChannelRequestHandler handler) {
+		this.channelRequestHandler = handler;
+	}
+
+	@Override
+	public void buildJsonApiRoutes(JsonApiBuilder builder) {
+		this.channelRequestHandler.buildJsonApiRoutes(builder);
+	}
+
+}
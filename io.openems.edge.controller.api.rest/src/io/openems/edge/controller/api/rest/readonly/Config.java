@@ -25,6 +25,12 @@ import io.openems.edge.controller.api.rest.AbstractRestApi;
 	@AttributeDefinition(name = "Connection limit", description = "Maximum number of connections")
 	int connectionlimit() default 5;
 
+	@AttributeDefinition(name = "Authentication Cache Time", description = "Time in seconds a successful authentication is cached; '0' disables the cache")
+	int authCacheTime() default 300;
+
+	@AttributeDefinition(name = "Token Lifetime", description = "Lifetime in seconds of Bearer-Tokens issued on POST /rest/token; '0' disables Bearer-Tokens")
+	int tokenLifetime() default 0;
+
 	@AttributeDefinition(name = "Debug Mode", description = "Activates the debug mode")
 	boolean debugMode() default AbstractRestApi.DEFAULT_DEBUG_MODE;
 
@@ -52,7 +52,7 @@ public class ControllerApiRestReadWriteImpl extends AbstractRestApi
 		this.restHandler = this.restHandlerFactory.get();
 
 		super.activate(context, config.id(), config.alias(), config.enabled(), config.debugMode(), config.apiTimeout(),
-				config.port(), config.connectionlimit());
+				config.port(), config.connectionlimit(), config.authCacheTime(), config.tokenLifetime());
 	}
 
 	@Override
@@ -0,0 +1,74 @@
+package io.openems.edge.controller.api.rest;
+
+import static io.openems.edge.common.test.DummyUser.DUMMY_ADMIN;
+import static io.openems.edge.common.test.DummyUser.DUMMY_GUEST;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.Optional;
+
+import org.junit.Test;
+
+import io.openems.common.test.TimeLeapClock;
+
+public class AuthenticationCacheTest {
+
+	private static final String ADMIN_HEADER = "Basic YWRtaW46YWRtaW4=";
+	private static final String GUEST_HEADER = "Basic Z3Vlc3Q6Z3Vlc3Q=";
+
+	@Test
+	public void testCredentials() {
+		final var clock = new TimeLeapClock(Instant.ofEpochSecond(1_000_000));
+		final var sut = new AuthenticationCache(clock, 300, 0);
+
+		assertEquals(Optional.empty(), sut.getUser(ADMIN_HEADER));
+		sut.putUser(ADMIN_HEADER, DUMMY_ADMIN);
+		sut.putUser(GUEST_HEADER, DUMMY_GUEST);
+		assertEquals(Optional.of(DUMMY_ADMIN), sut.getUser(ADMIN_HEADER));
+		assertEquals(Optional.of(DUMMY_GUEST), sut.getUser(GUEST_HEADER));
+
+		// Expired
+		clock.leap(300, ChronoUnit.SECONDS);
+		assertEquals(Optional.empty(), sut.getUser(ADMIN_HEADER));
+
+		// Cleared
+		sut.putUser(ADMIN_HEADER, DUMMY_ADMIN);
+		sut.clear();
+		assertEquals(Optional.empty(), sut.getUser(ADMIN_HEADER));
+
+		// Bounded
+		for (var i = 0; i <= AuthenticationCache.MAX_CREDENTIALS; i++) {
+			sut.putUser("Basic " + i, DUMMY_GUEST);
+		}
+		assertEquals(Optional.empty(), sut.getUser("Basic 0"));
+		assertEquals(Optional.of(DUMMY_GUEST), sut.getUser("Basic 1"));
+
+		// Disabled
+		final var disabled = new AuthenticationCache(clock, 0, 0);
+		disabled.putUser(ADMIN_HEADER, DUMMY_ADMIN);
+		assertEquals(Optional.empty(), disabled.getUser(ADMIN_HEADER));
+	}
+
+	@Test
+	public void testTokens() {
+		final var clock = new TimeLeapClock(Instant.ofEpochSecond(1_000_000));
+		final var sut = new AuthenticationCache(clock, 0, 3600);
+		assertTrue(sut.isTokenEnabled());
+		assertEquals(3600, sut.getTokenLifetime());
+
+		final var token = sut.createToken(DUMMY_ADMIN);
+		assertNotEquals(token, sut.createToken(DUMMY_ADMIN));
+		assertEquals(Optional.of(DUMMY_ADMIN), sut.getTokenUser(token));
+		assertEquals(Optional.empty(), sut.getTokenUser("invalid"));
+
+		clock.leap(3600, ChronoUnit.SECONDS);
+		assertEquals(Optional.empty(), sut.getTokenUser(token));
+
+		assertFalse(new AuthenticationCache(clock, 300, 0).isTokenEnabled());
+	}
+
+}
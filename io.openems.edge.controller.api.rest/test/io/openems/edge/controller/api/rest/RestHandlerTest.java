@@ -10,6 +10,7 @@ import org.junit.Test;
 
 import io.openems.common.types.ChannelAddress;
 import io.openems.edge.common.component.OpenemsComponent;
+import io.openems.edge.controller.api.common.ChannelQuery;
 
 public class RestHandlerTest {
 
@@ -59,4 +60,26 @@ public class RestHandlerTest {
 		}
 	}
 
+	@Test
+	public void testGetChannelsBatch() {
+		var foo0 = new DummyComponent("foo0");
+		var foo1 = new DummyComponent("foo1");
+		var bar0 = new DummyComponent("bar0");
+		var components = List.<OpenemsComponent>of(foo0, foo1, bar0);
+		var sut = new ChannelQuery();
+
+		var result = sut.getChannels(components, List.of(//
+				new ChannelAddress("bar0", "DummyChannel"), //
+				new ChannelAddress("foo.*", "Dummy.*"), //
+				new ChannelAddress("fo?o0", "DummyChannel"), //
+				new ChannelAddress("foo0|bar0", "DummyChannel"), //
+				new ChannelAddress("baz0", "DummyChannel")));
+		assertEquals(List.of(bar0.channel("DummyChannel"), foo0.channel("DummyChannel"),
+				foo1.channel("DummyChannel")), result);
+
+		// Index is rebuilt for changed Components
+		var result2 = sut.getChannels(List.<OpenemsComponent>of(foo1), new ChannelAddress("foo.*", "DummyChannel"));
+		assertEquals(List.of(foo1.channel("DummyChannel")), result2);
+	}
+
 }
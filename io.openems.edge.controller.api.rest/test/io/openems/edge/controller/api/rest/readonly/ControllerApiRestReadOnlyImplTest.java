@@ -27,6 +27,8 @@ public class ControllerApiRestReadOnlyImplTest {
 						.setEnabled(false) // do not actually start server
 						.setConnectionlimit(5) //
 						.setDebugMode(false) //
+						.setAuthCacheTime(300) //
+						.setTokenLifetime(0) //
 						.setPort(port) //
 						.build());
 	}
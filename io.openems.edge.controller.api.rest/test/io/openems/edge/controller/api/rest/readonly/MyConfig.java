@@ -11,6 +11,8 @@ public class MyConfig extends AbstractComponentConfig implements Config {
 		private int port;
 		private int connectionlimit;
 		private boolean debugMode;
+		private int authCacheTime;
+		private int tokenLifetime;
 
 		private Builder() {
 		}
@@ -40,6 +42,16 @@ public class MyConfig extends AbstractComponentConfig implements Config {
 			return this;
 		}
 
+		public Builder setAuthCacheTime(int authCacheTime) {
+			this.authCacheTime = authCacheTime;
+			return this;
+		}
+
+		public Builder setTokenLifetime(int tokenLifetime) {
+			this.tokenLifetime = tokenLifetime;
+			return this;
+		}
+
 		public MyConfig build() {
 			return new MyConfig(this);
 		}
@@ -76,4 +88,14 @@ public class MyConfig extends AbstractComponentConfig implements Config {
 		return this.builder.debugMode;
 	}
 
+	@Override
+	public int authCacheTime() {
+		return this.builder.authCacheTime;
+	}
+
+	@Override
+	public int tokenLifetime() {
+		return this.builder.tokenLifetime;
+	}
+
 }
\ No newline at end of file
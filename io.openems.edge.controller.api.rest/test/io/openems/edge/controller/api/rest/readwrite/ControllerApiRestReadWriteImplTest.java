@@ -88,6 +88,8 @@ public class ControllerApiRestReadWriteImplTest {
 						.setApiTimeout(60) //
 						.setConnectionlimit(5) //
 						.setDebugMode(false) //
+						.setAuthCacheTime(300) //
+						.setTokenLifetime(0) //
 						.setPort(port) //
 						.build());
 
@@ -4,7 +4,6 @@ import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.LocalTime;
 import java.time.temporal.ChronoField;
-import java.util.ArrayList;
 import java.util.OptionalDouble;
 
 import org.osgi.service.cm.ConfigurationAdmin;
@@ -25,7 +24,7 @@ import org.slf4j.LoggerFactory;
 import io.openems.common.exceptions.OpenemsError.OpenemsNamedException;
 import io.openems.common.exceptions.OpenemsException;
 import io.openems.edge.common.channel.IntegerReadChannel;
-import io.openems.edge.common.channel.value.Value;
+import io.openems.edge.common.channel.history.ChannelHistory;
 import io.openems.edge.common.component.AbstractOpenemsComponent;
 import io.openems.edge.common.component.ComponentManager;
 import io.openems.edge.common.component.ComponentManagerProvider;
@@ -362,19 +361,20 @@ public class ControllerEssGridOptimizedChargeImpl extends AbstractOpenemsCompone
 	private OptionalDouble getChannelAverageOfPastSeconds(int consideredSeconds, IntegerReadChannel channel) {
 
 		// Get the past channel values
-		var pastValues = channel.getPastValues()
-				.tailMap(LocalDateTime.now(this.componentManager.getClock()).minusSeconds(consideredSeconds), true)
-				.values();
+		final var history = channel.getHistory();
+		final var fromTimestamp = ChannelHistory.toEpochMilli(
+				LocalDateTime.now(this.componentManager.getClock()).minusSeconds(consideredSeconds));
 
 		// Make sure we have at least one value
-		if (pastValues.isEmpty()) {
-			pastValues = new ArrayList<>();
-			pastValues.add(channel.value());
+		if (history.getLatestTimestamp() < fromTimestamp) {
+			final var value = channel.value();
+			if (!value.isDefined()) {
+				return OptionalDouble.empty();
+			}
+			return OptionalDouble.of(value.get());
 		}
 
-		return pastValues.stream().filter(Value::isDefined) //
-				.mapToInt(Value::get) //
-				.average();
+		return history.aggregate(fromTimestamp, Long.MAX_VALUE).average();
 	}
 
 	/**
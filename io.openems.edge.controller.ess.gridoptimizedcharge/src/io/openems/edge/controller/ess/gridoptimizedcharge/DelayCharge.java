@@ -16,7 +16,6 @@ import java.util.Arrays;
 import java.util.List;
 import java.util.Objects;
 import java.util.Optional;
-import java.util.stream.IntStream;
 
 import io.openems.common.exceptions.OpenemsError.OpenemsNamedException;
 import io.openems.common.exceptions.OpenemsException;
@@ -25,7 +24,7 @@ import io.openems.common.types.OpenemsType;
 import io.openems.common.utils.DateUtils;
 import io.openems.edge.common.channel.IntegerReadChannel;
 import io.openems.edge.common.channel.StateChannel;
-import io.openems.edge.common.channel.value.Value;
+import io.openems.edge.common.channel.history.ChannelHistory;
 import io.openems.edge.common.type.TypeUtils;
 import io.openems.edge.ess.power.api.Phase;
 import io.openems.edge.ess.power.api.Pwr;
@@ -308,10 +307,10 @@ public class DelayCharge {
 		// active, to avoid standby of the inverter directly after it.
 		var minimumPowerFactor = MINIMUM_POWER_FACTOR;
 
-		boolean delayChargeMinimumReached = this.parent.getDelayChargeStateChannel().getPastValues()
-				.tailMap(LocalDateTime.now(this.parent.componentManager.getClock()).with(MINUTE_OF_DAY, 5), true)
-				.values().stream().filter(Value::isDefined)
-				.filter(channel -> channel.asEnum() == DelayChargeState.ACTIVE_LIMIT).findAny().isPresent();
+		boolean delayChargeMinimumReached = this.parent.getDelayChargeStateChannel().getHistory().anyMatchInt(
+				ChannelHistory.toEpochMilli(
+						LocalDateTime.now(this.parent.componentManager.getClock()).with(MINUTE_OF_DAY, 5)),
+				Long.MAX_VALUE, value -> value == DelayChargeState.ACTIVE_LIMIT.getValue());
 
 		minimumPowerFactor = delayChargeMinimumReached ? minimumPowerFactor * 0.5F : minimumPowerFactor;
 		var minimumPower = Math.round(capacity * minimumPowerFactor);
@@ -357,23 +356,14 @@ public class DelayCharge {
 		IntegerReadChannel delayChargeLimitRawChannel = this.parent.getRawDelayChargeLimitChannel();
 		this.parent._setRawDelayChargeLimit(calculatedPower);
 
-		var pastLimits = delayChargeLimitRawChannel.getPastValues()
-				.tailMap(LocalDateTime.now(this.parent.componentManager.getClock()).minusSeconds(900), true) //
-				.values().stream().filter(Value::isDefined).mapToInt(Value::get);
+		var pastLimits = delayChargeLimitRawChannel.getHistory().aggregate(ChannelHistory.toEpochMilli(
+				LocalDateTime.now(this.parent.componentManager.getClock()).minusSeconds(900)), Long.MAX_VALUE);
 
-		var currentLimit = IntStream.of(calculatedPower);
+		// Get the average of the limit values of the last 900 seconds including the
+		// current limit
+		var limitValue = (pastLimits.sum() + calculatedPower) / (pastLimits.count() + 1);
 
-		// Concat the limit values of the last 900 seconds with the current limit
-		var limits = IntStream.concat(pastLimits, currentLimit); //
-
-		// Get the average of the past values including the current
-		var limitValueOpt = limits.average();
-
-		if (!limitValueOpt.isPresent()) {
-			return null;
-		}
-
-		return TypeUtils.getAsType(OpenemsType.INTEGER, Math.round(limitValueOpt.getAsDouble()));
+		return TypeUtils.getAsType(OpenemsType.INTEGER, Math.round(limitValue));
 	}
 
 	/**
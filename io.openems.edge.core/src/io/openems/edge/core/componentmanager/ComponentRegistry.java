@@ -0,0 +1,305 @@
+package io.openems.edge.core.componentmanager;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.osgi.framework.BundleContext;
+import org.osgi.framework.Constants;
+import org.osgi.framework.InvalidSyntaxException;
+import org.osgi.framework.ServiceEvent;
+import org.osgi.framework.ServiceListener;
+import org.osgi.framework.ServiceReference;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import io.openems.edge.common.component.ComponentManager;
+import io.openems.edge.common.component.OpenemsComponent;
+
+/**
+ * Event-driven registry of all OpenEMS Components that are registered as OSGi
+ * services.
+ *
+ * <p>
+ * Instead of querying the OSGi service registry with an LDAP filter on every
+ * call, the {@link ServiceReference}s are tracked via {@link ServiceEvent}s.
+ * Every event increments a version; an immutable {@link Snapshot} with indexes
+ * by Component-ID, service interface and Factory-PID is then rebuilt lazily on
+ * the next read.
+ */
+public class ComponentRegistry implements ServiceListener {
+
+	/** Every OpenEMS Component has an 'id' property. */
+	protected static final String FILTER = "(id=*)";
+
+	private static final Comparator<ServiceReference<?>> BY_SERVICE_ID = Comparator
+			.comparingLong(r -> r.getProperty(Constants.SERVICE_ID) instanceof Long l ? l : 0L);
+
+	private final Logger log = LoggerFactory.getLogger(ComponentRegistry.class);
+	private final Map<ServiceReference<?>, Boolean> references = new ConcurrentHashMap<>();
+	private final AtomicInteger version = new AtomicInteger();
+
+	private volatile BundleContext bundleContext = null;
+	private volatile Snapshot snapshot = Snapshot.EMPTY;
+
+	/**
+	 * Starts tracking the OpenEMS Component services.
+	 *
+	 * @param bundleContext the {@link BundleContext}; can be null in JUnit tests
+	 */
+	public synchronized void activate(BundleContext bundleContext) {
+		if (bundleContext == this.bundleContext) {
+			return;
+		}
+		this.deactivate();
+		if (bundleContext == null) {
+			return;
+		}
+		this.bundleContext = bundleContext;
+		try {
+			// Add listener before the query, so that no event gets lost
+			bundleContext.addServiceListener(this, FILTER);
+			var references = bundleContext.getServiceReferences((String) null, FILTER);
+			if (references != null) {
+				for (var reference : references) {
+					this.references.put(reference, Boolean.TRUE);
+				}
+			}
+		} catch (InvalidSyntaxException e) {
+			// filter invalid
+			this.log.warn("Unable to query OpenEMS Components: " + e.getMessage());
+		}
+		this.version.incrementAndGet();
+	}
+
+	/**
+	 * Stops tracking the OpenEMS Component services.
+	 */
+	public synchronized void deactivate() {
+		if (this.bundleContext != null) {
+			try {
+				this.bundleContext.removeServiceListener(this);
+			} catch (IllegalStateException e) {
+				// BundleContext is not valid anymore
+			}
+			this.bundleContext = null;
+		}
+		this.references.clear();
+		this.version.incrementAndGet();
+	}
+
+	@Override
+	public void serviceChanged(ServiceEvent event) {
+		final var reference = event.getServiceReference();
+		switch (event.getType()) {
+		case ServiceEvent.REGISTERED, ServiceEvent.MODIFIED -> this.references.put(reference, Boolean.TRUE);
+		case ServiceEvent.UNREGISTERING, ServiceEvent.MODIFIED_ENDMATCH -> this.references.remove(reference);
+		}
+		this.version.incrementAndGet();
+	}
+
+	/**
+	 * Gets the current {@link Snapshot}; rebuilds it if a {@link ServiceEvent}
+	 * happened since it was built.
+	 *
+	 * <p>
+	 * The rebuild resolves the services without holding the monitor of this
+	 * registry: {@link BundleContext#getService(ServiceReference)} can activate a
+	 * Declarative Services Component, which in turn might wait for a thread that
+	 * is reading this registry.
+	 *
+	 * @return the {@link Snapshot}
+	 */
+	public Snapshot get() {
+		// Read version before the references; a concurrent event triggers another
+		// rebuild on the next call
+		final var version = this.version.get();
+		final var snapshot = this.snapshot;
+		if (snapshot.version == version) {
+			return snapshot;
+		}
+		final var built = this.build(version);
+		synchronized (this) {
+			// Never replace a Snapshot that was built from a newer version
+			if (built.version - this.snapshot.version > 0) {
+				this.snapshot = built;
+			}
+		}
+		return built;
+	}
+
+	private Snapshot build(int version) {
+		final var bundleContext = this.bundleContext;
+		if (bundleContext == null) {
+			// Can be null in JUnit tests
+			return new Snapshot(version, Collections.emptyList());
+		}
+		final var references = new ArrayList<>(this.references.keySet());
+		references.sort(BY_SERVICE_ID);
+		final var entries = new ArrayList<Entry>(references.size());
+		for (var reference : references) {
+			try {
+				var service = bundleContext.getService(reference);
+				if (service == null) {
+					continue;
+				}
+				bundleContext.ungetService(reference);
+				if (service instanceof OpenemsComponent component) {
+					entries.add(Entry.from(reference, component));
+				}
+			} catch (RuntimeException e) {
+				this.log.warn("Unable to get OpenEMS Component [" + reference.getProperty("id") + "]: "
+						+ e.getClass().getSimpleName() + ": " + e.getMessage());
+			}
+		}
+		return new Snapshot(version, entries);
+	}
+
+	/**
+	 * A registered OpenEMS Component service with its service properties.
+	 *
+	 * @param component   the {@link OpenemsComponent}
+	 * @param id          the value of the 'id' property
+	 * @param enabled     the value of the 'enabled' property
+	 * @param factoryPid  the value of the 'service.factoryPid' property
+	 * @param objectClass the names of the interfaces the service is registered
+	 *                    under
+	 */
+	public record Entry(OpenemsComponent component, String id, boolean enabled, String factoryPid,
+			String[] objectClass) {
+
+		private static Entry from(ServiceReference<?> reference, OpenemsComponent component) {
+			var id = reference.getProperty("id");
+			var enabled = reference.getProperty("enabled");
+			var factoryPid = reference.getProperty("service.factoryPid");
+			var objectClass = reference.getProperty(Constants.OBJECTCLASS);
+			return new Entry(component, //
+					id == null ? null : id.toString(), //
+					Boolean.TRUE.equals(enabled) || "true".equals(enabled), //
+					factoryPid == null ? null : factoryPid.toString(), //
+					objectClass instanceof String[] s ? s : new String[0]);
+		}
+
+		private boolean isRegisteredAs(String className) {
+			for (var name : this.objectClass) {
+				if (name.equals(className)) {
+					return true;
+				}
+			}
+			return false;
+		}
+	}
+
+	/**
+	 * Immutable view on all registered OpenEMS Components.
+	 *
+	 * <p>
+	 * Lists are in order of service registration. Indexes by service interface and
+	 * Factory-PID are calculated lazily once per Snapshot.
+	 */
+	public static class Snapshot {
+
+		private static final Snapshot EMPTY = new Snapshot(-1, Collections.emptyList());
+
+		private final int version;
+		private final List<OpenemsComponent> all;
+		private final List<OpenemsComponent> enabled;
+		private final Map<String, Entry> byId;
+		private final List<Entry> entries;
+		private final Map<String, List<OpenemsComponent>> enabledByType = new ConcurrentHashMap<>();
+		private final Map<String, List<OpenemsComponent>> enabledByFactoryPid = new ConcurrentHashMap<>();
+
+		protected Snapshot(int version, List<Entry> entries) {
+			this.version = version;
+			this.entries = List.copyOf(entries);
+			var all = new ArrayList<OpenemsComponent>();
+			var enabled = new ArrayList<OpenemsComponent>();
+			var byId = new HashMap<String, Entry>();
+			final var openemsComponent = OpenemsComponent.class.getName();
+			for (var entry : entries) {
+				if (entry.id() != null) {
+					// On duplicated Component-IDs prefer the enabled Component
+					byId.merge(entry.id(), entry, (a, b) -> !a.enabled() && b.enabled() ? b : a);
+				}
+				if (!entry.isRegisteredAs(openemsComponent)
+						|| ComponentManager.SINGLETON_SERVICE_PID.equals(entry.factoryPid())) {
+					continue;
+				}
+				all.add(entry.component());
+				if (entry.enabled()) {
+					enabled.add(entry.component());
+				}
+			}
+			this.all = Collections.unmodifiableList(all);
+			this.enabled = Collections.unmodifiableList(enabled);
+			this.byId = byId;
+		}
+
+		/**
+		 * Gets all OpenEMS Components.
+		 *
+		 * @return an unmodifiable List
+		 */
+		public List<OpenemsComponent> getAll() {
+			return this.all;
+		}
+
+		/**
+		 * Gets all enabled OpenEMS Components.
+		 *
+		 * @return an unmodifiable List
+		 */
+		public List<OpenemsComponent> getEnabled() {
+			return this.enabled;
+		}
+
+		/**
+		 * Gets all enabled OpenEMS Components that are registered under the given
+		 * service interface.
+		 *
+		 * @param <T>   the type
+		 * @param clazz the service interface
+		 * @return an unmodifiable List
+		 */
+		@SuppressWarnings("unchecked")
+		public <T extends OpenemsComponent> List<T> getEnabledOfType(Class<T> clazz) {
+			return (List<T>) this.enabledByType.computeIfAbsent(clazz.getName(), name -> this.entries.stream() //
+					.filter(e -> e.enabled() && e.isRegisteredAs(name)) //
+					.map(Entry::component) //
+					.toList());
+		}
+
+		/**
+		 * Gets all enabled OpenEMS Components with the given Factory-PID.
+		 *
+		 * @param factoryPid the Factory-PID
+		 * @return an unmodifiable List
+		 */
+		public List<OpenemsComponent> getEnabledOfFactoryPid(String factoryPid) {
+			return this.enabledByFactoryPid.computeIfAbsent(factoryPid, pid -> this.entries.stream() //
+					.filter(e -> e.enabled() && pid.equals(e.factoryPid())) //
+					.map(Entry::component) //
+					.toList());
+		}
+
+		/**
+		 * Gets an OpenEMS Component by its Component-ID.
+		 *
+		 * @param componentId    the Component-ID
+		 * @param hasToBeEnabled if the Component has to be enabled
+		 * @return the Component or null if not found
+		 */
+		public OpenemsComponent getById(String componentId, boolean hasToBeEnabled) {
+			var entry = this.byId.get(componentId);
+			if (entry == null || hasToBeEnabled && !entry.enabled()) {
+				return null;
+			}
+			return entry.component();
+		}
+	}
+}
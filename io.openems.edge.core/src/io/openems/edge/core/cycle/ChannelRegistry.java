@@ -0,0 +1,170 @@
+package io.openems.edge.core.cycle;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+
+import io.openems.edge.common.channel.Channel;
+import io.openems.edge.common.channel.internal.AbstractReadChannel;
+import io.openems.edge.common.channel.internal.DirtyChannelTracker;
+import io.openems.edge.common.component.AbstractOpenemsComponent;
+import io.openems.edge.common.component.OpenemsComponent;
+import io.openems.edge.common.sum.Sum;
+
+/**
+ * Flat registry of all Channels that take part in the Process Image switch of
+ * {@link CycleWorker}.
+ *
+ * <p>
+ * Components are added and removed by the Component lifecycle events of
+ * {@link CycleImpl}. The registry is rebuilt only after {@link #invalidate()},
+ * i.e. when a Component was added, removed or modified, or when Channels were
+ * added to or removed from a registered Component - see
+ * {@link AbstractOpenemsComponent#onChannelsChanged(Runnable)}. In between,
+ * {@link #nextProcessImage()} walks a {@link DirtyChannelTracker} and only
+ * switches Channels that got a new 'next' value or that have 'onUpdate'
+ * callbacks. The switched Channels are kept until the next switch, see
+ * {@link #forEachSwitchedChannel(Consumer)}.
+ *
+ * <p>
+ * All methods besides {@link #addComponent(OpenemsComponent)},
+ * {@link #removeComponent(OpenemsComponent)} and {@link #invalidate()} are
+ * meant to be called by the Cycle thread only.
+ */
+public class ChannelRegistry {
+
+	private static final OpenemsComponent[] NO_COMPONENTS = new OpenemsComponent[0];
+	private static final Channel<?>[] NO_CHANNELS = new Channel<?>[0];
+
+	private final Set<OpenemsComponent> components = ConcurrentHashMap.newKeySet();
+
+	private volatile boolean invalid = true;
+
+	/** Channels that are tracked by {@link #tracker}. */
+	private Channel<?>[] trackedChannels = NO_CHANNELS;
+	/** Channels that do not support dirty tracking; switched every Cycle. */
+	private Channel<?>[] untrackedChannels = NO_CHANNELS;
+	private DirtyChannelTracker tracker = new DirtyChannelTracker(0);
+	/** Channels that were switched by the last {@link #nextProcessImage()}. */
+	private Channel<?>[] switchedChannels = NO_CHANNELS;
+	private int numberOfSwitchedChannels = 0;
+
+	/**
+	 * Adds a Component, e.g. after it was activated.
+	 *
+	 * @param component the {@link OpenemsComponent}
+	 */
+	public void addComponent(OpenemsComponent component) {
+		this.components.add(component);
+		if (component instanceof AbstractOpenemsComponent c) {
+			c.onChannelsChanged(this::invalidate);
+		}
+		this.invalidate();
+	}
+
+	/**
+	 * Removes a Component, e.g. after it was deactivated.
+	 *
+	 * @param component the {@link OpenemsComponent}
+	 */
+	public void removeComponent(OpenemsComponent component) {
+		if (this.components.remove(component) && component instanceof AbstractOpenemsComponent c) {
+			c.onChannelsChanged(null);
+		}
+		this.invalidate();
+	}
+
+	/**
+	 * Marks the registry for rebuild before the next Process Image switch.
+	 */
+	public void invalidate() {
+		this.invalid = true;
+	}
+
+	/**
+	 * Switches to the next Process Image for all Channels of all enabled
+	 * Components - excluding {@link Sum} - that need a switch.
+	 */
+	public void nextProcessImage() {
+		if (this.invalid) {
+			this.rebuild();
+		}
+
+		final var channels = this.trackedChannels;
+		final var tracker = this.tracker;
+		final var switched = this.switchedChannels;
+		var numberOfSwitched = 0;
+		for (var wordIndex = 0; wordIndex < tracker.getNumberOfWords(); wordIndex++) {
+			var word = tracker.drainWord(wordIndex);
+			while (word != 0L) {
+				final var bit = Long.numberOfTrailingZeros(word);
+				word &= word - 1; // clear lowest set bit
+				final var channel = channels[(wordIndex << 6) + bit];
+				channel.nextProcessImage();
+				switched[numberOfSwitched++] = channel;
+			}
+		}
+
+		for (var channel : this.untrackedChannels) {
+			channel.nextProcessImage();
+			switched[numberOfSwitched++] = channel;
+		}
+		this.numberOfSwitchedChannels = numberOfSwitched;
+	}
+
+	/**
+	 * Passes every Channel that was switched by the last
+	 * {@link #nextProcessImage()} to the given consumer.
+	 *
+	 * @param consumer the consumer
+	 */
+	public void forEachSwitchedChannel(Consumer<Channel<?>> consumer) {
+		final var switched = this.switchedChannels;
+		for (var i = 0; i < this.numberOfSwitchedChannels; i++) {
+			consumer.accept(switched[i]);
+		}
+	}
+
+	/**
+	 * Gets the number of registered Channels.
+	 *
+	 * @return the number of Channels
+	 */
+	public int size() {
+		return this.trackedChannels.length + this.untrackedChannels.length;
+	}
+
+	private void rebuild() {
+		// Reset before reading the Components; changes meanwhile trigger another rebuild
+		this.invalid = false;
+
+		final List<AbstractReadChannel<?, ?>> tracked = new ArrayList<>();
+		final List<Channel<?>> untracked = new ArrayList<>();
+		for (var component : this.components.toArray(NO_COMPONENTS)) {
+			if (!component.isEnabled() || component instanceof Sum) {
+				continue;
+			}
+			for (var channel : component.channels()) {
+				if (channel instanceof AbstractReadChannel<?, ?> c) {
+					tracked.add(c);
+				} else {
+					untracked.add(channel);
+				}
+			}
+		}
+
+		// Attach Channels to a new tracker; all Channels are initially dirty
+		final var tracker = new DirtyChannelTracker(tracked.size());
+		for (var i = 0; i < tracked.size(); i++) {
+			tracked.get(i).attachDirtyChannelTracker(tracker, i);
+		}
+
+		this.trackedChannels = tracked.toArray(NO_CHANNELS);
+		this.untrackedChannels = untracked.toArray(NO_CHANNELS);
+		this.tracker = tracker;
+		this.switchedChannels = new Channel<?>[tracked.size() + untracked.size()];
+		this.numberOfSwitchedChannels = 0;
+	}
+}
@@ -2,6 +2,7 @@ package io.openems.edge.core.cycle;
 
 import java.util.Comparator;
 import java.util.TreeSet;
+import java.util.function.Consumer;
 
 import org.osgi.service.cm.ConfigurationAdmin;
 import org.osgi.service.component.ComponentContext;
@@ -20,11 +21,17 @@ import org.slf4j.Logger;
 
 import io.openems.common.exceptions.OpenemsError.OpenemsNamedException;
 import io.openems.common.exceptions.OpenemsException;
+import io.openems.common.session.Role;
+import io.openems.edge.common.channel.Channel;
 import io.openems.edge.common.component.AbstractOpenemsComponent;
 import io.openems.edge.common.component.ComponentManager;
 import io.openems.edge.common.component.OpenemsComponent;
 import io.openems.edge.common.cycle.Cycle;
+import io.openems.edge.common.jsonapi.ComponentJsonApi;
+import io.openems.edge.common.jsonapi.EdgeGuards;
+import io.openems.edge.common.jsonapi.JsonApiBuilder;
 import io.openems.edge.common.sum.Sum;
+import io.openems.edge.core.cycle.jsonrpc.GetCycleProfile;
 import io.openems.edge.scheduler.api.Scheduler;
 
 @Designate(ocd = Config.class, factory = false)
@@ -35,7 +42,7 @@ import io.openems.edge.scheduler.api.Scheduler;
 		property = { //
 				"enabled=true" //
 		})
-public class CycleImpl extends AbstractOpenemsComponent implements OpenemsComponent, Cycle {
+public class CycleImpl extends AbstractOpenemsComponent implements OpenemsComponent, Cycle, ComponentJsonApi {
 
 	private final CycleWorker worker = new CycleWorker(this);
 
@@ -76,6 +83,38 @@ public class CycleImpl extends AbstractOpenemsComponent implements OpenemsCompon
 		}
 	}
 
+	/**
+	 * Holds all Channels that take part in the Process Image switch. Rebuilt when
+	 * a Component is activated, modified or deactivated.
+	 */
+	protected final ChannelRegistry channelRegistry = new ChannelRegistry();
+
+	@Reference(//
+			policy = ReferencePolicy.DYNAMIC, //
+			policyOption = ReferencePolicyOption.GREEDY, //
+			cardinality = ReferenceCardinality.MULTIPLE, //
+			target = "(enabled=true)", //
+			updated = "updatedComponent")
+	protected void addComponent(OpenemsComponent component) {
+		if (component != this) {
+			// Own Channels are switched by the CycleWorker
+			this.channelRegistry.addComponent(component);
+		}
+	}
+
+	protected void updatedComponent(OpenemsComponent component) {
+		this.channelRegistry.invalidate();
+	}
+
+	protected void removeComponent(OpenemsComponent component) {
+		this.channelRegistry.removeComponent(component);
+	}
+
+	/**
+	 * Collects per-phase latencies of the {@link CycleWorker}.
+	 */
+	protected volatile CycleProfiler profiler = null;
+
 	public CycleImpl() {
 		super(//
 				OpenemsComponent.ChannelId.values(), //
@@ -87,6 +126,7 @@ public class CycleImpl extends AbstractOpenemsComponent implements OpenemsCompon
 	private void activate(ComponentContext context, Config config) throws OpenemsException {
 		super.activate(context, SINGLETON_COMPONENT_ID, SINGLETON_SERVICE_PID, true);
 		this.config = config;
+		this.profiler = new CycleProfiler(this.componentManager.getClock(), CycleProfiler.DEFAULT_WINDOW);
 		this.worker.activate(this.id());
 
 		if (OpenemsComponent.validateSingleton(this.cm, SINGLETON_SERVICE_PID, SINGLETON_COMPONENT_ID)) {
@@ -122,6 +162,50 @@ public class CycleImpl extends AbstractOpenemsComponent implements OpenemsCompon
 		super.logWarn(log, message);
 	}
 
+	@Override
+	public void buildJsonApiRoutes(JsonApiBuilder builder) {
+		builder.handleRequest(new GetCycleProfile(), endpoint -> {
+			endpoint.setDescription("""
+					Gets the latency percentiles of each Cycle phase - Process Image switch, \
+					Event topics and Controllers - within the current profiling window.
+					""") //
+					.setGuards(EdgeGuards.roleIsAtleast(Role.ADMIN));
+		}, call -> {
+			final var profiler = this.profiler;
+			return new GetCycleProfile.Response(profiler.getWindowStart(), profiler.getProfile());
+		});
+	}
+
+	/**
+	 * Updates the profiling Channels from the {@link CycleProfiler}. Called by
+	 * the {@link CycleWorker} at the end of each Cycle; the Channels are updated
+	 * at most once per {@link CycleProfiler#CHANNELS_UPDATE_INTERVAL}.
+	 */
+	protected void updateProfileChannels() {
+		final var profiler = this.profiler;
+		if (!profiler.isChannelsUpdateDue()) {
+			return;
+		}
+		this.updateProfileChannels(profiler.cycle, //
+				Cycle.ChannelId.CYCLE_TIME_P50, Cycle.ChannelId.CYCLE_TIME_P99, Cycle.ChannelId.CYCLE_TIME_MAX);
+		this.updateProfileChannels(profiler.processImage, //
+				Cycle.ChannelId.PROCESS_IMAGE_TIME_P50, Cycle.ChannelId.PROCESS_IMAGE_TIME_P99,
+				Cycle.ChannelId.PROCESS_IMAGE_TIME_MAX);
+		this.updateProfileChannels(profiler.events, //
+				Cycle.ChannelId.EVENTS_TIME_P50, Cycle.ChannelId.EVENTS_TIME_P99, Cycle.ChannelId.EVENTS_TIME_MAX);
+		this.updateProfileChannels(profiler.controllers, //
+				Cycle.ChannelId.CONTROLLERS_TIME_P50, Cycle.ChannelId.CONTROLLERS_TIME_P99,
+				Cycle.ChannelId.CONTROLLERS_TIME_MAX);
+		this.channel(Cycle.ChannelId.SLOWEST_PHASE).setNextValue(profiler.getSlowestPhase());
+	}
+
+	private void updateProfileChannels(LatencyHistogram histogram, Cycle.ChannelId p50, Cycle.ChannelId p99,
+			Cycle.ChannelId max) {
+		this.channel(p50).setNextValue(CycleProfiler.toMillis(histogram.getValueAtPercentile(50)));
+		this.channel(p99).setNextValue(CycleProfiler.toMillis(histogram.getValueAtPercentile(99)));
+		this.channel(max).setNextValue(CycleProfiler.toMillis(histogram.getMax()));
+	}
+
 	@Override
 	public int getCycleTime() {
 		var config = this.config;
@@ -131,4 +215,13 @@ public class CycleImpl extends AbstractOpenemsComponent implements OpenemsCompon
 		return Cycle.DEFAULT_CYCLE_TIME;
 	}
 
+	@Override
+	public boolean forEachSwitchedChannel(Consumer<Channel<?>> consumer) {
+		this.channelRegistry.forEachSwitchedChannel(consumer);
+		// Own and Sum Channels are switched every Cycle by the CycleWorker
+		this.channels().forEach(consumer);
+		this.sumComponent.channels().forEach(consumer);
+		return true;
+	}
+
 }
@@ -0,0 +1,233 @@
+package io.openems.edge.core.cycle;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import io.openems.edge.core.cycle.jsonrpc.GetCycleProfile.Category;
+import io.openems.edge.core.cycle.jsonrpc.GetCycleProfile.PhaseProfile;
+
+/**
+ * Collects per-phase latencies of the {@link CycleWorker} in
+ * {@link LatencyHistogram}s.
+ *
+ * <p>
+ * Recording methods are called by the Cycle thread only; the getters may be
+ * called from any thread. Histograms are reset after each profiling window, so
+ * that percentiles reflect recent behaviour and Controllers that were removed
+ * disappear from the profile.
+ */
+public class CycleProfiler {
+
+	public static final Duration DEFAULT_WINDOW = Duration.ofMinutes(5);
+
+	/**
+	 * Minimum interval between two updates of the profiling Channels; the
+	 * percentile calculation is too expensive to run every Cycle.
+	 */
+	public static final Duration CHANNELS_UPDATE_INTERVAL = Duration.ofSeconds(1);
+
+	public static final String CYCLE = "cycle";
+	public static final String PROCESS_IMAGE = "processImage";
+	public static final String EVENTS = "events";
+	public static final String CONTROLLERS = "controllers";
+
+	private final Clock clock;
+	private final Duration window;
+
+	protected final LatencyHistogram cycle = new LatencyHistogram();
+	protected final LatencyHistogram processImage = new LatencyHistogram();
+	protected final LatencyHistogram events = new LatencyHistogram();
+	protected final LatencyHistogram controllers = new LatencyHistogram();
+	private final Map<String, LatencyHistogram> eventTopics = new ConcurrentHashMap<>();
+	private final Map<String, LatencyHistogram> controllerRuns = new ConcurrentHashMap<>();
+
+	private volatile Instant windowStart;
+
+	// Sums of the current Cycle; accessed by Cycle thread only
+	private long eventsNanos = 0;
+	private long controllersNanos = 0;
+	private Instant lastChannelsUpdate = null;
+
+	public CycleProfiler(Clock clock, Duration window) {
+		this.clock = clock;
+		this.window = window;
+		this.windowStart = Instant.now(clock);
+	}
+
+	/**
+	 * Starts a new Cycle. Resets the histograms if the profiling window
+	 * elapsed.
+	 */
+	public void startCycle() {
+		this.eventsNanos = 0;
+		this.controllersNanos = 0;
+
+		final var now = Instant.now(this.clock);
+		if (!now.isBefore(this.windowStart.plus(this.window))) {
+			this.cycle.reset();
+			this.processImage.reset();
+			this.events.reset();
+			this.controllers.reset();
+			this.eventTopics.clear();
+			this.controllerRuns.clear();
+			this.windowStart = now;
+		}
+	}
+
+	/**
+	 * Records the duration of the Process Image switch.
+	 *
+	 * @param nanos the duration in [ns]
+	 */
+	public void recordProcessImage(long nanos) {
+		this.processImage.record(toMicros(nanos));
+	}
+
+	/**
+	 * Records the duration of sending an Event, i.e. of all its handlers.
+	 *
+	 * @param topic the Event topic
+	 * @param nanos the duration in [ns]
+	 */
+	public void recordEvent(String topic, long nanos) {
+		this.eventsNanos += nanos;
+		getHistogram(this.eventTopics, topic).record(toMicros(nanos));
+	}
+
+	/**
+	 * Records the duration of a Controller run.
+	 *
+	 * @param controllerId the Controller-ID
+	 * @param nanos        the duration in [ns]
+	 */
+	public void recordController(String controllerId, long nanos) {
+		this.controllersNanos += nanos;
+		getHistogram(this.controllerRuns, controllerId).record(toMicros(nanos));
+	}
+
+	/**
+	 * Finishes the current Cycle and records the totals.
+	 *
+	 * @param cycleNanos the duration of the whole Cycle in [ns]
+	 */
+	public void endCycle(long cycleNanos) {
+		this.cycle.record(toMicros(cycleNanos));
+		this.events.record(toMicros(this.eventsNanos));
+		this.controllers.record(toMicros(this.controllersNanos));
+	}
+
+	/**
+	 * Checks whether the profiling Channels should be updated, i.e. if the
+	 * {@link #CHANNELS_UPDATE_INTERVAL} elapsed since the last update. Called by
+	 * the Cycle thread only.
+	 *
+	 * @return true if the Channels should be updated now
+	 */
+	public boolean isChannelsUpdateDue() {
+		final var now = Instant.now(this.clock);
+		if (this.lastChannelsUpdate != null
+				&& now.isBefore(this.lastChannelsUpdate.plus(CHANNELS_UPDATE_INTERVAL))) {
+			return false;
+		}
+		this.lastChannelsUpdate = now;
+		return true;
+	}
+
+	/**
+	 * Gets the start of the current profiling window.
+	 *
+	 * @return the window start
+	 */
+	public ZonedDateTime getWindowStart() {
+		return ZonedDateTime.ofInstant(this.windowStart, this.clock.getZone());
+	}
+
+	/**
+	 * Gets the {@link PhaseProfile}s of all phases of the current profiling
+	 * window.
+	 *
+	 * @return a list of {@link PhaseProfile}s; totals first
+	 */
+	public List<PhaseProfile> getProfile() {
+		final var result = new ArrayList<PhaseProfile>();
+		result.add(toPhaseProfile(Category.TOTAL, CYCLE, this.cycle));
+		result.add(toPhaseProfile(Category.TOTAL, PROCESS_IMAGE, this.processImage));
+		result.add(toPhaseProfile(Category.TOTAL, EVENTS, this.events));
+		result.add(toPhaseProfile(Category.TOTAL, CONTROLLERS, this.controllers));
+		this.eventTopics.forEach((topic, histogram) -> {
+			result.add(toPhaseProfile(Category.EVENT, topic, histogram));
+		});
+		this.controllerRuns.forEach((controllerId, histogram) -> {
+			result.add(toPhaseProfile(Category.CONTROLLER, controllerId, histogram));
+		});
+		return result;
+	}
+
+	/**
+	 * Gets the name of the single phase - i.e. the Process Image switch, an
+	 * Event topic or a Controller - with the highest 99th percentile in the
+	 * current profiling window.
+	 *
+	 * @return the name of the phase; null if nothing was recorded
+	 */
+	public String getSlowestPhase() {
+		String result = null;
+		var resultP99 = -1L;
+		if (this.processImage.getTotalCount() > 0) {
+			result = PROCESS_IMAGE;
+			resultP99 = this.processImage.getValueAtPercentile(99);
+		}
+		for (var entry : this.eventTopics.entrySet()) {
+			final var p99 = entry.getValue().getValueAtPercentile(99);
+			if (p99 > resultP99) {
+				result = entry.getKey();
+				resultP99 = p99;
+			}
+		}
+		for (var entry : this.controllerRuns.entrySet()) {
+			final var p99 = entry.getValue().getValueAtPercentile(99);
+			if (p99 > resultP99) {
+				result = entry.getKey();
+				resultP99 = p99;
+			}
+		}
+		return result;
+	}
+
+	private static LatencyHistogram getHistogram(Map<String, LatencyHistogram> map, String key) {
+		var histogram = map.get(key);
+		if (histogram == null) {
+			histogram = new LatencyHistogram();
+			map.put(key, histogram);
+		}
+		return histogram;
+	}
+
+	private static PhaseProfile toPhaseProfile(Category category, String name, LatencyHistogram histogram) {
+		return new PhaseProfile(category, name, histogram.getTotalCount(), //
+				toMillis(histogram.getValueAtPercentile(50)), //
+				toMillis(histogram.getValueAtPercentile(99)), //
+				toMillis(histogram.getMax()));
+	}
+
+	private static long toMicros(long nanos) {
+		return nanos / 1_000;
+	}
+
+	/**
+	 * Converts microseconds to milliseconds.
+	 *
+	 * @param micros the value in [us]
+	 * @return the value in [ms]
+	 */
+	public static double toMillis(long micros) {
+		return micros / 1_000.;
+	}
+
+}
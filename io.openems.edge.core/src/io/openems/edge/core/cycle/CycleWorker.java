@@ -12,7 +12,6 @@ import io.openems.common.event.EventBuilder;
 import io.openems.common.exceptions.OpenemsError.OpenemsNamedException;
 import io.openems.common.worker.AbstractWorker;
 import io.openems.edge.common.event.EdgeEventConstants;
-import io.openems.edge.common.sum.Sum;
 import io.openems.edge.controller.api.Controller;
 import io.openems.edge.scheduler.api.Scheduler;
 
@@ -34,6 +33,8 @@ public class CycleWorker extends AbstractWorker {
 	protected void forever() {
 		// Prepare Cycle-Time measurement
 		var stopwatch = Stopwatch.createStarted();
+		final var profiler = this.parent.profiler;
+		profiler.startCycle();
 
 		// Kick Operating System Watchdog
 		var socketName = System.getenv().get("NOTIFY_SOCKET");
@@ -47,39 +48,35 @@ public class CycleWorker extends AbstractWorker {
 			/*
 			 * Trigger BEFORE_PROCESS_IMAGE event
 			 */
-			EventBuilder.send(this.parent.eventAdmin, EdgeEventConstants.TOPIC_CYCLE_BEFORE_PROCESS_IMAGE);
+			this.sendEvent(EdgeEventConstants.TOPIC_CYCLE_BEFORE_PROCESS_IMAGE);
 
 			/*
 			 * Before Controllers start: switch to next process image for each channel
 			 */
-			this.parent.componentManager.getEnabledComponents().stream() //
-					.filter(c -> c.isEnabled() && !(c instanceof Sum)) //
-					.forEach(component -> {
-						component.channels().forEach(channel -> {
-							channel.nextProcessImage();
-						});
-					});
-			this.parent.channels().forEach(channel -> {
+			var start = System.nanoTime();
+			this.parent.channelRegistry.nextProcessImage();
+			for (var channel : this.parent.channels()) {
 				channel.nextProcessImage();
-			});
+			}
 
 			/*
 			 * Update the Channels in the Sum-Component.
 			 */
 			this.parent.sumComponent.updateChannelsBeforeProcessImage();
-			this.parent.sumComponent.channels().forEach(channel -> {
+			for (var channel : this.parent.sumComponent.channels()) {
 				channel.nextProcessImage();
-			});
+			}
+			profiler.recordProcessImage(System.nanoTime() - start);
 
 			/*
 			 * Trigger AFTER_PROCESS_IMAGE event
 			 */
-			EventBuilder.send(this.parent.eventAdmin, EdgeEventConstants.TOPIC_CYCLE_AFTER_PROCESS_IMAGE);
+			this.sendEvent(EdgeEventConstants.TOPIC_CYCLE_AFTER_PROCESS_IMAGE);
 
 			/*
 			 * Trigger BEFORE_CONTROLLERS event
 			 */
-			EventBuilder.send(this.parent.eventAdmin, EdgeEventConstants.TOPIC_CYCLE_BEFORE_CONTROLLERS);
+			this.sendEvent(EdgeEventConstants.TOPIC_CYCLE_BEFORE_CONTROLLERS);
 
 			var hasDisabledController = false;
 
@@ -109,6 +106,7 @@ public class CycleWorker extends AbstractWorker {
 							continue;
 						}
 
+						start = System.nanoTime();
 						try {
 							// Execute Controller logic
 							controller.run();
@@ -133,6 +131,7 @@ public class CycleWorker extends AbstractWorker {
 							// announce running failed
 							controller._setRunFailed(true);
 						}
+						profiler.recordController(controller.id(), System.nanoTime() - start);
 					}
 
 					// announce Scheduler Controller is missing
@@ -146,22 +145,22 @@ public class CycleWorker extends AbstractWorker {
 			/*
 			 * Trigger AFTER_CONTROLLERS event
 			 */
-			EventBuilder.send(this.parent.eventAdmin, EdgeEventConstants.TOPIC_CYCLE_AFTER_CONTROLLERS);
+			this.sendEvent(EdgeEventConstants.TOPIC_CYCLE_AFTER_CONTROLLERS);
 
 			/*
 			 * Trigger BEFORE_WRITE event
 			 */
-			EventBuilder.send(this.parent.eventAdmin, EdgeEventConstants.TOPIC_CYCLE_BEFORE_WRITE);
+			this.sendEvent(EdgeEventConstants.TOPIC_CYCLE_BEFORE_WRITE);
 
 			/*
 			 * Trigger EXECUTE_WRITE event
 			 */
-			EventBuilder.send(this.parent.eventAdmin, EdgeEventConstants.TOPIC_CYCLE_EXECUTE_WRITE);
+			this.sendEvent(EdgeEventConstants.TOPIC_CYCLE_EXECUTE_WRITE);
 
 			/*
 			 * Trigger AFTER_WRITE event
 			 */
-			EventBuilder.send(this.parent.eventAdmin, EdgeEventConstants.TOPIC_CYCLE_AFTER_WRITE);
+			this.sendEvent(EdgeEventConstants.TOPIC_CYCLE_AFTER_WRITE);
 
 		} catch (Throwable t) {
 			this.parent.logWarn(this.log,
@@ -172,7 +171,21 @@ public class CycleWorker extends AbstractWorker {
 		}
 
 		// Measure actual Cycle-Time
+		profiler.endCycle(stopwatch.elapsed(TimeUnit.NANOSECONDS));
 		this.parent._setMeasuredCycleTime(stopwatch.elapsed(TimeUnit.MILLISECONDS));
+		this.parent.updateProfileChannels();
+	}
+
+	/**
+	 * Sends an Event synchronously and records its duration in the
+	 * {@link CycleProfiler}.
+	 *
+	 * @param topic the Event topic
+	 */
+	private void sendEvent(String topic) {
+		final var start = System.nanoTime();
+		EventBuilder.send(this.parent.eventAdmin, topic);
+		this.parent.profiler.recordEvent(topic, System.nanoTime() - start);
 	}
 
 }
@@ -0,0 +1,118 @@
+package io.openems.edge.core.cycle;
+
+import java.util.Arrays;
+
+/**
+ * A fixed-size log-linear latency histogram in the style of an HdrHistogram.
+ *
+ * <p>
+ * Values are recorded in microseconds. Values below {@value #SUB_BUCKET_COUNT}
+ * are recorded exactly; above that every power-of-two range is split into
+ * {@value #SUB_BUCKET_HALF_COUNT} linear sub-buckets, i.e. the relative error
+ * of a reported percentile is at most 1/{@value #SUB_BUCKET_HALF_COUNT}.
+ * Recording does not allocate.
+ */
+public class LatencyHistogram {
+
+	private static final int SUB_BUCKET_BITS = 6;
+	protected static final int SUB_BUCKET_COUNT = 1 << SUB_BUCKET_BITS;
+	protected static final int SUB_BUCKET_HALF_COUNT = SUB_BUCKET_COUNT / 2;
+
+	/** Highest trackable value: 2^36 microseconds (approx. 19 hours). */
+	protected static final long HIGHEST_TRACKABLE_VALUE = (1L << 36) - 1;
+
+	private final long[] counts = new long[bucketIndex(HIGHEST_TRACKABLE_VALUE) + 1];
+
+	private long totalCount = 0;
+	private long max = 0;
+
+	/**
+	 * Records a value.
+	 *
+	 * @param micros the value in [us]; values outside the trackable range are
+	 *               clamped
+	 */
+	public synchronized void record(long micros) {
+		if (micros < 0) {
+			micros = 0;
+		} else if (micros > HIGHEST_TRACKABLE_VALUE) {
+			micros = HIGHEST_TRACKABLE_VALUE;
+		}
+		this.counts[bucketIndex(micros)]++;
+		this.totalCount++;
+		if (micros > this.max) {
+			this.max = micros;
+		}
+	}
+
+	/**
+	 * Gets the number of recorded values.
+	 *
+	 * @return the count
+	 */
+	public synchronized long getTotalCount() {
+		return this.totalCount;
+	}
+
+	/**
+	 * Gets the maximum recorded value.
+	 *
+	 * @return the max value in [us]; 0 if no value was recorded
+	 */
+	public synchronized long getMax() {
+		return this.max;
+	}
+
+	/**
+	 * Gets the value at the given percentile. The result is the highest value
+	 * that is equivalent to the bucket of the percentile, but never higher than
+	 * {@link #getMax()}.
+	 *
+	 * @param percentile the percentile in the range [0, 100]
+	 * @return the value in [us]; 0 if no value was recorded
+	 */
+	public synchronized long getValueAtPercentile(double percentile) {
+		if (this.totalCount == 0) {
+			return 0;
+		}
+		final var p = Math.min(Math.max(percentile, 0.), 100.);
+		final var target = Math.max(1L, (long) Math.ceil(p / 100. * this.totalCount));
+		var sum = 0L;
+		for (var i = 0; i < this.counts.length; i++) {
+			sum += this.counts[i];
+			if (sum >= target) {
+				return Math.min(highestEquivalentValue(i), this.max);
+			}
+		}
+		return this.max;
+	}
+
+	/**
+	 * Clears all recorded values.
+	 */
+	public synchronized void reset() {
+		Arrays.fill(this.counts, 0L);
+		this.totalCount = 0;
+		this.max = 0;
+	}
+
+	protected static int bucketIndex(long value) {
+		if (value < SUB_BUCKET_COUNT) {
+			return (int) value;
+		}
+		final var shift = 63 - Long.numberOfLeadingZeros(value) - (SUB_BUCKET_BITS - 1);
+		final var subBucket = (int) (value >>> shift); // in [HALF_COUNT, COUNT)
+		return SUB_BUCKET_COUNT + (shift - 1) * SUB_BUCKET_HALF_COUNT + (subBucket - SUB_BUCKET_HALF_COUNT);
+	}
+
+	protected static long highestEquivalentValue(int index) {
+		if (index < SUB_BUCKET_COUNT) {
+			return index;
+		}
+		final var offset = index - SUB_BUCKET_COUNT;
+		final var shift = offset / SUB_BUCKET_HALF_COUNT + 1;
+		final var subBucket = (long) (offset % SUB_BUCKET_HALF_COUNT + SUB_BUCKET_HALF_COUNT);
+		return (subBucket << shift) + (1L << shift) - 1;
+	}
+
+}
@@ -0,0 +1,141 @@
+package io.openems.edge.core.cycle.jsonrpc;
+
+import static io.openems.common.jsonrpc.serialization.JsonSerializerUtil.emptyObjectSerializer;
+import static io.openems.common.jsonrpc.serialization.JsonSerializerUtil.jsonObjectSerializer;
+
+import java.time.ZonedDateTime;
+import java.util.List;
+
+import io.openems.common.jsonrpc.serialization.JsonSerializer;
+import io.openems.common.utils.JsonUtils;
+import io.openems.edge.common.jsonapi.EndpointRequestType;
+import io.openems.edge.core.cycle.jsonrpc.GetCycleProfile.Request;
+import io.openems.edge.core.cycle.jsonrpc.GetCycleProfile.Response;
+
+/**
+ * Gets the latency percentiles of the phases of the Core.Cycle within the
+ * current profiling window.
+ *
+ * <pre>
+ * {
+ *   "jsonrpc": "2.0",
+ *   "id": "UUID",
+ *   "method": "getCycleProfile",
+ *   "params": {}
+ * }
+ * </pre>
+ */
+public class GetCycleProfile implements EndpointRequestType<Request, Response> {
+
+	@Override
+	public String getMethod() {
+		return "getCycleProfile";
+	}
+
+	@Override
+	public JsonSerializer<Request> getRequestSerializer() {
+		return Request.serializer();
+	}
+
+	@Override
+	public JsonSerializer<Response> getResponseSerializer() {
+		return Response.serializer();
+	}
+
+	public record Request() {
+
+		/**
+		 * Returns a {@link JsonSerializer} for a {@link GetCycleProfile.Request}.
+		 *
+		 * @return the created {@link JsonSerializer}
+		 */
+		public static JsonSerializer<Request> serializer() {
+			return emptyObjectSerializer(Request::new);
+		}
+
+	}
+
+	public record Response(//
+			ZonedDateTime windowStart, //
+			List<PhaseProfile> phases //
+	) {
+
+		/**
+		 * Returns a {@link JsonSerializer} for a {@link GetCycleProfile.Response}.
+		 *
+		 * @return the created {@link JsonSerializer}
+		 */
+		public static JsonSerializer<GetCycleProfile.Response> serializer() {
+			return jsonObjectSerializer(GetCycleProfile.Response.class, json -> {
+				return new Response(//
+						ZonedDateTime.parse(json.getString("windowStart")), //
+						json.getList("phases", PhaseProfile.serializer()));
+			}, obj -> {
+				return JsonUtils.buildJsonObject() //
+						.addProperty("windowStart", obj.windowStart()) //
+						.add("phases", PhaseProfile.serializer().toListSerializer().serialize(obj.phases())) //
+						.build();
+			});
+		}
+
+	}
+
+	public enum Category {
+		/**
+		 * Aggregated durations per Cycle: the whole Cycle, the Process Image
+		 * switch, the sum of all Events and the sum of all Controllers.
+		 */
+		TOTAL, //
+		/**
+		 * Duration of sending one Event topic, i.e. of all its EventHandlers.
+		 */
+		EVENT, //
+		/**
+		 * Duration of one Controller run.
+		 */
+		CONTROLLER;
+	}
+
+	/**
+	 * The latency percentiles of one phase. All durations are in [ms].
+	 */
+	public record PhaseProfile(//
+			Category category, //
+			String name, //
+			long count, //
+			double p50, //
+			double p99, //
+			double max //
+	) {
+
+		/**
+		 * Returns a {@link JsonSerializer} for a
+		 * {@link GetCycleProfile.PhaseProfile}.
+		 *
+		 * @return the created {@link JsonSerializer}
+		 */
+		public static JsonSerializer<GetCycleProfile.PhaseProfile> serializer() {
+			return jsonObjectSerializer(GetCycleProfile.PhaseProfile.class, json -> {
+				final var j = json.get();
+				return new PhaseProfile(//
+						json.getEnum("category", Category.class), //
+						json.getString("name"), //
+						j.get("count").getAsLong(), //
+						j.get("p50").getAsDouble(), //
+						j.get("p99").getAsDouble(), //
+						j.get("max").getAsDouble());
+			}, obj -> {
+				return JsonUtils.buildJsonObject() //
+						.addProperty("category", obj.category()) //
+						.addProperty("name", obj.name()) //
+						.addProperty("count", obj.count()) //
+						.addProperty("p50", obj.p50()) //
+						.addProperty("p99", obj.p99()) //
+						.addProperty("max", obj.max()) //
+						.build();
+			});
+		}
+
+	}
+
+}
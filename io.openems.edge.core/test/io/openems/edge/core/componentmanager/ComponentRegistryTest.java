@@ -0,0 +1,116 @@
+package io.openems.edge.core.componentmanager;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+import java.lang.reflect.Proxy;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.junit.Test;
+import org.osgi.framework.BundleContext;
+import org.osgi.framework.Constants;
+import org.osgi.framework.ServiceReference;
+
+import io.openems.edge.common.component.ComponentManager;
+import io.openems.edge.common.component.OpenemsComponent;
+import io.openems.edge.common.test.AbstractDummyOpenemsComponent;
+import io.openems.edge.core.componentmanager.ComponentRegistry.Entry;
+import io.openems.edge.core.componentmanager.ComponentRegistry.Snapshot;
+import io.openems.edge.io.api.DigitalInput;
+
+public class ComponentRegistryTest {
+
+	private static class DummyComponent extends AbstractDummyOpenemsComponent<DummyComponent> {
+
+		public DummyComponent(String id) {
+			super(id, OpenemsComponent.ChannelId.values());
+		}
+
+		@Override
+		protected DummyComponent self() {
+			return this;
+		}
+	}
+
+	private static final String OPENEMS_COMPONENT = OpenemsComponent.class.getName();
+	private static final String DIGITAL_INPUT = DigitalInput.class.getName();
+
+	@Test
+	public void testSnapshot() {
+		var cm = new DummyComponent("_componentManager");
+		var io0 = new DummyComponent("io0");
+		var io1 = new DummyComponent("io1");
+		var ctrl0 = new DummyComponent("ctrl0");
+		var sut = new Snapshot(1, List.of(//
+				new Entry(cm, "_componentManager", true, ComponentManager.SINGLETON_SERVICE_PID,
+						new String[] { OPENEMS_COMPONENT }), //
+				new Entry(io0, "io0", true, "IO.KMtronic", new String[] { DIGITAL_INPUT, OPENEMS_COMPONENT }), //
+				new Entry(io1, "io1", false, "IO.KMtronic", new String[] { DIGITAL_INPUT, OPENEMS_COMPONENT }), //
+				new Entry(ctrl0, "ctrl0", true, "Controller.Debug.Log", new String[] { OPENEMS_COMPONENT })));
+
+		assertEquals(List.of(io0, io1, ctrl0), sut.getAll());
+		assertEquals(List.of(io0, ctrl0), sut.getEnabled());
+		assertEquals(List.of(io0), sut.getEnabledOfType(DigitalInput.class));
+		assertEquals(List.of(cm, io0, ctrl0), sut.getEnabledOfType(OpenemsComponent.class));
+		assertEquals(List.of(io0), sut.getEnabledOfFactoryPid("IO.KMtronic"));
+		assertEquals(List.of(), sut.getEnabledOfFactoryPid("Foo.Bar"));
+
+		assertSame(cm, sut.getById("_componentManager", true));
+		assertSame(io0, sut.getById("io0", true));
+		assertNull(sut.getById("io1", true));
+		assertSame(io1, sut.getById("io1", false));
+		assertNull(sut.getById("io2", false));
+	}
+
+	@Test
+	public void testWithoutBundleContext() {
+		// BundleContext is null in JUnit tests
+		var sut = new ComponentRegistry();
+		sut.activate(null);
+		assertEquals(List.of(), sut.get().getAll());
+		assertSame(sut.get(), sut.get());
+	}
+
+	@Test
+	public void testGetServiceOutsideOfLock() throws Exception {
+		var io0 = new DummyComponent("io0");
+		var properties = Map.<String, Object>of(//
+				"id", "io0", //
+				"enabled", true, //
+				Constants.SERVICE_ID, 1L, //
+				Constants.OBJECTCLASS, new String[] { OPENEMS_COMPONENT });
+		var reference = (ServiceReference<?>) Proxy.newProxyInstance(ServiceReference.class.getClassLoader(),
+				new Class<?>[] { ServiceReference.class }, (proxy, method, args) -> switch (method.getName()) {
+				case "getProperty" -> properties.get(args[0]);
+				case "hashCode" -> System.identityHashCode(proxy);
+				case "equals" -> proxy == args[0];
+				default -> null;
+				});
+
+		var sut = new ComponentRegistry();
+		var isActivating = new AtomicBoolean(true);
+		var bundleContext = (BundleContext) Proxy.newProxyInstance(BundleContext.class.getClassLoader(),
+				new Class<?>[] { BundleContext.class }, (proxy, method, args) -> switch (method.getName()) {
+				case "getServiceReferences" -> new ServiceReference<?>[] { reference };
+				case "getService" -> {
+					// Activation of the service waits for another thread that reads the registry
+					if (isActivating.getAndSet(false)) {
+						CompletableFuture.supplyAsync(sut::get).get(10, TimeUnit.SECONDS);
+					}
+					yield io0;
+				}
+				case "ungetService" -> true;
+				case "hashCode" -> System.identityHashCode(proxy);
+				case "equals" -> proxy == args[0];
+				default -> null;
+				});
+
+		sut.activate(bundleContext);
+		assertEquals(List.of(io0), sut.get().getAll());
+	}
+}
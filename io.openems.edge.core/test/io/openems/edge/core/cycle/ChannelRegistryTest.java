@@ -0,0 +1,124 @@
+package io.openems.edge.core.cycle;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Test;
+
+import io.openems.common.types.OpenemsType;
+import io.openems.edge.common.channel.Doc;
+import io.openems.edge.common.channel.IntegerReadChannel;
+import io.openems.edge.common.component.OpenemsComponent;
+import io.openems.edge.common.test.AbstractDummyOpenemsComponent;
+
+public class ChannelRegistryTest {
+
+	private static class DummyComponent extends AbstractDummyOpenemsComponent<DummyComponent> {
+
+		public enum ChannelId implements io.openems.edge.common.channel.ChannelId {
+			FOO(Doc.of(OpenemsType.INTEGER)), //
+			BAR(Doc.of(OpenemsType.INTEGER)); //
+
+			private final Doc doc;
+
+			private ChannelId(Doc doc) {
+				this.doc = doc;
+			}
+
+			@Override
+			public Doc doc() {
+				return this.doc;
+			}
+		}
+
+		public DummyComponent(String id) {
+			super(id, //
+					OpenemsComponent.ChannelId.values(), //
+					ChannelId.values() //
+			);
+		}
+
+		private IntegerReadChannel addLateChannel() {
+			return (IntegerReadChannel) this.addChannel(new io.openems.edge.common.channel.ChannelId() {
+				@Override
+				public String name() {
+					return "LATE";
+				}
+
+				@Override
+				public Doc doc() {
+					return Doc.of(OpenemsType.INTEGER);
+				}
+			});
+		}
+
+		@Override
+		protected DummyComponent self() {
+			return this;
+		}
+	}
+
+	@Test
+	public void test() {
+		final var component = new DummyComponent("dummy0");
+		final var registry = new ChannelRegistry();
+		registry.addComponent(component);
+
+		IntegerReadChannel foo = component.channel(DummyComponent.ChannelId.FOO);
+		IntegerReadChannel bar = component.channel(DummyComponent.ChannelId.BAR);
+		final var fooUpdates = new AtomicInteger();
+		foo.onUpdate(value -> fooUpdates.incrementAndGet());
+
+		foo.setNextValue(1);
+		bar.setNextValue(2);
+		registry.nextProcessImage();
+		assertEquals(component.channels().size(), registry.size());
+		assertEquals(1, (int) foo.value().get());
+		assertEquals(2, (int) bar.value().get());
+		assertEquals(1, fooUpdates.get());
+
+		// 'onUpdate' callbacks are called every Cycle, even without new value
+		registry.nextProcessImage();
+		assertEquals(2, fooUpdates.get());
+
+		// Only changed Channels are switched
+		bar.setNextValue(null);
+		registry.nextProcessImage();
+		assertNull(bar.value().get());
+		assertEquals(1, (int) foo.value().get());
+		assertEquals(3, fooUpdates.get());
+	}
+
+	@Test
+	public void testComponentLifecycle() {
+		final var component0 = new DummyComponent("dummy0");
+		final var registry = new ChannelRegistry();
+		registry.addComponent(component0);
+		registry.nextProcessImage();
+		assertEquals(component0.channels().size(), registry.size());
+
+		// Component activated
+		final var component1 = new DummyComponent("dummy1");
+		registry.addComponent(component1);
+		IntegerReadChannel foo = component1.channel(DummyComponent.ChannelId.FOO);
+		foo.setNextValue(1);
+		registry.nextProcessImage();
+		assertEquals(component0.channels().size() + component1.channels().size(), registry.size());
+		assertEquals(1, (int) foo.value().get());
+
+		// Channel added after activation
+		final var late = component1.addLateChannel();
+		late.setNextValue(2);
+		registry.nextProcessImage();
+		assertEquals(component0.channels().size() + component1.channels().size(), registry.size());
+		assertEquals(2, (int) late.value().get());
+
+		// Component deactivated
+		registry.removeComponent(component1);
+		registry.nextProcessImage();
+		assertEquals(component0.channels().size(), registry.size());
+	}
+
+}
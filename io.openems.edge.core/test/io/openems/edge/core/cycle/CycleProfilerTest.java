@@ -0,0 +1,61 @@
+package io.openems.edge.core.cycle;
+
+import static java.time.temporal.ChronoUnit.MILLIS;
+import static java.time.temporal.ChronoUnit.MINUTES;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.time.Instant;
+
+import org.junit.Test;
+
+import io.openems.common.test.TimeLeapClock;
+import io.openems.edge.core.cycle.jsonrpc.GetCycleProfile.Category;
+
+public class CycleProfilerTest {
+
+	@Test
+	public void test() {
+		final var clock = new TimeLeapClock(Instant.ofEpochSecond(1_577_836_800));
+		final var profiler = new CycleProfiler(clock, CycleProfiler.DEFAULT_WINDOW);
+
+		profiler.startCycle();
+		profiler.recordEvent("topic/A", 1_000_000);
+		profiler.recordProcessImage(2_000_000);
+		profiler.recordController("ctrl0", 3_000_000);
+		profiler.recordController("ctrl1", 40_000_000);
+		profiler.recordEvent("topic/B", 5_000_000);
+		profiler.endCycle(60_000_000);
+
+		assertEquals("ctrl1", profiler.getSlowestPhase());
+		var profile = profiler.getProfile();
+		assertEquals(8, profile.size());
+		assertEquals(Category.TOTAL, profile.get(0).category());
+		assertEquals(60., profile.get(0).max(), 0.001);
+		assertEquals(6., profiler.events.getMax() / 1000., 0.001);
+		assertEquals(43., profiler.controllers.getMax() / 1000., 0.001);
+
+		// Window elapsed -> reset
+		clock.leap(5, MINUTES);
+		profiler.startCycle();
+		assertEquals(4, profiler.getProfile().size());
+		assertEquals(0, profiler.cycle.getTotalCount());
+		assertEquals(null, profiler.getSlowestPhase());
+	}
+
+	@Test
+	public void testChannelsUpdateDue() {
+		final var clock = new TimeLeapClock(Instant.ofEpochSecond(1_577_836_800));
+		final var profiler = new CycleProfiler(clock, CycleProfiler.DEFAULT_WINDOW);
+
+		assertTrue(profiler.isChannelsUpdateDue());
+		assertFalse(profiler.isChannelsUpdateDue());
+		clock.leap(999, MILLIS);
+		assertFalse(profiler.isChannelsUpdateDue());
+		clock.leap(1, MILLIS);
+		assertTrue(profiler.isChannelsUpdateDue());
+		assertFalse(profiler.isChannelsUpdateDue());
+	}
+
+}
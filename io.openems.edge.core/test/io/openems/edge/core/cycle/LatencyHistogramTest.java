@@ -0,0 +1,49 @@
+package io.openems.edge.core.cycle;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+public class LatencyHistogramTest {
+
+	@Test
+	public void testPercentiles() {
+		var histogram = new LatencyHistogram();
+		assertEquals(0, histogram.getValueAtPercentile(99));
+
+		for (var i = 1; i <= 1000; i++) {
+			histogram.record(i * 100L); // 0.1 ms .. 100 ms
+		}
+		assertEquals(1000, histogram.getTotalCount());
+		assertEquals(100_000, histogram.getMax());
+
+		var p50 = histogram.getValueAtPercentile(50);
+		assertTrue(p50 >= 50_000 && p50 <= 50_000 * 33 / 32);
+		var p99 = histogram.getValueAtPercentile(99);
+		assertTrue(p99 >= 99_000 && p99 <= 100_000);
+		assertEquals(100_000, histogram.getValueAtPercentile(100));
+
+		histogram.reset();
+		assertEquals(0, histogram.getTotalCount());
+		assertEquals(0, histogram.getMax());
+	}
+
+	@Test
+	public void testBuckets() {
+		for (var value = 0L; value < 1_000_000L; value += 7) {
+			var index = LatencyHistogram.bucketIndex(value);
+			var highest = LatencyHistogram.highestEquivalentValue(index);
+			assertTrue(highest >= value);
+			assertTrue(highest - value <= value / LatencyHistogram.SUB_BUCKET_HALF_COUNT);
+		}
+
+		// Clamped to highest trackable value
+		var histogram = new LatencyHistogram();
+		histogram.record(Long.MAX_VALUE);
+		histogram.record(-1);
+		assertEquals(LatencyHistogram.HIGHEST_TRACKABLE_VALUE, histogram.getMax());
+		assertEquals(0, histogram.getValueAtPercentile(50));
+	}
+
+}
@@ -11,5 +11,11 @@ import org.osgi.service.metatype.annotations.ObjectClassDefinition;
 	@AttributeDefinition(name = "Is enabled?", description = "Is this Component enabled?")
 	boolean enabled() default true;
 
+	@AttributeDefinition(name = "Optimizer Threads", description = "Number of threads used by the Optimizer. '1' runs the Optimizer in a single thread.")
+	int optimizerThreads() default 1;
+
+	@AttributeDefinition(name = "Optimizer Islands", description = "Number of sub-populations that are evolved in parallel and exchange their best Schedules. '1' disables the island model.")
+	int optimizerIslands() default 1;
+
 	String webconsole_configurationFactory_nameHint() default "Core Energy Scheduler";
 }
\ No newline at end of file
@@ -130,6 +130,7 @@ public class EnergySchedulerImpl extends AbstractOpenemsComponent
 			return false;
 		}
 
+		this.optimizer.configure(config.optimizerThreads(), config.optimizerIslands());
 		return true;
 	}
 
@@ -0,0 +1,177 @@
+package io.openems.edge.energy.optimizer;
+
+import static io.openems.edge.common.type.TypeUtils.fitWithin;
+import static io.openems.edge.energy.optimizer.Simulator.EFFICIENCY_FACTOR;
+import static java.lang.Math.max;
+import static java.lang.Math.min;
+
+import java.util.function.Function;
+
+import io.jenetics.Genotype;
+import io.jenetics.IntegerGene;
+import io.openems.edge.controller.ess.timeofusetariff.StateMachine;
+
+/**
+ * Allocation-free implementation of {@link Simulator#calculateCost(Params,
+ * StateMachine[])} for the fitness evaluation of the Optimizer.
+ *
+ * <p>
+ * Per-period constants are copied from {@link Params} to primitive arrays once.
+ * Every thread keeps the intermediate results of the last evaluated Schedule;
+ * evaluation of the next Schedule starts at the first period that differs, as
+ * Schedules after mutation usually share a common prefix.
+ *
+ * <p>
+ * Results are exactly the same as from {@link Simulator#calculateCost(Params,
+ * StateMachine[])}.
+ */
+public class CostFunction implements Function<Genotype<IntegerGene>, Double> {
+
+	private static class Scratch {
+		private final int[] genes;
+		/** ESS Initial Energy at the start of period [i]. */
+		private final int[] essInitial;
+		/** Cost of periods [0..i). */
+		private final double[] cost;
+		/** Number of periods with valid intermediate results. */
+		private int valid = 0;
+
+		private Scratch(int periods, int essInitialEnergy) {
+			this.genes = new int[periods];
+			this.essInitial = new int[periods + 1];
+			this.cost = new double[periods + 1];
+			this.essInitial[0] = essInitialEnergy;
+		}
+	}
+
+	private final StateMachine[] states;
+	private final int periods;
+	private final int essTotalEnergy;
+	private final int essMinSocEnergy;
+	private final int essMaxSocEnergy;
+	private final int[] production;
+	private final int[] consumption;
+	private final int[] essMaxChargeEnergy;
+	private final int[] essMaxDischargeEnergy;
+	private final int[] essChargeInChargeGrid;
+	private final int[] maxBuyFromGrid;
+	/** Prices with negative prices filtered. */
+	private final double[] price;
+	private final ThreadLocal<Scratch> scratch;
+
+	public CostFunction(Params p) {
+		this.states = p.states().clone();
+		this.periods = p.optimizePeriods().size();
+		this.essTotalEnergy = p.essTotalEnergy();
+		this.essMinSocEnergy = p.essMinSocEnergy();
+		this.essMaxSocEnergy = p.essMaxSocEnergy();
+		this.production = new int[this.periods];
+		this.consumption = new int[this.periods];
+		this.essMaxChargeEnergy = new int[this.periods];
+		this.essMaxDischargeEnergy = new int[this.periods];
+		this.essChargeInChargeGrid = new int[this.periods];
+		this.maxBuyFromGrid = new int[this.periods];
+		this.price = new double[this.periods];
+		for (var i = 0; i < this.periods; i++) {
+			var op = p.optimizePeriods().get(i);
+			this.production[i] = op.production();
+			this.consumption[i] = op.consumption();
+			this.essMaxChargeEnergy[i] = op.essMaxChargeEnergy();
+			this.essMaxDischargeEnergy[i] = op.essMaxDischargeEnergy();
+			this.essChargeInChargeGrid[i] = op.essChargeInChargeGrid();
+			this.maxBuyFromGrid[i] = op.maxBuyFromGrid();
+			this.price[i] = max(0, op.price());
+		}
+		final var periods = this.periods;
+		final var essInitialEnergy = p.essInitialEnergy();
+		this.scratch = ThreadLocal.withInitial(() -> new Scratch(periods, essInitialEnergy));
+	}
+
+	@Override
+	public Double apply(Genotype<IntegerGene> gt) {
+		final var s = this.scratch.get();
+		var from = s.valid;
+		for (var i = 0; i < this.periods; i++) {
+			var gene = gt.get(i).get(0).intValue();
+			if (i < from && gene != s.genes[i]) {
+				from = i;
+			}
+			s.genes[i] = gene;
+		}
+		return this.evaluate(s, from);
+	}
+
+	/**
+	 * Calculates the cost of a Schedule.
+	 *
+	 * @param genes the indexes of the {@link StateMachine} states in
+	 *              {@link Params#states()} per period
+	 * @return the cost, lower is better; always positive
+	 */
+	public double calculateCost(int[] genes) {
+		final var s = this.scratch.get();
+		var from = s.valid;
+		for (var i = 0; i < this.periods; i++) {
+			if (i < from && genes[i] != s.genes[i]) {
+				from = i;
+			}
+			s.genes[i] = genes[i];
+		}
+		return this.evaluate(s, from);
+	}
+
+	private double evaluate(Scratch s, int from) {
+		for (var i = from; i < this.periods; i++) {
+			final var essInitial = max(0, s.essInitial[i]); // always at least '0'
+			final var production = this.production[i];
+			final var consumption = this.consumption[i];
+
+			// Calculate Energy-Flow; see EnergyFlow
+			final int essMaxSocEnergy;
+			final int essTarget;
+			switch (this.states[s.genes[i]]) {
+			case DELAY_DISCHARGE -> {
+				essMaxSocEnergy = this.essTotalEnergy;
+				essTarget = min(0, consumption - production);
+			}
+			case CHARGE_GRID -> {
+				essMaxSocEnergy = this.essMaxSocEnergy;
+				essTarget = min(0, consumption - production) - this.essChargeInChargeGrid[i];
+			}
+			default /* BALANCING */ -> {
+				essMaxSocEnergy = this.essTotalEnergy;
+				essTarget = consumption - production;
+			}
+			}
+			var ess = max(consumption - production - this.maxBuyFromGrid[i], essTarget);
+			ess = fitWithin(-max(0, essMaxSocEnergy - essInitial), max(0, essInitial - this.essMinSocEnergy), ess);
+			ess = fitWithin(-this.essMaxChargeEnergy[i], this.essMaxDischargeEnergy[i], ess);
+			final var grid = consumption - production - ess;
+
+			s.essInitial[i + 1] = essInitial - ess;
+
+			// Calculate Cost
+			double cost;
+			if (grid > 0) {
+				final var productionToConsumption = min(production, consumption);
+				final var productionToEss = max(0, min(-ess, production - productionToConsumption));
+				final var productionToGrid = max(0, production - productionToConsumption - productionToEss);
+				final var essToConsumption = max(0,
+						min(consumption - productionToConsumption, ess - productionToGrid));
+				final var gridToConsumption = max(0, consumption - essToConsumption - productionToConsumption);
+				final var gridToEss = grid - gridToConsumption + productionToGrid;
+				final var price = this.price[i];
+				cost = // Cost for direct Consumption
+						gridToConsumption * price
+								// Cost for future Consumption after storage
+								+ gridToEss * price * EFFICIENCY_FACTOR;
+			} else {
+				// Sell-to-Grid
+				cost = 0.;
+			}
+			s.cost[i + 1] = s.cost[i] + cost;
+		}
+		s.valid = this.periods;
+		return s.cost[this.periods];
+	}
+}
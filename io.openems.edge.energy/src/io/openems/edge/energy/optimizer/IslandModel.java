@@ -0,0 +1,167 @@
+package io.openems.edge.energy.optimizer;
+
+import static java.util.Comparator.comparing;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+
+import io.jenetics.Genotype;
+import io.jenetics.IntegerGene;
+import io.jenetics.Phenotype;
+import io.jenetics.engine.Engine;
+import io.jenetics.engine.EvolutionResult;
+import io.jenetics.engine.EvolutionStart;
+import io.jenetics.util.ISeq;
+
+/**
+ * Evolves multiple sub-populations ('islands') of one {@link Engine} in
+ * parallel.
+ *
+ * <p>
+ * Islands are evolved independently of each other, which keeps the diversity
+ * of the search high. Every {@value #MIGRATION_INTERVAL} generations the
+ * {@value #MIGRANTS} best individuals of every island replace the worst
+ * individuals of the next island (ring topology).
+ *
+ * <p>
+ * Every island is seeded with the given initial population, i.e. with the best
+ * Schedule of the previous optimization run.
+ *
+ * <p>
+ * Islands are evolved on their own threads and not on the executor of the
+ * {@link Engine}: every island blocks while its fitness evaluation runs on that
+ * executor, which would starve a bounded pool if it had to run the islands as
+ * well.
+ */
+public class IslandModel {
+
+	/** Number of generations between two migrations. */
+	public static final int MIGRATION_INTERVAL = 10;
+
+	/** Number of individuals that migrate from one island to the next. */
+	public static final int MIGRANTS = 2;
+
+	private IslandModel() {
+	}
+
+	/**
+	 * Evolves the islands till the execution limit is reached.
+	 *
+	 * <p>
+	 * At least one generation is evolved, even if the limits are already
+	 * reached.
+	 *
+	 * @param engine            the {@link Engine}
+	 * @param initialPopulation the initial population of every island
+	 * @param islands           the number of islands
+	 * @param executionLimit    the max execution time
+	 * @param limit             the max number of generations; null for no limit
+	 * @return the best {@link Genotype} of all islands
+	 */
+	public static Genotype<IntegerGene> evolve(Engine<IntegerGene, Double> engine,
+			List<Genotype<IntegerGene>> initialPopulation, int islands, Duration executionLimit, Integer limit) {
+		final var executor = Executors.newFixedThreadPool(islands, new ThreadFactoryBuilder() //
+				.setNameFormat("Optimizer-Island-%d") //
+				.setPriority(Thread.MIN_PRIORITY) //
+				.build());
+		try {
+			return evolve(engine, initialPopulation, islands, executor, executionLimit,
+					limit == null ? null : Math.max(1, limit));
+		} finally {
+			executor.shutdownNow();
+		}
+	}
+
+	private static Genotype<IntegerGene> evolve(Engine<IntegerGene, Double> engine,
+			List<Genotype<IntegerGene>> initialPopulation, int islands, ExecutorService executor,
+			Duration executionLimit, Integer limit) {
+		final var deadline = System.nanoTime() + executionLimit.toNanos();
+		final var starts = new ArrayList<EvolutionStart<IntegerGene, Double>>(islands);
+		for (var i = 0; i < islands; i++) {
+			starts.add(EvolutionStart.of(buildPopulation(engine, initialPopulation), 1));
+		}
+
+		Phenotype<IntegerGene, Double> best = null;
+		for (var generation = 1; //
+				limit == null || generation <= limit; //
+				generation++) {
+			// Evolve all islands by one generation
+			final var futures = starts.stream() //
+					.map(start -> CompletableFuture.supplyAsync(() -> engine.evolve(start), executor)) //
+					.toList();
+			final var results = futures.stream() //
+					.map(CompletableFuture::join) //
+					.toList();
+
+			for (var result : results) {
+				var candidate = result.bestPhenotype();
+				if (best == null || candidate.fitness() < best.fitness()) {
+					best = candidate;
+				}
+			}
+
+			final var populations = results.stream() //
+					.map(EvolutionResult::population) //
+					.toList();
+			final var migrate = islands > 1 && generation % MIGRATION_INTERVAL == 0;
+			for (var i = 0; i < islands; i++) {
+				var population = populations.get(i);
+				if (migrate) {
+					population = migrate(populations.get((i + islands - 1) % islands), population);
+				}
+				starts.set(i, EvolutionStart.of(population, results.get(i).generation() + 1));
+			}
+
+			if (System.nanoTime() - deadline >= 0 || Thread.currentThread().isInterrupted()) {
+				break;
+			}
+		}
+		return best.genotype();
+	}
+
+	/**
+	 * Builds the population of one island from the initial population, filled up
+	 * with random individuals.
+	 *
+	 * @param engine            the {@link Engine}
+	 * @param initialPopulation the initial population
+	 * @return the population
+	 */
+	private static ISeq<Phenotype<IntegerGene, Double>> buildPopulation(Engine<IntegerGene, Double> engine,
+			List<Genotype<IntegerGene>> initialPopulation) {
+		final var size = Math.max(engine.populationSize(), initialPopulation.size());
+		final var result = new ArrayList<Phenotype<IntegerGene, Double>>(size);
+		for (var gt : initialPopulation) {
+			result.add(Phenotype.<IntegerGene, Double>of(gt, 1));
+		}
+		while (result.size() < size) {
+			result.add(Phenotype.<IntegerGene, Double>of(engine.genotypeFactory().newInstance(), 1));
+		}
+		return ISeq.of(result);
+	}
+
+	/**
+	 * Replaces the worst individuals of the target population with the best
+	 * individuals of the source population.
+	 *
+	 * @param source the source population
+	 * @param target the target population
+	 * @return the new target population
+	 */
+	protected static ISeq<Phenotype<IntegerGene, Double>> migrate(ISeq<Phenotype<IntegerGene, Double>> source,
+			ISeq<Phenotype<IntegerGene, Double>> target) {
+		final var migrants = Math.min(MIGRANTS, Math.min(source.size(), target.size()));
+		final var bestOfSource = source.copy().sort(comparing(Phenotype::fitness));
+		final var result = target.copy().sort(comparing(Phenotype::fitness));
+		for (var i = 0; i < migrants; i++) {
+			result.set(result.size() - 1 - i, bestOfSource.get(i));
+		}
+		return result.toISeq();
+	}
+}
@@ -15,6 +15,9 @@ import java.time.Instant;
 import java.time.ZonedDateTime;
 import java.util.Map.Entry;
 import java.util.TreeMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -41,6 +44,11 @@ public class Optimizer extends AbstractImmediateWorker {
 
 	private Params params = null;
 
+	private volatile int threads = 1;
+	private volatile int islands = 1;
+	/** The pool for parallel fitness evaluation; only used by the worker thread. */
+	private ForkJoinPool pool = null;
+
 	public Optimizer(ThrowingSupplier<GlobalContext, OpenemsException> globalContext) {
 		this.globalContext = globalContext;
 		initializeRandomRegistryForProduction();
@@ -64,7 +72,8 @@ public class Optimizer extends AbstractImmediateWorker {
 		executionLimitSeconds = calculateExecutionLimitSeconds(globalContext.clock());
 
 		// Find best Schedule
-		var schedule = Simulator.getBestSchedule(this.params, executionLimitSeconds);
+		var schedule = Simulator.getBestSchedule(this.params, executionLimitSeconds, null, null, this.getExecutor(),
+				this.islands);
 
 		// Re-Simulate and keep best Schedule
 		var newSchedule = simulate(this.params, schedule);
@@ -95,6 +104,60 @@ public class Optimizer extends AbstractImmediateWorker {
 		}
 	}
 
+	/**
+	 * Configures parallel optimization.
+	 * 
+	 * @param threads the number of threads for fitness evaluation; '1' for the
+	 *                current thread
+	 * @param islands the number of islands; see {@link IslandModel}
+	 */
+	public void configure(int threads, int islands) {
+		this.threads = Math.max(1, threads);
+		this.islands = Math.max(1, islands);
+	}
+
+	/**
+	 * Gets the {@link Executor} for the next run. (Re-)Creates the bounded
+	 * {@link ForkJoinPool} if the number of threads changed.
+	 * 
+	 * @return the {@link Executor}
+	 */
+	private synchronized Executor getExecutor() {
+		final var threads = this.threads;
+		if (this.pool != null && this.pool.getParallelism() != threads) {
+			this.pool.shutdown();
+			this.pool = null;
+		}
+		if (threads <= 1) {
+			return Runnable::run; // current thread
+		}
+		if (this.pool == null) {
+			this.pool = new ForkJoinPool(threads, //
+					fjp -> {
+						var thread = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(fjp);
+						thread.setName("Optimizer-" + thread.getPoolIndex());
+						thread.setPriority(Thread.MIN_PRIORITY);
+						return thread;
+					}, //
+					null, false, //
+					/* corePoolSize */ threads, /* maximumPoolSize */ threads, /* minimumRunnable */ 1, //
+					/* saturate instead of RejectedExecutionException */ fjp -> true, //
+					60, TimeUnit.SECONDS);
+		}
+		return this.pool;
+	}
+
+	@Override
+	public void deactivate() {
+		super.deactivate();
+		synchronized (this) {
+			if (this.pool != null) {
+				this.pool.shutdownNow();
+				this.pool = null;
+			}
+		}
+	}
+
 	/**
 	 * Try forever till all data is available (e.g. ESS Capacity)
 	 * 
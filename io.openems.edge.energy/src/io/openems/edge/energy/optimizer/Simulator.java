@@ -9,9 +9,9 @@ import static java.lang.Math.max;
 import static java.time.Duration.ofSeconds;
 
 import java.time.ZonedDateTime;
+import java.util.concurrent.Executor;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Consumer;
-import java.util.function.Function;
 import java.util.stream.IntStream;
 import java.util.stream.Stream;
 
@@ -140,6 +140,23 @@ public class Simulator {
 
 	protected static StateMachine[] getBestSchedule(Params p, long executionLimitSeconds, Integer populationSize,
 			Integer limit) {
+		return getBestSchedule(p, executionLimitSeconds, populationSize, limit, Runnable::run /* current thread */, 1);
+	}
+
+	/**
+	 * Runs the optimization.
+	 * 
+	 * @param p                     the {@link Params}
+	 * @param executionLimitSeconds limit.byExecutionTime.ofSeconds
+	 * @param populationSize        the population size per island; null for
+	 *                              default
+	 * @param limit                 the max number of generations; null for no limit
+	 * @param executor              the {@link Executor} for fitness evaluation
+	 * @param islands               the number of islands; see {@link IslandModel}
+	 * @return the best schedule
+	 */
+	protected static StateMachine[] getBestSchedule(Params p, long executionLimitSeconds, Integer populationSize,
+			Integer limit, Executor executor, int islands) {
 		// Return pure BALANCING Schedule if no predictions are available
 		if (!paramsAreValid(p)) {
 			return p.optimizePeriods().stream() //
@@ -148,28 +165,28 @@ public class Simulator {
 		}
 
 		var gtf = Genotype.of(IntegerChromosome.of(IntegerGene.of(0, p.states().length)), p.optimizePeriods().size()); //
-		var eval = (Function<Genotype<IntegerGene>, Double>) (gt) -> {
-			var modes = new StateMachine[p.optimizePeriods().size()];
-			for (var i = 0; i < modes.length; i++) {
-				modes[i] = p.states()[gt.get(i).get(0).intValue()];
-			}
-			return calculateCost(p, modes);
-		};
+		var eval = new CostFunction(p);
 		var engine = Engine //
 				.builder(eval, gtf) //
-				.executor(Runnable::run) // current thread
+				.executor(executor) //
 				.minimizing();
 		if (populationSize != null) {
 			engine.populationSize(populationSize); //
 		}
-		Stream<EvolutionResult<IntegerGene, Double>> stream = engine.build() //
-				.stream(buildInitialPopulation(p)) //
-				.limit(byExecutionTime(ofSeconds(executionLimitSeconds))); //
-		if (limit != null) {
-			stream = stream.limit(limit); // apply optional limit
+		final Genotype<IntegerGene> bestGt;
+		if (islands > 1) {
+			bestGt = IslandModel.evolve(engine.build(), buildInitialPopulation(p), islands,
+					ofSeconds(executionLimitSeconds), limit);
+		} else {
+			Stream<EvolutionResult<IntegerGene, Double>> stream = engine.build() //
+					.stream(buildInitialPopulation(p)) //
+					.limit(byExecutionTime(ofSeconds(executionLimitSeconds))); //
+			if (limit != null) {
+				stream = stream.limit(limit); // apply optional limit
+			}
+			bestGt = stream //
+					.collect(toBestGenotype());
 		}
-		var bestGt = stream //
-				.collect(toBestGenotype());
 		return IntStream.range(0, p.optimizePeriods().size()) //
 				.mapToObj(period -> p.states()[bestGt.get(period).get(0).intValue()]) //
 				.toArray(StateMachine[]::new);
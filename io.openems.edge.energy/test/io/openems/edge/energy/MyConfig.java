@@ -12,6 +12,8 @@ public class MyConfig extends AbstractComponentConfig implements Config {
 		private int essMaxChargePower;
 		private int maxChargePowerFromGrid;
 		private boolean limitChargePowerFor14aEnWG;
+		private int optimizerThreads = 1;
+		private int optimizerIslands = 1;
 
 		private Builder() {
 		}
@@ -46,6 +48,16 @@ public class MyConfig extends AbstractComponentConfig implements Config {
 			return this;
 		}
 
+		public Builder setOptimizerThreads(int optimizerThreads) {
+			this.optimizerThreads = optimizerThreads;
+			return this;
+		}
+
+		public Builder setOptimizerIslands(int optimizerIslands) {
+			this.optimizerIslands = optimizerIslands;
+			return this;
+		}
+
 		public MyConfig build() {
 			return new MyConfig(this);
 		}
@@ -71,4 +83,14 @@ public class MyConfig extends AbstractComponentConfig implements Config {
 	public boolean enabled() {
 		return this.builder.enabled;
 	}
-}
\ No newline at end of file
+
+	@Override
+	public int optimizerThreads() {
+		return this.builder.optimizerThreads;
+	}
+
+	@Override
+	public int optimizerIslands() {
+		return this.builder.optimizerIslands;
+	}
+}
@@ -0,0 +1,67 @@
+package io.openems.edge.energy.optimizer;
+
+import static io.openems.edge.energy.optimizer.SimulatorTest.createParams888d20231106;
+
+import java.util.Random;
+import java.util.function.ToDoubleFunction;
+
+import io.openems.edge.controller.ess.timeofusetariff.ControlMode;
+import io.openems.edge.controller.ess.timeofusetariff.StateMachine;
+
+/**
+ * This little application compares the throughput of the fitness evaluation
+ * of {@link Simulator#calculateCost(Params, StateMachine[])} and
+ * {@link CostFunction}.
+ *
+ * <p>
+ * Schedules are mutated in one period between two evaluations, like during
+ * the optimization.
+ */
+public class CostFunctionBenchmarkApp {
+
+	private static final int WARMUP_ITERATIONS = 200_000;
+	private static final int ITERATIONS = 2_000_000;
+
+	/**
+	 * Run the Application.
+	 *
+	 * @param args the args
+	 */
+	public static void main(String[] args) {
+		var p = createParams888d20231106(ControlMode.CHARGE_CONSUMPTION.states);
+		var costFunction = new CostFunction(p);
+
+		for (var run = 0; run < 2; run++) {
+			var iterations = run == 0 ? WARMUP_ITERATIONS : ITERATIONS;
+			var simulator = benchmark(p, iterations, genes -> {
+				var schedule = new StateMachine[genes.length];
+				for (var i = 0; i < genes.length; i++) {
+					schedule[i] = p.states()[genes[i]];
+				}
+				return Simulator.calculateCost(p, schedule);
+			});
+			var kernel = benchmark(p, iterations, costFunction::calculateCost);
+			if (run > 0) {
+				System.out.println(String.format("Simulator:    %,12.0f evaluations/s", simulator));
+				System.out.println(String.format("CostFunction: %,12.0f evaluations/s", kernel));
+				System.out.println(String.format("Speed-Up:     %12.1fx", kernel / simulator));
+			}
+		}
+	}
+
+	private static double benchmark(Params p, int iterations, ToDoubleFunction<int[]> cost) {
+		var random = new Random(123);
+		var genes = new int[p.optimizePeriods().size()];
+		var sum = 0.;
+		var start = System.nanoTime();
+		for (var i = 0; i < iterations; i++) {
+			genes[random.nextInt(genes.length)] = random.nextInt(p.states().length);
+			sum += cost.applyAsDouble(genes);
+		}
+		var duration = System.nanoTime() - start;
+		if (sum < 0) {
+			throw new IllegalStateException(); // consume result
+		}
+		return iterations * 1_000_000_000. / duration;
+	}
+}
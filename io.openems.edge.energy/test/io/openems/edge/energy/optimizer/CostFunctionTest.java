@@ -0,0 +1,46 @@
+package io.openems.edge.energy.optimizer;
+
+import static io.openems.edge.energy.optimizer.SimulatorTest.createParams888d20231106;
+import static org.junit.Assert.assertEquals;
+
+import java.util.Random;
+
+import org.junit.Test;
+
+import io.openems.edge.controller.ess.timeofusetariff.ControlMode;
+import io.openems.edge.controller.ess.timeofusetariff.StateMachine;
+
+public class CostFunctionTest {
+
+	private static StateMachine[] toSchedule(Params p, int[] genes) {
+		var result = new StateMachine[genes.length];
+		for (var i = 0; i < genes.length; i++) {
+			result[i] = p.states()[genes[i]];
+		}
+		return result;
+	}
+
+	@Test
+	public void testSameResultAsSimulator() {
+		var p = createParams888d20231106(ControlMode.CHARGE_CONSUMPTION.states);
+		var sut = new CostFunction(p);
+		var random = new Random(123);
+		var genes = new int[p.optimizePeriods().size()];
+
+		for (var i = 0; i < 1000; i++) {
+			if (i % 100 == 0) {
+				// Completely new Schedule
+				for (var j = 0; j < genes.length; j++) {
+					genes[j] = random.nextInt(p.states().length);
+				}
+			} else {
+				// Mutation of one period
+				genes[random.nextInt(genes.length)] = random.nextInt(p.states().length);
+			}
+			assertEquals(Simulator.calculateCost(p, toSchedule(p, genes)), sut.calculateCost(genes), 0.);
+		}
+
+		// Same Schedule again
+		assertEquals(Simulator.calculateCost(p, toSchedule(p, genes)), sut.calculateCost(genes), 0.);
+	}
+}
@@ -18,6 +18,7 @@ import java.time.ZoneId;
 import java.time.ZonedDateTime;
 import java.util.Arrays;
 import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicReference;
 import java.util.stream.DoubleStream;
@@ -166,6 +167,50 @@ public class SimulatorTest {
 		assertArrayEquals(existingSchedule, Arrays.copyOfRange(s, 0, existingSchedule.length));
 	}
 
+	@Test
+	public void testGetBestScheduleParallel() {
+		var existingSchedule = new StateMachine[] { CHARGE_GRID, DELAY_DISCHARGE, CHARGE_GRID, BALANCING };
+
+		var p = Params.create() //
+				.setTime(TIME) //
+				.setEssTotalEnergy(22000) //
+				.setEssMinSocEnergy(0) //
+				.setEssMaxSocEnergy(22000) //
+				.setEssInitialEnergy((int) (22000 * 0.1)) //
+				.setEssMaxChargeEnergy(toEnergy(10000)) //
+				.setEssMaxDischargeEnergy(toEnergy(10000)) //
+				.seMaxBuyFromGrid(toEnergy(24_000)) //
+				.setProductions(stream(interpolateArray(PRODUCTION_888_20231106)).map(v -> toEnergy(v)).toArray()) //
+				.setConsumptions(stream(interpolateArray(CONSUMPTION_888_20231106)).map(v -> toEnergy(v)).toArray()) //
+				.setPrices(hourlyToQuarterly(interpolateArray(PRICES_888_20231106))) //
+				.setStates(ControlMode.CHARGE_CONSUMPTION.states) //
+				.setExistingSchedule(UtilsTest.prepareExistingSchedule(TIME, existingSchedule)) //
+				.build();
+		var pool = new ForkJoinPool(2);
+		try {
+			var s = getBestSchedule(p, //
+					/* executionLimitSeconds */ 30, //
+					/* populationSize */ 4, //
+					/* limit */ IslandModel.MIGRATION_INTERVAL + 1, //
+					pool, //
+					/* islands */ 3);
+
+			assertEquals(p.optimizePeriods().size(), s.length);
+
+			// At least one generation is evolved
+			s = getBestSchedule(p, //
+					/* executionLimitSeconds */ 30, //
+					/* populationSize */ 4, //
+					/* limit */ 0, //
+					pool, //
+					/* islands */ 3);
+
+			assertEquals(p.optimizePeriods().size(), s.length);
+		} finally {
+			pool.shutdown();
+		}
+	}
+
 	/**
 	 * Creates dummy {@link Params}.
 	 * 
@@ -43,6 +43,17 @@ public class Data {
 	private boolean symmetricMode = EssPower.DEFAULT_SYMMETRIC_MODE;
 	private Consumer<Boolean> onStaticConstraintsFailed = null;
 
+	/**
+	 * Incremented on every change of Constraints or Inverters.
+	 */
+	private int version = 0;
+
+	/**
+	 * Cached result of {@link #getConstraintsForAllInverters()}; null if it needs
+	 * to be recalculated.
+	 */
+	private List<Constraint> constraintsForAllInverters = null;
+
 	/**
 	 * Adds a callback for onStaticConstraintsFailed event.
 	 *
@@ -86,6 +97,7 @@ public class Data {
 	}
 
 	private synchronized void updateInverters() {
+		this.invalidate();
 		this.inverters.clear();
 
 		// Create inverters and add them to list
@@ -109,6 +121,7 @@ public class Data {
 	protected synchronized void initializeCycle() {
 		// Remove Constraints of last Cycle
 		this.constraints.clear();
+		this.invalidate();
 		// Update sorting of Inverters
 		WeightsUtil.updateWeightsFromSoc(this.inverters, this.esss);
 		WeightsUtil.adjustSortingByWeights(this.inverters);
@@ -122,12 +135,34 @@ public class Data {
 		return Collections.unmodifiableList(this.inverters);
 	}
 
-	protected void addConstraint(Constraint constraint) {
+	protected synchronized void addConstraint(Constraint constraint) {
 		this.constraints.add(constraint);
+		this.invalidate();
 	}
 
-	protected void removeConstraint(Constraint constraint) {
-		this.constraints.remove(constraint);
+	protected synchronized void removeConstraint(Constraint constraint) {
+		if (this.constraints.remove(constraint)) {
+			this.invalidate();
+		}
+	}
+
+	/**
+	 * Invalidates cached Constraints, e.g. because values of the ESS changed.
+	 */
+	protected synchronized void invalidate() {
+		this.version++;
+		this.constraintsForAllInverters = null;
+	}
+
+	/**
+	 * Gets the version of the Constraints. It changes on every change of
+	 * Constraints or Inverters and can be used as a cache key for results that
+	 * depend on {@link #getConstraintsForAllInverters()}.
+	 *
+	 * @return the version
+	 */
+	public synchronized int getVersion() {
+		return this.version;
 	}
 
 	/**
@@ -141,8 +176,8 @@ public class Data {
 	 * @param value        the value
 	 * @throws OpenemsException on error
 	 */
-	public void addSimpleConstraint(String description, String essId, Phase phase, Pwr pwr, Relationship relationship,
-			double value) throws OpenemsException {
+	public synchronized void addSimpleConstraint(String description, String essId, Phase phase, Pwr pwr,
+			Relationship relationship, double value) throws OpenemsException {
 		if (this.symmetricMode && phase != Phase.ALL) {
 			// Symmetric Mode is activated; but asymmetric Constraints is added
 			phase = Phase.ALL;
@@ -150,6 +185,7 @@ public class Data {
 		}
 		this.constraints.add(ConstraintUtil.createSimpleConstraint(this.coefficients, //
 				description, essId, phase, pwr, relationship, value));
+		this.invalidate();
 	}
 
 	/**
@@ -176,11 +212,18 @@ public class Data {
 	/**
 	 * Gets Constraints for all Inverters.
 	 *
-	 * @return List of Constraints
+	 * <p>
+	 * The Constraints are cached till the next change of Constraints or Inverters;
+	 * see {@link #getVersion()}.
+	 *
+	 * @return a modifiable copy of the List of Constraints
 	 * @throws OpenemsException on error
 	 */
-	public List<Constraint> getConstraintsForAllInverters() throws OpenemsException {
-		return this.getConstraintsWithoutDisabledInverters(Collections.emptyList());
+	public synchronized List<Constraint> getConstraintsForAllInverters() throws OpenemsException {
+		if (this.constraintsForAllInverters == null) {
+			this.constraintsForAllInverters = this.getConstraintsWithoutDisabledInverters(Collections.emptyList());
+		}
+		return new ArrayList<>(this.constraintsForAllInverters);
 	}
 
 	/**
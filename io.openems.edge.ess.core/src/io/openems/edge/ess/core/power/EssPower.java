@@ -63,7 +63,31 @@ public interface EssPower extends OpenemsComponent, EventHandler, Power {
 		 * <li>Type: Boolean
 		 * </ul>
 		 */
-		STATIC_CONSTRAINTS_FAILED(Doc.of(Level.FAULT));
+		STATIC_CONSTRAINTS_FAILED(Doc.of(Level.FAULT)),
+		/**
+		 * The number of solved Power extrema (getMaxPower/getMinPower) in the last
+		 * Cycle.
+		 *
+		 * <ul>
+		 * <li>Interface: PowerComponent
+		 * <li>Type: Integer
+		 * <li>Range: positive
+		 * </ul>
+		 */
+		EXTREMA_SOLVE_COUNT(Doc.of(OpenemsType.INTEGER)),
+		/**
+		 * The share of Power extrema (getMaxPower/getMinPower) in the last Cycle that
+		 * were answered from cache.
+		 *
+		 * <ul>
+		 * <li>Interface: PowerComponent
+		 * <li>Type: Integer
+		 * <li>Unit: %
+		 * <li>Range: 0..100
+		 * </ul>
+		 */
+		EXTREMA_CACHE_HIT_RATE(Doc.of(OpenemsType.INTEGER) //
+				.unit(Unit.PERCENT));
 
 		private final Doc doc;
 
@@ -153,4 +177,42 @@ public interface EssPower extends OpenemsComponent, EventHandler, Power {
 		this.getStaticConstraintsFailedChannel().setNextValue(value);
 	}
 
+	/**
+	 * Gets the Channel for {@link ChannelId#EXTREMA_SOLVE_COUNT}.
+	 *
+	 * @return the Channel
+	 */
+	public default IntegerReadChannel getExtremaSolveCountChannel() {
+		return this.channel(ChannelId.EXTREMA_SOLVE_COUNT);
+	}
+
+	/**
+	 * Internal method to set the 'nextValue' on
+	 * {@link ChannelId#EXTREMA_SOLVE_COUNT} Channel.
+	 *
+	 * @param value the next value
+	 */
+	public default void _setExtremaSolveCount(int value) {
+		this.getExtremaSolveCountChannel().setNextValue(value);
+	}
+
+	/**
+	 * Gets the Channel for {@link ChannelId#EXTREMA_CACHE_HIT_RATE}.
+	 *
+	 * @return the Channel
+	 */
+	public default IntegerReadChannel getExtremaCacheHitRateChannel() {
+		return this.channel(ChannelId.EXTREMA_CACHE_HIT_RATE);
+	}
+
+	/**
+	 * Internal method to set the 'nextValue' on
+	 * {@link ChannelId#EXTREMA_CACHE_HIT_RATE} Channel.
+	 *
+	 * @param value the next value
+	 */
+	public default void _setExtremaCacheHitRate(Integer value) {
+		this.getExtremaCacheHitRateChannel().setNextValue(value);
+	}
+
 }
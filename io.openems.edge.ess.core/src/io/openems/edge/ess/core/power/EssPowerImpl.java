@@ -1,6 +1,8 @@
 package io.openems.edge.ess.core.power;
 
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 import org.apache.commons.math3.optim.nonlinear.scalar.GoalType;
 import org.osgi.service.cm.ConfigurationAdmin;
@@ -32,6 +34,7 @@ import io.openems.edge.ess.api.ManagedSymmetricEss;
 import io.openems.edge.ess.core.power.data.ConstraintUtil;
 import io.openems.edge.ess.core.power.data.LogUtil;
 import io.openems.edge.ess.core.power.solver.CalculatePowerExtrema;
+import io.openems.edge.ess.core.power.solver.DenseSimplexSolver;
 import io.openems.edge.ess.power.api.Coefficient;
 import io.openems.edge.ess.power.api.Constraint;
 import io.openems.edge.ess.power.api.Phase;
@@ -49,6 +52,7 @@ import io.openems.edge.ess.power.api.Relationship;
 				"enabled=true" //
 		})
 @EventTopics({ //
+		EdgeEventConstants.TOPIC_CYCLE_AFTER_PROCESS_IMAGE, //
 		EdgeEventConstants.TOPIC_CYCLE_BEFORE_WRITE, //
 		EdgeEventConstants.TOPIC_CYCLE_AFTER_WRITE //
 })
@@ -61,6 +65,20 @@ public class EssPowerImpl extends AbstractOpenemsComponent implements EssPower,
 
 	private final Data data;
 	private final Solver solver;
+	private final DenseSimplexSolver extremaSolver = new DenseSimplexSolver();
+
+	private static record ExtremaKey(String essId, Phase phase, Pwr pwr, GoalType goal) {
+	}
+
+	/**
+	 * Cached extrema of all Coefficients, calculated in one pass; only valid for
+	 * {@link #extremaCacheVersion}.
+	 */
+	private final Map<ExtremaKey, Double> extremaCache = new HashMap<>();
+	private int extremaCacheVersion = -1;
+	private int extremaCacheHits = 0;
+	private int extremaQueries = 0;
+	private int extremaSolves = 0;
 
 	private boolean debugMode = EssPowerImpl.DEFAULT_DEBUG_MODE;
 
@@ -195,6 +213,58 @@ public class EssPowerImpl extends AbstractOpenemsComponent implements EssPower,
 	}
 
 	private int getActivePowerExtrema(ManagedSymmetricEss ess, Phase phase, Pwr pwr, GoalType goal) {
+		final var key = new ExtremaKey(ess.id(), phase, pwr, goal);
+		synchronized (this.extremaCache) {
+			this.extremaQueries++;
+			// Read version before Constraints
+			final var version = this.data.getVersion();
+			final var isHit = version == this.extremaCacheVersion;
+			if (!isHit) {
+				this.extremaCache.clear();
+				this.extremaCacheVersion = version;
+				this.calculateAllActivePowerExtrema();
+				if (version != this.data.getVersion()) {
+					// Constraints changed meanwhile
+					this.extremaCache.clear();
+					this.extremaCacheVersion = -1;
+				}
+			}
+			var power = this.extremaCache.get(key);
+			if (power != null && isHit) {
+				this.extremaCacheHits++;
+			} else if (power == null) {
+				// Unknown Coefficient or Constraints changed meanwhile
+				this.extremaSolves++;
+				power = this.calculateActivePowerExtrema(ess, phase, pwr, goal);
+			}
+			return this.toActivePowerExtrema(ess, phase, pwr, goal, power);
+		}
+	}
+
+	/**
+	 * Fills the {@link #extremaCache} with the extrema of all Coefficients in one
+	 * warm-started pass.
+	 */
+	private void calculateAllActivePowerExtrema() {
+		final List<Constraint> allConstraints;
+		try {
+			allConstraints = this.data.getConstraintsForAllInverters();
+		} catch (OpenemsException e) {
+			this.logError(this.log, "Unable to get Constraints " + e.getMessage());
+			return;
+		}
+		final var coefficients = this.data.getCoefficients();
+		final var extrema = CalculatePowerExtrema.all(this.extremaSolver, coefficients, allConstraints);
+		for (var c : coefficients.getAll()) {
+			this.extremaCache.put(new ExtremaKey(c.getEssId(), c.getPhase(), c.getPwr(), GoalType.MINIMIZE),
+					extrema[c.getIndex()][0]);
+			this.extremaCache.put(new ExtremaKey(c.getEssId(), c.getPhase(), c.getPwr(), GoalType.MAXIMIZE),
+					extrema[c.getIndex()][1]);
+		}
+		this.extremaSolves += this.extremaCache.size();
+	}
+
+	private double calculateActivePowerExtrema(ManagedSymmetricEss ess, Phase phase, Pwr pwr, GoalType goal) {
 		final List<Constraint> allConstraints;
 		try {
 			allConstraints = this.data.getConstraintsForAllInverters();
@@ -202,7 +272,11 @@ public class EssPowerImpl extends AbstractOpenemsComponent implements EssPower,
 			this.logError(this.log, "Unable to get Constraints " + e.getMessage());
 			return 0;
 		}
-		var power = CalculatePowerExtrema.from(this.data.getCoefficients(), allConstraints, ess.id(), phase, pwr, goal);
+		return CalculatePowerExtrema.from(this.extremaSolver, this.data.getCoefficients(), allConstraints, ess.id(),
+				phase, pwr, goal);
+	}
+
+	private int toActivePowerExtrema(ManagedSymmetricEss ess, Phase phase, Pwr pwr, GoalType goal, double power) {
 		if (power <= Integer.MIN_VALUE || power >= Integer.MAX_VALUE) {
 			this.logError(this.log, goal.name() + " Power for [" + ess.toString() + "," + phase.toString() + ","
 					+ pwr.toString() + "=" + power + "] is out of bounds. Returning '0'");
@@ -221,8 +295,24 @@ public class EssPowerImpl extends AbstractOpenemsComponent implements EssPower,
 			this.solver.solve(this.config.strategy());
 			break;
 		case EdgeEventConstants.TOPIC_CYCLE_AFTER_WRITE:
+			this.updateExtremaChannels();
 			this.data.initializeCycle();
 			break;
+		case EdgeEventConstants.TOPIC_CYCLE_AFTER_PROCESS_IMAGE:
+			// Static Constraints depend on Channel values of the ESS
+			this.data.invalidate();
+			break;
+		}
+	}
+
+	private void updateExtremaChannels() {
+		synchronized (this.extremaCache) {
+			this._setExtremaSolveCount(this.extremaSolves);
+			this._setExtremaCacheHitRate(this.extremaQueries == 0 ? null
+					: Math.round(this.extremaCacheHits * 100f / this.extremaQueries));
+			this.extremaCacheHits = 0;
+			this.extremaQueries = 0;
+			this.extremaSolves = 0;
 		}
 	}
 
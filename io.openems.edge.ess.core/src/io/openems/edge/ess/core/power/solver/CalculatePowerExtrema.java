@@ -15,6 +15,7 @@ import org.slf4j.LoggerFactory;
 import io.openems.common.exceptions.OpenemsException;
 import io.openems.edge.ess.api.ManagedSymmetricEss;
 import io.openems.edge.ess.core.power.data.LinearSolverUtil;
+import io.openems.edge.ess.power.api.Coefficient;
 import io.openems.edge.ess.power.api.Coefficients;
 import io.openems.edge.ess.power.api.Constraint;
 import io.openems.edge.ess.power.api.Phase;
@@ -24,6 +25,98 @@ public class CalculatePowerExtrema {
 
 	private static final Logger LOG = LoggerFactory.getLogger(CalculatePowerExtrema.class);
 
+	/**
+	 * Calculates the extrema under the current constraints for the given
+	 * parameters using a {@link DenseSimplexSolver}.
+	 *
+	 * <p>
+	 * The {@link DenseSimplexSolver} keeps its state between calls; subsequent
+	 * calls with the same or similar constraints are warm-started. Falls back to
+	 * {@link #from(Coefficients, List, String, Phase, Pwr, GoalType)} if the
+	 * {@link DenseSimplexSolver} fails.
+	 *
+	 * @param solver         the {@link DenseSimplexSolver}
+	 * @param coefficients   the {@link Coefficients}
+	 * @param allConstraints all active {@link Constraint}s
+	 * @param essId          the ID of the {@link ManagedSymmetricEss}
+	 * @param phase          the {@link Phase}
+	 * @param pwr            the {@link Pwr}
+	 * @param goal           the {@link GoalType}
+	 * @return the extrema value; or 0 on error
+	 */
+	public static double from(DenseSimplexSolver solver, Coefficients coefficients, List<Constraint> allConstraints,
+			String essId, Phase phase, Pwr pwr, GoalType goal) {
+		int index;
+		try {
+			index = coefficients.of(essId, phase, pwr).getIndex();
+		} catch (IllegalArgumentException | OpenemsException e) {
+			LOG.error(e.getMessage());
+			return 0d;
+		}
+		try {
+			synchronized (solver) {
+				solver.load(coefficients, allConstraints);
+				return toExtrema(solver.optimize(index, goal == GoalType.MAXIMIZE), essId, phase, pwr, goal);
+			}
+		} catch (IllegalStateException e) {
+			LOG.warn("Unable to " + goal.name() + " [" + essId + "] phase [" + phase + "] pwr [" + pwr + "]: "
+					+ e.getMessage() + ". Falling back to SimplexSolver.");
+			return from(coefficients, allConstraints, essId, phase, pwr, goal);
+		}
+	}
+
+	/**
+	 * Calculates the extrema under the current constraints for all
+	 * {@link Coefficients} in one pass.
+	 *
+	 * @param solver         the {@link DenseSimplexSolver}
+	 * @param coefficients   the {@link Coefficients}
+	 * @param allConstraints all active {@link Constraint}s
+	 * @return the extrema per {@link Coefficient} index; [index][0] is the
+	 *         minimum, [index][1] the maximum
+	 */
+	public static double[][] all(DenseSimplexSolver solver, Coefficients coefficients,
+			List<Constraint> allConstraints) {
+		final var all = coefficients.getAll();
+		final var result = new double[coefficients.getNoOfCoefficients()][2];
+		synchronized (solver) {
+			try {
+				solver.load(coefficients, allConstraints);
+				for (var c : all) {
+					result[c.getIndex()][0] = toExtrema(solver.optimize(c.getIndex(), false), //
+							c.getEssId(), c.getPhase(), c.getPwr(), GoalType.MINIMIZE);
+					result[c.getIndex()][1] = toExtrema(solver.optimize(c.getIndex(), true), //
+							c.getEssId(), c.getPhase(), c.getPwr(), GoalType.MAXIMIZE);
+				}
+			} catch (IllegalStateException e) {
+				LOG.warn("Unable to calculate extrema: " + e.getMessage() + ". Falling back to SimplexSolver.");
+				for (var c : all) {
+					result[c.getIndex()][0] = from(coefficients, allConstraints, //
+							c.getEssId(), c.getPhase(), c.getPwr(), GoalType.MINIMIZE);
+					result[c.getIndex()][1] = from(coefficients, allConstraints, //
+							c.getEssId(), c.getPhase(), c.getPwr(), GoalType.MAXIMIZE);
+				}
+			}
+		}
+		return result;
+	}
+
+	private static double toExtrema(DenseSimplexSolver.Result result, String essId, Phase phase, Pwr pwr,
+			GoalType goal) {
+		return switch (result.status()) {
+		case OPTIMAL -> result.value();
+		case UNBOUNDED -> {
+			LOG.warn("No Constraints for " + goal.name() + " [" + essId + "] phase [" + phase + "] pwr [" + pwr + "].");
+			yield goal == GoalType.MAXIMIZE ? Integer.MAX_VALUE : Integer.MIN_VALUE;
+		}
+		case INFEASIBLE -> {
+			LOG.warn("Unable to " + goal.name() + " [" + essId + "] phase [" + phase + "] pwr [" + pwr
+					+ "]. Setting it to zero.");
+			yield 0;
+		}
+		};
+	}
+
 	/**
 	 * Calculates the extrema under the current constraints for the given
 	 * parameters.
@@ -0,0 +1,444 @@
+package io.openems.edge.ess.core.power.solver;
+
+import java.util.Arrays;
+import java.util.List;
+
+import io.openems.edge.ess.power.api.Coefficients;
+import io.openems.edge.ess.power.api.Constraint;
+import io.openems.edge.ess.power.api.Relationship;
+
+/**
+ * A small dense two-phase Simplex solver that keeps its tableau between calls.
+ *
+ * <p>
+ * Variables are unrestricted; every variable x is split into x = u - v with u,
+ * v &gt;= 0. The solver is optimized for the use case of
+ * {@link CalculatePowerExtrema}, i.e. optimizing many single variables under
+ * the same set of constraints:
+ *
+ * <ul>
+ * <li>If the constraints are exactly the same as in the previous call of
+ * {@link #load(int, double[][], Relationship[], double[])}, the tableau is kept
+ * as it is.
+ * <li>If only the right-hand side values changed - which is the usual case from
+ * one Cycle to the next - the previous basis is reused, if it is still
+ * feasible.
+ * <li>Phase 2 of every {@link #optimize(int, boolean)} starts from the optimal
+ * basis of the previous optimization.
+ * </ul>
+ *
+ * <p>
+ * This class is not thread-safe.
+ */
+public class DenseSimplexSolver {
+
+	public static enum Status {
+		OPTIMAL, INFEASIBLE, UNBOUNDED
+	}
+
+	public static record Result(Status status, double value) {
+	}
+
+	/** Tolerance for pivot elements and reduced costs. */
+	private static final double EPSILON = 1e-9;
+
+	/** Relative tolerance for feasibility. */
+	private static final double FEASIBILITY_TOLERANCE = 1e-7;
+
+	/** Number of loads after which the tableau is rebuilt to limit round-off. */
+	private static final int MAX_WARM_STARTS = 100;
+
+	private static final int MAX_ITERATIONS = 10_000;
+
+	/* Problem */
+	private int noOfVariables = -1;
+	private double[][] a = new double[0][];
+	private Relationship[] relationships = new Relationship[0];
+	private double[] b = new double[0];
+
+	/* Tableau */
+	private int rows;
+	private int columns;
+	private double[][] tableau;
+	private double[] artificialSign;
+	private int[] basis;
+	private boolean[] isBasic;
+	private boolean[] isAllowed;
+	private double[] reducedCosts;
+	private int[] nonZero;
+	private boolean feasible;
+	private int warmStarts = 0;
+
+	/**
+	 * Loads the given {@link Constraint}s. Constraints without value are ignored.
+	 *
+	 * @param coefficients the {@link Coefficients}
+	 * @param constraints  the {@link Constraint}s
+	 * @return true if the constraints are feasible
+	 * @throws IllegalStateException if the max number of iterations was exceeded
+	 */
+	public boolean load(Coefficients coefficients, List<Constraint> constraints) throws IllegalStateException {
+		final var n = coefficients.getNoOfCoefficients();
+		final var count = (int) constraints.stream().filter(c -> c.getValue().isPresent()).count();
+		final var a = new double[count][];
+		final var relationships = new Relationship[count];
+		final var b = new double[count];
+		var i = 0;
+		for (var c : constraints) {
+			if (c.getValue().isEmpty()) {
+				continue;
+			}
+			a[i] = new double[n];
+			for (var co : c.getCoefficients()) {
+				a[i][co.getCoefficient().getIndex()] = co.getValue();
+			}
+			relationships[i] = c.getRelationship();
+			b[i] = c.getValue().get();
+			i++;
+		}
+		return this.load(n, a, relationships, b);
+	}
+
+	/**
+	 * Loads the constraints 'a[i] * x (relationship[i]) b[i]'.
+	 *
+	 * @param noOfVariables the number of variables
+	 * @param a             the coefficients per constraint; arrays of length
+	 *                      noOfVariables
+	 * @param relationships the {@link Relationship} per constraint
+	 * @param b             the right-hand side value per constraint
+	 * @return true if the constraints are feasible
+	 * @throws IllegalStateException if the max number of iterations was exceeded
+	 */
+	public boolean load(int noOfVariables, double[][] a, Relationship[] relationships, double[] b)
+			throws IllegalStateException {
+		if (this.tableau != null //
+				&& this.noOfVariables == noOfVariables //
+				&& Arrays.equals(this.relationships, relationships) //
+				&& Arrays.deepEquals(this.a, a)) {
+			if (Arrays.equals(this.b, b)) {
+				// Unchanged
+				return this.feasible;
+			}
+			if (this.feasible && this.warmStarts < MAX_WARM_STARTS && this.updateRightHandSide(b)) {
+				this.warmStarts++;
+				this.b = b.clone();
+				return true;
+			}
+		}
+
+		this.noOfVariables = noOfVariables;
+		this.a = Arrays.stream(a).map(double[]::clone).toArray(double[][]::new);
+		this.relationships = relationships.clone();
+		this.b = b.clone();
+		this.warmStarts = 0;
+		try {
+			this.coldStart();
+		} catch (IllegalStateException e) {
+			// Do not reuse the incomplete tableau on the next load()
+			this.tableau = null;
+			this.b = null;
+			this.feasible = false;
+			throw e;
+		}
+		return this.feasible;
+	}
+
+	/**
+	 * Is the currently loaded problem feasible?.
+	 *
+	 * @return true if feasible
+	 */
+	public boolean isFeasible() {
+		return this.feasible;
+	}
+
+	/**
+	 * Minimizes or maximizes one variable under the loaded constraints.
+	 *
+	 * @param index    the index of the variable
+	 * @param maximize true for maximize; false for minimize
+	 * @return the {@link Result}
+	 * @throws IllegalStateException if the max number of iterations was exceeded
+	 */
+	public Result optimize(int index, boolean maximize) throws IllegalStateException {
+		if (!this.feasible) {
+			return new Result(Status.INFEASIBLE, 0);
+		}
+		// x = u - v; always minimize
+		final var costs = new double[this.columns];
+		costs[this.u(index)] = maximize ? -1 : 1;
+		costs[this.v(index)] = maximize ? 1 : -1;
+		if (!this.simplex(costs)) {
+			return new Result(Status.UNBOUNDED, maximize ? Double.POSITIVE_INFINITY : Double.NEGATIVE_INFINITY);
+		}
+		return new Result(Status.OPTIMAL, this.valueOf(index));
+	}
+
+	/**
+	 * Gets the value of a variable in the current basic solution.
+	 *
+	 * @param index the index of the variable
+	 * @return the value
+	 */
+	public double valueOf(int index) {
+		return this.valueOfColumn(this.u(index)) - this.valueOfColumn(this.v(index));
+	}
+
+	private double valueOfColumn(int column) {
+		for (var r = 0; r < this.rows; r++) {
+			if (this.basis[r] == column) {
+				return this.tableau[r][this.columns];
+			}
+		}
+		return 0;
+	}
+
+	/* Column layout: u[0..n), v[0..n), slack[0..m), artificial[0..m) */
+
+	private int u(int index) {
+		return index;
+	}
+
+	private int v(int index) {
+		return this.noOfVariables + index;
+	}
+
+	private int slack(int row) {
+		return 2 * this.noOfVariables + row;
+	}
+
+	private int artificial(int row) {
+		return 2 * this.noOfVariables + this.rows + row;
+	}
+
+	private boolean isArtificial(int column) {
+		return column >= 2 * this.noOfVariables + this.rows;
+	}
+
+	private double feasibilityTolerance() {
+		var max = 1.;
+		for (var value : this.b) {
+			max = Math.max(max, Math.abs(value));
+		}
+		return FEASIBILITY_TOLERANCE * max;
+	}
+
+	/**
+	 * Builds the tableau and runs Phase 1.
+	 */
+	private void coldStart() {
+		final var n = this.noOfVariables;
+		this.rows = this.b.length;
+		this.columns = 2 * n + 2 * this.rows;
+		this.tableau = new double[this.rows][this.columns + 1];
+		this.artificialSign = new double[this.rows];
+		this.basis = new int[this.rows];
+		this.isBasic = new boolean[this.columns];
+		this.isAllowed = new boolean[this.columns];
+		this.reducedCosts = new double[this.columns];
+		this.nonZero = new int[this.columns + 1];
+		Arrays.fill(this.isAllowed, 0, 2 * n, true);
+
+		for (var r = 0; r < this.rows; r++) {
+			final var row = this.tableau[r];
+			for (var k = 0; k < n; k++) {
+				row[this.u(k)] = this.a[r][k];
+				row[this.v(k)] = -this.a[r][k];
+			}
+			final var value = this.b[r];
+			row[this.columns] = value;
+			this.artificialSign[r] = value >= 0 ? 1 : -1;
+			row[this.artificial(r)] = this.artificialSign[r];
+
+			final int basic;
+			switch (this.relationships[r]) {
+			case LESS_OR_EQUALS -> {
+				row[this.slack(r)] = 1;
+				this.isAllowed[this.slack(r)] = true;
+				basic = value >= 0 ? this.slack(r) : this.artificial(r);
+			}
+			case GREATER_OR_EQUALS -> {
+				row[this.slack(r)] = -1;
+				this.isAllowed[this.slack(r)] = true;
+				basic = value <= 0 ? this.slack(r) : this.artificial(r);
+			}
+			default /* EQUALS */ -> basic = this.artificial(r);
+			}
+			if (row[basic] < 0) {
+				for (var j = 0; j <= this.columns; j++) {
+					row[j] = -row[j];
+				}
+			}
+			this.basis[r] = basic;
+			this.isBasic[basic] = true;
+		}
+
+		// Phase 1: minimize the sum of artificial variables
+		final var costs = new double[this.columns];
+		for (var r = 0; r < this.rows; r++) {
+			costs[this.artificial(r)] = 1;
+		}
+		this.feasible = true;
+		this.simplex(costs);
+		var infeasibility = 0.;
+		for (var r = 0; r < this.rows; r++) {
+			if (this.isArtificial(this.basis[r])) {
+				infeasibility += this.tableau[r][this.columns];
+			}
+		}
+		if (infeasibility > this.feasibilityTolerance()) {
+			this.feasible = false;
+			return;
+		}
+
+		// Drive remaining artificial variables out of the basis
+		for (var r = 0; r < this.rows; r++) {
+			if (!this.isArtificial(this.basis[r])) {
+				continue;
+			}
+			this.tableau[r][this.columns] = 0;
+			for (var j = 0; j < this.columns; j++) {
+				if (this.isAllowed[j] && !this.isBasic[j] && Math.abs(this.tableau[r][j]) > EPSILON) {
+					this.pivot(r, j);
+					break;
+				}
+			}
+			// otherwise the constraint is redundant
+		}
+	}
+
+	/**
+	 * Applies new right-hand side values to the current basis.
+	 *
+	 * @param b the new right-hand side values
+	 * @return true if the current basis is still feasible
+	 */
+	private boolean updateRightHandSide(double[] b) {
+		// The artificial columns hold the inverse of the basis matrix
+		final var rhs = new double[this.rows];
+		final var tolerance = this.feasibilityTolerance();
+		for (var r = 0; r < this.rows; r++) {
+			final var row = this.tableau[r];
+			var value = 0.;
+			for (var i = 0; i < this.rows; i++) {
+				value += row[this.artificial(i)] * this.artificialSign[i] * b[i];
+			}
+			if (value < -tolerance || this.isArtificial(this.basis[r]) && Math.abs(value) > tolerance) {
+				return false;
+			}
+			rhs[r] = Math.max(0, value);
+		}
+		for (var r = 0; r < this.rows; r++) {
+			this.tableau[r][this.columns] = rhs[r];
+		}
+		return true;
+	}
+
+	/**
+	 * Runs the primal Simplex from the current feasible basis.
+	 *
+	 * @param costs the cost per column; minimized
+	 * @return true if optimal; false if unbounded
+	 * @throws IllegalStateException if the max number of iterations was exceeded
+	 */
+	private boolean simplex(double[] costs) throws IllegalStateException {
+		final var d = this.reducedCosts;
+		System.arraycopy(costs, 0, d, 0, this.columns);
+		for (var r = 0; r < this.rows; r++) {
+			final var cost = costs[this.basis[r]];
+			if (cost != 0) {
+				final var row = this.tableau[r];
+				for (var j = 0; j < this.columns; j++) {
+					d[j] -= cost * row[j];
+				}
+			}
+		}
+
+		var bland = false;
+		for (var iteration = 0; iteration < MAX_ITERATIONS; iteration++) {
+			// Entering column: most negative reduced cost; Bland's rule after a
+			// degenerate pivot to avoid cycling
+			var entering = -1;
+			var best = -EPSILON;
+			for (var j = 0; j < this.columns; j++) {
+				if (this.isAllowed[j] && !this.isBasic[j] && d[j] < best) {
+					entering = j;
+					if (bland) {
+						break;
+					}
+					best = d[j];
+				}
+			}
+			if (entering < 0) {
+				return true; // optimal
+			}
+
+			// Leaving row: minimum ratio
+			var leaving = -1;
+			var ratio = Double.POSITIVE_INFINITY;
+			for (var r = 0; r < this.rows; r++) {
+				final var element = this.tableau[r][entering];
+				if (element > EPSILON) {
+					final var value = Math.max(0, this.tableau[r][this.columns]) / element;
+					if (value < ratio || value == ratio && this.basis[r] < this.basis[leaving]) {
+						ratio = value;
+						leaving = r;
+					}
+				}
+			}
+			if (leaving < 0) {
+				return false; // unbounded
+			}
+
+			bland = ratio <= EPSILON;
+			this.pivot(leaving, entering);
+		}
+		throw new IllegalStateException("Simplex exceeded max iterations [" + MAX_ITERATIONS + "]");
+	}
+
+	private void pivot(int pivotRow, int pivotColumn) {
+		final var row = this.tableau[pivotRow];
+		final var element = row[pivotColumn];
+
+		// The tableau is sparse; only update the non-zero columns of the pivot row
+		final var nonZero = this.nonZero;
+		var count = 0;
+		for (var j = 0; j <= this.columns; j++) {
+			if (row[j] != 0) {
+				row[j] /= element;
+				nonZero[count++] = j;
+			}
+		}
+		row[pivotColumn] = 1;
+		for (var r = 0; r < this.rows; r++) {
+			if (r == pivotRow) {
+				continue;
+			}
+			final var other = this.tableau[r];
+			final var factor = other[pivotColumn];
+			if (factor == 0) {
+				continue;
+			}
+			for (var i = 0; i < count; i++) {
+				final var j = nonZero[i];
+				other[j] -= factor * row[j];
+			}
+			other[pivotColumn] = 0;
+		}
+		final var d = this.reducedCosts;
+		final var factor = d[pivotColumn];
+		if (factor != 0) {
+			for (var i = 0; i < count; i++) {
+				final var j = nonZero[i];
+				if (j < this.columns) {
+					d[j] -= factor * row[j];
+				}
+			}
+			d[pivotColumn] = 0;
+		}
+		this.isBasic[this.basis[pivotRow]] = false;
+		this.basis[pivotRow] = pivotColumn;
+		this.isBasic[pivotColumn] = true;
+	}
+}
@@ -1,6 +1,8 @@
 package io.openems.edge.ess.core.power;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertNotSame;
 
 import java.util.List;
 
@@ -9,7 +11,11 @@ import org.junit.Test;
 
 import com.google.common.collect.Lists;
 
+import io.openems.common.exceptions.OpenemsException;
 import io.openems.edge.ess.api.ManagedSymmetricEss;
+import io.openems.edge.ess.power.api.Phase;
+import io.openems.edge.ess.power.api.Pwr;
+import io.openems.edge.ess.power.api.Relationship;
 import io.openems.edge.ess.test.DummyManagedSymmetricEss;
 import io.openems.edge.ess.test.DummyMetaEss;
 
@@ -55,4 +61,29 @@ public class DataTest {
 		data.setSymmetricMode(false);
 		assertEquals(esss.size() * 4 /* phases + all */ * 2 /* pwr */, data.getCoefficients().getNoOfCoefficients());
 	}
+
+	@Test
+	public void testConstraintsCache() throws OpenemsException {
+		var version = data.getVersion();
+		var constraints = data.getConstraintsForAllInverters();
+		assertEquals(version, data.getVersion());
+
+		// Cached, but always a modifiable copy
+		var cached = data.getConstraintsForAllInverters();
+		assertNotSame(constraints, cached);
+		assertEquals(constraints, cached);
+		cached.clear();
+		assertEquals(constraints, data.getConstraintsForAllInverters());
+
+		// Adding a Constraint invalidates the cache
+		data.addSimpleConstraint("test", "ess1", Phase.ALL, Pwr.ACTIVE, Relationship.EQUALS, 1000);
+		assertNotEquals(version, data.getVersion());
+		assertEquals(constraints.size() + 1, data.getConstraintsForAllInverters().size());
+
+		// Initializing the Cycle removes the Constraint
+		version = data.getVersion();
+		data.initializeCycle();
+		assertNotEquals(version, data.getVersion());
+		assertEquals(constraints.size(), data.getConstraintsForAllInverters().size());
+	}
 }
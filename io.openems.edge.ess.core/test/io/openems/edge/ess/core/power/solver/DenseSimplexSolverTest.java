@@ -0,0 +1,178 @@
+package io.openems.edge.ess.core.power.solver;
+
+import static io.openems.edge.ess.power.api.Relationship.EQUALS;
+import static io.openems.edge.ess.power.api.Relationship.GREATER_OR_EQUALS;
+import static io.openems.edge.ess.power.api.Relationship.LESS_OR_EQUALS;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Random;
+
+import org.junit.Test;
+
+import io.openems.edge.ess.core.power.solver.DenseSimplexSolver.Status;
+import io.openems.edge.ess.power.api.Relationship;
+
+public class DenseSimplexSolverTest {
+
+	private static final double DELTA = 1e-6;
+
+	@Test
+	public void testSimple() {
+		// x0 + x1 = 1000; 0 <= x0 <= 800; -200 <= x1 <= 600
+		var sut = new DenseSimplexSolver();
+		assertTrue(sut.load(2, new double[][] { //
+				{ 1, 1 }, //
+				{ 1, 0 }, //
+				{ 1, 0 }, //
+				{ 0, 1 }, //
+				{ 0, 1 } }, //
+				new Relationship[] { EQUALS, GREATER_OR_EQUALS, LESS_OR_EQUALS, GREATER_OR_EQUALS, LESS_OR_EQUALS }, //
+				new double[] { 1000, 0, 800, -200, 600 }));
+
+		assertEquals(400, sut.optimize(0, false).value(), DELTA);
+		assertEquals(800, sut.optimize(0, true).value(), DELTA);
+		assertEquals(200, sut.optimize(1, false).value(), DELTA);
+		assertEquals(600, sut.optimize(1, true).value(), DELTA);
+
+		// Warm-Start with changed right-hand side
+		assertTrue(sut.load(2, new double[][] { //
+				{ 1, 1 }, //
+				{ 1, 0 }, //
+				{ 1, 0 }, //
+				{ 0, 1 }, //
+				{ 0, 1 } }, //
+				new Relationship[] { EQUALS, GREATER_OR_EQUALS, LESS_OR_EQUALS, GREATER_OR_EQUALS, LESS_OR_EQUALS }, //
+				new double[] { -500, -300, 800, -200, 600 }));
+		assertEquals(-300, sut.optimize(0, false).value(), DELTA);
+		assertEquals(-300, sut.optimize(0, true).value(), DELTA);
+		assertEquals(-200, sut.optimize(1, true).value(), DELTA);
+	}
+
+	@Test
+	public void testUnboundedAndInfeasible() {
+		var sut = new DenseSimplexSolver();
+		assertTrue(sut.load(1, new double[][] { { 1 } }, new Relationship[] { LESS_OR_EQUALS }, new double[] { 5 }));
+		assertEquals(Status.OPTIMAL, sut.optimize(0, true).status());
+		assertEquals(5, sut.optimize(0, true).value(), DELTA);
+		assertEquals(Status.UNBOUNDED, sut.optimize(0, false).status());
+
+		assertFalse(sut.load(1, new double[][] { { 1 }, { 1 } }, //
+				new Relationship[] { LESS_OR_EQUALS, GREATER_OR_EQUALS }, new double[] { 5, 6 }));
+		assertEquals(Status.INFEASIBLE, sut.optimize(0, true).status());
+	}
+
+	@Test
+	public void testRandomAgainstVertexEnumeration() {
+		final var random = new Random(123);
+		final var n = 3;
+		final var sut = new DenseSimplexSolver();
+		for (var test = 0; test < 300; test++) {
+			// Box constraints make the problem bounded
+			final var m = 2 * n + 1 + random.nextInt(4);
+			final var a = new double[m][n];
+			final var relationships = new Relationship[m];
+			final var b = new double[m];
+			for (var k = 0; k < n; k++) {
+				a[2 * k][k] = 1;
+				relationships[2 * k] = LESS_OR_EQUALS;
+				b[2 * k] = random.nextInt(1000);
+				a[2 * k + 1][k] = 1;
+				relationships[2 * k + 1] = GREATER_OR_EQUALS;
+				b[2 * k + 1] = -random.nextInt(1000);
+			}
+			for (var i = 2 * n; i < m; i++) {
+				for (var k = 0; k < n; k++) {
+					a[i][k] = random.nextInt(5) - 2;
+				}
+				relationships[i] = Relationship.values()[random.nextInt(3)];
+				b[i] = random.nextInt(2000) - 1000;
+			}
+
+			for (var round = 0; round < 3; round++) {
+				if (round > 0) {
+					// Same constraints with changed right-hand side -> warm-start
+					for (var i = 0; i < m; i++) {
+						b[i] += random.nextInt(200) - 100;
+					}
+				}
+				final var feasible = sut.load(n, a, relationships, b);
+				for (var k = 0; k < n; k++) {
+					final var min = bruteForce(a, relationships, b, k, false);
+					final var max = bruteForce(a, relationships, b, k, true);
+					assertEquals("Test " + test, !Double.isNaN(min), feasible);
+					if (feasible) {
+						assertEquals("Test " + test + " min x" + k, min, sut.optimize(k, false).value(), DELTA);
+						assertEquals("Test " + test + " max x" + k, max, sut.optimize(k, true).value(), DELTA);
+					}
+				}
+			}
+		}
+	}
+
+	/**
+	 * Finds the extremum of variable k by enumerating all vertices of a bounded
+	 * 3-dimensional polyhedron.
+	 */
+	private static double bruteForce(double[][] a, Relationship[] relationships, double[] b, int k,
+			boolean maximize) {
+		var result = Double.NaN;
+		final var m = a.length;
+		for (var i = 0; i < m; i++) {
+			for (var j = i + 1; j < m; j++) {
+				for (var l = j + 1; l < m; l++) {
+					var x = solve3(new double[][] { a[i], a[j], a[l] }, new double[] { b[i], b[j], b[l] });
+					if (x == null || !isFeasible(a, relationships, b, x)) {
+						continue;
+					}
+					if (Double.isNaN(result) || (maximize ? x[k] > result : x[k] < result)) {
+						result = x[k];
+					}
+				}
+			}
+		}
+		return result;
+	}
+
+	private static boolean isFeasible(double[][] a, Relationship[] relationships, double[] b, double[] x) {
+		for (var i = 0; i < a.length; i++) {
+			var value = 0.;
+			for (var k = 0; k < x.length; k++) {
+				value += a[i][k] * x[k];
+			}
+			var ok = switch (relationships[i]) {
+			case EQUALS -> Math.abs(value - b[i]) < DELTA;
+			case GREATER_OR_EQUALS -> value >= b[i] - DELTA;
+			case LESS_OR_EQUALS -> value <= b[i] + DELTA;
+			};
+			if (!ok) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	private static double[] solve3(double[][] a, double[] b) {
+		final var det = det3(a);
+		if (Math.abs(det) < 1e-9) {
+			return null;
+		}
+		final var x = new double[3];
+		for (var c = 0; c < 3; c++) {
+			final var m = new double[3][3];
+			for (var r = 0; r < 3; r++) {
+				m[r] = a[r].clone();
+				m[r][c] = b[r];
+			}
+			x[c] = det3(m) / det;
+		}
+		return x;
+	}
+
+	private static double det3(double[][] m) {
+		return m[0][0] * (m[1][1] * m[2][2] - m[1][2] * m[2][1]) //
+				- m[0][1] * (m[1][0] * m[2][2] - m[1][2] * m[2][0]) //
+				+ m[0][2] * (m[1][0] * m[2][1] - m[1][1] * m[2][0]);
+	}
+}
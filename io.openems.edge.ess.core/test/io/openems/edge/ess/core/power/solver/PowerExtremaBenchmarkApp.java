@@ -0,0 +1,101 @@
+package io.openems.edge.ess.core.power.solver;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+
+import org.apache.commons.math3.optim.nonlinear.scalar.GoalType;
+
+import io.openems.common.exceptions.OpenemsException;
+import io.openems.edge.ess.power.api.Coefficients;
+import io.openems.edge.ess.power.api.Constraint;
+import io.openems.edge.ess.power.api.LinearCoefficient;
+import io.openems.edge.ess.power.api.Phase;
+import io.openems.edge.ess.power.api.Pwr;
+import io.openems.edge.ess.power.api.Relationship;
+
+/**
+ * This little application compares the duration of calculating all power
+ * extrema of an asymmetric cluster with {@link CalculatePowerExtrema} using the
+ * Apache Commons Math SimplexSolver and using the {@link DenseSimplexSolver}.
+ */
+public class PowerExtremaBenchmarkApp {
+
+	private static final int NO_OF_ESS = 12;
+	private static final int CYCLES = 200;
+
+	/**
+	 * Run the Application.
+	 *
+	 * @param args the args
+	 * @throws OpenemsException on error
+	 */
+	public static void main(String[] args) throws OpenemsException {
+		var essIds = new LinkedHashSet<String>();
+		for (var i = 0; i < NO_OF_ESS; i++) {
+			essIds.add("ess" + i);
+		}
+		var coefficients = new Coefficients();
+		coefficients.initialize(false, essIds);
+
+		var solver = new DenseSimplexSolver();
+		for (var run = 0; run < 2; run++) {
+			var simplex = 0L;
+			var dense = 0L;
+			for (var cycle = 0; cycle < CYCLES; cycle++) {
+				var constraints = createConstraints(coefficients, essIds, cycle);
+
+				var start = System.nanoTime();
+				for (var c : coefficients.getAll()) {
+					for (var goal : GoalType.values()) {
+						CalculatePowerExtrema.from(coefficients, constraints, c.getEssId(), c.getPhase(), c.getPwr(),
+								goal);
+					}
+				}
+				simplex += System.nanoTime() - start;
+
+				start = System.nanoTime();
+				CalculatePowerExtrema.all(solver, coefficients, constraints);
+				dense += System.nanoTime() - start;
+			}
+			if (run > 0) {
+				System.out.println(String.format("SimplexSolver:      %10.3f ms/Cycle", simplex / 1e6 / CYCLES));
+				System.out.println(String.format("DenseSimplexSolver: %10.3f ms/Cycle", dense / 1e6 / CYCLES));
+			}
+		}
+	}
+
+	private static List<Constraint> createConstraints(Coefficients coefficients, Iterable<String> essIds, int cycle)
+			throws OpenemsException {
+		var result = new ArrayList<Constraint>();
+		for (var essId : essIds) {
+			var maxApparentPower = 10_000 + (cycle % 10) * 100;
+			for (var pwr : Pwr.values()) {
+				// Sum of phases
+				result.add(new Constraint(essId + ": Sum of Phases " + pwr, new LinearCoefficient[] { //
+						new LinearCoefficient(coefficients.of(essId, Phase.ALL, pwr), 1), //
+						new LinearCoefficient(coefficients.of(essId, Phase.L1, pwr), -1), //
+						new LinearCoefficient(coefficients.of(essId, Phase.L2, pwr), -1), //
+						new LinearCoefficient(coefficients.of(essId, Phase.L3, pwr), -1) //
+				}, Relationship.EQUALS, 0));
+				for (var phase : List.of(Phase.L1, Phase.L2, Phase.L3)) {
+					var coefficient = coefficients.of(essId, phase, pwr);
+					result.add(new Constraint(essId + ": Max " + phase + pwr, new LinearCoefficient[] { //
+							new LinearCoefficient(coefficient, 1) }, Relationship.LESS_OR_EQUALS,
+							maxApparentPower / 3.));
+					result.add(new Constraint(essId + ": Min " + phase + pwr, new LinearCoefficient[] { //
+							new LinearCoefficient(coefficient, 1) }, Relationship.GREATER_OR_EQUALS,
+							-maxApparentPower / 3.));
+				}
+			}
+			// Symmetric
+			for (var phase : List.of(Phase.L2, Phase.L3)) {
+				result.add(new Constraint(essId + ": Symmetric " + phase, new LinearCoefficient[] { //
+						new LinearCoefficient(coefficients.of(essId, Phase.L1, Pwr.ACTIVE), 1), //
+						new LinearCoefficient(coefficients.of(essId, phase, Pwr.ACTIVE), -1) //
+				}, Relationship.EQUALS, 0));
+			}
+		}
+		return result;
+	}
+}
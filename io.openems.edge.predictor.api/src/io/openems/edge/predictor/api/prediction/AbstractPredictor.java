@@ -3,32 +3,91 @@ package io.openems.edge.predictor.api.prediction;
 import static io.openems.common.utils.DateUtils.roundDownToQuarter;
 import static io.openems.edge.predictor.api.prediction.Prediction.EMPTY_PREDICTION;
 
+import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
 import java.time.ZonedDateTime;
-import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
 
 import org.osgi.service.component.ComponentContext;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import io.openems.common.OpenemsConstants;
 import io.openems.common.exceptions.OpenemsError.OpenemsNamedException;
 import io.openems.common.types.ChannelAddress;
+import io.openems.common.types.OpenemsType;
 import io.openems.edge.common.component.AbstractOpenemsComponent;
 import io.openems.edge.common.component.ClockProvider;
+import io.openems.edge.common.component.ComponentManager;
 import io.openems.edge.common.component.OpenemsComponent;
+import io.openems.edge.common.type.TypeUtils;
 
 public abstract class AbstractPredictor extends AbstractOpenemsComponent implements Predictor, OpenemsComponent {
 
 	private final Logger log = LoggerFactory.getLogger(AbstractPredictor.class);
 
-	private final Map<ChannelAddress, Prediction> predictions = new HashMap<>();
+	/** Delay after a quarter boundary before the scheduled refresh. */
+	private static final Duration REFRESH_DELAY = Duration.ofSeconds(5);
+
+	private final Map<ChannelAddress, Prediction> predictions = new ConcurrentHashMap<>();
+	private final Map<ChannelAddress, CompletableFuture<Prediction>> refreshes = new ConcurrentHashMap<>();
 
 	private LogVerbosity logVerbosity = LogVerbosity.NONE;
+	private ScheduledExecutorService executor = null;
+	private QuarterlyValueStore store = null;
+	private Path storeFile = null;
 
 	protected abstract ClockProvider getClockProvider();
 
 	protected abstract Prediction createNewPrediction(ChannelAddress channelAddress);
 
+	/**
+	 * Should {@link #createNewPrediction(ChannelAddress)} be called asynchronously?
+	 *
+	 * <p>
+	 * Override for Predictors that query historic data. Predictions are then
+	 * created on a worker thread at every quarter boundary and
+	 * {@link #getPrediction(ChannelAddress)} serves the last complete
+	 * {@link Prediction} without blocking.
+	 *
+	 * @return true for asynchronous refresh; default false
+	 */
+	protected boolean isRefreshAsynchronous() {
+		return false;
+	}
+
+	/**
+	 * Gets the number of quarters that should be kept in a
+	 * {@link QuarterlyValueStore} per Channel-Address.
+	 *
+	 * <p>
+	 * Override for Predictors that work on historic per-quarter values. The store
+	 * is then available via {@link #getStore()} and has to be fed via
+	 * {@link #collectChannelValues(ComponentManager)}.
+	 *
+	 * @return the capacity in quarters; default 0 for no store
+	 */
+	protected int getStoreCapacity() {
+		return 0;
+	}
+
+	/**
+	 * Gets the {@link QuarterlyValueStore}.
+	 *
+	 * @return the store; null if {@link #getStoreCapacity()} is 0
+	 */
+	protected QuarterlyValueStore getStore() {
+		return this.store;
+	}
+
 	protected AbstractPredictor(//
 			io.openems.edge.common.channel.ChannelId[] firstInitialChannelIds,
 			io.openems.edge.common.channel.ChannelId[]... furtherInitialChannelIds) {
@@ -48,6 +107,75 @@ public abstract class AbstractPredictor extends AbstractOpenemsComponent impleme
 		for (var i = 0; i < channelAddresses.length; i++) {
 			this.predictions.put(ChannelAddress.fromString(channelAddresses[i]), EMPTY_PREDICTION);
 		}
+
+		var storeCapacity = this.getStoreCapacity();
+		if (storeCapacity > 0) {
+			this.store = new QuarterlyValueStore(storeCapacity);
+			var dataDir = OpenemsConstants.getOpenemsDataDir();
+			if (!dataDir.isBlank()) {
+				// Data directory is not set in JUnit tests
+				this.storeFile = Paths.get(dataDir, "predictor", id);
+				try {
+					this.store = QuarterlyValueStore.readFromFile(this.storeFile, storeCapacity);
+				} catch (IOException e) {
+					this.logWarn(this.log, "Unable to read [" + this.storeFile + "]: " + e.getMessage());
+				}
+			}
+		}
+
+		if (this.isRefreshAsynchronous()) {
+			this.executor = Executors.newSingleThreadScheduledExecutor(r -> {
+				var thread = new Thread(r, "Predictor-" + id);
+				thread.setDaemon(true);
+				return thread;
+			});
+			this.refreshAll();
+		}
+	}
+
+	@Override
+	protected void deactivate() {
+		if (this.executor != null) {
+			this.executor.shutdownNow();
+		}
+		this.writeStoreFile();
+		super.deactivate();
+	}
+
+	/**
+	 * Adds the current values of all Channel-Addresses to the
+	 * {@link QuarterlyValueStore}. Call this method once per Cycle, e.g. on
+	 * TOPIC_CYCLE_AFTER_PROCESS_IMAGE.
+	 *
+	 * @param componentManager the {@link ComponentManager}
+	 */
+	protected void collectChannelValues(ComponentManager componentManager) {
+		final var store = this.store;
+		if (store == null) {
+			return;
+		}
+		final var now = ZonedDateTime.now(componentManager.getClock());
+		for (var channelAddress : this.predictions.keySet()) {
+			Integer value;
+			try {
+				value = TypeUtils.getAsType(OpenemsType.INTEGER,
+						componentManager.getChannel(channelAddress).value().get());
+			} catch (OpenemsNamedException | IllegalArgumentException e) {
+				value = null;
+			}
+			store.addValue(channelAddress, now, value);
+		}
+	}
+
+	private void writeStoreFile() {
+		if (this.store == null || this.storeFile == null) {
+			return;
+		}
+		try {
+			this.store.writeToFile(this.storeFile);
+		} catch (IOException e) {
+			this.logWarn(this.log, "Unable to write [" + this.storeFile + "]: " + e.getMessage());
+		}
 	}
 
 	@Override
@@ -60,9 +188,20 @@ public abstract class AbstractPredictor extends AbstractOpenemsComponent impleme
 		var now = roundDownToQuarter(ZonedDateTime.now(this.getClockProvider().getClock()));
 		var prediction = this.predictions.get(channelAddress);
 		if (prediction == null || prediction.isEmpty() || now.isAfter(prediction.valuePerQuarter.firstKey())) {
-			// Create new prediction
-			prediction = this.createNewPrediction(channelAddress);
-			this.predictions.put(channelAddress, prediction);
+			if (this.executor == null) {
+				// Create new prediction
+				prediction = this.createNewPrediction(channelAddress);
+				this.predictions.put(channelAddress, prediction);
+
+			} else {
+				// Refresh in background and serve the remainder of the last prediction
+				var refresh = this.refresh(channelAddress);
+				prediction = Prediction.from(now, prediction);
+				if (prediction.isEmpty()) {
+					// No usable prediction, e.g. on startup -> wait for refresh
+					prediction = refresh.join();
+				}
+			}
 		} else {
 			// Reuse existing prediction
 		}
@@ -73,4 +212,51 @@ public abstract class AbstractPredictor extends AbstractOpenemsComponent impleme
 		}
 		return prediction;
 	}
+
+	/**
+	 * Refreshes the predictions for all Channel-Addresses, persists the
+	 * {@link QuarterlyValueStore} and schedules the next refresh shortly after the
+	 * next quarter boundary.
+	 */
+	private void refreshAll() {
+		for (var channelAddress : this.predictions.keySet()) {
+			this.refresh(channelAddress);
+		}
+		try {
+			this.executor.execute(this::writeStoreFile);
+			var now = ZonedDateTime.now(this.getClockProvider().getClock());
+			var delay = Duration.between(now, roundDownToQuarter(now).plusMinutes(15)).plus(REFRESH_DELAY);
+			this.executor.schedule(this::refreshAll, delay.toMillis(), TimeUnit.MILLISECONDS);
+		} catch (RejectedExecutionException e) {
+			// Executor was shut down
+		}
+	}
+
+	/**
+	 * Starts an asynchronous refresh of the prediction for the Channel-Address,
+	 * unless one is already running.
+	 *
+	 * @param channelAddress the {@link ChannelAddress}
+	 * @return a future for the new {@link Prediction}
+	 */
+	private CompletableFuture<Prediction> refresh(ChannelAddress channelAddress) {
+		try {
+			return this.refreshes.computeIfAbsent(channelAddress, c -> CompletableFuture.supplyAsync(() -> {
+				Prediction prediction;
+				try {
+					prediction = this.createNewPrediction(c);
+				} catch (RuntimeException e) {
+					this.logWarn(this.log, "Unable to create Prediction for [" + c + "]: " + e.getMessage());
+					prediction = EMPTY_PREDICTION;
+				}
+				this.predictions.put(c, prediction);
+				this.refreshes.remove(c);
+				return prediction;
+			}, this.executor));
+
+		} catch (RejectedExecutionException e) {
+			// Executor was shut down
+			return CompletableFuture.completedFuture(EMPTY_PREDICTION);
+		}
+	}
 }
@@ -0,0 +1,290 @@
+package io.openems.edge.predictor.api.prediction;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SortedMap;
+
+import com.google.gson.JsonElement;
+
+import io.openems.common.exceptions.OpenemsError.OpenemsNamedException;
+import io.openems.common.types.ChannelAddress;
+
+/**
+ * In-memory store of per-quarter average values of Channels.
+ *
+ * <p>
+ * Every Channel-Address is backed by a circular primitive array with one slot
+ * per quarter. It is fed with the current Channel values every Cycle via
+ * {@link #addValue(ChannelAddress, ZonedDateTime, Integer)} and can be
+ * backfilled from a Timedata query result via
+ * {@link #putAll(ChannelAddress, ZonedDateTime, ZonedDateTime, SortedMap)}. The
+ * store can be persisted to a small file to survive restarts.
+ *
+ * <p>
+ * Like a Timedata query with 15 minutes resolution, a period covers all
+ * quarters that start within the period plus the quarter that contains its
+ * start.
+ */
+public class QuarterlyValueStore {
+
+	private static final int FILE_VERSION = 1;
+	private static final int QUARTER_SECONDS = 15 * 60;
+	private static final int NULL = Integer.MIN_VALUE;
+	private static final long NONE = Long.MIN_VALUE;
+
+	private static class Values {
+		private final int[] values;
+		/** Newest complete quarter in the store. */
+		private long latest = NONE;
+		/** Oldest quarter in the store. */
+		private long oldest = NONE;
+		/** Quarter that is currently being aggregated. */
+		private long current = NONE;
+		private long sum = 0;
+		private int count = 0;
+
+		private Values(int capacity) {
+			this.values = new int[capacity];
+			Arrays.fill(this.values, NULL);
+		}
+
+		private void addValue(long quarter, Integer value) {
+			if (quarter != this.current) {
+				if (this.current != NONE) {
+					this.put(this.current, this.count > 0 ? (int) Math.round((double) this.sum / this.count) : null);
+				}
+				this.current = quarter;
+				this.sum = 0;
+				this.count = 0;
+			}
+			if (value != null) {
+				this.sum += value;
+				this.count++;
+			}
+		}
+
+		private void put(long quarter, Integer value) {
+			final var capacity = this.values.length;
+			if (this.latest == NONE) {
+				this.latest = quarter;
+				this.oldest = quarter;
+			} else if (quarter <= this.latest - capacity) {
+				// too old
+				return;
+			} else if (quarter > this.latest) {
+				// clear slots of skipped quarters
+				for (var q = Math.max(this.latest + 1, quarter - capacity + 1); q < quarter; q++) {
+					this.values[this.index(q)] = NULL;
+				}
+				this.latest = quarter;
+			}
+			this.values[this.index(quarter)] = value == null ? NULL : value;
+			this.setOldest(Math.min(this.oldest, quarter));
+		}
+
+		private void setOldest(long oldest) {
+			this.oldest = Math.max(oldest, this.latest - this.values.length + 1);
+		}
+
+		private Integer get(long quarter) {
+			if (quarter == this.current && quarter > this.latest) {
+				// Average of the current quarter so far
+				return this.count > 0 ? (int) Math.round((double) this.sum / this.count) : null;
+			}
+			if (this.latest == NONE || quarter > this.latest || quarter < this.oldest) {
+				return null;
+			}
+			var value = this.values[this.index(quarter)];
+			return value == NULL ? null : value;
+		}
+
+		private int index(long quarter) {
+			return (int) Math.floorMod(quarter, (long) this.values.length);
+		}
+	}
+
+	private static record Copy(String channelAddress, long latest, long oldest, int[] values) {
+	}
+
+	private final int capacity;
+	private final Map<ChannelAddress, Values> values = new HashMap<>();
+	/** Serializes {@link #writeToFile(Path)}. */
+	private final Object fileLock = new Object();
+
+	/**
+	 * Creates a {@link QuarterlyValueStore}.
+	 *
+	 * @param capacity the number of quarters to store per Channel-Address
+	 */
+	public QuarterlyValueStore(int capacity) {
+		this.capacity = capacity;
+	}
+
+	/**
+	 * Adds a current Channel value. The average of all values of a quarter gets
+	 * stored once the first value of the next quarter is added.
+	 *
+	 * @param channelAddress the {@link ChannelAddress}
+	 * @param time           the timestamp of the value
+	 * @param value          the value, possibly null
+	 */
+	public synchronized void addValue(ChannelAddress channelAddress, ZonedDateTime time, Integer value) {
+		this.getOrCreate(channelAddress).addValue(floorQuarter(time), value);
+	}
+
+	/**
+	 * Stores historic values from a Timedata query with 15 minutes resolution. All
+	 * complete quarters in the queried period are marked as known, even if there is
+	 * no value for them.
+	 *
+	 * @param channelAddress the {@link ChannelAddress}
+	 * @param fromDate       the start of the queried period
+	 * @param toDate         the end of the queried period (exclusive)
+	 * @param queryResult    the query result
+	 */
+	public synchronized void putAll(ChannelAddress channelAddress, ZonedDateTime fromDate, ZonedDateTime toDate,
+			SortedMap<ZonedDateTime, SortedMap<ChannelAddress, JsonElement>> queryResult) {
+		final var v = this.getOrCreate(channelAddress);
+		final var from = floorQuarter(fromDate);
+		final var last = floorQuarter(toDate) - 1;
+		if (last < from) {
+			return;
+		}
+		// Mark period as known; slots keep possibly existing values
+		if (v.latest == NONE || last > v.latest) {
+			v.put(last, v.get(last));
+		}
+		for (var entry : queryResult.entrySet()) {
+			var quarter = floorQuarter(entry.getKey());
+			if (quarter < from || quarter > last) {
+				continue;
+			}
+			var value = entry.getValue().get(channelAddress);
+			v.put(quarter, value == null || value.isJsonNull() ? null : value.getAsInt());
+		}
+		v.setOldest(Math.min(v.oldest, from));
+	}
+
+	/**
+	 * Gets the values of all quarters that start within the given period, plus the
+	 * quarter that contains the start of the period.
+	 *
+	 * @param channelAddress the {@link ChannelAddress}
+	 * @param fromDate       the start of the period
+	 * @param toDate         the end of the period (exclusive)
+	 * @return a list with one (nullable) value per quarter; null if the store does
+	 *         not cover the complete period
+	 */
+	public synchronized List<Integer> getValues(ChannelAddress channelAddress, ZonedDateTime fromDate,
+			ZonedDateTime toDate) {
+		final var v = this.values.get(channelAddress);
+		final var from = floorQuarter(fromDate);
+		final var to = ceilQuarter(toDate);
+		if (v == null || v.latest == NONE || v.oldest > from || v.latest < floorQuarter(toDate) - 1) {
+			return null;
+		}
+		final var result = new ArrayList<Integer>((int) Math.max(0, to - from));
+		for (var q = from; q < to; q++) {
+			result.add(v.get(q));
+		}
+		return result;
+	}
+
+	private Values getOrCreate(ChannelAddress channelAddress) {
+		return this.values.computeIfAbsent(channelAddress, c -> new Values(this.capacity));
+	}
+
+	/**
+	 * Writes the complete quarters of the store to a file.
+	 *
+	 * @param file the file {@link Path}
+	 * @throws IOException on error
+	 */
+	public void writeToFile(Path file) throws IOException {
+		// Copy under lock; write without blocking the Cycle
+		final var copies = new ArrayList<Copy>();
+		synchronized (this) {
+			for (var entry : this.values.entrySet()) {
+				var v = entry.getValue();
+				copies.add(new Copy(entry.getKey().toString(), v.latest, v.oldest, v.values.clone()));
+			}
+		}
+
+		synchronized (this.fileLock) {
+			Files.createDirectories(file.toAbsolutePath().getParent());
+			final var tmp = file.resolveSibling(file.getFileName() + ".tmp");
+			try (var out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(tmp)))) {
+				out.writeInt(FILE_VERSION);
+				out.writeInt(this.capacity);
+				out.writeInt(copies.size());
+				for (var copy : copies) {
+					out.writeUTF(copy.channelAddress());
+					out.writeLong(copy.latest());
+					out.writeLong(copy.oldest());
+					for (var value : copy.values()) {
+						out.writeInt(value);
+					}
+				}
+			}
+			Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+		}
+	}
+
+	/**
+	 * Reads a store from a file.
+	 *
+	 * @param file     the file {@link Path}
+	 * @param capacity the expected capacity; a file with a different capacity is
+	 *                 ignored
+	 * @return the {@link QuarterlyValueStore}; empty if the file does not exist or
+	 *         does not match
+	 * @throws IOException on error
+	 */
+	public static QuarterlyValueStore readFromFile(Path file, int capacity) throws IOException {
+		final var result = new QuarterlyValueStore(capacity);
+		if (!Files.isRegularFile(file)) {
+			return result;
+		}
+		try (var in = new DataInputStream(new BufferedInputStream(Files.newInputStream(file)))) {
+			if (in.readInt() != FILE_VERSION || in.readInt() != capacity) {
+				return result;
+			}
+			final var size = in.readInt();
+			for (var i = 0; i < size; i++) {
+				final ChannelAddress channelAddress;
+				try {
+					channelAddress = ChannelAddress.fromString(in.readUTF());
+				} catch (OpenemsNamedException e) {
+					throw new IOException(e.getMessage());
+				}
+				var v = result.getOrCreate(channelAddress);
+				v.latest = in.readLong();
+				v.oldest = in.readLong();
+				for (var j = 0; j < capacity; j++) {
+					v.values[j] = in.readInt();
+				}
+			}
+		}
+		return result;
+	}
+
+	private static long floorQuarter(ZonedDateTime time) {
+		return Math.floorDiv(time.toEpochSecond(), QUARTER_SECONDS);
+	}
+
+	private static long ceilQuarter(ZonedDateTime time) {
+		return -Math.floorDiv(-time.toEpochSecond(), QUARTER_SECONDS);
+	}
+}
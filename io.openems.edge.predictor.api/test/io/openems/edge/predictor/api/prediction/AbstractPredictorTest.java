@@ -0,0 +1,91 @@
+package io.openems.edge.predictor.api.prediction;
+
+import static io.openems.common.utils.DateUtils.roundDownToQuarter;
+import static org.junit.Assert.assertEquals;
+
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Test;
+
+import io.openems.common.exceptions.OpenemsError.OpenemsNamedException;
+import io.openems.common.test.TimeLeapClock;
+import io.openems.common.types.ChannelAddress;
+import io.openems.edge.common.component.ClockProvider;
+import io.openems.edge.common.component.OpenemsComponent;
+import io.openems.edge.common.test.DummyComponentManager;
+
+public class AbstractPredictorTest {
+
+	private static final ChannelAddress SUM_PRODUCTION = new ChannelAddress("_sum", "ProductionActivePower");
+
+	private static class AsyncPredictor extends AbstractPredictor {
+
+		private final ClockProvider clockProvider;
+		private final AtomicInteger count = new AtomicInteger();
+		private volatile CountDownLatch latch = new CountDownLatch(0);
+
+		public AsyncPredictor(ClockProvider clockProvider) throws OpenemsNamedException {
+			super(OpenemsComponent.ChannelId.values());
+			this.clockProvider = clockProvider;
+			this.activate(null, "predictor0", "", true, new String[] { SUM_PRODUCTION.toString() },
+					LogVerbosity.NONE);
+		}
+
+		@Override
+		protected ClockProvider getClockProvider() {
+			return this.clockProvider;
+		}
+
+		@Override
+		protected boolean isRefreshAsynchronous() {
+			return true;
+		}
+
+		@Override
+		protected Prediction createNewPrediction(ChannelAddress channelAddress) {
+			try {
+				this.latch.await();
+			} catch (InterruptedException e) {
+				return Prediction.EMPTY_PREDICTION;
+			}
+			var count = this.count.incrementAndGet();
+			return Prediction.from(ZonedDateTime.now(this.clockProvider.getClock()), count, count, count, count);
+		}
+	}
+
+	@Test
+	public void testAsynchronousRefresh() throws Exception {
+		final var clock = new TimeLeapClock(Instant.parse("2020-01-01T00:00:00.00Z"), ZoneOffset.UTC);
+		final var sut = new AsyncPredictor(new DummyComponentManager(clock));
+
+		// Waits for the first Prediction
+		var prediction = sut.getPrediction(SUM_PRODUCTION);
+		assertEquals(4, prediction.valuePerQuarter.size());
+		assertEquals((Integer) 1, prediction.asArray()[0]);
+
+		// Next quarter: serves remainder of last prediction without blocking
+		var latch = new CountDownLatch(1);
+		sut.latch = latch;
+		clock.leap(15, ChronoUnit.MINUTES);
+		prediction = sut.getPrediction(SUM_PRODUCTION);
+		assertEquals(roundDownToQuarter(ZonedDateTime.now(clock)), prediction.valuePerQuarter.firstKey());
+		assertEquals(3, prediction.valuePerQuarter.size());
+		assertEquals((Integer) 1, prediction.asArray()[0]);
+
+		// Refresh finishes in background
+		latch.countDown();
+		for (var i = 0; i < 100 && sut.getPrediction(SUM_PRODUCTION).valuePerQuarter.size() != 4; i++) {
+			Thread.sleep(10);
+		}
+		prediction = sut.getPrediction(SUM_PRODUCTION);
+		assertEquals(4, prediction.valuePerQuarter.size());
+		assertEquals((Integer) 2, prediction.asArray()[0]);
+
+		sut.deactivate();
+	}
+}
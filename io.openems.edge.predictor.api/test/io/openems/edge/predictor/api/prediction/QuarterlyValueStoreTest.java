@@ -0,0 +1,107 @@
+package io.openems.edge.predictor.api.prediction;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.time.ZonedDateTime;
+import java.util.Arrays;
+import java.util.SortedMap;
+import java.util.TreeMap;
+
+import org.junit.Test;
+
+import com.google.gson.JsonElement;
+import com.google.gson.JsonNull;
+import com.google.gson.JsonPrimitive;
+
+import io.openems.common.types.ChannelAddress;
+
+public class QuarterlyValueStoreTest {
+
+	private static final ChannelAddress SUM_PRODUCTION = new ChannelAddress("_sum", "ProductionActivePower");
+	private static final ZonedDateTime START = ZonedDateTime.parse("2020-01-01T00:00:00Z");
+
+	@Test
+	public void testAddValue() {
+		var sut = new QuarterlyValueStore(8);
+
+		// Two quarters with live values
+		sut.addValue(SUM_PRODUCTION, START, 100);
+		sut.addValue(SUM_PRODUCTION, START.plusMinutes(5), 200);
+		sut.addValue(SUM_PRODUCTION, START.plusMinutes(15), null);
+		sut.addValue(SUM_PRODUCTION, START.plusMinutes(30), 400);
+
+		// Covers the period including the current quarter
+		assertEquals(Arrays.asList(150, null, 400),
+				sut.getValues(SUM_PRODUCTION, START, START.plusMinutes(35)));
+
+		// Does not cover older data
+		assertNull(sut.getValues(SUM_PRODUCTION, START.minusMinutes(15), START.plusMinutes(30)));
+		assertNull(sut.getValues(new ChannelAddress("_sum", "ConsumptionActivePower"), START, START.plusMinutes(30)));
+	}
+
+	@Test
+	public void testPutAll() throws IOException {
+		var sut = new QuarterlyValueStore(8);
+		final SortedMap<ZonedDateTime, SortedMap<ChannelAddress, JsonElement>> queryResult = new TreeMap<>();
+		queryResult.put(START, value(1));
+		queryResult.put(START.plusMinutes(15), value(null));
+		queryResult.put(START.plusMinutes(45), value(4));
+		sut.putAll(SUM_PRODUCTION, START, START.plusHours(1), queryResult);
+
+		assertEquals(Arrays.asList(1, null, null, 4), sut.getValues(SUM_PRODUCTION, START, START.plusHours(1)));
+
+		// Not yet available
+		assertNull(sut.getValues(SUM_PRODUCTION, START, START.plusHours(2)));
+
+		// Ring overwrites oldest values
+		sut.addValue(SUM_PRODUCTION, START.plusHours(2), 9);
+		sut.addValue(SUM_PRODUCTION, START.plusHours(2).plusMinutes(15), 10);
+		assertNull(sut.getValues(SUM_PRODUCTION, START, START.plusMinutes(150)));
+		assertEquals(Arrays.asList(4, null, null, null, null, 9, 10),
+				sut.getValues(SUM_PRODUCTION, START.plusMinutes(45), START.plusMinutes(140)));
+
+		// Write and read file
+		var file = Files.createTempFile("predictor", null);
+		try {
+			sut.writeToFile(file);
+			var read = QuarterlyValueStore.readFromFile(file, 8);
+			assertEquals(Arrays.asList(4, null, null, null, null, 9),
+					read.getValues(SUM_PRODUCTION, START.plusMinutes(45), START.plusMinutes(135)));
+
+			// Different capacity -> ignored
+			assertNull(QuarterlyValueStore.readFromFile(file, 16) //
+					.getValues(SUM_PRODUCTION, START.plusMinutes(45), START.plusMinutes(135)));
+		} finally {
+			Files.deleteIfExists(file);
+		}
+	}
+
+	@Test
+	public void testUnalignedPeriod() {
+		var sut = new QuarterlyValueStore(8);
+		final var fromDate = START.plusMinutes(7);
+		final var toDate = START.plusHours(1);
+
+		// Timedata returns the quarter that contains 'fromDate'
+		final SortedMap<ZonedDateTime, SortedMap<ChannelAddress, JsonElement>> queryResult = new TreeMap<>();
+		queryResult.put(START, value(1));
+		queryResult.put(START.plusMinutes(15), value(2));
+		queryResult.put(START.plusMinutes(30), value(3));
+		queryResult.put(START.plusMinutes(45), value(4));
+		sut.putAll(SUM_PRODUCTION, fromDate, toDate, queryResult);
+
+		var expected = queryResult.values().stream() //
+				.map(v -> v.get(SUM_PRODUCTION).getAsInt()) //
+				.toList();
+		assertEquals(expected, sut.getValues(SUM_PRODUCTION, fromDate, toDate));
+	}
+
+	private static SortedMap<ChannelAddress, JsonElement> value(Integer value) {
+		var result = new TreeMap<ChannelAddress, JsonElement>();
+		result.put(SUM_PRODUCTION, value == null ? JsonNull.INSTANCE : new JsonPrimitive(value));
+		return result;
+	}
+}
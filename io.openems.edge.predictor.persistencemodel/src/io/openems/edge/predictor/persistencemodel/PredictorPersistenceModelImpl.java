@@ -1,5 +1,6 @@
 package io.openems.edge.predictor.persistencemodel;
 
+import static io.openems.common.utils.DateUtils.roundDownToQuarter;
 import static io.openems.edge.predictor.api.prediction.Prediction.EMPTY_PREDICTION;
 
 import java.time.ZonedDateTime;
@@ -18,6 +19,9 @@ import org.osgi.service.component.annotations.Component;
 import org.osgi.service.component.annotations.ConfigurationPolicy;
 import org.osgi.service.component.annotations.Deactivate;
 import org.osgi.service.component.annotations.Reference;
+import org.osgi.service.event.Event;
+import org.osgi.service.event.EventHandler;
+import org.osgi.service.event.propertytypes.EventTopics;
 import org.osgi.service.metatype.annotations.Designate;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -34,11 +38,13 @@ import io.openems.common.types.ChannelAddress;
 import io.openems.edge.common.component.ClockProvider;
 import io.openems.edge.common.component.ComponentManager;
 import io.openems.edge.common.component.OpenemsComponent;
+import io.openems.edge.common.event.EdgeEventConstants;
 import io.openems.edge.common.sum.Sum;
 import io.openems.edge.controller.api.Controller;
 import io.openems.edge.predictor.api.prediction.AbstractPredictor;
 import io.openems.edge.predictor.api.prediction.Prediction;
 import io.openems.edge.predictor.api.prediction.Predictor;
+import io.openems.edge.predictor.api.prediction.QuarterlyValueStore;
 import io.openems.edge.timedata.api.Timedata;
 
 @Designate(ocd = Config.class, factory = true)
@@ -47,7 +53,11 @@ import io.openems.edge.timedata.api.Timedata;
 		immediate = true, //
 		configurationPolicy = ConfigurationPolicy.REQUIRE //
 )
-public class PredictorPersistenceModelImpl extends AbstractPredictor implements Predictor, OpenemsComponent {
+@EventTopics({ //
+		EdgeEventConstants.TOPIC_CYCLE_AFTER_PROCESS_IMAGE //
+})
+public class PredictorPersistenceModelImpl extends AbstractPredictor
+		implements Predictor, OpenemsComponent, EventHandler {
 
 	/** Use that many quarters to calculate regression. */
 	private static final int REGRESSION_QUERY_QUARTERS = 2 /* hours */ * 4 /* quarters */;
@@ -91,37 +101,39 @@ public class PredictorPersistenceModelImpl extends AbstractPredictor implements
 		super.deactivate();
 	}
 
+	@Override
+	protected boolean isRefreshAsynchronous() {
+		// Queries historic data
+		return true;
+	}
+
+	@Override
+	protected int getStoreCapacity() {
+		// 24 hours plus extra quarters plus the current quarter
+		return 24 * 4 + EXTRA_QUERY_QUARTERS + 2;
+	}
+
+	@Override
+	public void handleEvent(Event event) {
+		if (!this.isEnabled()) {
+			return;
+		}
+		switch (event.getTopic()) {
+		case EdgeEventConstants.TOPIC_CYCLE_AFTER_PROCESS_IMAGE //
+			-> this.collectChannelValues(this.componentManager);
+		}
+	}
+
 	@Override
 	protected Prediction createNewPrediction(ChannelAddress channelAddress) {
-		var now = ZonedDateTime.now(this.componentManager.getClock());
+		// Align with the 15 minutes resolution of the QuarterlyValueStore and Timedata
+		var now = roundDownToQuarter(ZonedDateTime.now(this.componentManager.getClock()));
 		var fromDate = now.minus(24 * 60 + EXTRA_QUERY_QUARTERS * 15, ChronoUnit.MINUTES);
 
-		// Query database
-		final SortedMap<ZonedDateTime, SortedMap<ChannelAddress, JsonElement>> queryResult;
-		try {
-			queryResult = this.timedata.queryHistoricData(null, fromDate, now, Sets.newHashSet(channelAddress),
-					new Resolution(15, ChronoUnit.MINUTES));
-		} catch (OpenemsNamedException e) {
-			this.logError(this.log, "Historic data is not available: " + e.getMessage());
-			e.printStackTrace();
-			return EMPTY_PREDICTION;
-		}
-		if (queryResult == null) {
-			this.logError(this.log, "Historic data is not available: query result is null");
+		var data = this.getHistoricValues(channelAddress, fromDate, now);
+		if (data == null) {
 			return EMPTY_PREDICTION;
 		}
-		// Extract data
-		var data = queryResult.values().stream() //
-				.map(SortedMap::values) //
-				// extract JsonElement values as flat stream
-				.flatMap(Collection::stream) //
-				// convert JsonElement to Integer
-				.map(v -> {
-					if (v.isJsonNull()) {
-						return (Integer) null;
-					}
-					return v.getAsInt();
-				}).toList();
 		if (data.isEmpty()) {
 			this.logError(this.log, "Historic data is not available: query result is empty");
 			return EMPTY_PREDICTION;
@@ -163,6 +175,53 @@ public class PredictorPersistenceModelImpl extends AbstractPredictor implements
 		return Prediction.from(this.sum, channelAddress, now, result);
 	}
 
+	/**
+	 * Gets the per-quarter values of the Channel from the
+	 * {@link QuarterlyValueStore}; queries Timedata and fills the store if it does
+	 * not cover the period.
+	 *
+	 * @param channelAddress the {@link ChannelAddress}
+	 * @param fromDate       the start of the period
+	 * @param toDate         the end of the period (exclusive)
+	 * @return the values; null on error
+	 */
+	private List<Integer> getHistoricValues(ChannelAddress channelAddress, ZonedDateTime fromDate,
+			ZonedDateTime toDate) {
+		var result = this.getStore().getValues(channelAddress, fromDate, toDate);
+		if (result != null) {
+			return result;
+		}
+
+		// Query database
+		final SortedMap<ZonedDateTime, SortedMap<ChannelAddress, JsonElement>> queryResult;
+		try {
+			queryResult = this.timedata.queryHistoricData(null, fromDate, toDate, Sets.newHashSet(channelAddress),
+					new Resolution(15, ChronoUnit.MINUTES));
+		} catch (OpenemsNamedException e) {
+			this.logError(this.log, "Historic data is not available: " + e.getMessage());
+			e.printStackTrace();
+			return null;
+		}
+		if (queryResult == null) {
+			this.logError(this.log, "Historic data is not available: query result is null");
+			return null;
+		}
+		this.getStore().putAll(channelAddress, fromDate, toDate, queryResult);
+
+		// Extract data
+		return queryResult.values().stream() //
+				.map(SortedMap::values) //
+				// extract JsonElement values as flat stream
+				.flatMap(Collection::stream) //
+				// convert JsonElement to Integer
+				.map(v -> {
+					if (v.isJsonNull()) {
+						return (Integer) null;
+					}
+					return v.getAsInt();
+				}).toList();
+	}
+
 	/**
 	 * Generate a ultra-short-term prediction purely based on regression.
 	 * 
@@ -108,6 +108,38 @@ public class PredictorPersistenceModelImplTest {
 		sut.getPrediction(METER1_ACTIVE_POWER);
 	}
 
+	@Test
+	public void testStoreAndTimedataAreIdentical() throws Exception {
+		final var start = ZonedDateTime.of(2019, 12, 30, 0, 0, 0, 0, ZoneId.of("UTC"));
+		// Not aligned to a quarter
+		final var clock = new TimeLeapClock(start.plusDays(2).plusMinutes(7).toInstant(), start.getZone());
+		var timedata = new DummyTimedata(TIMEDATA_ID);
+		for (var i = 0; i < 2 * 24 * 4; i++) {
+			timedata.add(start.plusMinutes(i * 15), METER1_ACTIVE_POWER, i);
+		}
+
+		var sut = new PredictorPersistenceModelImpl();
+		new ComponentTest(sut) //
+				.addReference("timedata", timedata) //
+				.addReference("componentManager", new DummyComponentManager(clock)) //
+				.activate(MyConfig.create() //
+						.setId(PREDICTOR_ID) //
+						.setChannelAddresses(METER1_ACTIVE_POWER.toString()) //
+						.setLogVerbosity(LogVerbosity.NONE) //
+						.build());
+
+		// Queries Timedata and fills the QuarterlyValueStore
+		var fromTimedata = sut.createNewPrediction(METER1_ACTIVE_POWER);
+
+		// Changes in Timedata are not visible once the store covers the period
+		for (var i = 0; i < 2 * 24 * 4; i++) {
+			timedata.add(start.plusMinutes(i * 15), METER1_ACTIVE_POWER, -i);
+		}
+		var fromStore = sut.createNewPrediction(METER1_ACTIVE_POWER);
+
+		assertEquals(fromTimedata.valuePerQuarter, fromStore.valuePerQuarter);
+	}
+
 	@Test
 	public void testEmpty() throws Exception {
 		final var clock = new TimeLeapClock(Instant.ofEpochSecond(1577836800) /* starts at 1. January 2020 00:00:00 */,
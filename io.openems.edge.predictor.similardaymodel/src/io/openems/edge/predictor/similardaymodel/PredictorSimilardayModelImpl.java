@@ -16,6 +16,9 @@ import org.osgi.service.component.annotations.Component;
 import org.osgi.service.component.annotations.ConfigurationPolicy;
 import org.osgi.service.component.annotations.Deactivate;
 import org.osgi.service.component.annotations.Reference;
+import org.osgi.service.event.Event;
+import org.osgi.service.event.EventHandler;
+import org.osgi.service.event.propertytypes.EventTopics;
 import org.osgi.service.metatype.annotations.Designate;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -29,11 +32,13 @@ import io.openems.common.types.ChannelAddress;
 import io.openems.edge.common.component.ClockProvider;
 import io.openems.edge.common.component.ComponentManager;
 import io.openems.edge.common.component.OpenemsComponent;
+import io.openems.edge.common.event.EdgeEventConstants;
 import io.openems.edge.common.sum.Sum;
 import io.openems.edge.controller.api.Controller;
 import io.openems.edge.predictor.api.prediction.AbstractPredictor;
 import io.openems.edge.predictor.api.prediction.Prediction;
 import io.openems.edge.predictor.api.prediction.Predictor;
+import io.openems.edge.predictor.api.prediction.QuarterlyValueStore;
 import io.openems.edge.timedata.api.Timedata;
 
 @Designate(ocd = Config.class, factory = true)
@@ -42,7 +47,11 @@ import io.openems.edge.timedata.api.Timedata;
 		immediate = true, //
 		configurationPolicy = ConfigurationPolicy.REQUIRE //
 )
-public class PredictorSimilardayModelImpl extends AbstractPredictor implements Predictor, OpenemsComponent {
+@EventTopics({ //
+		EdgeEventConstants.TOPIC_CYCLE_AFTER_PROCESS_IMAGE //
+})
+public class PredictorSimilardayModelImpl extends AbstractPredictor
+		implements Predictor, OpenemsComponent, EventHandler {
 
 	private final Logger log = LoggerFactory.getLogger(PredictorSimilardayModelImpl.class);
 
@@ -92,26 +101,87 @@ public class PredictorSimilardayModelImpl extends AbstractPredictor implements P
 		return this.componentManager;
 	}
 
+	@Override
+	protected boolean isRefreshAsynchronous() {
+		// Queries historic data
+		return true;
+	}
+
+	@Override
+	protected int getStoreCapacity() {
+		return this.config.numOfWeeks() * NUM_OF_DAYS_OF_WEEK * 96;
+	}
+
+	@Override
+	public void handleEvent(Event event) {
+		if (!this.isEnabled()) {
+			return;
+		}
+		switch (event.getTopic()) {
+		case EdgeEventConstants.TOPIC_CYCLE_AFTER_PROCESS_IMAGE //
+			-> this.collectChannelValues(this.componentManager);
+		}
+	}
+
 	@Override
 	protected Prediction createNewPrediction(ChannelAddress channelAddress) {
 		var now = roundDownToQuarter(ZonedDateTime.now(this.componentManager.getClock()));
 		// From now time to Last 4 weeks
 		var fromDate = now.minus(this.config.numOfWeeks(), ChronoUnit.WEEKS);
 
+		final var result = this.getHistoricValues(channelAddress, fromDate, now);
+		if (result == null) {
+			return EMPTY_PREDICTION;
+		}
+
+		// Num of Data per day
+		// TODO change this variable based on the resolution which is 900 in query
+		var numOfDataPerDay = 96;
+
+		var mainData = getSlicedArrayList(result, numOfDataPerDay);
+
+		// Getting the indexes of the last four similar days
+		var lastFourSimilarDays = getCorrectIndexes(mainData, NUM_OF_DAYS_OF_WEEK, PREDCTION_FOR_ONE_DAY);
+
+		// Getting the average predictions
+		var nextOneDayPredictions = getAverage(lastFourSimilarDays);
+
+		return Prediction.from(Prediction.getValueRange(this.sum, channelAddress), now,
+				nextOneDayPredictions.stream().toArray(Integer[]::new));
+	}
+
+	/**
+	 * Gets the per-quarter values of the Channel from the
+	 * {@link QuarterlyValueStore}; queries Timedata and fills the store if it does
+	 * not cover the period.
+	 *
+	 * @param channelAddress the {@link ChannelAddress}
+	 * @param fromDate       the start of the period
+	 * @param toDate         the end of the period (exclusive)
+	 * @return the values; null on error
+	 */
+	private List<Integer> getHistoricValues(ChannelAddress channelAddress, ZonedDateTime fromDate,
+			ZonedDateTime toDate) {
+		var result = this.getStore().getValues(channelAddress, fromDate, toDate);
+		if (result != null) {
+			return result;
+		}
+
 		final SortedMap<ZonedDateTime, SortedMap<ChannelAddress, JsonElement>> queryResult;
 
 		// Query database
 		try {
-			queryResult = this.timedata.queryHistoricData(null, fromDate, now, Sets.newHashSet(channelAddress),
+			queryResult = this.timedata.queryHistoricData(null, fromDate, toDate, Sets.newHashSet(channelAddress),
 					new Resolution(15, ChronoUnit.MINUTES));
 		} catch (OpenemsNamedException e) {
 			this.logError(this.log, e.getMessage());
 			e.printStackTrace();
-			return EMPTY_PREDICTION;
+			return null;
 		}
+		this.getStore().putAll(channelAddress, fromDate, toDate, queryResult);
 
 		// Extract data
-		List<Integer> result = queryResult.values().stream() //
+		return queryResult.values().stream() //
 				.map(SortedMap::values) //
 				// extract JsonElement values as flat stream
 				.flatMap(Collection::stream) //
@@ -124,21 +194,6 @@ public class PredictorSimilardayModelImpl extends AbstractPredictor implements P
 				})
 				// get as Array
 				.toList();
-
-		// Num of Data per day
-		// TODO change this variable based on the resolution which is 900 in query
-		var numOfDataPerDay = 96;
-
-		var mainData = getSlicedArrayList(result, numOfDataPerDay);
-
-		// Getting the indexes of the last four similar days
-		var lastFourSimilarDays = getCorrectIndexes(mainData, NUM_OF_DAYS_OF_WEEK, PREDCTION_FOR_ONE_DAY);
-
-		// Getting the average predictions
-		var nextOneDayPredictions = getAverage(lastFourSimilarDays);
-
-		return Prediction.from(Prediction.getValueRange(this.sum, channelAddress), now,
-				nextOneDayPredictions.stream().toArray(Integer[]::new));
 	}
 
 	/**
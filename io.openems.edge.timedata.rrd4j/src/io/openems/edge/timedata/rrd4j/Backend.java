@@ -0,0 +1,17 @@
+package io.openems.edge.timedata.rrd4j;
+
+public enum Backend {
+
+	/**
+	 * Every read and write is done by random-access file I/O.
+	 */
+	FILE,
+
+	/**
+	 * Databases are memory-mapped while they are open. Reads are served from the
+	 * page-cache; modified pages are written back periodically and when the
+	 * database is closed.
+	 */
+	MEMORY_MAPPED
+
+}
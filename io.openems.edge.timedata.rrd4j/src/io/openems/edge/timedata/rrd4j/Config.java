@@ -25,6 +25,18 @@ import io.openems.common.channel.PersistencePriority;
 	@AttributeDefinition(name = "Read-Only mode", description = "Activates the read-only mode. Then no data is written to rrd4j.")
 	boolean isReadOnly() default false;
 
+	@AttributeDefinition(name = "Storage Backend", description = "How RRD4J files are accessed. Memory-mapped databases are read from the page-cache, which speeds up historic queries.")
+	Backend backend() default Backend.FILE;
+
+	@AttributeDefinition(name = "Max Open Databases", description = "Max number of RRD4J databases that are kept open for writing and reading.")
+	int maxOpenDatabases() default 512;
+
+	@AttributeDefinition(name = "Page-Cache Budget [MB]", description = "Only for memory-mapped backend: max size of the databases that are kept open for writing and reading.")
+	int pageCacheBudget() default 64;
+
+	@AttributeDefinition(name = "Sync Period [s]", description = "Only for memory-mapped backend: write modified pages back to storage after this period.")
+	int syncPeriod() default 300;
+
 	@AttributeDefinition(name = "Debug Mode", description = "Activates the debug mode")
 	boolean debugMode() default false;
 
@@ -0,0 +1,156 @@
+package io.openems.edge.timedata.rrd4j;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZonedDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.function.Supplier;
+
+import io.openems.common.exceptions.OpenemsError.OpenemsNamedException;
+import io.openems.common.exceptions.OpenemsException;
+import io.openems.common.function.ThrowingSupplier;
+import io.openems.common.timedata.Resolution;
+import io.openems.common.types.ChannelAddress;
+
+/**
+ * Caches the results of historic queries for a short time.
+ *
+ * <p>
+ * Every UI client issues the same queries - e.g. for "today" or "this week" -
+ * on page load, while RRD4j data changes only every
+ * {@value Rrd4jConstants#DEFAULT_STEP_SECONDS} seconds. Concurrent identical
+ * queries are executed only once; later callers wait for the result of the
+ * first one.
+ *
+ * <p>
+ * Results are shared between callers; queries have to return unmodifiable
+ * results.
+ */
+public class QueryCache {
+
+	public static final Duration DEFAULT_TTL = Duration.ofMinutes(1);
+	public static final int DEFAULT_MAX_SIZE = 32;
+
+	public static record Key(//
+			String method, //
+			String rrdDbId, //
+			ZonedDateTime fromDate, //
+			ZonedDateTime toDate, //
+			Set<ChannelAddress> channels, //
+			long resolutionValue, //
+			ChronoUnit resolutionUnit //
+	) {
+
+		/**
+		 * Creates a {@link Key}.
+		 *
+		 * @param method     the name of the query method
+		 * @param rrdDbId    the id of the rrdb
+		 * @param fromDate   the From-Date
+		 * @param toDate     the To-Date
+		 * @param channels   the Channels
+		 * @param resolution the {@link Resolution}; possibly null
+		 * @return the {@link Key}
+		 */
+		public static Key of(String method, String rrdDbId, ZonedDateTime fromDate, ZonedDateTime toDate,
+				Set<ChannelAddress> channels, Resolution resolution) {
+			return new Key(method, rrdDbId, fromDate, toDate, Set.copyOf(channels), //
+					resolution == null ? 0 : resolution.getValue(), //
+					resolution == null ? null : resolution.getUnit());
+		}
+	}
+
+	private static record Entry(Instant expires, CompletableFuture<Object> result) {
+	}
+
+	private final Supplier<Clock> clock;
+	private final Duration ttl;
+	private final Map<Key, Entry> entries;
+
+	public QueryCache(Supplier<Clock> clock, Duration ttl, int maxSize) {
+		this.clock = clock;
+		this.ttl = ttl;
+		this.entries = new LinkedHashMap<>(16, 0.75f, true /* access-order */) {
+
+			private static final long serialVersionUID = 1L;
+
+			@Override
+			protected boolean removeEldestEntry(Map.Entry<Key, Entry> eldest) {
+				return this.size() > maxSize;
+			}
+		};
+	}
+
+	public QueryCache(Supplier<Clock> clock) {
+		this(clock, DEFAULT_TTL, DEFAULT_MAX_SIZE);
+	}
+
+	/**
+	 * Gets the cached result for the given {@link Key} or executes the query.
+	 *
+	 * @param <T>   the type of the result
+	 * @param key   the {@link Key}
+	 * @param query the query
+	 * @return the result
+	 * @throws OpenemsNamedException on error; errors are not cached
+	 */
+	@SuppressWarnings("unchecked")
+	public <T> T get(Key key, ThrowingSupplier<T, OpenemsNamedException> query) throws OpenemsNamedException {
+		final var now = Instant.now(this.clock.get());
+		final CompletableFuture<Object> future;
+		final boolean isOwner;
+		synchronized (this) {
+			final var entry = this.entries.get(key);
+			if (entry != null && entry.expires().isAfter(now)) {
+				future = entry.result();
+				isOwner = false;
+			} else {
+				future = new CompletableFuture<>();
+				isOwner = true;
+				this.entries.put(key, new Entry(now.plus(this.ttl), future));
+			}
+		}
+
+		if (isOwner) {
+			// Execute query in the calling thread
+			try {
+				final var result = query.get();
+				future.complete(result);
+				return result;
+			} catch (OpenemsNamedException | RuntimeException e) {
+				synchronized (this) {
+					this.entries.computeIfPresent(key, (k, entry) -> entry.result() == future ? null : entry);
+				}
+				future.completeExceptionally(e);
+				throw e;
+			}
+		}
+
+		// Wait for result of a concurrent query
+		try {
+			return (T) future.get();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new OpenemsException("Interrupted while waiting for query result");
+		} catch (ExecutionException e) {
+			if (e.getCause() instanceof OpenemsNamedException one) {
+				throw one;
+			}
+			throw new OpenemsException("Unable to read historic data: " + e.getCause().getMessage());
+		}
+	}
+
+	/**
+	 * Removes all entries.
+	 */
+	public synchronized void clear() {
+		this.entries.clear();
+	}
+
+}
@@ -1,21 +1,18 @@
 package io.openems.edge.timedata.rrd4j;
 
-import static java.util.stream.Collectors.counting;
-import static java.util.stream.Collectors.groupingBy;
-
 import java.time.Instant;
 import java.time.LocalDateTime;
 import java.time.temporal.ChronoUnit;
 import java.util.ArrayList;
-import java.util.Map.Entry;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.OptionalDouble;
 import java.util.concurrent.BlockingQueue;
 import java.util.concurrent.LinkedBlockingQueue;
 import java.util.function.Consumer;
-import java.util.function.Function;
-import java.util.function.ToDoubleFunction;
 
 import org.osgi.service.component.annotations.Activate;
 import org.osgi.service.component.annotations.Component;
@@ -25,20 +22,14 @@ import org.osgi.service.component.annotations.ServiceScope;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import com.google.gson.JsonElement;
-import com.google.gson.JsonNull;
-import com.google.gson.JsonPrimitive;
-
 import io.openems.common.channel.AccessMode;
 import io.openems.common.channel.PersistencePriority;
 import io.openems.common.channel.Unit;
 import io.openems.common.timedata.DurationUnit;
 import io.openems.common.types.ChannelAddress;
-import io.openems.common.types.OpenemsType;
 import io.openems.common.worker.AbstractImmediateWorker;
-import io.openems.edge.common.channel.Channel;
 import io.openems.edge.common.channel.EnumDoc;
-import io.openems.edge.common.channel.value.Value;
+import io.openems.edge.common.channel.history.ChannelHistory;
 import io.openems.edge.common.component.ComponentManager;
 
 @Component(//
@@ -53,7 +44,8 @@ public class RecordWorker extends AbstractImmediateWorker {
 			boolean debugMode, //
 			PersistencePriority persistencePriority, //
 			Consumer<? super Boolean> onQueueFull, //
-			Consumer<? super Boolean> onUnableToInsert //
+			Consumer<? super Boolean> onUnableToInsert, //
+			Consumer<? super Long> onWriteDuration //
 	) {
 
 	}
@@ -66,6 +58,8 @@ public class RecordWorker extends AbstractImmediateWorker {
 	) {
 	}
 
+	private static final long STOP_TIMEOUT_MILLIS = 5_000;
+
 	private final Logger log = LoggerFactory.getLogger(RecordWorker.class);
 
 	@Reference
@@ -94,6 +88,21 @@ public class RecordWorker extends AbstractImmediateWorker {
 	@Deactivate
 	public void deactivate() {
 		super.deactivate();
+		// Wait for a running write; the databases are closed afterwards
+		try {
+			this.thread.join(STOP_TIMEOUT_MILLIS);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+	}
+
+	/**
+	 * Gets the number of {@link DataRecord}s that are waiting to be written.
+	 *
+	 * @return the queue size
+	 */
+	public int getQueueSize() {
+		return this.records.size();
 	}
 
 	/**
@@ -127,6 +136,8 @@ public class RecordWorker extends AbstractImmediateWorker {
 
 		final var to = now.truncatedTo(DurationUnit.ofSeconds(Rrd4jConstants.DEFAULT_HEARTBEAT_SECONDS));
 		final var from = to.minusSeconds(Rrd4jConstants.DEFAULT_HEARTBEAT_SECONDS);
+		final var toMillis = ChannelHistory.toEpochMilli(to);
+		final var fromMillis = ChannelHistory.toEpochMilli(from);
 
 		// RRD4j requires us to write one value per DEFAULT_HEARTBEAT_SECONDS
 		if (this.lastTimestamp.equals(timestamp)) {
@@ -144,39 +155,31 @@ public class RecordWorker extends AbstractImmediateWorker {
 									&& doc.getAccessMode() != AccessMode.WRITE_ONLY) //
 							.orElse(false);
 				}).map(channel -> {
-					final var channelMapFunction = getChannelMapFunction(channel.channelDoc().getType());
-					final var channelAggregateFunction = channel.channelDoc().getUnit().getChannelAggregateFunction();
+					final var unit = channel.channelDoc().getUnit();
 
 					final long writeSeconds;
-					if (channel.channelDoc().getUnit().isCumulated()) {
+					if (unit.isCumulated()) {
 						// Write every 1h
 						writeSeconds = timestamp.truncatedTo(ChronoUnit.HOURS).getEpochSecond();
 					} else {
 						writeSeconds = timestamp.getEpochSecond();
 					}
 
-					// This is the highest timestamp before `startTime`. If existing it is used for
-					// the tailMap to make sure we get a Value even for Channels where the value has
-					// not changed within the last 5 minutes.
-					var channelStartTime = Optional.ofNullable(channel.getPastValues().floorKey(from)) //
-							.orElse(from);
-
-					var value = channelAggregateFunction.apply(//
-							channel.getPastValues() //
-									.tailMap(channelStartTime, true) //
-									.entrySet().stream() //
-									.filter(e -> e.getKey().isBefore(to)) //
-									.map(Entry::getValue) //
-									.map(Value::get) //
-									.filter(Objects::nonNull) //
-									.mapToDouble(channelMapFunction) // convert to double
-					);
+					// This is the highest timestamp before `startTime`. If existing it is used as
+					// start of the range to make sure we get a Value even for Channels where the
+					// value has not changed within the last 5 minutes.
+					final var history = channel.getHistory();
+					final var channelStartTime = history.floorTimestamp(fromMillis);
 
+					final OptionalDouble value;
 					if (channel.channelDoc() instanceof EnumDoc) {
-						final var enumChannelValue = aggregateEnumChannel(channel, channelStartTime, to);
-						if (!enumChannelValue.isJsonNull()) {
-							value = OptionalDouble.of(enumChannelValue.getAsDouble());
-						}
+						// Enum Channels: use the value with most appearances
+						final var enumChannelValue = history.mostFrequentInt(channelStartTime, toMillis);
+						value = enumChannelValue.isPresent() //
+								? OptionalDouble.of(enumChannelValue.getAsInt()) //
+								: OptionalDouble.empty();
+					} else {
+						value = history.aggregate(channelStartTime, toMillis).forUnit(unit);
 					}
 
 					if (!value.isPresent()) {
@@ -200,118 +203,85 @@ public class RecordWorker extends AbstractImmediateWorker {
 
 	@Override
 	protected void forever() throws InterruptedException {
-		final var record = this.records.take();
+		// Wait for the first record, then take all that are queued
+		final var batch = new ArrayList<DataRecord>();
+		batch.add(this.records.take());
+		this.records.drainTo(batch);
 
 		if (this.config.readOnly()) {
 			if (this.config.debugMode()) {
-				this.log.info("Read-Only-Mode is activated. Not writing record: " + record.toString());
+				batch.forEach(record -> {
+					this.log.info("Read-Only-Mode is activated. Not writing record: " + record.toString());
+				});
 			}
 			return;
 		}
 
-		try (var database = this.rrd4jSupplier.getRrdDb(this.config.rrdDbId, record.address, record.unit,
-				record.timestamp - 1)) {
-			if (database.getLastUpdateTime() == record.timestamp()) {
-				// overwrite last value if same time stamp
-				final var robin = database.getArchive(0).getRobin(0);
-				robin.setValue(robin.getSize() - 1, record.value());
-			} else if (database.getLastUpdateTime() < record.timestamp()) {
-				// Avoid and silently ignore error "IllegalArgumentException: Bad sample time:
-				// YYY. Last update time was ZZZ, at least one second step is required".
-
-				// Add Sample to RRD4J
-				database.createSample(record.timestamp()) //
-						.setValue(0, record.value) //
-						.update();
-			}
+		final var start = System.nanoTime();
 
-			this.config.onQueueFull.accept(false);
-		} catch (Throwable e) {
-			this.config.onQueueFull.accept(true);
-			if (this.config.debugMode()) {
-				this.log.error("Unable to insert Sample [%s] %s: %s".formatted(record.address,
-						e.getClass().getSimpleName(), e.getMessage()), e);
-			}
+		// Group by database, keeping the order of the samples
+		final var recordsPerDatabase = new LinkedHashMap<ChannelAddress, List<DataRecord>>();
+		for (var record : batch) {
+			recordsPerDatabase.computeIfAbsent(record.address(), t -> new ArrayList<>()).add(record);
 		}
-	}
 
-	private static final ToDoubleFunction<? super Object> MAP_BOOLEAN_TO_DOUBLE //
-			= value -> ((Boolean) value ? 1d : 0d);
-	private static final ToDoubleFunction<? super Object> MAP_SHORT_TO_DOUBLE //
-			= value -> ((Short) value).doubleValue();
-	private static final ToDoubleFunction<? super Object> MAP_INTEGER_TO_DOUBLE //
-			= value -> ((Integer) value).doubleValue();
-	private static final ToDoubleFunction<? super Object> MAP_LONG_TO_DOUBLE //
-			= value -> ((Long) value).doubleValue();
-	private static final ToDoubleFunction<? super Object> MAP_FLOAT_TO_DOUBLE //
-			= value -> ((Float) value).doubleValue();
-	private static final ToDoubleFunction<? super Object> MAP_DOUBLE_TO_DOUBLE //
-			= value -> ((Double) value);
-	private static final ToDoubleFunction<? super Object> MAP_TO_DOUBLE_NOT_SUPPORTED //
-			= value -> 0d;
-
-	private static ToDoubleFunction<? super Object> getChannelMapFunction(OpenemsType openemsType) {
-		return switch (openemsType) {
-		case BOOLEAN -> MAP_BOOLEAN_TO_DOUBLE;
-		case SHORT -> MAP_SHORT_TO_DOUBLE;
-		case INTEGER -> MAP_INTEGER_TO_DOUBLE;
-		case LONG -> MAP_LONG_TO_DOUBLE;
-		case FLOAT -> MAP_FLOAT_TO_DOUBLE;
-		case DOUBLE -> MAP_DOUBLE_TO_DOUBLE;
-		case STRING -> MAP_TO_DOUBLE_NOT_SUPPORTED; // Strings are not supported by RRD4J
-		};
-	}
+		// Write to databases that are already open first. The batches of consecutive
+		// runs come in the same order; without this, a pool smaller than the number of
+		// Channels would always evict exactly the database that is needed next.
+		final var addresses = new ArrayList<>(recordsPerDatabase.keySet());
+		addresses.sort(Comparator.comparing(//
+				address -> !this.rrd4jSupplier.isRrdDbOpen(this.config.rrdDbId, address)));
 
-	protected static JsonElement aggregateEnumChannel(//
-			Channel<?> channel, //
-			LocalDateTime channelStartTime, //
-			LocalDateTime endTime //
-	) {
-		final var doc = channel.channelDoc();
-		if (!(doc instanceof EnumDoc)) {
-			return JsonNull.INSTANCE;
-		}
-		final var numberOfValuesPerOption = channel.getPastValues() //
-				.tailMap(channelStartTime, true) //
-				.entrySet() //
-				.stream() //
-				.filter(e -> e.getKey().isBefore(endTime)) //
-				.filter(e -> e.getValue().isDefined()) //
-				.map(e -> (Integer) e.getValue().get()) //
-				.collect(groupingBy(Function.identity(), counting()));
-
-		final var values = numberOfValuesPerOption.entrySet().stream() //
-				.sorted((o1, o2) -> Long.compare(o2.getValue(), o1.getValue())) //
-				.toList();
-
-		final var maxValues = new ArrayList<Integer>();
-		var maxCount = -1L;
-		for (var entry : values) {
-			if (entry.getValue() < maxCount) {
-				break;
-			}
-			if (entry.getValue() == maxCount) {
-				maxValues.add(entry.getKey());
-				continue;
-			}
-			maxCount = entry.getValue();
-			maxValues.clear();
-			maxValues.add(entry.getKey());
+		var hasError = false;
+		for (var address : addresses) {
+			hasError |= !this.write(address, recordsPerDatabase.get(address));
 		}
 
-		// pick first value with most appearances
-		for (var entry : channel.getPastValues().descendingMap().entrySet()) {
-			for (var optionValue : maxValues) {
-				if (!entry.getValue().isDefined()) {
-					continue;
-				}
-				final var entryValue = entry.getValue().get();
-				if (((Integer) entryValue).intValue() == optionValue) {
-					return new JsonPrimitive(optionValue);
+		this.config.onQueueFull.accept(hasError);
+		this.config.onWriteDuration.accept((System.nanoTime() - start) / 1_000_000);
+	}
+
+	/**
+	 * Writes the {@link DataRecord}s of one database.
+	 *
+	 * @param address the {@link ChannelAddress}
+	 * @param records the {@link DataRecord}s, ordered by time
+	 * @return true on success
+	 */
+	private boolean write(ChannelAddress address, List<DataRecord> records) {
+		final var first = records.get(0);
+		try (final var lease = this.rrd4jSupplier.leaseRrdDb(this.config.rrdDbId, address, first.unit(),
+				first.timestamp() - 1)) {
+			final var database = lease.database();
+			// Reads of the Rrd4jReadHandler share this database
+			synchronized (database) {
+				for (var record : records) {
+					if (database.getLastUpdateTime() == record.timestamp()) {
+						// overwrite last value if same time stamp
+						final var robin = database.getArchive(0).getRobin(0);
+						robin.setValue(robin.getSize() - 1, record.value());
+					} else if (database.getLastUpdateTime() < record.timestamp()) {
+						// Avoid and silently ignore error "IllegalArgumentException: Bad sample time:
+						// YYY. Last update time was ZZZ, at least one second step is required".
+
+						// Add Sample to RRD4J
+						database.createSample(record.timestamp()) //
+								.setValue(0, record.value()) //
+								.update();
+					}
 				}
 			}
+			return true;
+
+		} catch (Throwable e) {
+			// Reopen on next write
+			this.rrd4jSupplier.invalidateRrdDb(this.config.rrdDbId, address);
+			if (this.config.debugMode()) {
+				this.log.error("Unable to insert Sample [%s] %s: %s".formatted(address, e.getClass().getSimpleName(),
+						e.getMessage()), e);
+			}
+			return false;
 		}
-		return JsonNull.INSTANCE;
 	}
 
 }
@@ -5,12 +5,19 @@ import java.time.Instant;
 import java.time.ZoneOffset;
 import java.time.ZonedDateTime;
 import java.time.temporal.ChronoUnit;
+import java.util.Collections;
 import java.util.List;
+import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
 import java.util.SortedMap;
 import java.util.TreeMap;
+import java.util.concurrent.CancellationException;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
 import java.util.function.Function;
 import java.util.stream.Collectors;
 import java.util.stream.IntStream;
@@ -18,13 +25,16 @@ import java.util.stream.Stream;
 
 import org.osgi.service.component.annotations.Activate;
 import org.osgi.service.component.annotations.Component;
+import org.osgi.service.component.annotations.Deactivate;
 import org.osgi.service.component.annotations.Reference;
 import org.osgi.service.component.annotations.ServiceScope;
 import org.rrd4j.core.Archive;
+import org.rrd4j.core.FetchData;
 import org.rrd4j.core.RrdDb;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import com.google.gson.JsonElement;
 import com.google.gson.JsonNull;
 import com.google.gson.JsonPrimitive;
@@ -44,8 +54,17 @@ import io.openems.edge.timedata.api.Timeranges;
 )
 public class Rrd4jReadHandler {
 
+	/** Max number of databases that are read in parallel. */
+	private static final int MAX_PARALLEL_READS = 4;
+
 	private final Logger log = LoggerFactory.getLogger(this.getClass());
 
+	private final ExecutorService executor = Executors.newFixedThreadPool(//
+			Math.min(MAX_PARALLEL_READS, Runtime.getRuntime().availableProcessors()), //
+			new ThreadFactoryBuilder().setNameFormat("Rrd4jReadHandler-%d").setDaemon(true).build());
+
+	private final QueryCache cache = new QueryCache(() -> this.componentManager.getClock());
+
 	@Reference
 	private ComponentManager componentManager;
 
@@ -56,6 +75,12 @@ public class Rrd4jReadHandler {
 	public Rrd4jReadHandler() {
 	}
 
+	@Deactivate
+	protected void deactivate() {
+		this.executor.shutdownNow();
+		this.cache.clear();
+	}
+
 	private static int calculateIndex(Archive archive, long timestamp) throws IOException {
 		return (int) ((timestamp - archive.getStartTime()) / archive.getArcStep());
 	}
@@ -168,12 +193,15 @@ public class Rrd4jReadHandler {
 			// unable to get channel
 			throw new OpenemsException("RRD4j Database for " + notSendChannel + " is missing");
 		}
-		try (final var database = this.rrd4jSupplier.getExistingUpdatedRrdDb(//
+		try (final var lease = this.rrd4jSupplier.leaseExistingUpdatedRrdDb(//
 				rrdDbId, channel.address(), channel.channelDoc().getUnit())) {
+			final var database = lease.database();
 			if (database == null) {
 				throw new OpenemsException("RRD4j Database for " + notSendChannel + " is missing");
 			}
-			return getTimerangesOfNotSendData(database, lastResendTimestamp);
+			synchronized (database) {
+				return getTimerangesOfNotSendData(database, lastResendTimestamp);
+			}
 		} catch (IOException e) {
 			throw new OpenemsException("Unable to query database.", e);
 		}
@@ -213,8 +241,9 @@ public class Rrd4jReadHandler {
 				}
 				continue;
 			}
-			try (final var database = this.rrd4jSupplier.getExistingUpdatedRrdDb(//
+			try (final var lease = this.rrd4jSupplier.leaseExistingUpdatedRrdDb(//
 					rrdDbId, channel.address(), channel.channelDoc().getUnit())) {
+				final var database = lease.database();
 				if (database == null) {
 					if (debugMode) {
 						this.log.warn("Unable to query RRD4j: " //
@@ -223,41 +252,45 @@ public class Rrd4jReadHandler {
 					continue;
 				}
 
-				for (int i = 0; i < database.getArcCount(); i++) {
-					final var archive = database.getArchive(i);
-					final var arcStep = archive.getArcStep();
+				// RecordWorker updates the shared RrdDb under the same lock
+				synchronized (database) {
+					for (int i = 0; i < database.getArcCount(); i++) {
+						final var archive = database.getArchive(i);
+						final var arcStep = archive.getArcStep();
 
-					final var adjustSeconds = arcStep - Rrd4jConstants.DEFAULT_STEP_SECONDS;
+						final var adjustSeconds = arcStep - Rrd4jConstants.DEFAULT_STEP_SECONDS;
 
-					final var start = Math.max(fromTime - adjustSeconds, archive.getStartTime());
-					final var stop = Math.min(toTime - adjustSeconds, archive.getEndTime());
-					if (start > archive.getEndTime()) {
-						continue;
-					}
-					if (stop < archive.getStartTime()) {
-						continue;
-					}
-
-					final var fetchData = database.createFetchRequest(archive.getConsolFun(), start, stop, arcStep) //
-							.fetchData();
-
-					final var timestamps = fetchData.getTimestamps();
-					final var values = fetchData.getValues()[0];
-					for (int j = 0; j < values.length; j++) {
-						final var value = values[j];
-						if (Double.isNaN(value)) {
+						final var start = Math.max(fromTime - adjustSeconds, archive.getStartTime());
+						final var stop = Math.min(toTime - adjustSeconds, archive.getEndTime());
+						if (start > archive.getEndTime()) {
 							continue;
 						}
-						final var timestamp = timestamps[j] + adjustSeconds;
-
-						if (timestamp < fromTime //
-								|| timestamp > toTime) {
+						if (stop < archive.getStartTime()) {
 							continue;
 						}
 
-						// return timestamps in milliseconds
-						resultMap.computeIfAbsent(timestamp * 1000, t -> new TreeMap<>()) //
-								.put(channelAddress, new JsonPrimitive(value));
+						final var fetchData = database //
+								.createFetchRequest(archive.getConsolFun(), start, stop, arcStep) //
+								.fetchData();
+
+						final var timestamps = fetchData.getTimestamps();
+						final var values = fetchData.getValues()[0];
+						for (int j = 0; j < values.length; j++) {
+							final var value = values[j];
+							if (Double.isNaN(value)) {
+								continue;
+							}
+							final var timestamp = timestamps[j] + adjustSeconds;
+
+							if (timestamp < fromTime //
+									|| timestamp > toTime) {
+								continue;
+							}
+
+							// return timestamps in milliseconds
+							resultMap.computeIfAbsent(timestamp * 1000, t -> new TreeMap<>()) //
+									.put(channelAddress, new JsonPrimitive(value));
+						}
 					}
 				}
 
@@ -274,13 +307,17 @@ public class Rrd4jReadHandler {
 	/**
 	 * Queries historic data.
 	 *
+	 * <p>
+	 * All Channels are fetched in parallel. Results are cached for a short time,
+	 * see {@link QueryCache}.
+	 *
 	 * @param rrdDbId    the id of the rrdb
 	 * @param fromDate   the From-Date
 	 * @param toDate     the To-Date
 	 * @param channels   the Channels
 	 * @param resolution the {@link Resolution}
 	 * @param debugMode  if debugMode is active
-	 * @return the query result; possibly null
+	 * @return the unmodifiable query result
 	 */
 	public SortedMap<ZonedDateTime, SortedMap<ChannelAddress, JsonElement>> queryHistoricData(//
 			final String rrdDbId, //
@@ -290,96 +327,125 @@ public class Rrd4jReadHandler {
 			final Resolution resolution, //
 			final boolean debugMode //
 	) throws OpenemsNamedException {
-		final var timezone = fromDate.getZone();
-		final var table = new TreeMap<ZonedDateTime, SortedMap<ChannelAddress, JsonElement>>();
+		return this.cache.get(//
+				QueryCache.Key.of("queryHistoricData", rrdDbId, fromDate, toDate, channels, resolution), //
+				() -> this.doQueryHistoricData(rrdDbId, fromDate, toDate, channels, resolution, debugMode));
+	}
 
+	private SortedMap<ZonedDateTime, SortedMap<ChannelAddress, JsonElement>> doQueryHistoricData(//
+			final String rrdDbId, //
+			final ZonedDateTime fromDate, //
+			final ZonedDateTime toDate, //
+			final Set<ChannelAddress> channels, //
+			final Resolution resolution, //
+			final boolean debugMode //
+	) throws OpenemsNamedException {
+		final var timezone = fromDate.getZone();
 		final var fromTimestamp = fromDate.withZoneSameInstant(ZoneOffset.UTC).toEpochSecond();
 		final var toTimeStamp = toDate.withZoneSameInstant(ZoneOffset.UTC).toEpochSecond();
-		var errorCounter = 0;
+		final long step = resolution.toSeconds();
 
-		try {
-			for (var channelAddress : channels) {
-				final Channel<?> channel;
-				try {
-					channel = this.componentManager.getChannel(channelAddress);
-				} catch (Exception e) {
-					if (debugMode) {
-						this.log.warn("Unable to get channel " + channelAddress, e);
-					}
-					errorCounter++;
-					continue;
-				}
-				final var chDef = Rrd4jSupplier.getDsDefForChannel(channel.channelDoc().getUnit());
-				final double[] result;
-				try (final var database = this.rrd4jSupplier.getExistingUpdatedRrdDb(rrdDbId, channel.address(),
-						channel.channelDoc().getUnit())) {
-					if (database == null) {
-						if (debugMode) {
-							this.log.warn(
-									"Unable to query RRD4j" + "RRD4j Database for " + channelAddress + " is missing");
-						}
-						errorCounter++;
-						continue;
-					}
+		// Fetch one column of values per Channel; null on error
+		final var addresses = List.copyOf(channels);
+		final var columns = this.queryParallel(addresses, channelAddress -> {
+			return this.fetchHistoricData(rrdDbId, channelAddress, fromTimestamp, toTimeStamp, step, debugMode);
+		});
 
-					final var fetchedData = database
-							.createFetchRequest(chDef.consolFun(), fromTimestamp, toTimeStamp, resolution.toSeconds())
-							.fetchData();
-					// Post-Process data
-					result = Rrd4jSupplier.postProcessData(fetchedData, resolution.toSeconds());
-				} catch (Exception e) {
-					if (debugMode) {
-						this.log.warn("Unable to query RRD4j " + channelAddress, e);
-					}
-					errorCounter++;
+		// If no Channel can be read successfully: throw exception; otherwise return the
+		// available data
+		if (columns.stream().allMatch(Objects::isNull)) {
+			throw new OpenemsException("Unable to read historic data: None of the requested Channels is available: "
+					+ channels.stream().map(c -> c.toString()).collect(Collectors.joining(", ")));
+		}
+
+		// Build result table
+		final var table = new TreeMap<ZonedDateTime, SortedMap<ChannelAddress, JsonElement>>();
+		final var rows = columns.stream() //
+				.filter(Objects::nonNull) //
+				.mapToInt(column -> column.length) //
+				.max().orElse(0);
+		for (var i = 0; i < rows; i++) {
+			final var tableRow = new TreeMap<ChannelAddress, JsonElement>();
+			for (var j = 0; j < columns.size(); j++) {
+				final var column = columns.get(j);
+				if (column == null || i >= column.length) {
 					continue;
 				}
-				try {
-					for (var i = 0; i < result.length; i++) {
-						final var timestamp = fromTimestamp + (i * resolution.toSeconds());
-
-						// Prepare result table row
-						var timestampInstant = Instant.ofEpochSecond(timestamp);
-						var dateTime = ZonedDateTime.ofInstant(timestampInstant, ZoneOffset.UTC) //
-								.withZoneSameInstant(timezone);
-
-						final var tableRow = table.computeIfAbsent(dateTime, t -> new TreeMap<>());
+				final var value = column[i];
+				tableRow.put(addresses.get(j), Double.isNaN(value) //
+						? JsonNull.INSTANCE
+						: new JsonPrimitive(value));
+			}
+			if (!tableRow.isEmpty()) {
+				final var timestamp = Instant.ofEpochSecond(fromTimestamp + i * step);
+				table.put(ZonedDateTime.ofInstant(timestamp, timezone), Collections.unmodifiableSortedMap(tableRow));
+			}
+		}
+		return Collections.unmodifiableSortedMap(table);
+	}
 
-						final var value = result[i];
-						tableRow.put(channelAddress, Double.isNaN(value) //
-								? JsonNull.INSTANCE
-								: new JsonPrimitive(value));
-					}
-				} catch (Exception e) {
-					if (debugMode) {
-						this.log.warn("Unable to query RRD4j " + channelAddress, e);
-					}
-					errorCounter++;
+	/**
+	 * Fetches the values of one Channel with the given resolution.
+	 *
+	 * @param rrdDbId        the id of the rrdb
+	 * @param channelAddress the {@link ChannelAddress}
+	 * @param fromTimestamp  the start epoch seconds
+	 * @param toTimestamp    the end epoch seconds
+	 * @param step           the resolution in seconds
+	 * @param debugMode      if debugMode is active
+	 * @return the values, NaN for missing values; null on error
+	 */
+	private double[] fetchHistoricData(String rrdDbId, ChannelAddress channelAddress, long fromTimestamp,
+			long toTimestamp, long step, boolean debugMode) {
+		final Channel<?> channel;
+		try {
+			channel = this.componentManager.getChannel(channelAddress);
+		} catch (Exception e) {
+			if (debugMode) {
+				this.log.warn("Unable to get channel " + channelAddress, e);
+			}
+			return null;
+		}
+		final var chDef = Rrd4jSupplier.getDsDefForChannel(channel.channelDoc().getUnit());
+		try (final var lease = this.rrd4jSupplier.leaseExistingUpdatedRrdDb(rrdDbId, channel.address(),
+				channel.channelDoc().getUnit())) {
+			final var database = lease.database();
+			if (database == null) {
+				if (debugMode) {
+					this.log.warn("Unable to query RRD4j" + "RRD4j Database for " + channelAddress + " is missing");
 				}
+				return null;
 			}
 
-			// If no Channel can be read successfully: throw exception; otherwise return the
-			// available data
-			if (errorCounter == channels.size()) {
-				throw new OpenemsException("None of the requested Channels is available: "
-						+ channels.stream().map(c -> c.toString()).collect(Collectors.joining(", ")));
+			final FetchData fetchedData;
+			synchronized (database) {
+				fetchedData = database //
+						.createFetchRequest(chDef.consolFun(), fromTimestamp, toTimestamp, step) //
+						.fetchData();
 			}
-
+			// Post-Process data
+			return Rrd4jSupplier.postProcessData(fetchedData, step);
 		} catch (Exception e) {
-			throw new OpenemsException("Unable to read historic data: " + e.getMessage());
+			if (debugMode) {
+				this.log.warn("Unable to query RRD4j " + channelAddress, e);
+			}
+			return null;
 		}
-		return table;
 	}
 
 	/**
 	 * Queries historic energy.
 	 *
+	 * <p>
+	 * All Channels are fetched in parallel. Results are cached for a short time,
+	 * see {@link QueryCache}.
+	 *
 	 * @param rrdDbId   the id of the rrdb
 	 * @param fromDate  the From-Date
 	 * @param toDate    the To-Date
 	 * @param channels  the Channels
 	 * @param debugMode if debugMode is active
-	 * @return the query result; possibly null
+	 * @return the unmodifiable query result
 	 */
 	public SortedMap<ChannelAddress, JsonElement> queryHistoricEnergy(//
 			final String rrdDbId, //
@@ -388,60 +454,28 @@ public class Rrd4jReadHandler {
 			final Set<ChannelAddress> channels, //
 			final boolean debugMode //
 	) throws OpenemsNamedException {
-		final var fromTimestamp = fromDate.toEpochSecond();
-		final var toTimestamp = toDate.toEpochSecond();
-
-		final var result = channels.stream() //
-				.collect(Collectors.toMap(Function.identity(), channelAddress -> {
-					final Channel<?> channel;
-					try {
-						channel = this.componentManager.getChannel(channelAddress);
-					} catch (Exception e) {
-						// unable to get channel
-						if (debugMode) {
-							this.log.warn("Unable to query RRD4j", e);
-						}
-						return JsonNull.INSTANCE;
+		return this.cache.get(//
+				QueryCache.Key.of("queryHistoricEnergy", rrdDbId, fromDate, toDate, channels, null), //
+				() -> {
+					final var addresses = List.copyOf(channels);
+					final var boundaries = new long[] { fromDate.toEpochSecond(), toDate.toEpochSecond() };
+					final var columns = this.queryParallel(addresses, channelAddress -> {
+						return this.fetchEnergy(rrdDbId, channelAddress, boundaries, debugMode);
+					});
+
+					final var result = new TreeMap<ChannelAddress, JsonElement>();
+					for (var j = 0; j < addresses.size(); j++) {
+						result.put(addresses.get(j), toJson(columns.get(j), 0));
 					}
-					try (final var database = this.rrd4jSupplier.getExistingUpdatedRrdDb(//
-							rrdDbId, channel.address(), channel.channelDoc().getUnit())) {
-						if (database == null) {
-							if (debugMode) {
-								this.log.warn("Unable to query RRD4j: " //
-										+ "RRD4j Database for " + channelAddress + " is missing");
-							}
-							return JsonNull.INSTANCE;
-						}
-
-						var first = getFirstValueBefore(database, fromTimestamp);
 
-						// minus 1h to include the last timestamp of the requested day
-						final var last = getLastValue(database, fromTimestamp, toTimestamp);
-
-						// get first value in range
-						if (Double.isNaN(first) && !Double.isNaN(last)) {
-							return new JsonPrimitive(last);
-						}
-
-						if (Double.isNaN(first) || Double.isNaN(last)) {
-							return JsonNull.INSTANCE;
-						}
-						return new JsonPrimitive(last - first);
-					} catch (Exception e) {
-						if (debugMode) {
-							this.log.warn("Unable to query RRD4j", e);
-						}
-						return JsonNull.INSTANCE;
+					// If no Channel can be read successfully: throw exception
+					if (result.values().stream().allMatch(JsonElement::isJsonNull)) {
+						throw new OpenemsException(
+								"Unable to read historic data: None of the requested Channels is available: "
+										+ channels.stream().map(c -> c.toString()).collect(Collectors.joining(", ")));
 					}
-				}, (t, u) -> t, TreeMap::new));
-
-		// If no Channel can be read successfully: throw exception
-		if (result.values().stream().allMatch(JsonElement::isJsonNull)) {
-			throw new OpenemsException("Unable to read historic data: None of the requested Channels is available: "
-					+ channels.stream().map(c -> c.toString()).collect(Collectors.joining(", ")));
-		}
-
-		return result;
+					return Collections.unmodifiableSortedMap(result);
+				});
 	}
 
 	/**
@@ -453,13 +487,17 @@ public class Rrd4jReadHandler {
 	 * chart. For each period the energy is calculated by subtracting first value of
 	 * the period from the last value of the period.
 	 *
+	 * <p>
+	 * All Channels are fetched in parallel, every database is opened only once for
+	 * all periods. Results are cached for a short time, see {@link QueryCache}.
+	 *
 	 * @param rrdDbId    the id of the rrdb
 	 * @param fromDate   the From-Date
 	 * @param toDate     the To-Date
 	 * @param channels   the Channels
 	 * @param resolution the {@link Resolution}
 	 * @param debugMode  if debugMode is active
-	 * @return the query result; possibly null
+	 * @return the unmodifiable query result
 	 */
 	public SortedMap<ZonedDateTime, SortedMap<ChannelAddress, JsonElement>> queryHistoricEnergyPerPeriod(//
 			final String rrdDbId, //
@@ -469,15 +507,137 @@ public class Rrd4jReadHandler {
 			final Resolution resolution, //
 			final boolean debugMode //
 	) throws OpenemsNamedException {
-		return streamRanges(fromDate, toDate, resolution) //
-				.collect(Collectors.toMap(Range::from, range -> {
+		return this.cache.get(//
+				QueryCache.Key.of("queryHistoricEnergyPerPeriod", rrdDbId, fromDate, toDate, channels, resolution), //
+				() -> {
+					final var ranges = streamRanges(fromDate, toDate, resolution).toList();
+					final var boundaries = new long[ranges.size() + 1];
+					for (var i = 0; i < ranges.size(); i++) {
+						boundaries[i] = ranges.get(i).from().toEpochSecond();
+						boundaries[i + 1] = ranges.get(i).to().toEpochSecond();
+					}
+
+					final var addresses = List.copyOf(channels);
+					final var columns = this.queryParallel(addresses, channelAddress -> {
+						return this.fetchEnergy(rrdDbId, channelAddress, boundaries, debugMode);
+					});
+
+					final var result = new TreeMap<ZonedDateTime, SortedMap<ChannelAddress, JsonElement>>();
+					for (var i = 0; i < ranges.size(); i++) {
+						final var values = new TreeMap<ChannelAddress, JsonElement>();
+						for (var j = 0; j < addresses.size(); j++) {
+							values.put(addresses.get(j), toJson(columns.get(j), i));
+						}
+						result.put(ranges.get(i).from(), Collections.unmodifiableSortedMap(values));
+					}
+					return Collections.unmodifiableSortedMap(result);
+				});
+	}
+
+	/**
+	 * Calculates the energy of one Channel for consecutive periods.
+	 *
+	 * @param rrdDbId        the id of the rrdb
+	 * @param channelAddress the {@link ChannelAddress}
+	 * @param boundaries     the epoch seconds of the period boundaries, i.e. n + 1
+	 *                       values for n periods
+	 * @param debugMode      if debugMode is active
+	 * @return the energy per period, NaN if not available; null on error
+	 */
+	private double[] fetchEnergy(String rrdDbId, ChannelAddress channelAddress, long[] boundaries,
+			boolean debugMode) {
+		final Channel<?> channel;
+		try {
+			channel = this.componentManager.getChannel(channelAddress);
+		} catch (Exception e) {
+			// unable to get channel
+			if (debugMode) {
+				this.log.warn("Unable to query RRD4j", e);
+			}
+			return null;
+		}
+		try (final var lease = this.rrd4jSupplier.leaseExistingUpdatedRrdDb(//
+				rrdDbId, channel.address(), channel.channelDoc().getUnit())) {
+			final var database = lease.database();
+			if (database == null) {
+				if (debugMode) {
+					this.log.warn("Unable to query RRD4j: " //
+							+ "RRD4j Database for " + channelAddress + " is missing");
+				}
+				return null;
+			}
+
+			final var result = new double[boundaries.length - 1];
+			synchronized (database) {
+				for (var i = 0; i < result.length; i++) {
 					try {
-						return this.queryHistoricEnergy(rrdDbId, range.from(), range.to(), channels, debugMode);
-					} catch (OpenemsNamedException e) {
-						return channels.stream().collect(Collectors.toMap(Function.identity(),
-								channel -> JsonNull.INSTANCE, (t, u) -> t, TreeMap::new));
+						result[i] = getEnergy(database, boundaries[i], boundaries[i + 1]);
+					} catch (Exception e) {
+						if (debugMode) {
+							this.log.warn("Unable to query RRD4j", e);
+						}
+						result[i] = Double.NaN;
 					}
-				}, (t, u) -> t, TreeMap::new));
+				}
+			}
+			return result;
+
+		} catch (Exception e) {
+			if (debugMode) {
+				this.log.warn("Unable to query RRD4j", e);
+			}
+			return null;
+		}
+	}
+
+	private static double getEnergy(RrdDb database, long fromTimestamp, long toTimestamp) throws IOException {
+		final var first = getFirstValueBefore(database, fromTimestamp);
+
+		// minus 1h to include the last timestamp of the requested day
+		final var last = getLastValue(database, fromTimestamp, toTimestamp);
+
+		// get first value in range
+		if (Double.isNaN(first) && !Double.isNaN(last)) {
+			return last;
+		}
+
+		if (Double.isNaN(first) || Double.isNaN(last)) {
+			return Double.NaN;
+		}
+		return last - first;
+	}
+
+	private static JsonElement toJson(double[] column, int index) {
+		if (column == null || Double.isNaN(column[index])) {
+			return JsonNull.INSTANCE;
+		}
+		return new JsonPrimitive(column[index]);
+	}
+
+	/**
+	 * Applies the function to all Channels in parallel on the query executor.
+	 *
+	 * @param <T>      the type of the result
+	 * @param channels the {@link ChannelAddress}es
+	 * @param function the function; must not throw
+	 * @return the results in the order of the given Channels
+	 * @throws OpenemsException on error
+	 */
+	private <T> List<T> queryParallel(List<ChannelAddress> channels, Function<ChannelAddress, T> function)
+			throws OpenemsException {
+		if (channels.size() == 1) {
+			return Collections.singletonList(function.apply(channels.get(0)));
+		}
+		try {
+			final var futures = channels.stream() //
+					.map(channel -> CompletableFuture.supplyAsync(() -> function.apply(channel), this.executor)) //
+					.toList();
+			return futures.stream() //
+					.map(CompletableFuture::join) //
+					.toList();
+		} catch (CompletionException | CancellationException | RejectedExecutionException e) {
+			throw new OpenemsException("Unable to read historic data: " + e.getMessage());
+		}
 	}
 
 	protected static record Range(ZonedDateTime from, ZonedDateTime to) {
@@ -557,23 +717,16 @@ public class Rrd4jReadHandler {
 				return Optional.empty();
 			}
 
-			try (var database = this.rrd4jSupplier.getExistingUpdatedRrdDb(rrdDbId, channelAddress,
+			try (var lease = this.rrd4jSupplier.leaseExistingUpdatedRrdDb(rrdDbId, channelAddress,
 					channel.channelDoc().getUnit())) {
+				final var database = lease.database();
 				if (database == null) {
 					return Optional.empty();
 				}
 
-				// search for last value in robin
-				final var robin = database.getArchive(0).getRobin(0);
-				for (int i = robin.getSize() - 1; i >= 0; i--) {
-					final var value = robin.getValue(i);
-					if (Double.isNaN(value)) {
-						continue;
-					}
-					return Optional.of(value);
+				synchronized (database) {
+					return getLatestValue(database);
 				}
-
-				return Optional.empty();
 			} catch (Exception e) {
 				return Optional.empty();
 			}
@@ -600,28 +753,34 @@ public class Rrd4jReadHandler {
 	) {
 		return CompletableFuture.supplyAsync(() -> {
 
-			try (var database = this.rrd4jSupplier.getExistingUpdatedRrdDb(rrdDbId, channelAddress, unit)) {
+			try (var lease = this.rrd4jSupplier.leaseExistingUpdatedRrdDb(rrdDbId, channelAddress, unit)) {
+				final var database = lease.database();
 				if (database == null) {
 					return Optional.empty();
 				}
 
-				// search for last value in robin
-				final var robin = database.getArchive(0).getRobin(0);
-				for (int i = robin.getSize() - 1; i >= 0; i--) {
-					final var value = robin.getValue(i);
-					if (Double.isNaN(value)) {
-						continue;
-					}
-					return Optional.of(value);
+				synchronized (database) {
+					return getLatestValue(database);
 				}
-
-				return Optional.empty();
 			} catch (Exception e) {
 				return Optional.empty();
 			}
 		});
 	}
 
+	private static Optional<Object> getLatestValue(RrdDb database) throws IOException {
+		// search for last value in robin
+		final var robin = database.getArchive(0).getRobin(0);
+		for (int i = robin.getSize() - 1; i >= 0; i--) {
+			final var value = robin.getValue(i);
+			if (Double.isNaN(value)) {
+				continue;
+			}
+			return Optional.of(value);
+		}
+		return Optional.empty();
+	}
+
 	private static double getFirstValueBefore(RrdDb database, long endTimestamp) throws IOException {
 		final var archive = database.getArchive(0);
 		if (archive.getStartTime() > endTimestamp) {
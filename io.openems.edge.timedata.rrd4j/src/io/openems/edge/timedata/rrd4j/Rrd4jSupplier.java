@@ -22,6 +22,7 @@ import org.rrd4j.core.DsDef;
 import org.rrd4j.core.FetchData;
 import org.rrd4j.core.RrdBackendFactory;
 import org.rrd4j.core.RrdDb;
+import org.rrd4j.core.RrdNioBackendFactory;
 import org.rrd4j.core.RrdRandomAccessFileBackendFactory;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -49,6 +50,10 @@ public class Rrd4jSupplier {
 	private final KeyLock keyLock = new KeyLock();
 	private final RrdBackendFactory factory;
 
+	// rrdDbId => backend and pooled databases; if not set, the default factory is
+	// used and databases are opened per access
+	private final Map<String, SharedBackend> backends = new ConcurrentHashMap<>();
+
 	// channelAddress, rrdDbId => file path
 	private final BiFunction<ChannelAddress, String, String> fileValidator;
 
@@ -74,6 +79,214 @@ public class Rrd4jSupplier {
 		);
 	}
 
+	/**
+	 * The {@link RrdBackendFactory} and the {@link RrdDbLruPool} of one RrdDb-ID,
+	 * shared by the reading and the writing path.
+	 *
+	 * <p>
+	 * Every {@link RrdDbLease} holds a reference. After
+	 * {@link Rrd4jSupplier#removeBackend(String)} the pooled databases and the
+	 * factory are closed as soon as the last lease is closed.
+	 */
+	private final class SharedBackend {
+
+		private final RrdBackendFactory factory;
+		private final RrdDbLruPool pool;
+
+		private int references = 0;
+		private boolean isRemoved = false;
+
+		private SharedBackend(RrdBackendFactory factory, RrdDbLruPool pool) {
+			this.factory = factory;
+			this.pool = pool;
+		}
+
+		private synchronized boolean retain() {
+			if (this.isRemoved) {
+				return false;
+			}
+			this.references++;
+			return true;
+		}
+
+		private synchronized void release() {
+			this.references--;
+			this.closeIfUnused();
+		}
+
+		private synchronized void remove() {
+			this.isRemoved = true;
+			this.closeIfUnused();
+		}
+
+		private void closeIfUnused() {
+			if (!this.isRemoved || this.references > 0) {
+				return;
+			}
+			// Closing the databases writes back memory-mapped pages
+			this.pool.closeAll();
+			if (this.factory != Rrd4jSupplier.this.factory) {
+				Rrd4jSupplier.this.close(this.factory);
+			}
+		}
+	}
+
+	/**
+	 * Sets the {@link Backend} for the databases with the given RrdDb-ID and
+	 * starts pooling its open databases.
+	 * 
+	 * <p>
+	 * Has to be called before the first database of the RrdDb-ID is opened. Call
+	 * {@link #removeBackend(String)} when the databases are not needed anymore.
+	 * 
+	 * @param rrdDbId          the id of the rrd4j database
+	 * @param backend          the {@link Backend}
+	 * @param syncPeriod       for {@link Backend#MEMORY_MAPPED}: the period in [s]
+	 *                         after which modified pages are written back to
+	 *                         storage
+	 * @param maxOpenDatabases the maximum number of pooled databases
+	 * @param maxOpenBytes     the maximum total file size of the pooled databases
+	 */
+	public void setBackend(String rrdDbId, Backend backend, int syncPeriod, int maxOpenDatabases,
+			long maxOpenBytes) {
+		final var factory = switch (backend) {
+		case FILE -> this.factory;
+		case MEMORY_MAPPED -> new RrdNioBackendFactory(syncPeriod, 1);
+		};
+		final var previous = this.backends.put(rrdDbId, new SharedBackend(factory, //
+				new RrdDbLruPool(maxOpenDatabases, maxOpenBytes)));
+		if (previous != null) {
+			previous.remove();
+		}
+	}
+
+	/**
+	 * Removes the {@link Backend} for the databases with the given RrdDb-ID.
+	 * 
+	 * <p>
+	 * Its pooled databases and resources are released as soon as all
+	 * {@link RrdDbLease}s are closed. Later accesses open the databases with the
+	 * default backend.
+	 * 
+	 * @param rrdDbId the id of the rrd4j database
+	 */
+	public void removeBackend(String rrdDbId) {
+		final var backend = this.backends.remove(rrdDbId);
+		if (backend != null) {
+			backend.remove();
+		}
+	}
+
+	private RrdBackendFactory getFactory(String rrdDbId) {
+		final var backend = this.backends.get(rrdDbId);
+		return backend != null ? backend.factory : this.factory;
+	}
+
+	private void close(RrdBackendFactory factory) {
+		try {
+			factory.close();
+		} catch (IOException e) {
+			this.log.warn("Unable to close RRD4j Backend: " + e.getMessage());
+		}
+	}
+
+	/**
+	 * Leases the RRD4j database for the given Channel-Address; creates it if it
+	 * does not exist. See {@link #getRrdDb(String, ChannelAddress, Unit, long)}.
+	 * 
+	 * <p>
+	 * The database is taken from the pool of the RrdDb-ID, if a {@link Backend}
+	 * was set.
+	 * 
+	 * @param rrdDbId        the id of the rrd4j database
+	 * @param channelAddress the Channel-Address
+	 * @param channelUnit    the {@link Unit}
+	 * @param startTime      the starttime for newly created RrdDbs
+	 * @return the {@link RrdDbLease}
+	 * @throws IOException on error
+	 */
+	public RrdDbLease leaseRrdDb(//
+			final String rrdDbId, //
+			final ChannelAddress channelAddress, //
+			final Unit channelUnit, //
+			final long startTime //
+	) throws IOException {
+		return this.lease(rrdDbId, channelAddress,
+				() -> this.getRrdDb(rrdDbId, channelAddress, channelUnit, startTime));
+	}
+
+	/**
+	 * Leases an existing and updated RRD4j database for the given
+	 * Channel-Address. See
+	 * {@link #getExistingUpdatedRrdDb(String, ChannelAddress, Unit)}.
+	 * 
+	 * <p>
+	 * The database is taken from the pool of the RrdDb-ID, if a {@link Backend}
+	 * was set.
+	 * 
+	 * @param rrdDbId        the id of the rrd4j database
+	 * @param channelAddress the Channel-Address
+	 * @param channelUnit    the {@link Unit}
+	 * @return the {@link RrdDbLease}; its database is null if not existing
+	 * @throws IOException on error
+	 */
+	public RrdDbLease leaseExistingUpdatedRrdDb(//
+			final String rrdDbId, //
+			final ChannelAddress channelAddress, //
+			final Unit channelUnit //
+	) throws IOException {
+		return this.lease(rrdDbId, channelAddress,
+				() -> this.getExistingUpdatedRrdDb(rrdDbId, channelAddress, channelUnit));
+	}
+
+	private RrdDbLease lease(String rrdDbId, ChannelAddress channelAddress,
+			ThrowingSupplier<RrdDb, IOException> opener) throws IOException {
+		final var backend = this.backends.get(rrdDbId);
+		if (backend == null || !backend.retain()) {
+			return RrdDbLease.of(opener.get());
+		}
+		try {
+			final var lease = backend.pool.acquire(channelAddress, opener);
+			return new RrdDbLease(lease.database(), () -> {
+				try {
+					lease.close();
+				} finally {
+					backend.release();
+				}
+			});
+		} catch (IOException | RuntimeException e) {
+			backend.release();
+			throw e;
+		}
+	}
+
+	/**
+	 * Removes the RRD4j database for the given Channel-Address from the pool of
+	 * the RrdDb-ID and closes it, e.g. after an error.
+	 * 
+	 * @param rrdDbId        the id of the rrd4j database
+	 * @param channelAddress the Channel-Address
+	 */
+	public void invalidateRrdDb(String rrdDbId, ChannelAddress channelAddress) {
+		final var backend = this.backends.get(rrdDbId);
+		if (backend != null) {
+			backend.pool.invalidate(channelAddress);
+		}
+	}
+
+	/**
+	 * Checks whether the RRD4j database for the given Channel-Address is
+	 * currently open in the pool of the RrdDb-ID.
+	 * 
+	 * @param rrdDbId        the id of the rrd4j database
+	 * @param channelAddress the Channel-Address
+	 * @return true if it is open
+	 */
+	public boolean isRrdDbOpen(String rrdDbId, ChannelAddress channelAddress) {
+		final var backend = this.backends.get(rrdDbId);
+		return backend != null && backend.pool.contains(channelAddress);
+	}
+
 	/**
 	 * Gets the RRD4j database for the given Channel-Address.
 	 * 
@@ -169,7 +382,7 @@ public class Rrd4jSupplier {
 		}
 		try {
 			return RrdDb.getBuilder() //
-					.setBackendFactory(this.factory) //
+					.setBackendFactory(this.getFactory(rrdDbId)) //
 					// .setPool(RrdDbPool.getInstance()) //
 					// ^^ is not used anymore because of caching
 					// problems when overwriting the old database file
@@ -228,7 +441,7 @@ public class Rrd4jSupplier {
 						channelUnit, //
 						getDbFile(channelAddress, rrdDbId).getCanonicalPath(), //
 						startTime, //
-						this.factory, //
+						this.getFactory(rrdDbId), //
 						null //
 				// ^^ was "RrdDbPool.getInstance()" but is not used anymore because of caching
 				// problems when overwriting the old database file
@@ -282,7 +495,7 @@ public class Rrd4jSupplier {
 							channelUnit, //
 							tmpFile.getAbsolutePath(), //
 							oldDb.getLastUpdateTime(), //
-							this.factory, //
+							this.getFactory(rrdDbId), //
 							null //
 					// ^^ was "RrdDbPool.getInstance()" but is not used anymore because of caching
 					// problems when overwriting the old database file
@@ -0,0 +1,61 @@
+package io.openems.edge.timedata.rrd4j;
+
+import java.io.IOException;
+
+import org.rrd4j.core.RrdDb;
+
+import io.openems.common.function.ThrowingRunnable;
+
+/**
+ * Grants temporary access to an {@link RrdDb}.
+ *
+ * <p>
+ * The {@link RrdDb} must not be closed directly and must not be used after the
+ * lease was closed; a pooled database may be closed by then.
+ */
+public class RrdDbLease implements AutoCloseable {
+
+	private final RrdDb database;
+	private final ThrowingRunnable<IOException> onClose;
+
+	private boolean isClosed = false;
+
+	/**
+	 * Creates a lease that closes the {@link RrdDb}, i.e. for a database that is
+	 * not pooled.
+	 *
+	 * @param database the {@link RrdDb}; possibly null
+	 * @return the {@link RrdDbLease}
+	 */
+	public static RrdDbLease of(RrdDb database) {
+		return new RrdDbLease(database, () -> {
+			if (database != null && !database.isClosed()) {
+				database.close();
+			}
+		});
+	}
+
+	public RrdDbLease(RrdDb database, ThrowingRunnable<IOException> onClose) {
+		this.database = database;
+		this.onClose = onClose;
+	}
+
+	/**
+	 * Gets the {@link RrdDb}.
+	 *
+	 * @return the {@link RrdDb}; null if it does not exist
+	 */
+	public RrdDb database() {
+		return this.database;
+	}
+
+	@Override
+	public synchronized void close() throws IOException {
+		if (this.isClosed) {
+			return;
+		}
+		this.isClosed = true;
+		this.onClose.run();
+	}
+
+}
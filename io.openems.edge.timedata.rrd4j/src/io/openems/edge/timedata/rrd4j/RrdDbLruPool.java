@@ -0,0 +1,292 @@
+package io.openems.edge.timedata.rrd4j;
+
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+import org.rrd4j.core.RrdDb;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import io.openems.common.function.ThrowingSupplier;
+import io.openems.common.types.ChannelAddress;
+
+/**
+ * A bounded pool of open {@link RrdDb}s, keyed by {@link ChannelAddress}.
+ *
+ * <p>
+ * Opening an {@link RrdDb} opens the file and parses and validates its header.
+ * Keeping the databases of recently written or read Channels open avoids doing
+ * so for every single sample or query. If more than {@link #getMaxSize()}
+ * databases are open or their files exceed {@link #getMaxBytes()} in total -
+ * which matters for memory-mapped databases - the least recently used ones are
+ * closed. The most recently used database is always kept open.
+ *
+ * <p>
+ * Databases are handed out as {@link RrdDbLease}s. A leased database is never
+ * closed by the pool; if it is evicted or invalidated in the meantime, it is
+ * closed when its last lease is closed.
+ *
+ * <p>
+ * Databases are opened outside of the pool's monitor, so opening - and possibly
+ * migrating - one file does not block leases of other Channels. Concurrent
+ * leases of the same Channel wait for the pending open instead of opening the
+ * file twice.
+ */
+public class RrdDbLruPool {
+
+	public static final int DEFAULT_MAX_SIZE = 512;
+
+	private static class Entry {
+		private final RrdDb database;
+		private final long bytes;
+		private int leases = 0;
+		private boolean isRemoved = false;
+
+		private Entry(RrdDb database, long bytes) {
+			this.database = database;
+			this.bytes = bytes;
+		}
+	}
+
+	private final Logger log = LoggerFactory.getLogger(RrdDbLruPool.class);
+
+	private final int maxSize;
+	private final long maxBytes;
+	private final Map<ChannelAddress, Entry> entries = new LinkedHashMap<>(16, 0.75f, true /* access-order */);
+	private final Map<ChannelAddress, CompletableFuture<Void>> pending = new HashMap<>();
+
+	private long totalBytes = 0;
+
+	public RrdDbLruPool(int maxSize, long maxBytes) {
+		this.maxSize = maxSize;
+		this.maxBytes = maxBytes;
+	}
+
+	public RrdDbLruPool(int maxSize) {
+		this(maxSize, Long.MAX_VALUE);
+	}
+
+	public RrdDbLruPool() {
+		this(DEFAULT_MAX_SIZE);
+	}
+
+	/**
+	 * Leases the open {@link RrdDb} for the given {@link ChannelAddress} or opens
+	 * it using the given supplier.
+	 *
+	 * <p>
+	 * The leased {@link RrdDb} is owned by the pool and must not be closed by the
+	 * caller; close the {@link RrdDbLease} instead and use
+	 * {@link #invalidate(ChannelAddress)} after an error.
+	 *
+	 * @param channelAddress the {@link ChannelAddress}
+	 * @param opener         opens the {@link RrdDb} if it is not in the pool
+	 * @return the {@link RrdDbLease}; its database is null if the supplier
+	 *         returned null
+	 * @throws IOException on error while opening
+	 */
+	public RrdDbLease acquire(ChannelAddress channelAddress, ThrowingSupplier<RrdDb, IOException> opener)
+			throws IOException {
+		while (true) {
+			final CompletableFuture<Void> other;
+			final CompletableFuture<Void> opening;
+			synchronized (this) {
+				final var entry = this.entries.get(channelAddress);
+				if (entry != null && !entry.database.isClosed()) {
+					return this.lease(channelAddress, entry);
+				}
+				other = this.pending.get(channelAddress);
+				if (other == null) {
+					this.invalidate(channelAddress);
+					opening = new CompletableFuture<>();
+					this.pending.put(channelAddress, opening);
+				} else {
+					opening = null;
+				}
+			}
+			if (other != null) {
+				// Another thread is opening this database; wait outside of the monitor
+				other.join();
+				continue;
+			}
+			try {
+				return this.open(channelAddress, opener, opening);
+			} finally {
+				opening.complete(null);
+			}
+		}
+	}
+
+	private RrdDbLease open(ChannelAddress channelAddress, ThrowingSupplier<RrdDb, IOException> opener,
+			CompletableFuture<Void> opening) throws IOException {
+		RrdDb database = null;
+		try {
+			database = opener.get();
+			if (database == null) {
+				return RrdDbLease.of(null);
+			}
+			final var entry = new Entry(database, sizeOf(database));
+			synchronized (this) {
+				if (!this.pending.remove(channelAddress, opening)) {
+					// Invalidated or closed while opening: close after use
+					entry.isRemoved = true;
+					return this.lease(channelAddress, entry);
+				}
+				this.entries.put(channelAddress, entry);
+				this.totalBytes += entry.bytes;
+				final var lease = this.lease(channelAddress, entry);
+				this.evict();
+				return lease;
+			}
+		} catch (IOException | RuntimeException e) {
+			if (database != null) {
+				this.close(channelAddress, database);
+			}
+			throw e;
+		} finally {
+			synchronized (this) {
+				this.pending.remove(channelAddress, opening);
+			}
+		}
+	}
+
+	private RrdDbLease lease(ChannelAddress channelAddress, Entry entry) {
+		entry.leases++;
+		return new RrdDbLease(entry.database, () -> this.release(channelAddress, entry));
+	}
+
+	private synchronized void release(ChannelAddress channelAddress, Entry entry) {
+		entry.leases--;
+		if (entry.isRemoved && entry.leases == 0) {
+			this.close(channelAddress, entry.database);
+		}
+	}
+
+	/**
+	 * Estimates the size of an {@link RrdDb} from the number of its archived
+	 * values; the header is negligible.
+	 *
+	 * @param database the {@link RrdDb}
+	 * @return the size in [byte]
+	 * @throws IOException on error
+	 */
+	protected static long sizeOf(RrdDb database) throws IOException {
+		var rows = 0L;
+		for (var i = 0; i < database.getArcCount(); i++) {
+			rows += database.getArchive(i).getRows();
+		}
+		return rows * Double.BYTES;
+	}
+
+	private void evict() {
+		final var iterator = this.entries.entrySet().iterator();
+		var remaining = this.entries.size();
+		while (remaining > 1 //
+				&& (this.entries.size() > this.maxSize || this.totalBytes > this.maxBytes)) {
+			final var eldest = iterator.next();
+			remaining--;
+			if (eldest.getValue().leases > 0) {
+				// In use by another thread
+				continue;
+			}
+			iterator.remove();
+			this.totalBytes -= eldest.getValue().bytes;
+			this.close(eldest.getKey(), eldest.getValue().database);
+		}
+	}
+
+	/**
+	 * Is an {@link RrdDb} for the given {@link ChannelAddress} currently in the
+	 * pool?. Does not change the access order.
+	 *
+	 * @param channelAddress the {@link ChannelAddress}
+	 * @return true if it is in the pool
+	 */
+	public synchronized boolean contains(ChannelAddress channelAddress) {
+		return this.entries.containsKey(channelAddress);
+	}
+
+	/**
+	 * Removes the {@link RrdDb} for the given {@link ChannelAddress} from the pool
+	 * and closes it, e.g. after an error. If it is currently leased, it is closed
+	 * when the last lease is closed.
+	 *
+	 * @param channelAddress the {@link ChannelAddress}
+	 */
+	public synchronized void invalidate(ChannelAddress channelAddress) {
+		this.pending.remove(channelAddress);
+		final var entry = this.entries.remove(channelAddress);
+		if (entry != null) {
+			this.totalBytes -= entry.bytes;
+			this.remove(channelAddress, entry);
+		}
+	}
+
+	/**
+	 * Closes all {@link RrdDb}s and empties the pool. Leased databases are closed
+	 * when their last lease is closed.
+	 */
+	public synchronized void closeAll() {
+		this.entries.forEach(this::remove);
+		this.entries.clear();
+		this.pending.clear();
+		this.totalBytes = 0;
+	}
+
+	private void remove(ChannelAddress channelAddress, Entry entry) {
+		entry.isRemoved = true;
+		if (entry.leases == 0) {
+			this.close(channelAddress, entry.database);
+		}
+	}
+
+	/**
+	 * Gets the number of open {@link RrdDb}s.
+	 *
+	 * @return the size
+	 */
+	public synchronized int size() {
+		return this.entries.size();
+	}
+
+	/**
+	 * Gets the total file size of the open {@link RrdDb}s.
+	 *
+	 * @return the size in [byte]
+	 */
+	public synchronized long getBytes() {
+		return this.totalBytes;
+	}
+
+	/**
+	 * Gets the maximum number of open {@link RrdDb}s.
+	 *
+	 * @return the max size
+	 */
+	public int getMaxSize() {
+		return this.maxSize;
+	}
+
+	/**
+	 * Gets the maximum total file size of the open {@link RrdDb}s.
+	 *
+	 * @return the max size in [byte]
+	 */
+	public long getMaxBytes() {
+		return this.maxBytes;
+	}
+
+	private void close(ChannelAddress channelAddress, RrdDb database) {
+		try {
+			if (!database.isClosed()) {
+				database.close();
+			}
+		} catch (IOException e) {
+			this.log.warn("Unable to close RrdDb [" + channelAddress + "]: " + e.getMessage());
+		}
+	}
+
+}
@@ -48,6 +48,9 @@ public final class TimedataRrd4jImpl extends AbstractOpenemsComponent
 	@Reference
 	private Rrd4jReadHandler readHandler;
 
+	@Reference
+	private Rrd4jSupplier rrd4jSupplier;
+
 	private boolean debugMode = false;
 
 	public TimedataRrd4jImpl() {
@@ -62,6 +65,12 @@ public final class TimedataRrd4jImpl extends AbstractOpenemsComponent
 	private void activate(ComponentContext context, Config config) throws Exception {
 		super.activate(context, config.id(), config.alias(), config.enabled());
 		this.debugMode = config.debugMode();
+		final var maxOpenBytes = switch (config.backend()) {
+		case FILE -> Long.MAX_VALUE;
+		case MEMORY_MAPPED -> config.pageCacheBudget() * 1024L * 1024L;
+		};
+		this.rrd4jSupplier.setBackend(this.id(), config.backend(), config.syncPeriod(), config.maxOpenDatabases(),
+				maxOpenBytes);
 
 		this.worker = this.workerFactory.get();
 		this.worker.setConfig(new RecordWorker.Config(//
@@ -70,7 +79,8 @@ public final class TimedataRrd4jImpl extends AbstractOpenemsComponent
 				this.debugMode, //
 				config.persistencePriority(), //
 				isFull -> this._setQueueIsFull(isFull), //
-				unableToInsert -> this._setUnableToInsertSample(unableToInsert) //
+				unableToInsert -> this._setUnableToInsertSample(unableToInsert), //
+				writeDuration -> this._setWriteDuration(writeDuration) //
 		));
 		if (config.enabled()) {
 			this.worker.activate(this.id());
@@ -82,6 +92,9 @@ public final class TimedataRrd4jImpl extends AbstractOpenemsComponent
 		super.deactivate();
 		this.workerFactory.unget(this.worker);
 		this.worker = null;
+		// Closes the pooled databases - which writes back memory-mapped pages - once
+		// pending reads are finished
+		this.rrd4jSupplier.removeBackend(this.id());
 	}
 
 	@Override
@@ -153,6 +166,7 @@ public final class TimedataRrd4jImpl extends AbstractOpenemsComponent
 		switch (event.getTopic()) {
 		case EdgeEventConstants.TOPIC_CYCLE_AFTER_PROCESS_IMAGE:
 			this.worker.collectData();
+			this._setQueueSize(this.worker.getQueueSize());
 			break;
 		}
 	}
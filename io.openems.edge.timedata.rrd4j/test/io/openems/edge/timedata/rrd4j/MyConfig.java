@@ -11,6 +11,10 @@ public class MyConfig extends AbstractComponentConfig implements Config {
 		private PersistencePriority persistencePriority;
 		private boolean readOnly;
 		private boolean debugMode;
+		private Backend backend = Backend.FILE;
+		private int maxOpenDatabases = 512;
+		private int pageCacheBudget = 64;
+		private int syncPeriod = 300;
 
 		private Builder() {
 		}
@@ -35,6 +39,26 @@ public class MyConfig extends AbstractComponentConfig implements Config {
 			return this;
 		}
 
+		public Builder setBackend(Backend backend) {
+			this.backend = backend;
+			return this;
+		}
+
+		public Builder setMaxOpenDatabases(int maxOpenDatabases) {
+			this.maxOpenDatabases = maxOpenDatabases;
+			return this;
+		}
+
+		public Builder setPageCacheBudget(int pageCacheBudget) {
+			this.pageCacheBudget = pageCacheBudget;
+			return this;
+		}
+
+		public Builder setSyncPeriod(int syncPeriod) {
+			this.syncPeriod = syncPeriod;
+			return this;
+		}
+
 		public MyConfig build() {
 			return new MyConfig(this);
 		}
@@ -71,4 +95,24 @@ public class MyConfig extends AbstractComponentConfig implements Config {
 		return this.builder.debugMode;
 	}
 
-}
\ No newline at end of file
+	@Override
+	public Backend backend() {
+		return this.builder.backend;
+	}
+
+	@Override
+	public int maxOpenDatabases() {
+		return this.builder.maxOpenDatabases;
+	}
+
+	@Override
+	public int pageCacheBudget() {
+		return this.builder.pageCacheBudget;
+	}
+
+	@Override
+	public int syncPeriod() {
+		return this.builder.syncPeriod;
+	}
+
+}
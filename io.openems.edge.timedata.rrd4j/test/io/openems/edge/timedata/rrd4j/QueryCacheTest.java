@@ -0,0 +1,132 @@
+package io.openems.edge.timedata.rrd4j;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.fail;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Test;
+
+import io.openems.common.exceptions.OpenemsError.OpenemsNamedException;
+import io.openems.common.exceptions.OpenemsException;
+import io.openems.common.test.TimeLeapClock;
+import io.openems.common.timedata.Resolution;
+import io.openems.common.types.ChannelAddress;
+
+public class QueryCacheTest {
+
+	private static final ZonedDateTime FROM = ZonedDateTime.of(2024, 1, 1, 0, 0, 0, 0, ZoneOffset.UTC);
+	private static final ZonedDateTime TO = FROM.plusDays(1);
+	private static final Set<ChannelAddress> CHANNELS = Set.of(new ChannelAddress("_sum", "ProductionActivePower"));
+
+	private static QueryCache.Key key(Resolution resolution) {
+		return QueryCache.Key.of("queryHistoricData", "rrd4j0", FROM, TO, CHANNELS, resolution);
+	}
+
+	@Test
+	public void testHitAndExpire() throws OpenemsNamedException {
+		final var clock = new TimeLeapClock(Instant.parse("2024-01-01T12:00:00.00Z"), ZoneOffset.UTC);
+		final var cache = new QueryCache(() -> clock, Duration.ofMinutes(1), 10);
+		final var executed = new AtomicInteger();
+
+		final var first = cache.get(key(new Resolution(5, ChronoUnit.MINUTES)), () -> {
+			executed.incrementAndGet();
+			return new Object();
+		});
+		// Equal key with a different Resolution instance
+		assertSame(first, cache.get(key(new Resolution(5, ChronoUnit.MINUTES)), () -> {
+			executed.incrementAndGet();
+			return new Object();
+		}));
+		assertEquals(1, executed.get());
+
+		// Different resolution
+		cache.get(key(new Resolution(15, ChronoUnit.MINUTES)), () -> {
+			executed.incrementAndGet();
+			return new Object();
+		});
+		assertEquals(2, executed.get());
+
+		// Expire
+		clock.leap(61, ChronoUnit.SECONDS);
+		cache.get(key(new Resolution(5, ChronoUnit.MINUTES)), () -> {
+			executed.incrementAndGet();
+			return new Object();
+		});
+		assertEquals(3, executed.get());
+	}
+
+	@Test
+	public void testErrorIsNotCached() throws OpenemsNamedException {
+		final var clock = new TimeLeapClock(Instant.parse("2024-01-01T12:00:00.00Z"), ZoneOffset.UTC);
+		final var cache = new QueryCache(() -> clock);
+		final var key = key(null);
+
+		try {
+			cache.get(key, () -> {
+				throw new OpenemsException("failed");
+			});
+			fail();
+		} catch (OpenemsException e) {
+			assertEquals("failed", e.getMessage());
+		}
+
+		assertEquals("ok", cache.get(key, () -> "ok"));
+	}
+
+	@Test
+	public void testConcurrentQueriesAreExecutedOnce() throws Exception {
+		final var clock = new TimeLeapClock(Instant.parse("2024-01-01T12:00:00.00Z"), ZoneOffset.UTC);
+		final var cache = new QueryCache(() -> clock);
+		final var key = key(null);
+		final var executed = new AtomicInteger();
+		final var started = new CountDownLatch(1);
+		final var release = new CountDownLatch(1);
+
+		final var thread = new Thread(() -> {
+			try {
+				cache.get(key, () -> {
+					executed.incrementAndGet();
+					started.countDown();
+					try {
+						release.await();
+					} catch (InterruptedException e) {
+						throw new OpenemsException(e.getMessage());
+					}
+					return "result";
+				});
+			} catch (OpenemsNamedException e) {
+				throw new RuntimeException(e);
+			}
+		});
+		thread.start();
+		started.await();
+
+		// Second caller waits for the first one
+		final var waiter = new Thread(() -> {
+			try {
+				assertEquals("result", cache.get(key, () -> {
+					executed.incrementAndGet();
+					return "other";
+				}));
+			} catch (OpenemsNamedException e) {
+				throw new RuntimeException(e);
+			}
+		});
+		waiter.start();
+		release.countDown();
+		thread.join();
+		waiter.join();
+
+		assertEquals(1, executed.get());
+	}
+
+}
@@ -163,6 +163,12 @@ public class Rrd4jReadHandlerTest {
 		), this.query(new Resolution(15, ChronoUnit.MINUTES)));
 	}
 
+	@Test(expected = UnsupportedOperationException.class)
+	public void testCachedResultIsUnmodifiable() throws Exception {
+		final var result = this.query(new Resolution(15, ChronoUnit.MINUTES));
+		result.get(result.firstKey()).clear();
+	}
+
 	@Test
 	public void testStreamRanges() throws Exception {
 		final var utc = ZoneId.of("UTC");
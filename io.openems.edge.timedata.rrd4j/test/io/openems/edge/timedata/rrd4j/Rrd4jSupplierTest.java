@@ -1,14 +1,27 @@
 package io.openems.edge.timedata.rrd4j;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
 
 import org.junit.Test;
 import org.rrd4j.ConsolFun;
+import org.rrd4j.core.RrdMemoryBackendFactory;
 
 import io.openems.common.channel.Unit;
+import io.openems.common.types.ChannelAddress;
+import io.openems.common.utils.ReflectionUtils;
+import io.openems.edge.timedata.rrd4j.version.Version.CreateDatabaseConfig;
+import io.openems.edge.timedata.rrd4j.version.Version3Test;
+import io.openems.edge.timedata.rrd4j.version.VersionHandler;
 
 public class Rrd4jSupplierTest {
 
+	private static final String RRD_DB_ID = "rrd4j0";
+	private static final ChannelAddress CHANNEL = new ChannelAddress("comp0", "DummyChannel");
+
 	@Test
 	public void testGetDsDefForChannel() {
 		for (var unit : Unit.values()) {
@@ -21,4 +34,40 @@ public class Rrd4jSupplierTest {
 		}
 	}
 
+	@Test
+	public void testSharedBackend() throws Exception {
+		final var factory = new RrdMemoryBackendFactory();
+		final var version3 = Version3Test.createDummyVersion3();
+		version3.createNewDb(new CreateDatabaseConfig(RRD_DB_ID, Unit.WATT, CHANNEL.toString(),
+				1577836800L, factory, null)).close();
+
+		final var versionHandler = new VersionHandler();
+		versionHandler.bindVersion(version3);
+		final var sut = new Rrd4jSupplier(factory, (t, u) -> t.toString());
+		ReflectionUtils.setAttribute(Rrd4jSupplier.class, sut, "versionHandler", versionHandler);
+
+		// Without Backend every lease opens the database
+		try (var lease1 = sut.leaseExistingUpdatedRrdDb(RRD_DB_ID, CHANNEL, Unit.WATT); //
+				var lease2 = sut.leaseExistingUpdatedRrdDb(RRD_DB_ID, CHANNEL, Unit.WATT)) {
+			assertNotSame(lease1.database(), lease2.database());
+		}
+
+		// With Backend reads and writes share the pooled database
+		sut.setBackend(RRD_DB_ID, Backend.FILE, 0, RrdDbLruPool.DEFAULT_MAX_SIZE, Long.MAX_VALUE);
+		final var lease = sut.leaseExistingUpdatedRrdDb(RRD_DB_ID, CHANNEL, Unit.WATT);
+		final var database = lease.database();
+		try (var write = sut.leaseRrdDb(RRD_DB_ID, CHANNEL, Unit.WATT, 0)) {
+			assertSame(database, write.database());
+		}
+		assertTrue(sut.isRrdDbOpen(RRD_DB_ID, CHANNEL));
+
+		// Leased database is closed after the Backend was removed and the lease was
+		// closed
+		sut.removeBackend(RRD_DB_ID);
+		assertFalse(database.isClosed());
+		lease.close();
+		assertTrue(database.isClosed());
+		assertFalse(sut.isRrdDbOpen(RRD_DB_ID, CHANNEL));
+	}
+
 }
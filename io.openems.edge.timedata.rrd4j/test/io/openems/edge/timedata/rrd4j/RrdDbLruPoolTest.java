@@ -0,0 +1,221 @@
+package io.openems.edge.timedata.rrd4j;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.io.IOException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Test;
+import org.rrd4j.ConsolFun;
+import org.rrd4j.DsType;
+import org.rrd4j.core.DsDef;
+import org.rrd4j.core.RrdDb;
+import org.rrd4j.core.RrdDef;
+import org.rrd4j.core.RrdMemoryBackendFactory;
+
+import io.openems.common.types.ChannelAddress;
+
+public class RrdDbLruPoolTest {
+
+	private static final ChannelAddress A = new ChannelAddress("meter0", "ActivePower");
+	private static final ChannelAddress B = new ChannelAddress("meter0", "ReactivePower");
+	private static final ChannelAddress C = new ChannelAddress("meter0", "Frequency");
+
+	private static RrdDb createRrdDb(ChannelAddress address) throws IOException {
+		final var rrdDef = new RrdDef(address.toString(), 1577836800L, Rrd4jConstants.DEFAULT_STEP_SECONDS);
+		rrdDef.addDatasource(new DsDef(Rrd4jConstants.DEFAULT_DATASOURCE_NAME, DsType.GAUGE,
+				Rrd4jConstants.DEFAULT_HEARTBEAT_SECONDS, Double.NaN, Double.NaN));
+		rrdDef.addArchive(ConsolFun.AVERAGE, 0.5, 1, 10);
+		return RrdDb.getBuilder() //
+				.setBackendFactory(new RrdMemoryBackendFactory()) //
+				.setRrdDef(rrdDef) //
+				.build();
+	}
+
+	private static RrdDb get(RrdDbLruPool pool, ChannelAddress address) throws IOException {
+		try (var lease = pool.acquire(address, () -> createRrdDb(address))) {
+			return lease.database();
+		}
+	}
+
+	@Test
+	public void testAcquire() throws IOException {
+		final var pool = new RrdDbLruPool(2);
+		final var opened = new AtomicInteger();
+
+		final RrdDb a;
+		try (var lease = pool.acquire(A, () -> {
+			opened.incrementAndGet();
+			return createRrdDb(A);
+		})) {
+			a = lease.database();
+		}
+		try (var lease = pool.acquire(A, () -> {
+			opened.incrementAndGet();
+			return createRrdDb(A);
+		})) {
+			assertSame(a, lease.database());
+		}
+		assertEquals(1, opened.get());
+		assertEquals(1, pool.size());
+		assertTrue(pool.contains(A));
+	}
+
+	@Test
+	public void testEvictLeastRecentlyUsed() throws IOException {
+		final var pool = new RrdDbLruPool(2);
+		final var a = get(pool, A);
+		final var b = get(pool, B);
+
+		// Access A -> B is least recently used
+		get(pool, A);
+		final var c = get(pool, C);
+
+		assertEquals(2, pool.size());
+		assertTrue(pool.contains(A));
+		assertFalse(pool.contains(B));
+		assertTrue(pool.contains(C));
+		assertFalse(a.isClosed());
+		assertTrue(b.isClosed());
+		assertFalse(c.isClosed());
+	}
+
+	@Test
+	public void testEvictByBytes() throws IOException {
+		final var size = RrdDbLruPool.sizeOf(createRrdDb(A));
+		final var pool = new RrdDbLruPool(10, 2 * size);
+		final var a = get(pool, A);
+		get(pool, B);
+		assertEquals(2 * size, pool.getBytes());
+
+		get(pool, C);
+		assertEquals(2, pool.size());
+		assertEquals(2 * size, pool.getBytes());
+		assertTrue(a.isClosed());
+
+		// The most recently used database is always kept open
+		final var tiny = new RrdDbLruPool(10, 1);
+		get(tiny, A);
+		get(tiny, B);
+		assertEquals(1, tiny.size());
+		assertTrue(tiny.contains(B));
+	}
+
+	@Test
+	public void testReopenClosed() throws IOException {
+		final var pool = new RrdDbLruPool(2);
+		final var a = get(pool, A);
+		a.close();
+
+		final var reopened = get(pool, A);
+		assertFalse(reopened.isClosed());
+		assertEquals(1, pool.size());
+	}
+
+	@Test
+	public void testInvalidateAndCloseAll() throws IOException {
+		final var pool = new RrdDbLruPool(3);
+		final var a = get(pool, A);
+		final var b = get(pool, B);
+		try (var lease = pool.acquire(C, () -> null)) {
+			assertNull(lease.database());
+		}
+
+		pool.invalidate(A);
+		assertTrue(a.isClosed());
+		assertFalse(pool.contains(A));
+
+		pool.closeAll();
+		assertTrue(b.isClosed());
+		assertEquals(0, pool.size());
+		assertEquals(0, pool.getBytes());
+	}
+
+	@Test
+	public void testLeased() throws IOException {
+		final var pool = new RrdDbLruPool(1);
+		try (var lease = pool.acquire(A, () -> createRrdDb(A))) {
+			final var a = lease.database();
+
+			// Leased database is not evicted...
+			final var b = get(pool, B);
+			assertFalse(a.isClosed());
+			assertFalse(b.isClosed());
+			assertEquals(2, pool.size());
+
+			// ...and not closed before its lease is closed
+			pool.closeAll();
+			assertFalse(a.isClosed());
+			assertTrue(b.isClosed());
+			lease.close();
+			assertTrue(a.isClosed());
+		}
+	}
+
+	@Test
+	public void testOpenOutsideOfLock() throws Exception {
+		final var pool = new RrdDbLruPool(3);
+		final var opened = new AtomicInteger();
+		final var opening = new CountDownLatch(1);
+		final var proceed = new CountDownLatch(1);
+
+		final var slow = CompletableFuture.supplyAsync(() -> {
+			try {
+				return get(pool, A, () -> {
+					opened.incrementAndGet();
+					opening.countDown();
+					proceed.await();
+					return createRrdDb(A);
+				});
+			} catch (Exception e) {
+				throw new RuntimeException(e);
+			}
+		});
+		assertTrue(opening.await(10, TimeUnit.SECONDS));
+
+		// Other Channels are not blocked by the pending open...
+		final var b = get(pool, B);
+		assertFalse(b.isClosed());
+
+		// ...and the same Channel waits for it instead of opening the file again
+		final var waiting = CompletableFuture.supplyAsync(() -> {
+			try {
+				return get(pool, A, () -> {
+					opened.incrementAndGet();
+					return createRrdDb(A);
+				});
+			} catch (Exception e) {
+				throw new RuntimeException(e);
+			}
+		});
+		proceed.countDown();
+
+		assertSame(slow.get(10, TimeUnit.SECONDS), waiting.get(10, TimeUnit.SECONDS));
+		assertEquals(1, opened.get());
+		assertEquals(2, pool.size());
+	}
+
+	private static RrdDb get(RrdDbLruPool pool, ChannelAddress address, Opener opener) throws IOException {
+		try (var lease = pool.acquire(address, () -> {
+			try {
+				return opener.open();
+			} catch (InterruptedException e) {
+				throw new IOException(e);
+			}
+		})) {
+			return lease.database();
+		}
+	}
+
+	private interface Opener {
+		RrdDb open() throws IOException, InterruptedException;
+	}
+
+}